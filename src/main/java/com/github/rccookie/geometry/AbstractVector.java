@@ -48,6 +48,16 @@ public abstract class AbstractVector<V extends AbstractVector<? extends V>> impl
 
 
 
+    /**
+     * Creates a vector without coordinate storage, for subclasses that store
+     * their coordinates in fields. Such subclasses must override
+     * {@link #get(int)}, {@link #setDim(int, double)}, {@link #size()} and
+     * {@link #getInt()}.
+     */
+    protected AbstractVector() {
+        coordinates = null;
+    }
+
     protected AbstractVector(Vector copy) {
         this(copy.toArray());
     }
@@ -0,0 +1,430 @@
+package com.github.rccookie.geometry;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import com.github.rccookie.util.Console;
+import com.github.rccookie.util.Stopwatch;
+
+/**
+ * Approximates the mutual gravitational attraction of many bodies in
+ * {@code O(n log n)} using the Barnes–Hut algorithm, either with a quadtree
+ * in 2D or with an octree in 3D.
+ * <p>Distant groups of bodies are treated as a single body at their center
+ * of mass, if the size of the cell containing them divided by the distance
+ * is smaller than the opening angle {@link #theta}. {@code theta = 0} gives
+ * the exact result, larger values are faster but less accurate; {@code 0.5}
+ * is a common choice.
+ * <p>The tree is rebuilt from primitive arrays with {@link #build}: bodies
+ * are sorted along a Morton curve (in parallel if requested), and the
+ * cells are created in a single pass over the sorted bodies. As a
+ * {@link Particles.Forces} function, the tree is rebuilt automatically
+ * once per step.
+ */
+public class BarnesHut implements Particles.Forces {
+
+    /**
+     * Maximum number of bodies in a leaf cell.
+     */
+    private static final int LEAF_SIZE = 8;
+    /**
+     * Number of bodies processed per task when working in parallel.
+     */
+    private static final int CHUNK_SIZE = 4096;
+
+    /**
+     * The number of dimensions, 2 or 3.
+     */
+    public final int dim;
+    /**
+     * The opening angle.
+     */
+    public double theta;
+    /**
+     * Softening length added to all distances to avoid singularities for
+     * close encounters, {@code 0} by default.
+     */
+    public double softening = 0;
+    /**
+     * The gravitational constant used, {@link Physics#G} by default.
+     */
+    public double g = Physics.G;
+
+    // Bodies in Morton order
+    private int n = 0;
+    private int[] rank = new int[0];
+    private double[] bx = new double[0], by = new double[0], bz = new double[0], bm = new double[0];
+
+    // Cells in depth-first order, children directly following their parent
+    private int cellCount = 0;
+    private int[] start = new int[0], end = new int[0];
+    /**
+     * Index of the first cell after the subtree of each cell.
+     */
+    private int[] skip = new int[0];
+    private double[] size = new double[0];
+    private double[] cm = new double[0], cx = new double[0], cy = new double[0], cz = new double[0];
+
+    private int bits;
+    private long[] codes = new long[0];
+
+    /**
+     * Creates a new Barnes–Hut solver.
+     *
+     * @param dim The number of dimensions, 2 or 3
+     * @param theta The opening angle
+     */
+    public BarnesHut(int dim, double theta) {
+        if(dim != 2 && dim != 3) throw new IllegalArgumentException("Only 2 or 3 dimensions supported");
+        if(theta < 0) throw new IllegalArgumentException("Negative opening angle");
+        this.dim = dim;
+        this.theta = theta;
+    }
+
+    /**
+     * Creates a new solver using a quadtree, ignoring z coordinates.
+     *
+     * @param theta The opening angle
+     * @return A new 2D solver
+     */
+    public static BarnesHut quadtree(double theta) {
+        return new BarnesHut(2, theta);
+    }
+
+    /**
+     * Creates a new solver using an octree.
+     *
+     * @param theta The opening angle
+     * @return A new 3D solver
+     */
+    public static BarnesHut octree(double theta) {
+        return new BarnesHut(3, theta);
+    }
+
+    @Override
+    public String toString() {
+        return "BarnesHut{dim=" + dim + ", theta=" + theta + ", " + n + " bodies, " + cellCount + " cells}";
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Rebuilds the tree from the given bodies. The arrays are copied, so
+     * they may be changed afterwards.
+     *
+     * @param x The x coordinates of the bodies
+     * @param y The y coordinates of the bodies
+     * @param z The z coordinates of the bodies, ignored in 2D and may be
+     *          {@code null} then
+     * @param mass The masses of the bodies
+     * @param n The number of bodies
+     * @param parallel Whether to use multiple threads
+     * @return This solver
+     */
+    public BarnesHut build(double[] x, double[] y, double[] z, double[] mass, int n, boolean parallel) {
+        if(n > (1 << 24)) throw new IllegalArgumentException("Too many bodies");
+        this.n = n;
+        if(rank.length < n) {
+            rank = new int[n];
+            bx = new double[n];
+            by = new double[n];
+            bz = new double[n];
+            bm = new double[n];
+            codes = new long[n];
+        }
+        cellCount = 0;
+        if(n == 0) return this;
+
+        // Bounding cube
+        double minX = Double.POSITIVE_INFINITY, minY = minX, minZ = dim == 3 ? minX : 0;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = maxX, maxZ = dim == 3 ? maxX : 0;
+        for(int i=0; i<n; i++) {
+            minX = Math.min(minX, x[i]);
+            maxX = Math.max(maxX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxY = Math.max(maxY, y[i]);
+            if(dim == 3) {
+                minZ = Math.min(minZ, z[i]);
+                maxZ = Math.max(maxZ, z[i]);
+            }
+        }
+        double side = Math.max(Math.max(maxX - minX, maxY - minY), maxZ - minZ);
+        if(side == 0) side = 1;
+        side *= 1 + 1e-9;
+
+        // Morton codes, with the body index in the lowest bits
+        int indexBits = 32 - Integer.numberOfLeadingZeros(Math.max(1, n - 1));
+        bits = Math.min(21, (63 - indexBits) / dim);
+        double scale = (1 << bits) / side;
+        double fMinX = minX, fMinY = minY, fMinZ = minZ;
+        long[] codes = this.codes;
+        forEach(n, parallel, (s, e) -> {
+            for(int i=s; i<e; i++) {
+                long qx = (long) ((x[i] - fMinX) * scale);
+                long qy = (long) ((y[i] - fMinY) * scale);
+                long qz = dim == 3 ? (long) ((z[i] - fMinZ) * scale) : 0;
+                codes[i] = (interleave(qx, qy, qz) << indexBits) | i;
+            }
+        });
+        if(parallel) Arrays.parallelSort(codes, 0, n);
+        else Arrays.sort(codes, 0, n);
+
+        // Bodies in sorted order
+        int indexMask = (1 << indexBits) - 1;
+        forEach(n, parallel, (s, e) -> {
+            for(int i=s; i<e; i++) {
+                int j = (int) (codes[i] & indexMask);
+                rank[j] = i;
+                bx[i] = x[j];
+                by[i] = y[j];
+                bz[i] = dim == 3 ? z[j] : 0;
+                bm[i] = mass[j];
+                codes[i] >>>= indexBits;
+            }
+        });
+
+        buildCell(0, n, 0, side);
+        return this;
+    }
+
+    private long interleave(long qx, long qy, long qz) {
+        long code = 0;
+        for(int b=bits-1; b>=0; b--) {
+            code = (code << dim) | ((qx >>> b) & 1) | (((qy >>> b) & 1) << 1);
+            if(dim == 3) code |= ((qz >>> b) & 1) << 2;
+        }
+        return code;
+    }
+
+    private void buildCell(int s, int e, int level, double side) {
+        int k = cellCount++;
+        if(k == start.length) grow();
+        start[k] = s;
+        end[k] = e;
+        size[k] = side;
+
+        double m = 0, mx = 0, my = 0, mz = 0;
+        if(e - s <= LEAF_SIZE || level == bits) {
+            for(int i=s; i<e; i++) {
+                m += bm[i];
+                mx += bm[i] * bx[i];
+                my += bm[i] * by[i];
+                mz += bm[i] * bz[i];
+            }
+        }
+        else {
+            int shift = (bits - 1 - level) * dim, mask = (1 << dim) - 1;
+            for(int i=s; i<e;) {
+                int digit = (int) (codes[i] >>> shift) & mask;
+                int j = upperBound(i, e, shift, digit);
+                buildCell(i, j, level + 1, side / 2);
+                i = j;
+            }
+            for(int c=k+1; c<cellCount; c=skip[c]) {
+                m += cm[c];
+                mx += cm[c] * cx[c];
+                my += cm[c] * cy[c];
+                mz += cm[c] * cz[c];
+            }
+        }
+        skip[k] = cellCount;
+        cm[k] = m;
+        double iM = m == 0 ? 0 : 1 / m;
+        cx[k] = mx * iM;
+        cy[k] = my * iM;
+        cz[k] = mz * iM;
+    }
+
+    /**
+     * Returns the first index after {@code s} whose digit at the given
+     * shift is greater than the given one.
+     */
+    private int upperBound(int s, int e, int shift, int digit) {
+        int mask = (1 << dim) - 1;
+        while(s < e) {
+            int mid = (s + e) >>> 1;
+            if(((int) (codes[mid] >>> shift) & mask) <= digit) s = mid + 1;
+            else e = mid;
+        }
+        return s;
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, start.length * 2);
+        start = Arrays.copyOf(start, capacity);
+        end = Arrays.copyOf(end, capacity);
+        skip = Arrays.copyOf(skip, capacity);
+        size = Arrays.copyOf(size, capacity);
+        cm = Arrays.copyOf(cm, capacity);
+        cx = Arrays.copyOf(cx, capacity);
+        cy = Arrays.copyOf(cy, capacity);
+        cz = Arrays.copyOf(cz, capacity);
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Calculates the gravitational acceleration of the bodies from
+     * {@code start} (inclusive) to {@code end} (exclusive) caused by all
+     * other bodies, using the indices passed to {@link #build}.
+     *
+     * @param ax The array to write the x components to
+     * @param ay The array to write the y components to
+     * @param az The array to write the z components to, ignored in 2D
+     * @param start The index of the first body
+     * @param end The index after the last body
+     * @param parallel Whether to use multiple threads
+     */
+    public void accelerate(double[] ax, double[] ay, double[] az, int start, int end, boolean parallel) {
+        forEach(end - start, parallel, (s, e) -> {
+            for(int i=start+s; i<start+e; i++) {
+                int r = rank[i];
+                accelerate(bx[r], by[r], bz[r], r, ax, ay, az, i);
+            }
+        });
+    }
+
+    /**
+     * Calculates the gravitational acceleration at the given location
+     * caused by all bodies.
+     *
+     * @param x The x coordinate of the location
+     * @param y The y coordinate of the location
+     * @param z The z coordinate of the location, ignored in 2D
+     * @return The acceleration
+     */
+    public Vector3D acceleration(double x, double y, double z) {
+        double[] a = new double[3];
+        accelerate(x, y, dim == 3 ? z : 0, -1, a, a, a, -1);
+        return new Vector3D(a[0], a[1], a[2]);
+    }
+
+    /**
+     * Sums the acceleration at the given location. {@code self} is the
+     * sorted index of the body at that location, or {@code -1}. If
+     * {@code i} is {@code -1}, the result is written into {@code ax[0..2]}.
+     */
+    private void accelerate(double px, double py, double pz, int self, double[] ax, double[] ay, double[] az, int i) {
+        double theta2 = theta * theta, eps2 = softening * softening;
+        double sx = 0, sy = 0, sz = 0;
+
+        for(int k=0; k<cellCount;) {
+            boolean leaf = skip[k] == k + 1;
+            boolean contains = self >= start[k] && self < end[k];
+            if(!contains) {
+                double dx = cx[k] - px, dy = cy[k] - py, dz = cz[k] - pz;
+                double d2 = dx * dx + dy * dy + dz * dz;
+                if(size[k] * size[k] < theta2 * d2) {
+                    double f = cm[k] / ((d2 + eps2) * Math.sqrt(d2 + eps2));
+                    sx += f * dx;
+                    sy += f * dy;
+                    sz += f * dz;
+                    k = skip[k];
+                    continue;
+                }
+            }
+            if(!leaf) {
+                k++;
+                continue;
+            }
+            for(int j=start[k]; j<end[k]; j++) {
+                if(j == self) continue;
+                double dx = bx[j] - px, dy = by[j] - py, dz = bz[j] - pz;
+                double d2 = dx * dx + dy * dy + dz * dz + eps2;
+                if(d2 == 0) continue;
+                double f = bm[j] / (d2 * Math.sqrt(d2));
+                sx += f * dx;
+                sy += f * dy;
+                sz += f * dz;
+            }
+            k = skip[k];
+        }
+
+        if(i == -1) {
+            ax[0] = g * sx;
+            ax[1] = g * sy;
+            ax[2] = g * sz;
+        }
+        else {
+            ax[i] = g * sx;
+            ay[i] = g * sy;
+            if(dim == 3) az[i] = g * sz;
+        }
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public void prepare(Particles p, boolean parallel) {
+        build(p.x, p.y, p.z, p.mass, p.size(), parallel);
+    }
+
+    @Override
+    public void apply(Particles p, int start, int end) {
+        if(dim == 2) Arrays.fill(p.az, start, end, 0);
+        accelerate(p.ax, p.ay, p.az, start, end, false);
+    }
+
+    /**
+     * Calculates the exact gravitational acceleration of each body caused
+     * by all other bodies in {@code O(n²)}.
+     *
+     * @param z The z coordinates of the bodies, or {@code null} for 2D
+     * @param az The array for the z components, or {@code null} for 2D
+     */
+    public static void bruteForce(double[] x, double[] y, double[] z, double[] mass, int n,
+                                  double g, double softening, double[] ax, double[] ay, double[] az) {
+        double eps2 = softening * softening;
+        for(int i=0; i<n; i++) {
+            double sx = 0, sy = 0, sz = 0;
+            for(int j=0; j<n; j++) {
+                if(i == j) continue;
+                double dx = x[j] - x[i], dy = y[j] - y[i], dz = z != null ? z[j] - z[i] : 0;
+                double d2 = dx * dx + dy * dy + dz * dz + eps2;
+                if(d2 == 0) continue;
+                double f = mass[j] / (d2 * Math.sqrt(d2));
+                sx += f * dx;
+                sy += f * dy;
+                sz += f * dz;
+            }
+            ax[i] = g * sx;
+            ay[i] = g * sy;
+            if(az != null) az[i] = g * sz;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Range {
+        void run(int start, int end);
+    }
+
+    private static void forEach(int n, boolean parallel, Range op) {
+        if(!parallel || n <= CHUNK_SIZE) {
+            op.run(0, n);
+            return;
+        }
+        IntStream.range(0, (n + CHUNK_SIZE - 1) / CHUNK_SIZE).parallel()
+                .forEach(c -> op.run(c * CHUNK_SIZE, Math.min(n, (c + 1) * CHUNK_SIZE)));
+    }
+
+
+
+    /**
+     * Measures the time for a step of a larger system. The accuracy is
+     * checked by {@code BarnesHutTest}.
+     */
+    public static void main(String[] args) {
+        Random random = new Random(0);
+        int n = 100000;
+        Particles particles = new Particles(n).gravity(0, 0, 0);
+        for(int i=0; i<n; i++)
+            particles.add(random.nextGaussian() * 1E9, random.nextGaussian() * 1E9, random.nextGaussian() * 1E9, 0, 0, 0, Physics.M_EARTH);
+        particles.forces(octree(0.5));
+        for(int run=0; run<3; run++) {
+            Stopwatch watch = new Stopwatch().start();
+            particles.stepVerlet(60, true);
+            Console.map("Step with " + n + " bodies", watch.stop().getPassedNanos() / 1000000 + "ms");
+        }
+    }
+}
@@ -7,6 +7,20 @@ public interface Border {
      */
     double[] rayIntersection(Ray ray);
 
+    /**
+     * Calculates only the index on the ray where it hits this border,
+     * without creating any objects. Used to find the closest of many
+     * borders before calculating the full intersection with
+     * {@link #rayIntersection(Ray)}.
+     *
+     * @return The index on the ray, or {@link Double#NaN} if the ray does
+     *         not hit this border
+     */
+    default double rayIndex(Ray ray) {
+        double[] intersection = rayIntersection(ray);
+        return intersection != null ? intersection[1] : Double.NaN;
+    }
+
     Vector get(double index);
 
     Vector getNormal(double index);
@@ -44,29 +44,27 @@ public class Circle implements Border {
 
     @Override
     public double[] rayIntersection(Ray ray) {
-        Double ri = rayIndex(ray);
-        if(ri == null) return null;
+        double ri = rayIndex(ray);
+        if(Double.isNaN(ri)) return null;
         double ci = radius == 0 ? 0 : (Vector.between(center, ray.get(ri)).angle() - rotation) / 360 + 0.25;
         if(ci < 0) ci++;
         return new double[] {ci, ri};
     }
 
-    private Double rayIndex(Ray ray) {
-        Vector between = Vector.between(center, ray.root);
+    @Override
+    public double rayIndex(Ray ray) {
+        double bx = ray.root.x() - center.x(), by = ray.root.y() - center.y();
+        double dx = ray.direction.x(), dy = ray.direction.y();
 
-        double a = 2 * ray.direction.sqrAbs();
-        double b = 2 * between.dot(ray.direction);
-        double x = b * b - 2 * a * (between.sqrAbs() - radius * radius);
+        double a = 2 * (dx * dx + dy * dy);
+        double b = 2 * (bx * dx + by * dy);
+        double x = b * b - 2 * a * (bx * bx + by * by - radius * radius);
 
-        if(x < 0) return null;
+        if(x < 0) return Double.NaN;
         x = Math.sqrt(x);
 
-        if(insideOut) {
-            double i2 = (-b + x)/a;
-            return i2 < 0 ? null : i2;
-        }
-        double i1 = (-b - x)/a;
-        return i1 < 0 ? null : i1;
+        double i = insideOut ? (-b + x)/a : (-b - x)/a;
+        return i < 0 ? Double.NaN : i;
     }
 
     @Override
@@ -0,0 +1,193 @@
+package com.github.rccookie.geometry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.rccookie.geometry.performance.Collider2;
+import com.github.rccookie.geometry.performance.ColliderSet2;
+import com.github.rccookie.geometry.performance.Line2;
+import com.github.rccookie.geometry.performance.Vec2;
+import com.github.rccookie.util.Arguments;
+
+/**
+ * A set of borders compiled into a {@link ColliderSet2} to calculate
+ * raycasts using the performance engine, while keeping the semantics of
+ * {@link Raycast#raycast2D(Ray, double, Iterable)}.
+ * <p>Edges and circles are converted to float colliders and indexed. The
+ * bounds of the index are grown by the rounding error of the conversion,
+ * and every border whose grown bounds are hit by the ray is tested using
+ * the border itself in double precision. Thus, only borders near the ray
+ * are tested, and the result is the same as that of a regular raycast.
+ * Rays and other borders are tested one by one as before. If the borders
+ * have coordinates beyond the range in which floats represent integers
+ * exactly, all borders are tested one by one.
+ * <p>The borders are only read while compiling, so the compiled set has to
+ * be recreated when they change.
+ */
+public final class CompiledBorders {
+
+    /**
+     * Largest coordinate magnitude for which the borders get indexed.
+     */
+    private static final double FLOAT_EXACT = 0x1p24;
+
+    /**
+     * Padding of the index bounds relative to the magnitude of the ray
+     * origin, covering the rounding of the double precision slab test.
+     */
+    private static final double RAY_PAD = 0x1p-48;
+
+
+    private final Border[] borders;
+
+    private final ColliderSet2 set;
+    /**
+     * The border index for each collider in the set.
+     */
+    private final int[] setBorders;
+    /**
+     * Indices of the borders that were not compiled.
+     */
+    private final int[] others;
+    /**
+     * The distance the bounds of the compiled borders are grown by, or
+     * {@code NaN} if the borders are out of range to be indexed.
+     */
+    private final double pad;
+
+    private CompiledBorders(Border[] borders, ColliderSet2 set, int[] setBorders, int[] others, double pad) {
+        this.borders = borders;
+        this.set = set;
+        this.setBorders = setBorders;
+        this.others = others;
+        this.pad = pad;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledBorders{" + borders.length + " borders, " + set.size() + " compiled}";
+    }
+
+    /**
+     * Returns the number of borders in this set.
+     *
+     * @return The number of borders
+     */
+    public int size() {
+        return borders.length;
+    }
+
+    /**
+     * Calculates a raycast from the given ray taking all borders of this set into consideration.
+     * This method will never return null but rather a result describing a non-hit.
+     *
+     * @param ray The ray cast
+     * @param maxLength The maximum distance of the raycast. Has no performance impact
+     * @return A RaycastResult2D describing the outcome of the raycast
+     * @throws NullPointerException If {@code ray} is {@code null}
+     * @see Raycast#raycast2D(Ray, double, Iterable)
+     */
+    public Raycast.Raycast2D raycast2D(Ray ray, double maxLength) {
+        Arguments.checkNull(ray, "ray");
+        if(pad != pad) return Raycast.raycast2D(ray, maxLength, borders);
+
+        double ox = ray.root.x(), oy = ray.root.y();
+        int hit = set.closest(ox, oy, ray.direction.x(), ray.direction.y(),
+                Math.max(pad, RAY_PAD * Math.max(Math.abs(ox), Math.abs(oy))), i -> {
+            double index = borders[setBorders[i]].rayIndex(ray);
+            return index > 0 ? index : Double.NaN;
+        });
+
+        // Of borders hit at the same index, the first one is reported like by a regular raycast
+        int closest = hit != -1 ? setBorders[hit] : -1;
+        double closestIndex = hit != -1 ? borders[closest].rayIndex(ray) : Double.POSITIVE_INFINITY;
+        for(int i : others) {
+            double index = borders[i].rayIndex(ray);
+            if(index > 0 && (index < closestIndex || (index == closestIndex && i < closest))) {
+                closest = i;
+                closestIndex = index;
+            }
+        }
+        return Raycast.result(ray, closest != -1 ? borders[closest] : null, maxLength);
+    }
+
+
+
+    /**
+     * Compiles the given borders.
+     *
+     * @param borders The borders to compile
+     * @return The compiled borders
+     */
+    public static CompiledBorders compile(Iterable<Border> borders) {
+        Arguments.checkNull(borders, "borders");
+
+        List<Border> all = new ArrayList<>();
+        List<Collider2> colliders = new ArrayList<>();
+        List<Integer> setBorders = new ArrayList<>();
+        List<Integer> others = new ArrayList<>();
+        double max = 0;
+
+        for(Border border : borders) {
+            Collider2 collider = compile(border);
+            if(collider != null) {
+                colliders.add(collider);
+                setBorders.add(all.size());
+                max = Math.max(max, magnitude(border));
+            }
+            else others.add(all.size());
+            all.add(border);
+        }
+
+        // Each coordinate and the bounds computed from them are rounded to float once
+        double pad = max <= FLOAT_EXACT ? 4 * Math.ulp((float) max) : Double.NaN;
+        return new CompiledBorders(
+                all.toArray(new Border[0]),
+                new ColliderSet2(colliders),
+                setBorders.stream().mapToInt(Integer::intValue).toArray(),
+                others.stream().mapToInt(Integer::intValue).toArray(),
+                pad
+        );
+    }
+
+    /**
+     * Compiles the given borders.
+     *
+     * @param borders The borders to compile
+     * @return The compiled borders
+     */
+    public static CompiledBorders compile(Border... borders) {
+        return compile(List.of(borders));
+    }
+
+    private static Collider2 compile(Border border) {
+        if(border instanceof Edge) {
+            Edge e = (Edge) border;
+            // Edges can be hit from both sides
+            return new Line2(vec2(e.start), vec2(e.end), true);
+        }
+        if(border instanceof Circle) {
+            Circle c = (Circle) border;
+            return new com.github.rccookie.geometry.performance.Circle(
+                    vec2(c.center()), (float) c.radius(), (float) c.rotation(), c.isInsideOut());
+        }
+        return null;
+    }
+
+    /**
+     * Returns the largest coordinate magnitude of the given compiled border.
+     */
+    private static double magnitude(Border border) {
+        if(border instanceof Edge) {
+            Edge e = (Edge) border;
+            return Math.max(Math.max(Math.abs(e.start.x()), Math.abs(e.start.y())),
+                    Math.max(Math.abs(e.end.x()), Math.abs(e.end.y())));
+        }
+        Circle c = (Circle) border;
+        return Math.max(Math.abs(c.center().x()), Math.abs(c.center().y())) + Math.abs(c.radius());
+    }
+
+    private static Vec2 vec2(Vector v) {
+        return new Vec2((float) v.x(), (float) v.y());
+    }
+}
@@ -21,6 +21,11 @@ public class Edge implements Border {
         return Edge.intersection(this, ray);
     }
 
+    @Override
+    public double rayIndex(Ray ray) {
+        return Edge.rayIndex(this, ray);
+    }
+
     @Override
     public Vector get(double index) {
         return start.added(connection.scaled(index));
@@ -59,6 +64,24 @@ public class Edge implements Border {
         return (intersection == null || intersection[0] < 0 || intersection[0] > 1) ? null : intersection;
     }
 
+    /**
+     * Same as {@link #intersection(Edge, Ray)}, but only returns the index on
+     * the ray and does not create any objects.
+     *
+     * @return The index on the ray, or {@link Double#NaN} if the ray does
+     *         not hit the edge
+     */
+    public static double rayIndex(Edge e, Ray r) {
+        double ex = e.connection.x(), ey = e.connection.y(), sx = e.start.x(), sy = e.start.y();
+        double dx = r.direction.x(), dy = r.direction.y(), rx = r.root.x(), ry = r.root.y();
+
+        double rayHit = ((ex * sy - ey * sx) + (ey * rx - ex * ry)) / (ex * dy - ey * dx);
+        if(Double.isNaN(rayHit)) return Double.NaN;
+
+        double edgeHit = ((dx * ry - dy * rx) + (dy * sx - dx * sy)) / (dx * ey - dy * ex);
+        return edgeHit < 0 || edgeHit > 1 ? Double.NaN : rayHit;
+    }
+
     public static double[] intersection(Edge e, Edge f) {
         double[] intersection = Ray.intersection(new Ray(e.start, e.connection), new Ray(f.start, f.connection));
         return (intersection == null || intersection[0] < 0 || intersection[0] > 1 || intersection[1] < 0 || intersection[1] > 1) ? null : intersection;
@@ -0,0 +1,344 @@
+package com.github.rccookie.geometry;
+
+import java.util.stream.IntStream;
+
+import com.github.rccookie.util.Console;
+import com.github.rccookie.util.Stopwatch;
+
+/**
+ * A container for a large number of point masses, integrated together
+ * under gravity and optional additional forces. Positions, velocities,
+ * accelerations and masses are stored in parallel primitive arrays, so
+ * stepping the simulation does not create any objects, unlike the
+ * per-call formulas in {@link Physics.Mechanics}.
+ * <p>The acceleration arrays hold the acceleration of each particle in
+ * addition to {@link #gravity(double, double, double) gravity}. They are
+ * either set directly or computed each step by a {@link Forces} function.
+ * <p>Particles are identified by their index. Removing a particle moves the
+ * last particle into its place.
+ * <p>Containers are not thread safe, but can split their own steps across
+ * threads using the {@code parallel} parameter.
+ */
+public class Particles {
+
+    /**
+     * Number of particles updated per task when stepping in parallel.
+     */
+    private static final int CHUNK_SIZE = 4096;
+
+
+    /**
+     * Computes the accelerations of particles, for example from forces
+     * between them.
+     */
+    @FunctionalInterface
+    public interface Forces {
+
+        /**
+         * Sets the acceleration arrays of the particles from {@code start}
+         * (inclusive) to {@code end} (exclusive). When stepping in parallel,
+         * this gets called for different ranges concurrently, so it may read
+         * all particles, but should only write to the given range.
+         *
+         * @param p The particles to compute the accelerations for
+         * @param start The index of the first particle
+         * @param end The index after the last particle
+         */
+        void apply(Particles p, int start, int end);
+
+        /**
+         * Called once per step before {@link #apply(Particles, int, int)} is
+         * called for the individual ranges, for example to build a spatial
+         * index over all particles.
+         *
+         * @param p The particles to compute the accelerations for
+         * @param parallel Whether the step is split across multiple threads
+         */
+        default void prepare(Particles p, boolean parallel) { }
+    }
+
+
+    @FunctionalInterface
+    private interface Range {
+        void run(int start, int end);
+    }
+
+
+    public final double[] x, y, z;
+    public final double[] vx, vy, vz;
+    public final double[] ax, ay, az;
+    public final double[] mass;
+
+    private final int capacity;
+    private int size = 0;
+
+    private double gx, gy, gz;
+    private Forces forces = null;
+
+    /**
+     * Creates a new particle container with gravity set to
+     * {@link Physics#G_EARTH_VEC}.
+     *
+     * @param capacity The maximum number of particles
+     */
+    public Particles(int capacity) {
+        if(capacity < 0) throw new IllegalArgumentException("Negative capacity");
+        this.capacity = capacity;
+        x = new double[capacity];
+        y = new double[capacity];
+        z = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        vz = new double[capacity];
+        ax = new double[capacity];
+        ay = new double[capacity];
+        az = new double[capacity];
+        mass = new double[capacity];
+        gravity(Physics.G_EARTH_VEC);
+    }
+
+    @Override
+    public String toString() {
+        return "Particles{" + size + '/' + capacity + '}';
+    }
+
+    /**
+     * Returns the number of particles.
+     *
+     * @return The number of particles
+     */
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the gravity acting on all particles.
+     *
+     * @param x The x component of the gravity
+     * @param y The y component of the gravity
+     * @param z The z component of the gravity
+     * @return This container
+     */
+    public Particles gravity(double x, double y, double z) {
+        gx = x;
+        gy = y;
+        gz = z;
+        return this;
+    }
+
+    /**
+     * Sets the gravity acting on all particles.
+     *
+     * @param g The gravity
+     * @return This container
+     */
+    public Particles gravity(Vector3D g) {
+        return gravity(g.x(), g.y(), g.z());
+    }
+
+    /**
+     * Returns the gravity acting on all particles.
+     *
+     * @return A new vector describing the gravity
+     */
+    public Vector3D gravity() {
+        return new Vector3D(gx, gy, gz);
+    }
+
+    /**
+     * Sets the function that computes the accelerations of the particles
+     * each step. If {@code null}, the accelerations stay as they are set.
+     *
+     * @param forces The force function, or {@code null}
+     * @return This container
+     */
+    public Particles forces(Forces forces) {
+        this.forces = forces;
+        return this;
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Adds a particle without acceleration.
+     *
+     * @return The index of the particle
+     * @throws IllegalStateException If the container is full
+     */
+    public int add(double x, double y, double z, double vx, double vy, double vz, double mass) {
+        if(size == capacity) throw new IllegalStateException("Particle capacity exceeded");
+        int i = size++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.z[i] = z;
+        this.vx[i] = vx;
+        this.vy[i] = vy;
+        this.vz[i] = vz;
+        ax[i] = ay[i] = az[i] = 0;
+        this.mass[i] = mass;
+        return i;
+    }
+
+    /**
+     * Adds a particle without acceleration.
+     *
+     * @param location The location of the particle
+     * @param velocity The velocity of the particle
+     * @param mass The mass of the particle
+     * @return The index of the particle
+     * @throws IllegalStateException If the container is full
+     */
+    public int add(Vector3D location, Vector3D velocity, double mass) {
+        return add(location.x(), location.y(), location.z(), velocity.x(), velocity.y(), velocity.z(), mass);
+    }
+
+    /**
+     * Removes the particle at the given index by moving the last particle
+     * into its place.
+     *
+     * @param i The index of the particle to remove
+     */
+    public void remove(int i) {
+        if(i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+        int last = --size;
+        x[i] = x[last];
+        y[i] = y[last];
+        z[i] = z[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        vz[i] = vz[last];
+        ax[i] = ax[last];
+        ay[i] = ay[last];
+        az[i] = az[last];
+        mass[i] = mass[last];
+    }
+
+    /**
+     * Removes all particles.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public Vector3D location(int i) {
+        return new Vector3D(x[i], y[i], z[i]);
+    }
+
+    public Vector3D velocity(int i) {
+        return new Vector3D(vx[i], vy[i], vz[i]);
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Advances all particles by the given time using the semi-implicit
+     * (symplectic) Euler method: the velocity is updated first and then
+     * used to update the location.
+     *
+     * @param dt The time to advance
+     */
+    public void stepEuler(double dt) {
+        stepEuler(dt, false);
+    }
+
+    /**
+     * Advances all particles by the given time using the semi-implicit
+     * (symplectic) Euler method: the velocity is updated first and then
+     * used to update the location.
+     *
+     * @param dt The time to advance
+     * @param parallel Whether to split the step across multiple threads
+     */
+    public void stepEuler(double dt, boolean parallel) {
+        if(forces != null) {
+            forces.prepare(this, parallel);
+            forEachChunk(parallel, (start, end) -> forces.apply(this, start, end));
+        }
+        forEachChunk(parallel, (start, end) -> {
+            double gx = this.gx * dt, gy = this.gy * dt, gz = this.gz * dt;
+            for(int i=start; i<end; i++) {
+                x[i] += (vx[i] += ax[i] * dt + gx) * dt;
+                y[i] += (vy[i] += ay[i] * dt + gy) * dt;
+                z[i] += (vz[i] += az[i] * dt + gz) * dt;
+            }
+        });
+    }
+
+    /**
+     * Advances all particles by the given time using the velocity Verlet
+     * method. With constant acceleration the result is exact up to
+     * rounding. The force function is evaluated once per step, after the
+     * locations have been updated, so the accelerations have to be valid
+     * for the initial locations before the first step.
+     *
+     * @param dt The time to advance
+     */
+    public void stepVerlet(double dt) {
+        stepVerlet(dt, false);
+    }
+
+    /**
+     * Advances all particles by the given time using the velocity Verlet
+     * method.
+     *
+     * @param dt The time to advance
+     * @param parallel Whether to split the step across multiple threads
+     * @see #stepVerlet(double)
+     */
+    public void stepVerlet(double dt, boolean parallel) {
+        double hdt = 0.5 * dt;
+        forEachChunk(parallel, (start, end) -> {
+            double gx = this.gx * hdt, gy = this.gy * hdt, gz = this.gz * hdt;
+            for(int i=start; i<end; i++) {
+                x[i] += (vx[i] += ax[i] * hdt + gx) * dt;
+                y[i] += (vy[i] += ay[i] * hdt + gy) * dt;
+                z[i] += (vz[i] += az[i] * hdt + gz) * dt;
+            }
+        });
+        // All locations have to be updated before computing the new forces
+        if(forces != null) forces.prepare(this, parallel);
+        forEachChunk(parallel, (start, end) -> {
+            if(forces != null) forces.apply(this, start, end);
+            double gx = this.gx * hdt, gy = this.gy * hdt, gz = this.gz * hdt;
+            for(int i=start; i<end; i++) {
+                vx[i] += ax[i] * hdt + gx;
+                vy[i] += ay[i] * hdt + gy;
+                vz[i] += az[i] * hdt + gz;
+            }
+        });
+    }
+
+    private void forEachChunk(boolean parallel, Range op) {
+        int size = this.size;
+        if(!parallel || size <= CHUNK_SIZE) {
+            op.run(0, size);
+            return;
+        }
+        IntStream.range(0, (size + CHUNK_SIZE - 1) / CHUNK_SIZE).parallel()
+                .forEach(c -> op.run(c * CHUNK_SIZE, Math.min(size, (c + 1) * CHUNK_SIZE)));
+    }
+
+
+
+    /**
+     * Measures the step time for one million particles. The integrators
+     * are checked by {@code ParticlesTest}.
+     */
+    public static void main(String[] args) {
+        double dt = 1 / 60d;
+        int n = 1000000;
+        Particles particles = new Particles(n);
+        for(int i=0; i<n; i++) particles.add(i, 0, 0, 0, 1, 10, 1);
+        for(int run=0; run<3; run++) {
+            for(boolean parallel : new boolean[] { false, true }) {
+                Stopwatch watch = new Stopwatch().start();
+                for(int i=0; i<10; i++) particles.stepVerlet(dt, parallel);
+                Console.map(parallel ? "Parallel" : "Sequential", watch.stop().getPassedNanos() / 10 / 1000000d + "ms/step");
+            }
+        }
+    }
+}
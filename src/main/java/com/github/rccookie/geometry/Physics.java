@@ -51,6 +51,11 @@ public final class Physics {
      */
     public static final Vector3D G_EARTH_VEC = new Vector3D(0, 0, -G_EARTH);
 
+    /**
+     * {@link #G_EARTH_VEC} inverted, to be used as decceleration.
+     */
+    private static final Vector3D G_EARTH_UP = new Vector3D(0, 0, G_EARTH);
+
     /**
      * Absolute permittivity in vacuum
      */
@@ -215,11 +220,25 @@ public final class Physics {
          * @return The distance traveled
          */
         public static Vector3D distTraveled(Vector3D acceleration, double time, Vector3D velocity0) {
-            return acceleration.scaled(0.5 * time * time).add(distTraveled(velocity0, time));
+            return distTraveled(acceleration, time, velocity0, new Vector3D());
+        }
+
+        /**
+         * Calculates the traveled distance when moving with an accelerating velocity for the specified amount of time.
+         * @param out The vector to store the result in
+         * @return The given output vector
+         */
+        public static Vector3D distTraveled(Vector3D acceleration, double time, Vector3D velocity0, Vector3D out) {
+            double f = 0.5 * time * time;
+            return out.set(
+                acceleration.x() * f + velocity0.x() * time,
+                acceleration.y() * f + velocity0.y() * time,
+                acceleration.z() * f + velocity0.z() * time
+            );
         }
 
         /**
-         * Calculates the velocity after accelerating fot the given amount of time
+         * Calculates the velocity after accelerating for the given amount of time
          * @param acceleration
          * @param time
          * @param velocity0 The initial velocity
@@ -230,14 +249,27 @@ public final class Physics {
         }
 
         /**
-         * Calculates the velocity after accelerating fot the given amount of time
+         * Calculates the velocity after accelerating for the given amount of time
          * @param acceleration
          * @param time
          * @param velocity0 The initial velocity
          * @return The final velocity
          */
         public static Vector3D velocity(Vector3D acceleration, double time, Vector3D velocity0) {
-            return acceleration.scaled(time).add(velocity0);
+            return velocity(acceleration, time, velocity0, new Vector3D());
+        }
+
+        /**
+         * Calculates the velocity after accelerating for the given amount of time
+         * @param out The vector to store the result in
+         * @return The given output vector
+         */
+        public static Vector3D velocity(Vector3D acceleration, double time, Vector3D velocity0, Vector3D out) {
+            return out.set(
+                acceleration.x() * time + velocity0.x(),
+                acceleration.y() * time + velocity0.y(),
+                acceleration.z() * time + velocity0.z()
+            );
         }
 
 
@@ -303,6 +335,15 @@ public final class Physics {
             return velocity(G_EARTH_VEC, time, velocity0);
         }
 
+        /**
+         * Calculates the velocity of an object falling for the specified time.
+         * @param out The vector to store the result in
+         * @return The given output vector
+         */
+        public static Vector3D fallVel(double time, Vector3D velocity0, Vector3D out) {
+            return velocity(G_EARTH_VEC, time, velocity0, out);
+        }
+
         /**
          * Calculates the distance traveled by an object falling for the specified amount of time.
          * @param time
@@ -323,6 +364,15 @@ public final class Physics {
             return distTraveled(G_EARTH_VEC, time, velocity0);
         }
 
+        /**
+         * Calculates the distance traveled by an object falling for the specified amount of time.
+         * @param out The vector to store the result in
+         * @return The given output vector
+         */
+        public static Vector3D fallDist(double time, Vector3D velocity0, Vector3D out) {
+            return distTraveled(G_EARTH_VEC, time, velocity0, out);
+        }
+
         /**
          * Calculates the time for that an object starting with the given velocity travels upwards.
          * @param velocity0 The initial velocity
@@ -338,7 +388,7 @@ public final class Physics {
          * @return The time the objects rises
          */
         public static Vector3D riseTime(Vector3D velocity0) {
-            return riseTime(G_EARTH_VEC.inverted(), velocity0);
+            return riseTime(G_EARTH_UP, velocity0);
         }
 
         /**
@@ -352,6 +402,20 @@ public final class Physics {
             return velocity0 / decceleration;
         }
 
+        /**
+         * Calculates the times for that objects starting with the given velocities rise when deccelerated
+         * with the specified acceleration, for each index from {@code off} to {@code off + len}.
+         * @param decceleration
+         * @param velocity0 The initial velocities
+         * @param out The array to store the rise times in, may be {@code velocity0}
+         * @param off The first index
+         * @param len The number of velocities
+         */
+        public static void riseTime(double decceleration, double[] velocity0, double[] out, int off, int len) {
+            for(int i=off, end=off+len; i<end; i++)
+                out[i] = velocity0[i] / decceleration;
+        }
+
         /**
          * Calculates the time for that an object starting with the given velocity rises when deccelerated
          * with the specified acceleration.
@@ -360,7 +424,17 @@ public final class Physics {
          * @return The time the object rises
          */
         public static Vector3D riseTime(Vector3D decceleration, Vector3D velocity0) {
-            return new Vector3D(velocity0.x() / decceleration.x(), velocity0.y() / decceleration.y(), velocity0.z() / decceleration.z());
+            return riseTime(decceleration, velocity0, new Vector3D());
+        }
+
+        /**
+         * Calculates the time for that an object starting with the given velocity rises when deccelerated
+         * with the specified acceleration.
+         * @param out The vector to store the result in
+         * @return The given output vector
+         */
+        public static Vector3D riseTime(Vector3D decceleration, Vector3D velocity0, Vector3D out) {
+            return out.set(velocity0.x() / decceleration.x(), velocity0.y() / decceleration.y(), velocity0.z() / decceleration.z());
         }
 
         /**
@@ -378,7 +452,7 @@ public final class Physics {
          * @return The rise height
          */
         public static Vector3D riseHeight(Vector3D velocity0) {
-            return riseHeight(G_EARTH_VEC.inverted(), velocity0);
+            return riseHeight(G_EARTH_UP, velocity0);
         }
 
         /**
@@ -392,6 +466,20 @@ public final class Physics {
             return velocity0 * velocity0 / (2 * decceleration);
         }
 
+        /**
+         * Calculates the distances that objects rise when starting with the given velocities and being
+         * decceletated with the given acceleration, for each index from {@code off} to {@code off + len}.
+         * @param decceleration
+         * @param velocity0 The initial velocities
+         * @param out The array to store the rise heights in, may be {@code velocity0}
+         * @param off The first index
+         * @param len The number of velocities
+         */
+        public static void riseHeight(double decceleration, double[] velocity0, double[] out, int off, int len) {
+            for(int i=off, end=off+len; i<end; i++)
+                out[i] = velocity0[i] * velocity0[i] / (2 * decceleration);
+        }
+
         /**
          * Calculates the distance that an object rises when starting with the given velocity and being decceletated
          * with the given acceleration.
@@ -400,7 +488,17 @@ public final class Physics {
          * @return The rise height
          */
         public static Vector3D riseHeight(Vector3D decceleration, Vector3D velocity0) {
-            return new Vector3D(
+            return riseHeight(decceleration, velocity0, new Vector3D());
+        }
+
+        /**
+         * Calculates the distance that an object rises when starting with the given velocity and being decceletated
+         * with the given acceleration.
+         * @param out The vector to store the result in
+         * @return The given output vector
+         */
+        public static Vector3D riseHeight(Vector3D decceleration, Vector3D velocity0, Vector3D out) {
+            return out.set(
                 velocity0.x() * velocity0.x() / (2 * decceleration.x()),
                 velocity0.y() * velocity0.y() / (2 * decceleration.y()),
                 velocity0.z() * velocity0.z() / (2 * decceleration.z())
@@ -409,7 +507,7 @@ public final class Physics {
 
 
         /**
-         * Calculates the velocity of an object thrown with a certain velocity after the specfied time while falling down.
+         * Calculates the velocity of an object thrown with a certain velocity after the specified time while falling down.
          * <p>Acceleration acts onto the z coordinate.
          * @param time
          * @param velocity0 The initial velocity
@@ -420,7 +518,17 @@ public final class Physics {
         }
 
         /**
-         * Calculates the velocity of an object thrown with a certain velocity after the specfied time being accelerated
+         * Calculates the velocity of an object thrown with a certain velocity after the specified time while falling down.
+         * <p>Acceleration acts onto the z coordinate.
+         * @param out The vector to store the result in
+         * @return The given output vector
+         */
+        public static Vector3D throwVel(double time, Vector3D velocity0, Vector3D out) {
+            return throwVel(-G_EARTH, time, velocity0, out);
+        }
+
+        /**
+         * Calculates the velocity of an object thrown with a certain velocity after the specified time being accelerated
          * the given amount.
          * <p>Acceleration acts onto the z coordinate.
          * @param acceleration
@@ -429,14 +537,51 @@ public final class Physics {
          * @return The final velocity
          */
         public static Vector3D throwVel(double acceleration, double time, Vector3D velocity0) {
-            return new Vector3D(velocity0.x(), velocity0.y(), velocity(acceleration, time, velocity0.z()));
+            return throwVel(acceleration, time, velocity0, new Vector3D());
+        }
+
+        /**
+         * Calculates the velocity of an object thrown with a certain velocity after the specified time being accelerated
+         * the given amount.
+         * <p>Acceleration acts onto the z coordinate.
+         * @param out The vector to store the result in
+         * @return The given output vector
+         */
+        public static Vector3D throwVel(double acceleration, double time, Vector3D velocity0, Vector3D out) {
+            return out.set(velocity0.x(), velocity0.y(), velocity(acceleration, time, velocity0.z()));
         }
 
         /**
-         * Calculates the location of an object thrown with a certain velocity ater the specified time while falling down.
+         * Calculates the velocities of objects thrown with the given velocities after the specified time being
+         * accelerated the given amount, for each index from {@code off} to {@code off + len}. The output arrays
+         * may be the input arrays.
+         * <p>Acceleration acts onto the z coordinate.
+         * @param acceleration
+         * @param time
+         * @param vx The x components of the initial velocities
+         * @param vy The y components of the initial velocities
+         * @param vz The z components of the initial velocities
+         * @param ox The array to store the x components of the final velocities in
+         * @param oy The array to store the y components of the final velocities in
+         * @param oz The array to store the z components of the final velocities in
+         * @param off The first index
+         * @param len The number of velocities
+         */
+        public static void throwVel(double acceleration, double time, double[] vx, double[] vy, double[] vz,
+                                    double[] ox, double[] oy, double[] oz, int off, int len) {
+            double dv = acceleration * time;
+            for(int i=off, end=off+len; i<end; i++) {
+                ox[i] = vx[i];
+                oy[i] = vy[i];
+                oz[i] = dv + vz[i];
+            }
+        }
+
+        /**
+         * Calculates the location of an object thrown with a certain velocity after the specified time while falling down.
          * <p>Acceleration acts onto the z coordinate.
          * @param time
-         * @param velocity0 The initial veloctiy
+         * @param velocity0 The initial velocity
          * @return The location
          */
         public static Vector3D throwLoc(double time, Vector3D velocity0) {
@@ -444,16 +589,63 @@ public final class Physics {
         }
 
         /**
-         * Calculates the location of an object thrown with a certain velocity ater the specified time being accellerated
+         * Calculates the location of an object thrown with a certain velocity after the specified time while falling down.
+         * <p>Acceleration acts onto the z coordinate.
+         * @param out The vector to store the result in
+         * @return The given output vector
+         */
+        public static Vector3D throwLoc(double time, Vector3D velocity0, Vector3D out) {
+            return throwLoc(-G_EARTH, time, velocity0, out);
+        }
+
+        /**
+         * Calculates the location of an object thrown with a certain velocity after the specified time being accelerated
          * the given amount.
          * <p>Acceleration acts onto the z coordinate.
          * @param acceleration
          * @param time
-         * @param velocity0 The initial veloctiy
+         * @param velocity0 The initial velocity
          * @return The location
          */
         public static Vector3D throwLoc(double acceleration, double time, Vector3D velocity0) {
-            return new Vector3D(distTraveled(velocity0.x(), time), distTraveled(velocity0.y(), time), distTraveled(acceleration, time, velocity0.z()));
+            return throwLoc(acceleration, time, velocity0, new Vector3D());
+        }
+
+        /**
+         * Calculates the location of an object thrown with a certain velocity after the specified time being accelerated
+         * the given amount.
+         * <p>Acceleration acts onto the z coordinate.
+         * @param out The vector to store the result in
+         * @return The given output vector
+         */
+        public static Vector3D throwLoc(double acceleration, double time, Vector3D velocity0, Vector3D out) {
+            return out.set(distTraveled(velocity0.x(), time), distTraveled(velocity0.y(), time), distTraveled(acceleration, time, velocity0.z()));
+        }
+
+        /**
+         * Calculates the locations of objects thrown with the given velocities after the specified time being
+         * accelerated the given amount, for each index from {@code off} to {@code off + len}. The output arrays
+         * may be the input arrays.
+         * <p>Acceleration acts onto the z coordinate.
+         * @param acceleration
+         * @param time
+         * @param vx The x components of the initial velocities
+         * @param vy The y components of the initial velocities
+         * @param vz The z components of the initial velocities
+         * @param ox The array to store the x components of the locations in
+         * @param oy The array to store the y components of the locations in
+         * @param oz The array to store the z components of the locations in
+         * @param off The first index
+         * @param len The number of velocities
+         */
+        public static void throwLoc(double acceleration, double time, double[] vx, double[] vy, double[] vz,
+                                    double[] ox, double[] oy, double[] oz, int off, int len) {
+            double dz = (acceleration / 2) * time * time;
+            for(int i=off, end=off+len; i<end; i++) {
+                ox[i] = vx[i] * time;
+                oy[i] = vy[i] * time;
+                oz[i] = dz + vz[i] * time;
+            }
         }
 
 
@@ -467,7 +659,16 @@ public final class Physics {
          * @return The force
          */
         public static Vector3D force(double mass, Vector3D acceleration) {
-            return acceleration.scaled(mass);
+            return force(mass, acceleration, new Vector3D());
+        }
+
+        /**
+         * Calculates the force that exists if an object with a certain mass gets constantly accelerated.
+         * @param out The vector to store the result in
+         * @return The given output vector
+         */
+        public static Vector3D force(double mass, Vector3D acceleration, Vector3D out) {
+            return out.set(acceleration.x() * mass, acceleration.y() * mass, acceleration.z() * mass);
         }
 
         /**
@@ -536,6 +737,32 @@ public final class Physics {
             return lorenzFactor(velocity.abs());
         }
 
+        /**
+         * Calculates the lorenz factor for the velocity with the given components.
+         * @param vx
+         * @param vy
+         * @param vz
+         * @return The lorenz factor
+         */
+        public static double lorenzFactor(double vx, double vy, double vz) {
+            return 1 / Math.sqrt(1 - (vx * vx + vy * vy + vz * vz) / (C * C));
+        }
+
+        /**
+         * Calculates the lorenz factors for the velocities with the given components, for each index from
+         * {@code off} to {@code off + len}.
+         * @param vx The x components of the velocities
+         * @param vy The y components of the velocities
+         * @param vz The z components of the velocities
+         * @param out The array to store the lorenz factors in
+         * @param off The first index
+         * @param len The number of velocities
+         */
+        public static void lorenzFactor(double[] vx, double[] vy, double[] vz, double[] out, int off, int len) {
+            for(int i=off, end=off+len; i<end; i++)
+                out[i] = 1 / Math.sqrt(1 - (vx[i] * vx[i] + vy[i] * vy[i] + vz[i] * vz[i]) / (C * C));
+        }
+
         /**
          * Calculates the time for the second inertial system with the given relative velocity.
          * @param velocity The difference in velocity
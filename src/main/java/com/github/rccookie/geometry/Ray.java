@@ -23,6 +23,13 @@ public class Ray implements Border {
         return intersection(this, ray);
     }
 
+    @Override
+    public double rayIndex(Ray ray) {
+        double dx = direction.x(), dy = direction.y();
+        return ((dx * root.y() - dy * root.x()) + (dy * ray.root.x() - dx * ray.root.y()))
+                / (dx * ray.direction.y() - dy * ray.direction.x());
+    }
+
     public Vector get(double index) {
         return root.added(direction.scaled(index));
     }
@@ -4,7 +4,6 @@ import com.github.rccookie.util.Arguments;
 import com.github.rccookie.util.Console;
 import com.github.rccookie.util.Stopwatch;
 
-import java.util.Arrays;
 import java.util.Objects;
 
 public final class Raycast {
@@ -23,15 +22,18 @@ public final class Raycast {
      */
     public static Raycast2D raycast2D(final Ray ray, double maxLength, final Iterable<Border> borders) {
         Arguments.checkNull(ray, "ray");
-        Raycast2D closest = new Raycast2D(Double.NaN, Double.NaN, null, ray, maxLength);
-        if(borders == null) return closest;
+        if(borders == null) return new Raycast2D(Double.NaN, Double.NaN, null, ray, maxLength);
 
+        Border closest = null;
+        double closestIndex = Double.POSITIVE_INFINITY;
         for(Border border : borders) {
-            Raycast2D thisResult = raycast2D(ray, border, maxLength);
-            if(thisResult != null && thisResult.connection != null && (closest.connection == null || thisResult.connection.connection.sqrAbs() < closest.connection.connection.sqrAbs())) closest = thisResult;
+            double index = border.rayIndex(ray);
+            if(index > 0 && index < closestIndex) {
+                closest = border;
+                closestIndex = index;
+            }
         }
-
-        return closest;
+        return result(ray, closest, maxLength);
     }
 
     /**
@@ -46,14 +48,51 @@ public final class Raycast {
      * @see Raycast2D
      */
     public static Raycast2D raycast2D(final Ray ray, double maxLength, final Border... borders) {
-        return raycast2D(ray, maxLength, Arrays.asList(borders));
+        Arguments.checkNull(ray, "ray");
+        Border closest = null;
+        if(borders != null) {
+            int index = closestIndex(ray, borders);
+            if(index != -1) closest = borders[index];
+        }
+        return result(ray, closest, maxLength);
     }
 
+    /**
+     * Calculates the index on the given ray where it first hits any of the given borders,
+     * without creating any objects. The distance to the hit is this index times the length
+     * of the ray's direction.
+     *
+     * @param ray The ray cast
+     * @param borders The borders that the ray may hit
+     * @return The index on the ray of the closest hit, or {@link Double#POSITIVE_INFINITY}
+     *         if no border was hit
+     */
+    public static double rayIndex2D(final Ray ray, final Border... borders) {
+        int index = closestIndex(ray, borders);
+        return index != -1 ? borders[index].rayIndex(ray) : Double.POSITIVE_INFINITY;
+    }
 
-    private static Raycast2D raycast2D(final Ray ray, final Border border, double maxLength) {
-        double[] intersection = border.rayIntersection(ray);
-        if(intersection == null || intersection[1] <= 0) return null;
-        return new Raycast2D(intersection[0], intersection[1], border, ray, maxLength);
+    private static int closestIndex(Ray ray, Border[] borders) {
+        int closest = -1;
+        double closestIndex = Double.POSITIVE_INFINITY;
+        for(int i=0; i<borders.length; i++) {
+            double index = borders[i].rayIndex(ray);
+            if(index > 0 && index < closestIndex) {
+                closest = i;
+                closestIndex = index;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Creates the result for the given closest border, calculating the full intersection
+     * only for that border.
+     */
+    static Raycast2D result(Ray ray, Border closest, double maxLength) {
+        if(closest == null) return new Raycast2D(Double.NaN, Double.NaN, null, ray, maxLength);
+        double[] intersection = closest.rayIntersection(ray);
+        return new Raycast2D(intersection[0], intersection[1], closest, ray, maxLength);
     }
 
 
@@ -160,10 +199,22 @@ public final class Raycast {
         Edge rtr1 = new Edge(Vector.of(1, -2), Vector.of(-1, -2)), rtr2 = new Edge(Vector.of(-1, -2), Vector.of(-1, 2));
         Edge rtr3 = new Edge(Vector.of(-1, 2), Vector.of(1, 2)), rtr4 = new Edge(Vector.of(1, 2), Vector.of(1, -2));
 
+        Ray ray = new Ray(Vector.of(1.1, 2.3), Vector.of(-3.5, -4.7));
+        Border[] borders = { e, c, rt1, rt2, rt3, rt4, rtr1, rtr2, rtr3, rtr4, r2 };
+
+        // Only the index loop is allocation-free, the full raycast creates its result objects
         Stopwatch watch = new Stopwatch().start();
-        for(int i=0; i<10000000; i++) {
-            com.github.rccookie.geometry.Raycast.raycast2D(new com.github.rccookie.geometry.Ray(Vector.of(1.1, 2.3), Vector.of(-3.5, -4.7)), 100, e, c, rt1, rt2, rt3, rt4, rtr1, rtr2, rtr3, rtr4, r2);
-        }
-        Console.map("Time", watch.stop().getPassedNanos());
+        double sum = 0;
+        for(int i=0; i<10000000; i++)
+            sum += rayIndex2D(ray, borders);
+        Console.map("Time (index only, no allocation)", watch.stop().getPassedNanos());
+        Console.map("Index sum", sum);
+
+        watch = new Stopwatch().start();
+        sum = 0;
+        for(int i=0; i<10000000; i++)
+            sum += raycast2D(ray, 100, borders).rayIndex;
+        Console.map("Time (full result, allocates a Raycast2D, Vector and Edge per cast)", watch.stop().getPassedNanos());
+        Console.map("Index sum", sum);
     }
 }
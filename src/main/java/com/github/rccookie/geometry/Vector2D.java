@@ -1,6 +1,8 @@
 package com.github.rccookie.geometry;
 
 import com.github.rccookie.util.Arguments;
+import com.github.rccookie.util.Console;
+import com.github.rccookie.util.Stopwatch;
 
 /**
  * A 2-dimensional vector based on {@link Vector}.
@@ -35,6 +37,15 @@ public class Vector2D extends AbstractVector<Vector2D> {
 
 
 
+    /**
+     * The coordinates. Fast paths that read them from another vector check
+     * for the exact class, as immutable views extend this class but
+     * delegate to another vector instead of using these fields.
+     */
+    private double x, y;
+
+
+
 
     /**
      * Creates a new zero vector.
@@ -59,7 +70,8 @@ public class Vector2D extends AbstractVector<Vector2D> {
      * @param y The y distance of the new vector
      */
     public Vector2D(double x, double y){
-        super(x, y);
+        this.x = x;
+        this.y = y;
     }
 
     /**
@@ -70,27 +82,236 @@ public class Vector2D extends AbstractVector<Vector2D> {
      * @param copy The Vector to create the new vector from
      */
     public Vector2D(Vector copy) {
-        // 2D conversion is essential for super class to create a 2 long array
-        super(copy.get2D());
+        Vector2D v = copy.getClass() == Vector2D.class ? (Vector2D) copy : copy.get2D();
+        x = v.x;
+        y = v.y;
+    }
+
+
+
+
+
+
+
+
+
+
+    @Override
+    public double get(int dimension) {
+        if(dimension == X) return x;
+        if(dimension == Y) return y;
+        if(dimension < 0) throw new DimensionOutOfBoundsException(dimension, 2);
+        return 0;
+    }
+
+    @Override
+    public Vector2D setDim(int dimension, double coordinate) throws DimensionOutOfBoundsException {
+        if(dimension == X) x = coordinate;
+        else if(dimension == Y) y = coordinate;
+        else throw new DimensionOutOfBoundsException(dimension, 2);
+        return this;
     }
 
+    @Override
+    public int size() {
+        return 2;
+    }
 
+    @Override
+    public double x() {
+        return x;
+    }
 
+    @Override
+    public double y() {
+        return y;
+    }
 
+    @Override
+    public Vector2D setX(double x) {
+        this.x = x;
+        return this;
+    }
 
+    @Override
+    public Vector2D setY(double y) {
+        this.y = y;
+        return this;
+    }
 
+    @Override
+    public Vector2D set(Vector vector) {
+        if(vector.getClass() == Vector2D.class) {
+            Vector2D v = (Vector2D) vector;
+            x = v.x;
+            y = v.y;
+        }
+        else {
+            x = vector.get(X);
+            y = vector.get(Y);
+        }
+        return this;
+    }
 
+    @Override
+    public double[] toArray() {
+        return new double[] { x, y };
+    }
 
+    @Override
+    public boolean equals(Object obj) {
+        if(obj != null && obj.getClass() == Vector2D.class) {
+            Vector2D v = (Vector2D) obj;
+            return x == v.x && y == v.y;
+        }
+        return Vector.equals(this, obj);
+    }
 
+    @Override
+    public int hashCode() {
+        // Same as Arrays.hashCode(toArray())
+        return 31 * (31 + Double.hashCode(x)) + Double.hashCode(y);
+    }
 
     @Override
     public double angle() {
-        return Math.toDegrees(Math.atan2(y(), x()));
+        return Math.toDegrees(Math.atan2(y, x));
     }
 
     @Override
     public Vector2D clone(){
-        return new Vector2D(this);
+        return new Vector2D(x, y);
+    }
+
+    @Override
+    public double abs() {
+        return Math.sqrt(x * x + y * y);
+    }
+
+    @Override
+    public double sqrAbs() {
+        return x * x + y * y;
+    }
+
+    @Override
+    public double dot(Vector vector) {
+        if(vector.getClass() == Vector2D.class) {
+            Vector2D v = (Vector2D) vector;
+            return x * v.x + y * v.y;
+        }
+        return super.dot(vector);
+    }
+
+    @Override
+    public boolean isZero() {
+        return x == 0 && y == 0;
+    }
+
+    @Override
+    public Vector2D scale(double scalar) {
+        x *= scalar;
+        y *= scalar;
+        return this;
+    }
+
+    @Override
+    public Vector2D invert() {
+        x = -x;
+        y = -y;
+        return this;
+    }
+
+    @Override
+    public Vector2D norm() {
+        double abs = Math.sqrt(x * x + y * y);
+        if(abs == 0) return this;
+        x /= abs;
+        y /= abs;
+        return this;
+    }
+
+    @Override
+    public Vector2D setZero() {
+        x = y = 0;
+        return this;
+    }
+
+    @Override
+    public Vector2D add(Vector vector) {
+        if(vector.getClass() == Vector2D.class) {
+            Vector2D v = (Vector2D) vector;
+            x += v.x;
+            y += v.y;
+        }
+        else {
+            x += vector.get(X);
+            y += vector.get(Y);
+        }
+        return this;
+    }
+
+    @Override
+    public Vector2D subtract(Vector vector) {
+        if(vector.getClass() == Vector2D.class) {
+            Vector2D v = (Vector2D) vector;
+            x -= v.x;
+            y -= v.y;
+        }
+        else {
+            x -= vector.get(X);
+            y -= vector.get(Y);
+        }
+        return this;
+    }
+
+    @Override
+    public Vector2D multiply(Vector vector) {
+        if(vector.getClass() == Vector2D.class) {
+            Vector2D v = (Vector2D) vector;
+            x *= v.x;
+            y *= v.y;
+        }
+        else {
+            x *= vector.get(X);
+            y *= vector.get(Y);
+        }
+        return this;
+    }
+
+    @Override
+    public Vector2D floor() {
+        x = Math.floor(x);
+        y = Math.floor(y);
+        return this;
+    }
+
+    @Override
+    public Vector2D ceil() {
+        x = Math.ceil(x);
+        y = Math.ceil(y);
+        return this;
+    }
+
+    @Override
+    public Vector2D round() {
+        x = Math.round(x);
+        y = Math.round(y);
+        return this;
+    }
+
+    @Override
+    public Vector added(Vector vector) {
+        return vector.size() <= 2 ? clone().add(vector) : super.added(vector);
+    }
+
+    @Override
+    public Vector subtracted(Vector vector) {
+        return vector.size() <= 2 ? clone().subtract(vector) : super.subtracted(vector);
+    }
+
+    @Override
+    public Vector multiplied(Vector vector) {
+        return vector.size() <= 2 ? clone().multiply(vector) : super.multiplied(vector);
     }
 
     @Override
@@ -100,7 +321,7 @@ public class Vector2D extends AbstractVector<Vector2D> {
 
     @Override
     public IntVector2D getInt() {
-        return new IntVector2D((int) Math.round(x() + 0.5), (int) Math.round(y() + 0.5));
+        return new IntVector2D((int) Math.round(x + 0.5), (int) Math.round(y + 0.5));
     }
 
     /**
@@ -111,7 +332,9 @@ public class Vector2D extends AbstractVector<Vector2D> {
      * @return This vector
      */
     public Vector2D set(double x, double y) {
-        return setX(x).setY(y);
+        this.x = x;
+        this.y = y;
+        return this;
     }
 
 
@@ -142,11 +365,10 @@ public class Vector2D extends AbstractVector<Vector2D> {
         double radians = Math.toRadians(angle);
         double sin = Math.sin(radians);
         double cos = Math.cos(radians);
-        double x = x(), y = y();
-        return set(
-            x * cos - y * sin,
-            x * sin + y * cos
-        );
+        double x = this.x;
+        this.x = x * cos - y * sin;
+        y = x * sin + y * cos;
+        return this;
     }
 
 
@@ -305,4 +527,34 @@ public class Vector2D extends AbstractVector<Vector2D> {
         if(v.isZero() || w.isZero()) return 0;
         return Math.toDegrees(Math.acos(Vector.dot(v, w) / (v.abs() * w.abs())));
     }
+
+
+
+    /**
+     * Compares the field based implementation against the array based
+     * implementation of {@link AbstractVector} for the same operations.
+     */
+    public static void main(String[] args) {
+        int n = 10000000;
+        for(int run=0; run<3; run++) {
+            Vector a = new VariableSizeVector(1, 2), b = new VariableSizeVector(0.5, -0.25);
+            Stopwatch watch = new Stopwatch().start();
+            double sum = 0;
+            for(int i=0; i<n; i++) {
+                a.add(b).scale(0.999);
+                sum += a.dot(b) + a.abs();
+            }
+            Console.map("Array based", watch.stop().getPassedNanos() / n + "ns/op (" + sum + ")");
+
+            a = new Vector2D(1, 2);
+            b = new Vector2D(0.5, -0.25);
+            watch = new Stopwatch().start();
+            sum = 0;
+            for(int i=0; i<n; i++) {
+                a.add(b).scale(0.999);
+                sum += a.dot(b) + a.abs();
+            }
+            Console.map("Field based", watch.stop().getPassedNanos() / n + "ns/op (" + sum + ")");
+        }
+    }
 }
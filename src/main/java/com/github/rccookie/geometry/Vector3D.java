@@ -44,6 +44,15 @@ public class Vector3D extends AbstractVector<Vector3D> {
      */
     public static final Vector3D UNIT_VECTOR_Z = new Vector3D(0, 0, 1);
 
+
+
+    /**
+     * The coordinates. Fast paths that read them from another vector check
+     * for the exact class, as immutable views extend this class but
+     * delegate to another vector instead of using these fields.
+     */
+    private double x, y, z;
+
     
 
 
@@ -87,7 +96,9 @@ public class Vector3D extends AbstractVector<Vector3D> {
      * @param z The length of the vector in z direction
      */
     public Vector3D(double x, double y, double z) {
-        super(x, y, z);
+        this.x = x;
+        this.y = y;
+        this.z = z;
     }
 
     /**
@@ -99,8 +110,10 @@ public class Vector3D extends AbstractVector<Vector3D> {
      * @param copy The vector to create a copy from
      */
     public Vector3D(AbstractVector<?> copy) {
-        // 3D conversion is essential for super class to create a 3 long array
-        super(copy.get3D());
+        Vector3D v = copy.getClass() == Vector3D.class ? (Vector3D) copy : copy.get3D();
+        x = v.x;
+        y = v.y;
+        z = v.z;
     }
 
 
@@ -111,6 +124,87 @@ public class Vector3D extends AbstractVector<Vector3D> {
 
 
 
+    @Override
+    public double get(int dimension) {
+        if(dimension == X) return x;
+        if(dimension == Y) return y;
+        if(dimension == Z) return z;
+        if(dimension < 0) throw new DimensionOutOfBoundsException(dimension, 3);
+        return 0;
+    }
+
+    @Override
+    public Vector3D setDim(int dimension, double coordinate) throws DimensionOutOfBoundsException {
+        if(dimension == X) x = coordinate;
+        else if(dimension == Y) y = coordinate;
+        else if(dimension == Z) z = coordinate;
+        else throw new DimensionOutOfBoundsException(dimension, 3);
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return 3;
+    }
+
+    @Override
+    public double x() {
+        return x;
+    }
+
+    @Override
+    public double y() {
+        return y;
+    }
+
+    @Override
+    public Vector3D setX(double x) {
+        this.x = x;
+        return this;
+    }
+
+    @Override
+    public Vector3D setY(double y) {
+        this.y = y;
+        return this;
+    }
+
+    @Override
+    public Vector3D set(Vector vector) {
+        if(vector.getClass() == Vector3D.class) {
+            Vector3D v = (Vector3D) vector;
+            x = v.x;
+            y = v.y;
+            z = v.z;
+        }
+        else {
+            x = vector.get(X);
+            y = vector.get(Y);
+            z = vector.get(Z);
+        }
+        return this;
+    }
+
+    @Override
+    public double[] toArray() {
+        return new double[] { x, y, z };
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(obj != null && obj.getClass() == Vector3D.class) {
+            Vector3D v = (Vector3D) obj;
+            return x == v.x && y == v.y && z == v.z;
+        }
+        return Vector.equals(this, obj);
+    }
+
+    @Override
+    public int hashCode() {
+        // Same as Arrays.hashCode(toArray())
+        return 31 * (31 * (31 + Double.hashCode(x)) + Double.hashCode(y)) + Double.hashCode(z);
+    }
+
     @Override
     public double angle() {
         return angleBetween(this, UNIT_VECTOR_X);
@@ -118,7 +212,150 @@ public class Vector3D extends AbstractVector<Vector3D> {
 
     @Override
     public Vector3D clone() {
-        return new Vector3D(this);
+        return new Vector3D(x, y, z);
+    }
+
+    @Override
+    public double abs() {
+        return Math.sqrt(x * x + y * y + z * z);
+    }
+
+    @Override
+    public double sqrAbs() {
+        return x * x + y * y + z * z;
+    }
+
+    @Override
+    public double dot(Vector vector) {
+        if(vector.getClass() == Vector3D.class) {
+            Vector3D v = (Vector3D) vector;
+            return x * v.x + y * v.y + z * v.z;
+        }
+        return super.dot(vector);
+    }
+
+    @Override
+    public boolean isZero() {
+        return x == 0 && y == 0 && z == 0;
+    }
+
+    @Override
+    public Vector3D scale(double scalar) {
+        x *= scalar;
+        y *= scalar;
+        z *= scalar;
+        return this;
+    }
+
+    @Override
+    public Vector3D invert() {
+        x = -x;
+        y = -y;
+        z = -z;
+        return this;
+    }
+
+    @Override
+    public Vector3D norm() {
+        double abs = Math.sqrt(x * x + y * y + z * z);
+        if(abs == 0) return this;
+        x /= abs;
+        y /= abs;
+        z /= abs;
+        return this;
+    }
+
+    @Override
+    public Vector3D setZero() {
+        x = y = z = 0;
+        return this;
+    }
+
+    @Override
+    public Vector3D add(Vector vector) {
+        if(vector.getClass() == Vector3D.class) {
+            Vector3D v = (Vector3D) vector;
+            x += v.x;
+            y += v.y;
+            z += v.z;
+        }
+        else {
+            x += vector.get(X);
+            y += vector.get(Y);
+            z += vector.get(Z);
+        }
+        return this;
+    }
+
+    @Override
+    public Vector3D subtract(Vector vector) {
+        if(vector.getClass() == Vector3D.class) {
+            Vector3D v = (Vector3D) vector;
+            x -= v.x;
+            y -= v.y;
+            z -= v.z;
+        }
+        else {
+            x -= vector.get(X);
+            y -= vector.get(Y);
+            z -= vector.get(Z);
+        }
+        return this;
+    }
+
+    @Override
+    public Vector3D multiply(Vector vector) {
+        if(vector.getClass() == Vector3D.class) {
+            Vector3D v = (Vector3D) vector;
+            x *= v.x;
+            y *= v.y;
+            z *= v.z;
+        }
+        else {
+            x *= vector.get(X);
+            y *= vector.get(Y);
+            z *= vector.get(Z);
+        }
+        return this;
+    }
+
+    @Override
+    public Vector3D floor() {
+        x = Math.floor(x);
+        y = Math.floor(y);
+        z = Math.floor(z);
+        return this;
+    }
+
+    @Override
+    public Vector3D ceil() {
+        x = Math.ceil(x);
+        y = Math.ceil(y);
+        z = Math.ceil(z);
+        return this;
+    }
+
+    @Override
+    public Vector3D round() {
+        x = Math.round(x);
+        y = Math.round(y);
+        z = Math.round(z);
+        return this;
+    }
+
+    @Override
+    public Vector added(Vector vector) {
+        return vector.size() <= 3 ? clone().add(vector) : super.added(vector);
+    }
+
+    @Override
+    public Vector subtracted(Vector vector) {
+        return vector.size() <= 3 ? clone().subtract(vector) : super.subtracted(vector);
+    }
+
+    @Override
+    public Vector multiplied(Vector vector) {
+        return vector.size() <= 3 ? clone().multiply(vector) : super.multiplied(vector);
     }
 
     @Override
@@ -128,17 +365,21 @@ public class Vector3D extends AbstractVector<Vector3D> {
 
     @Override
     public IntVector getInt() {
-        return new IntVector3D((int) Math.round(x() + 0.5), (int) Math.round(y() + 0.5), (int) Math.round(z() + 0.5));
+        return new IntVector3D((int) Math.round(x + 0.5), (int) Math.round(y + 0.5), (int) Math.round(z + 0.5));
     }
 
-    public double z() { return get(Z); }
+    public double z() { return z; }
 
     public Vector3D setZ(double z) {
-        return setDim(Z, z);
+        this.z = z;
+        return this;
     }
 
     public Vector3D set(double x, double y, double z) {
-        return setX(x).setY(y).setZ(z);
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
     }
 
 
@@ -449,6 +449,41 @@ public final class Vectors {
             return base.rounded();
         }
 
+        @Override
+        public Vector2D set(Vector vector) throws UnsupportedOperationException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Vector2D set(double x, double y) throws UnsupportedOperationException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Vector2D rotate(double angle) throws UnsupportedOperationException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Vector2D rotated(double angle) {
+            return base.rotated(angle);
+        }
+
+        @Override
+        public IntVector2D getInt() {
+            return base.getInt();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return base.equals(obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return base.hashCode();
+        }
+
         @Override
         public Vector2D get2D() throws UnsupportedOperationException {
             return base.get2D();
@@ -652,6 +687,36 @@ public final class Vectors {
             return base.rounded();
         }
 
+        @Override
+        public double z() {
+            return base.z();
+        }
+
+        @Override
+        public Vector3D setZ(double z) throws UnsupportedOperationException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Vector3D set(double x, double y, double z) throws UnsupportedOperationException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public IntVector getInt() {
+            return base.getInt();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return base.equals(obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return base.hashCode();
+        }
+
         @Override
         public Vector2D get2D() throws UnsupportedOperationException {
             return base.get2D();
@@ -0,0 +1,536 @@
+package com.github.rccookie.geometry.performance;
+
+import com.github.rccookie.json.JsonArray;
+import com.github.rccookie.json.JsonCtor;
+import com.github.rccookie.json.JsonSerializable;
+import com.github.rccookie.util.Cloneable;
+
+/**
+ * A performance-oriented affine transform in 2D space, combining a linear
+ * transformation (rotation, scale, shear) with a translation. It is
+ * described by the upper two rows of the homogeneous 3x3 matrix
+ * <pre>
+ * | m00 m01 m02 |
+ * | m10 m11 m12 |
+ * |  0   0   1  |
+ * </pre>
+ * where {@code m02} and {@code m12} are the translation.
+ * <p>Composing transforms follows matrix multiplication: {@code a * b}
+ * applies {@code b} first, then {@code a}. The methods {@link #translate},
+ * {@link #rotate} and {@link #scale} multiply from the right, so they are
+ * applied to points <i>before</i> the existing transform.
+ * <p>Like the vector classes this transform is mutable. All transform
+ * methods work without allocating any objects, unless stated otherwise.
+ */
+public class Affine2 implements Cloneable<Affine2>, JsonSerializable {
+
+    /**
+     * A constant describing the identity transform. Do not modify!
+     */
+    public static final Affine2 IDENTITY = new Affine2();
+
+    // ------------------------------------------------------
+
+    public float m00, m01, m02;
+    public float m10, m11, m12;
+
+    // ------------------------------------------------------
+
+    /**
+     * Creates a new identity transform.
+     */
+    public Affine2() {
+        m00 = 1;
+        m11 = 1;
+    }
+
+    /**
+     * Creates a new transform with the given components, row by row.
+     */
+    public Affine2(float m00, float m01, float m02,
+                   float m10, float m11, float m12) {
+        set(m00, m01, m02, m10, m11, m12);
+    }
+
+    /**
+     * Creates a new transform from the given rows.
+     *
+     * @param r The rows of the transform
+     */
+    @JsonCtor
+    public Affine2(Vec3[] r) {
+        this(r[0].x, r[0].y, r[0].z, r[1].x, r[1].y, r[1].z);
+    }
+
+    /**
+     * Creates a new transform applying the given linear transformation
+     * followed by the given translation.
+     *
+     * @param m The linear part of the transform
+     * @param t The translation
+     */
+    public Affine2(Mat2x2 m, Vec2 t) {
+        this(m.m00, m.m01, t.x, m.m10, m.m11, t.y);
+    }
+
+    /**
+     * Creates a new transform copying the given one.
+     *
+     * @param copy The transform to copy
+     */
+    public Affine2(Affine2 copy) {
+        set(copy);
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public Affine2 clone() {
+        return new Affine2(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof Affine2)) return false;
+        Affine2 m = (Affine2) o;
+        return m00 == m.m00 && m01 == m.m01 && m02 == m.m02 &&
+               m10 == m.m10 && m11 == m.m11 && m12 == m.m12;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = Float.hashCode(m00);
+        h = 31 * h + Float.hashCode(m01);
+        h = 31 * h + Float.hashCode(m02);
+        h = 31 * h + Float.hashCode(m10);
+        h = 31 * h + Float.hashCode(m11);
+        return 31 * h + Float.hashCode(m12);
+    }
+
+    @Override
+    public String toString() {
+        return "[["+m00+"|"+m01+"|"+m02+"], ["+m10+"|"+m11+"|"+m12+"]]";
+    }
+
+    @Override
+    public Object toJson() {
+        return new JsonArray(new JsonArray(m00, m01, m02), new JsonArray(m10, m11, m12));
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Calculates the determinant of the linear part of this transform.
+     * A negative determinant means that the transform mirrors.
+     *
+     * @return The determinant
+     */
+    public float det() {
+        return m00 * m11 - m01 * m10;
+    }
+
+    /**
+     * Writes the translation of this transform into the given vector.
+     *
+     * @param out The vector to store the translation in
+     * @return The output vector
+     */
+    public Vec2 getTranslation(Vec2 out) {
+        return out.set(m02, m12);
+    }
+
+    /**
+     * Calculates the angle by which this transform rotates the x-axis.
+     *
+     * @return The rotation of this transform, in degrees
+     */
+    public float getRotation() {
+        return FastMath.atan2(m10, m00);
+    }
+
+    // ------------------------------------------------------
+
+    public Affine2 set(float m00, float m01, float m02,
+                       float m10, float m11, float m12) {
+        this.m00 = m00; this.m01 = m01; this.m02 = m02;
+        this.m10 = m10; this.m11 = m11; this.m12 = m12;
+        return this;
+    }
+
+    public Affine2 set(Affine2 m) {
+        return set(m.m00, m.m01, m.m02, m.m10, m.m11, m.m12);
+    }
+
+    public Affine2 setIdentity() {
+        return set(1, 0, 0, 0, 1, 0);
+    }
+
+    public Affine2 setTranslation(float x, float y) {
+        return set(1, 0, x, 0, 1, y);
+    }
+
+    /**
+     * Sets this transform to a rotation around the origin.
+     *
+     * @param a The angle to rotate by, in degrees
+     * @return This transform
+     */
+    public Affine2 setRotation(float a) {
+        float sin = FastMath.sin(a), cos = FastMath.cos(a);
+        return set(cos, -sin, 0, sin, cos, 0);
+    }
+
+    public Affine2 setScale(float x, float y) {
+        return set(x, 0, 0, 0, y, 0);
+    }
+
+    /**
+     * Sets this transform to first scale, then rotate and finally
+     * translate, the usual transform of a sprite.
+     *
+     * @param x The translation in x direction
+     * @param y The translation in y direction
+     * @param a The rotation, in degrees
+     * @param sx The scale in x direction
+     * @param sy The scale in y direction
+     * @return This transform
+     */
+    public Affine2 set(float x, float y, float a, float sx, float sy) {
+        float sin = FastMath.sin(a), cos = FastMath.cos(a);
+        return set(cos * sx, -sin * sy, x, sin * sx, cos * sy, y);
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Multiplies this transform by the given one, so that this transform
+     * becomes {@code this * m}. The resulting transform applies {@code m}
+     * first.
+     *
+     * @param m The transform to multiply by
+     * @return This transform
+     */
+    public Affine2 multiply(Affine2 m) {
+        return multiply(this, m, this);
+    }
+
+    /**
+     * Multiplies the given transform by this one, so that this transform
+     * becomes {@code m * this}. The resulting transform applies {@code m}
+     * last.
+     *
+     * @param m The transform to multiply with
+     * @return This transform
+     */
+    public Affine2 preMultiply(Affine2 m) {
+        return multiply(m, this, this);
+    }
+
+    /**
+     * Adds a translation that is applied before this transform.
+     *
+     * @param x The translation in x direction
+     * @param y The translation in y direction
+     * @return This transform
+     */
+    public Affine2 translate(float x, float y) {
+        m02 += m00 * x + m01 * y;
+        m12 += m10 * x + m11 * y;
+        return this;
+    }
+
+    /**
+     * Adds a rotation around the origin that is applied before this
+     * transform.
+     *
+     * @param a The angle to rotate by, in degrees
+     * @return This transform
+     */
+    public Affine2 rotate(float a) {
+        if(a == 0) return this;
+        float sin = FastMath.sin(a), cos = FastMath.cos(a);
+        float a00 = m00, a10 = m10;
+        m00 = a00 * cos + m01 * sin;
+        m01 = m01 * cos - a00 * sin;
+        m10 = a10 * cos + m11 * sin;
+        m11 = m11 * cos - a10 * sin;
+        return this;
+    }
+
+    /**
+     * Adds a scaling that is applied before this transform.
+     *
+     * @param x The factor in x direction
+     * @param y The factor in y direction
+     * @return This transform
+     */
+    public Affine2 scale(float x, float y) {
+        m00 *= x;
+        m10 *= x;
+        m01 *= y;
+        m11 *= y;
+        return this;
+    }
+
+    /**
+     * Inverts this transform.
+     *
+     * @return This transform
+     * @throws ArithmeticException If the transform is not invertible
+     */
+    public Affine2 invert() {
+        return invert(this, this);
+    }
+
+    public Affine2 multiplied(Affine2 m) {
+        return multiply(this, m, new Affine2());
+    }
+
+    public Affine2 inverted() {
+        return invert(this, new Affine2());
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Transforms the given point, including the translation.
+     *
+     * @param p The point to transform, will be modified
+     * @return The given point
+     */
+    public Vec2 transformPoint(Vec2 p) {
+        return transformPoint(p, p);
+    }
+
+    /**
+     * Transforms the given point, including the translation, and stores the
+     * result in the output vector.
+     *
+     * @param p The point to transform
+     * @param out The vector to store the result in, may be {@code p}
+     * @return The output vector
+     */
+    public Vec2 transformPoint(Vec2 p, Vec2 out) {
+        float x = p.x, y = p.y;
+        out.x = m00 * x + m01 * y + m02;
+        out.y = m10 * x + m11 * y + m12;
+        return out;
+    }
+
+    /**
+     * Transforms the given direction, ignoring the translation.
+     *
+     * @param d The direction to transform, will be modified
+     * @return The given direction
+     */
+    public Vec2 transformDirection(Vec2 d) {
+        return transformDirection(d, d);
+    }
+
+    /**
+     * Transforms the given direction, ignoring the translation, and stores
+     * the result in the output vector.
+     *
+     * @param d The direction to transform
+     * @param out The vector to store the result in, may be {@code d}
+     * @return The output vector
+     */
+    public Vec2 transformDirection(Vec2 d, Vec2 out) {
+        float x = d.x, y = d.y;
+        out.x = m00 * x + m01 * y;
+        out.y = m10 * x + m11 * y;
+        return out;
+    }
+
+    /**
+     * Transforms all given points in place.
+     *
+     * @param ps The points to transform
+     */
+    public void transformPoints(Vec2[] ps) {
+        float m00 = this.m00, m01 = this.m01, m02 = this.m02;
+        float m10 = this.m10, m11 = this.m11, m12 = this.m12;
+        for(Vec2 p : ps) {
+            float x = p.x, y = p.y;
+            p.x = m00 * x + m01 * y + m02;
+            p.y = m10 * x + m11 * y + m12;
+        }
+    }
+
+    /**
+     * Transforms the points stored in the given component arrays in place.
+     *
+     * @param x The x components of the points
+     * @param y The y components of the points
+     * @param off The index of the first point to transform
+     * @param len The number of points to transform
+     */
+    public void transformPoints(float[] x, float[] y, int off, int len) {
+        transformPoints(x, y, x, y, off, len);
+    }
+
+    /**
+     * Transforms the points stored in the input component arrays and writes
+     * the results into the output component arrays, which may be the input
+     * arrays.
+     *
+     * @param x The x components of the input points
+     * @param y The y components of the input points
+     * @param ox The x components of the output points
+     * @param oy The y components of the output points
+     * @param off The index of the first point to transform
+     * @param len The number of points to transform
+     */
+    public void transformPoints(float[] x, float[] y, float[] ox, float[] oy, int off, int len) {
+        Batch.transform(this, x, y, ox, oy, off, len);
+    }
+
+    /**
+     * Transforms the points stored interleaved as {@code x0, y0, x1, y1, ...}
+     * in the given array in place.
+     *
+     * @param xy The interleaved components of the points
+     * @param off The index of the x component of the first point
+     * @param count The number of points to transform
+     */
+    public void transformPoints(float[] xy, int off, int count) {
+        float m00 = this.m00, m01 = this.m01, m02 = this.m02;
+        float m10 = this.m10, m11 = this.m11, m12 = this.m12;
+        for(int i=off, end=off+2*count; i<end; i+=2) {
+            float px = xy[i], py = xy[i+1];
+            xy[i]   = m00 * px + m01 * py + m02;
+            xy[i+1] = m10 * px + m11 * py + m12;
+        }
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Transforms the given line in place.
+     *
+     * @param l The line to transform
+     * @return The given line
+     */
+    public Line2 transform(Line2 l) {
+        transformPoint(l.a);
+        transformPoint(l.b);
+        return l;
+    }
+
+    /**
+     * Transforms the given ray in place.
+     *
+     * @param r The ray to transform
+     * @return The given ray
+     */
+    public Ray2 transform(Ray2 r) {
+        transformPoint(r.o);
+        transformDirection(r.d);
+        return r;
+    }
+
+    /**
+     * Transforms the given rectangle in place. Rectangles can only
+     * represent the result exactly if this transform maps the rectangle's
+     * axes onto perpendicular axes, which is always the case for
+     * rotations, translations and uniform scaling. Otherwise the result is
+     * the rectangle spanned by the transformed x-axis of the rectangle and
+     * the length of its transformed y-axis.
+     *
+     * @param r The rectangle to transform
+     * @return The given rectangle
+     */
+    public Rect transform(Rect r) {
+        float sin = FastMath.sin(r.a), cos = FastMath.cos(r.a);
+        float ux = m00 * cos + m01 * sin, uy = m10 * cos + m11 * sin;
+        float vx = m01 * cos - m00 * sin, vy = m11 * cos - m10 * sin;
+        transformPoint(r.c);
+        r.s.x *= (float) Math.sqrt(ux * ux + uy * uy);
+        r.s.y *= (float) Math.sqrt(vx * vx + vy * vy);
+        r.a = FastMath.atan2(uy, ux);
+        return r;
+    }
+
+    /**
+     * Transforms the given circle in place. Circles can only represent
+     * the result exactly for rotations, translations, uniform scaling and
+     * mirroring. Otherwise the radius is scaled by the square root of the
+     * absolute determinant, keeping the area of the circle.
+     *
+     * @param c The circle to transform
+     * @return The given circle
+     */
+    public Circle transform(Circle c) {
+        float sin = FastMath.sin(c.a), cos = FastMath.cos(c.a);
+        transformPoint(c.c);
+        c.r *= (float) Math.sqrt(Math.abs(m00 * m11 - m01 * m10));
+        c.a = FastMath.atan2(m10 * cos + m11 * sin, m00 * cos + m01 * sin);
+        return c;
+    }
+
+    /**
+     * Transforms the given collider in place. Supported colliders are
+     * {@link Line2}, {@link Ray2}, {@link Rect} and {@link Circle}.
+     *
+     * @param c The collider to transform
+     * @return The given collider
+     * @throws IllegalArgumentException If the collider type is not supported
+     * @see #transform(Rect)
+     * @see #transform(Circle)
+     */
+    public Collider2 transform(Collider2 c) {
+        if(c instanceof Line2) return transform((Line2) c);
+        if(c instanceof Rect) return transform((Rect) c);
+        if(c instanceof Circle) return transform((Circle) c);
+        if(c instanceof Ray2) return transform((Ray2) c);
+        throw new IllegalArgumentException("Unsupported collider type: " + c.getClass().getName());
+    }
+
+    /**
+     * Transforms all given colliders in place.
+     *
+     * @param cs The colliders to transform
+     * @throws IllegalArgumentException If a collider type is not supported
+     */
+    public void transform(Collider2[] cs) {
+        for(Collider2 c : cs) transform(c);
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Calculates {@code a * b} and stores the result in {@code out}.
+     *
+     * @param a The left transform, applied last
+     * @param b The right transform, applied first
+     * @param out The transform to store the result in, may be {@code a} or {@code b}
+     * @return The output transform
+     */
+    public static Affine2 multiply(Affine2 a, Affine2 b, Affine2 out) {
+        return out.set(
+                a.m00 * b.m00 + a.m01 * b.m10, a.m00 * b.m01 + a.m01 * b.m11, a.m00 * b.m02 + a.m01 * b.m12 + a.m02,
+                a.m10 * b.m00 + a.m11 * b.m10, a.m10 * b.m01 + a.m11 * b.m11, a.m10 * b.m02 + a.m11 * b.m12 + a.m12
+        );
+    }
+
+    /**
+     * Calculates the inverse of {@code m} and stores it in {@code out}.
+     *
+     * @param m The transform to invert
+     * @param out The transform to store the result in, may be {@code m}
+     * @return The output transform
+     * @throws ArithmeticException If the transform is not invertible
+     */
+    public static Affine2 invert(Affine2 m, Affine2 out) {
+        float det = m.m00 * m.m11 - m.m01 * m.m10;
+        if(det == 0) throw new ArithmeticException("Transform is not invertible");
+        float iDet = 1 / det;
+        float i00 = m.m11 * iDet, i01 = -m.m01 * iDet;
+        float i10 = -m.m10 * iDet, i11 = m.m00 * iDet;
+        return out.set(
+                i00, i01, -(i00 * m.m02 + i01 * m.m12),
+                i10, i11, -(i10 * m.m02 + i11 * m.m12)
+        );
+    }
+}
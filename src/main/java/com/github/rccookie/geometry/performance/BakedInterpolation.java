@@ -0,0 +1,177 @@
+package com.github.rccookie.geometry.performance;
+
+/**
+ * An {@link Interpolation} that has been sampled into a lookup table.
+ * Evaluating it costs a single table lookup and a linear or cubic
+ * (Catmull-Rom) interpolation between the neighbouring samples,
+ * independent of how expensive the original interpolation was.
+ * <p>The table covers the interval {@code [min..max]}; inputs outside
+ * of it are clamped to the interval. The maximum deviation from the
+ * original interpolation is measured when baking and available through
+ * {@link #error()}.
+ */
+public final class BakedInterpolation implements Interpolation {
+
+    /**
+     * Number of points per sample interval at which the error is
+     * measured when baking.
+     */
+    private static final int ERROR_CHECKS = 8;
+
+    /**
+     * The maximum number of samples used by {@link #withError(Interpolation, float, boolean)}.
+     */
+    private static final int MAX_SAMPLES = 1 << 20;
+
+
+    private final float[] table;
+    private final float min, max, scale;
+    private final int last;
+    private final boolean cubic;
+    private final float error;
+
+    /**
+     * Bakes the given interpolation into a new lookup table.
+     *
+     * @param i The interpolation to bake
+     * @param samples The number of samples to take, at least {@code 2}
+     * @param min The lower end of the input interval
+     * @param max The higher end of the input interval
+     * @param cubic Whether to interpolate cubic between the samples
+     *              rather than linearly
+     */
+    public BakedInterpolation(Interpolation i, int samples, float min, float max, boolean cubic) {
+        if(samples < 2) throw new IllegalArgumentException("At least 2 samples required");
+        if(!(max > min)) throw new IllegalArgumentException("max must be greater than min");
+        this.min = min;
+        this.max = max;
+        this.cubic = cubic;
+        last = samples - 1;
+        scale = last / (max - min);
+
+        table = new float[samples];
+        float step = (max - min) / last;
+        for(int j=0; j<samples; j++)
+            table[j] = i.get(min + j * step);
+
+        float error = 0;
+        float subStep = step / ERROR_CHECKS;
+        for(int j=0; j<last; j++) for(int k=1; k<ERROR_CHECKS; k++) {
+            float x = min + j * step + k * subStep;
+            error = Math.max(error, Math.abs(i.get(x) - get(x)));
+        }
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "BakedInterpolation{" + table.length + " samples in [" + min + ".." + max + "], "
+                + (cubic ? "cubic" : "linear") + ", error=" + error + '}';
+    }
+
+    /**
+     * Returns the number of samples in the lookup table.
+     *
+     * @return The number of samples
+     */
+    public int samples() {
+        return table.length;
+    }
+
+    /**
+     * Returns the maximum deviation from the original interpolation
+     * that was measured when baking.
+     *
+     * @return The maximum absolute error
+     */
+    public float error() {
+        return error;
+    }
+
+    public float min() {
+        return min;
+    }
+
+    public float max() {
+        return max;
+    }
+
+    public boolean isCubic() {
+        return cubic;
+    }
+
+    @Override
+    public float get(float x) {
+        float f = (x - min) * scale;
+        if(f <= 0) return table[0];
+        if(f >= last) return table[last];
+        int i = (int) f;
+        float t = f - i;
+        return cubic ? cubic(table, i, t, last) : table[i] + t * (table[i+1] - table[i]);
+    }
+
+    @Override
+    public void get(float[] x, int off, float[] out, int outOff, int len) {
+        float[] table = this.table;
+        float min = this.min, scale = this.scale;
+        int last = this.last;
+        float first = table[0], end = table[last];
+
+        if(cubic) {
+            for(int j=0; j<len; j++) {
+                float f = (x[off + j] - min) * scale;
+                if(f <= 0) out[outOff + j] = first;
+                else if(f >= last) out[outOff + j] = end;
+                else {
+                    int i = (int) f;
+                    out[outOff + j] = cubic(table, i, f - i, last);
+                }
+            }
+        }
+        else {
+            for(int j=0; j<len; j++) {
+                float f = (x[off + j] - min) * scale;
+                if(f <= 0) out[outOff + j] = first;
+                else if(f >= last) out[outOff + j] = end;
+                else {
+                    int i = (int) f;
+                    float a = table[i];
+                    out[outOff + j] = a + (f - i) * (table[i+1] - a);
+                }
+            }
+        }
+    }
+
+    /**
+     * Catmull-Rom interpolation between {@code table[i]} and {@code table[i+1]}.
+     */
+    private static float cubic(float[] table, int i, float t, int last) {
+        float p0 = table[i == 0 ? 0 : i-1], p1 = table[i], p2 = table[i+1], p3 = table[i+1 == last ? last : i+2];
+        return p1 + 0.5f * t * (p2 - p0 + t * (2 * p0 - 5 * p1 + 4 * p2 - p3 + t * (3 * (p1 - p2) + p3 - p0)));
+    }
+
+
+
+    /**
+     * Bakes the given interpolation in the range {@code [0..1]} using the
+     * smallest power-of-two number of samples for which the measured error
+     * does not exceed the given maximum.
+     *
+     * @param i The interpolation to bake
+     * @param maxError The maximum allowed absolute error
+     * @param cubic Whether to interpolate cubic between the samples
+     *              rather than linearly
+     * @return The baked interpolation
+     * @throws IllegalArgumentException If the error cannot be reached with
+     *                                  up to 2^20 samples, for example
+     *                                  because the interpolation is not
+     *                                  continuous
+     */
+    public static BakedInterpolation withError(Interpolation i, float maxError, boolean cubic) {
+        for(int samples = 16; samples <= MAX_SAMPLES; samples <<= 1) {
+            BakedInterpolation baked = new BakedInterpolation(i, samples + 1, 0, 1, cubic);
+            if(baked.error <= maxError) return baked;
+        }
+        throw new IllegalArgumentException("Cannot reach an error of " + maxError + " with up to " + MAX_SAMPLES + " samples");
+    }
+}
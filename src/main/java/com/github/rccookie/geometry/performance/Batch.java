@@ -0,0 +1,252 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.Random;
+
+import com.github.rccookie.util.Console;
+import com.github.rccookie.util.Stopwatch;
+
+/**
+ * Bulk operations on many vectors at once, stored as structure of arrays,
+ * meaning one array per component. Each method processes the elements from
+ * {@code off} to {@code off + len}.
+ * <p>On Java 17 and above, when the {@code jdk.incubator.vector} module is
+ * enabled ({@code --add-modules jdk.incubator.vector}), the operations are
+ * executed using SIMD instructions. Otherwise, or if the system property
+ * {@code geometry.simd} is set to {@code false}, plain loops are used. The
+ * results of both are equal up to rounding.
+ */
+public final class Batch {
+
+    private Batch() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * The kernels used for all operations.
+     */
+    private static final BatchKernels KERNELS = loadKernels();
+
+    private static BatchKernels loadKernels() {
+        if(!Boolean.parseBoolean(System.getProperty("geometry.simd", "true")))
+            return ScalarKernels.INSTANCE;
+        try {
+            // Only present in the multi-release part of the jar for Java 17+
+            return (BatchKernels) Class.forName(Batch.class.getPackageName() + ".SimdKernels")
+                    .getDeclaredField("INSTANCE").get(null);
+        } catch(ReflectiveOperationException | LinkageError e) {
+            return ScalarKernels.INSTANCE;
+        }
+    }
+
+    /**
+     * Returns whether the operations are executed using SIMD instructions.
+     *
+     * @return Whether SIMD is used
+     */
+    public static boolean isVectorized() {
+        return KERNELS != ScalarKernels.INSTANCE;
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Transforms the given points and writes the results into the output
+     * arrays, which may be the input arrays.
+     *
+     * @param m The transform to apply
+     * @param x The x components of the points
+     * @param y The y components of the points
+     * @param ox The x components of the output points
+     * @param oy The y components of the output points
+     * @param off The index of the first point
+     * @param len The number of points
+     */
+    public static void transform(Affine2 m, float[] x, float[] y, float[] ox, float[] oy, int off, int len) {
+        Instrumentation.BatchEvent event = Instrumentation.ENABLED ? Instrumentation.beginBatch() : null;
+        KERNELS.transform2(m, x, y, ox, oy, off, len);
+        if(event != null) Instrumentation.endBatch(event, "transform2", len, false);
+    }
+
+    /**
+     * Applies the given matrix to the given vectors and writes the results
+     * into the output arrays, which may be the input arrays.
+     *
+     * @param m The matrix to apply
+     * @param x The x components of the vectors
+     * @param y The y components of the vectors
+     * @param z The z components of the vectors
+     * @param ox The x components of the output vectors
+     * @param oy The y components of the output vectors
+     * @param oz The z components of the output vectors
+     * @param off The index of the first vector
+     * @param len The number of vectors
+     */
+    public static void transform(Mat3x3 m, float[] x, float[] y, float[] z,
+                                 float[] ox, float[] oy, float[] oz, int off, int len) {
+        Instrumentation.BatchEvent event = Instrumentation.ENABLED ? Instrumentation.beginBatch() : null;
+        KERNELS.transform3(m, x, y, z, ox, oy, oz, off, len);
+        if(event != null) Instrumentation.endBatch(event, "transform3", len, false);
+    }
+
+    /**
+     * Calculates the dot products of the vectors {@code a[i]} and {@code b[i]}.
+     *
+     * @param out The array to write the dot products to
+     */
+    public static void dot(float[] ax, float[] ay, float[] bx, float[] by, float[] out, int off, int len) {
+        Instrumentation.BatchEvent event = Instrumentation.ENABLED ? Instrumentation.beginBatch() : null;
+        KERNELS.dot2(ax, ay, bx, by, out, off, len);
+        if(event != null) Instrumentation.endBatch(event, "dot2", len, false);
+    }
+
+    /**
+     * Calculates the dot products of the vectors {@code a[i]} and {@code b[i]}.
+     *
+     * @param out The array to write the dot products to
+     */
+    public static void dot(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+                           float[] out, int off, int len) {
+        Instrumentation.BatchEvent event = Instrumentation.ENABLED ? Instrumentation.beginBatch() : null;
+        KERNELS.dot3(ax, ay, az, bx, by, bz, out, off, len);
+        if(event != null) Instrumentation.endBatch(event, "dot3", len, false);
+    }
+
+    /**
+     * Calculates the lengths of the given vectors.
+     *
+     * @param out The array to write the lengths to
+     */
+    public static void length(float[] x, float[] y, float[] out, int off, int len) {
+        Instrumentation.BatchEvent event = Instrumentation.ENABLED ? Instrumentation.beginBatch() : null;
+        KERNELS.length2(x, y, out, off, len);
+        if(event != null) Instrumentation.endBatch(event, "length2", len, false);
+    }
+
+    /**
+     * Calculates the lengths of the given vectors.
+     *
+     * @param out The array to write the lengths to
+     */
+    public static void length(float[] x, float[] y, float[] z, float[] out, int off, int len) {
+        Instrumentation.BatchEvent event = Instrumentation.ENABLED ? Instrumentation.beginBatch() : null;
+        KERNELS.length3(x, y, z, out, off, len);
+        if(event != null) Instrumentation.endBatch(event, "length3", len, false);
+    }
+
+    /**
+     * Normalizes the given vectors in place.
+     */
+    public static void normalize(float[] x, float[] y, int off, int len) {
+        Instrumentation.BatchEvent event = Instrumentation.ENABLED ? Instrumentation.beginBatch() : null;
+        KERNELS.normalize2(x, y, off, len);
+        if(event != null) Instrumentation.endBatch(event, "normalize2", len, false);
+    }
+
+    /**
+     * Normalizes the given vectors in place.
+     */
+    public static void normalize(float[] x, float[] y, float[] z, int off, int len) {
+        Instrumentation.BatchEvent event = Instrumentation.ENABLED ? Instrumentation.beginBatch() : null;
+        KERNELS.normalize3(x, y, z, off, len);
+        if(event != null) Instrumentation.endBatch(event, "normalize3", len, false);
+    }
+
+    /**
+     * Intersects the given ray with each of the lines from {@code a[i]} to
+     * {@code b[i]}, with the same rules as {@link Line2#coll(Ray, float)}.
+     *
+     * @param ox The x coordinate of the ray origin
+     * @param oy The y coordinate of the ray origin
+     * @param dx The x component of the ray direction
+     * @param dy The y component of the ray direction
+     * @param ds Whether the lines can be hit from both sides
+     * @param out The array to write the ray indices of the hits to,
+     *            {@code NaN} for lines that were not hit
+     */
+    public static void raySegments(float ox, float oy, float dx, float dy,
+                                   float[] ax, float[] ay, float[] bx, float[] by, boolean ds,
+                                   float[] out, int off, int len) {
+        Instrumentation.BatchEvent event = Instrumentation.ENABLED ? Instrumentation.beginBatch() : null;
+        KERNELS.raySegments(ox, oy, dx, dy, ax, ay, bx, by, ds, out, off, len);
+        if(event != null) Instrumentation.endBatch(event, "raySegments", len, true);
+    }
+
+    /**
+     * Intersects the given ray with each of the circles with center
+     * {@code c[i]} and radius {@code r[i]}, with the same rules as
+     * {@link Circle#coll(Ray, float)}.
+     *
+     * @param ox The x coordinate of the ray origin
+     * @param oy The y coordinate of the ray origin
+     * @param dx The x component of the ray direction
+     * @param dy The y component of the ray direction
+     * @param i Whether the circles are inside out
+     * @param out The array to write the ray indices of the hits to,
+     *            {@code NaN} for circles that were not hit
+     */
+    public static void rayCircles(float ox, float oy, float dx, float dy,
+                                  float[] cx, float[] cy, float[] r, boolean i,
+                                  float[] out, int off, int len) {
+        Instrumentation.BatchEvent event = Instrumentation.ENABLED ? Instrumentation.beginBatch() : null;
+        KERNELS.rayCircles(ox, oy, dx, dy, cx, cy, r, i, out, off, len);
+        if(event != null) Instrumentation.endBatch(event, "rayCircles", len, true);
+    }
+
+
+
+    /**
+     * Compares the plain and the vectorized kernels. Run with
+     * {@code --add-modules jdk.incubator.vector} on Java 17+ to include the
+     * vectorized ones.
+     */
+    public static void main(String[] args) {
+        int n = 4096, runs = 20000;
+        Random random = new Random(0);
+        float[][] a = new float[9][n];
+        for(float[] array : a) for(int i=0; i<n; i++) array[i] = random.nextFloat() * 2 - 1;
+        float[] out = new float[n];
+        Affine2 affine = new Affine2().rotate(30).translate(1, 2);
+        Mat3x3 mat = new Mat3x3(1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+        Console.map("Vectorized", isVectorized());
+        BatchKernels[] kernels = isVectorized() ? new BatchKernels[] { ScalarKernels.INSTANCE, KERNELS } : new BatchKernels[] { KERNELS };
+        for(int run=0; run<3; run++) {
+            for(BatchKernels k : kernels) {
+                String name = k.getClass().getSimpleName() + " ";
+
+                Stopwatch watch = new Stopwatch().start();
+                for(int i=0; i<runs; i++) k.transform2(affine, a[0], a[1], a[6], a[7], 0, n);
+                Console.map(name + "transform2", watch.stop().getPassedNanos() / ((long) runs * n) + "ns/op");
+
+                watch = new Stopwatch().start();
+                for(int i=0; i<runs; i++) k.transform3(mat, a[0], a[1], a[2], a[6], a[7], a[8], 0, n);
+                Console.map(name + "transform3", watch.stop().getPassedNanos() / ((long) runs * n) + "ns/op");
+
+                watch = new Stopwatch().start();
+                for(int i=0; i<runs; i++) k.dot3(a[0], a[1], a[2], a[3], a[4], a[5], out, 0, n);
+                Console.map(name + "dot3", watch.stop().getPassedNanos() / ((long) runs * n) + "ns/op");
+
+                watch = new Stopwatch().start();
+                for(int i=0; i<runs; i++) k.length2(a[0], a[1], out, 0, n);
+                Console.map(name + "length2", watch.stop().getPassedNanos() / ((long) runs * n) + "ns/op");
+
+                watch = new Stopwatch().start();
+                for(int i=0; i<runs; i++) {
+                    System.arraycopy(a[0], 0, a[6], 0, n);
+                    System.arraycopy(a[1], 0, a[7], 0, n);
+                    System.arraycopy(a[2], 0, a[8], 0, n);
+                    k.normalize3(a[6], a[7], a[8], 0, n);
+                }
+                Console.map(name + "normalize3", watch.stop().getPassedNanos() / ((long) runs * n) + "ns/op");
+
+                watch = new Stopwatch().start();
+                for(int i=0; i<runs; i++) k.raySegments(0, 0, 1, 0.5f, a[0], a[1], a[2], a[3], true, out, 0, n);
+                Console.map(name + "raySegments", watch.stop().getPassedNanos() / ((long) runs * n) + "ns/op");
+
+                watch = new Stopwatch().start();
+                for(int i=0; i<runs; i++) k.rayCircles(0, 0, 1, 0.5f, a[0], a[1], a[2], false, out, 0, n);
+                Console.map(name + "rayCircles", watch.stop().getPassedNanos() / ((long) runs * n) + "ns/op");
+            }
+        }
+    }
+}
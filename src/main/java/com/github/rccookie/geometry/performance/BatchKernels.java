@@ -0,0 +1,35 @@
+package com.github.rccookie.geometry.performance;
+
+/**
+ * The bulk math kernels behind {@link Batch}. All arrays hold one component
+ * per element (structure of arrays), and the kernels process the elements
+ * from {@code off} to {@code off + len}.
+ *
+ * @see ScalarKernels
+ */
+interface BatchKernels {
+
+    void transform2(Affine2 m, float[] x, float[] y, float[] ox, float[] oy, int off, int len);
+
+    void transform3(Mat3x3 m, float[] x, float[] y, float[] z, float[] ox, float[] oy, float[] oz, int off, int len);
+
+    void dot2(float[] ax, float[] ay, float[] bx, float[] by, float[] out, int off, int len);
+
+    void dot3(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz, float[] out, int off, int len);
+
+    void length2(float[] x, float[] y, float[] out, int off, int len);
+
+    void length3(float[] x, float[] y, float[] z, float[] out, int off, int len);
+
+    void normalize2(float[] x, float[] y, int off, int len);
+
+    void normalize3(float[] x, float[] y, float[] z, int off, int len);
+
+    void raySegments(float ox, float oy, float dx, float dy,
+                     float[] ax, float[] ay, float[] bx, float[] by, boolean ds,
+                     float[] out, int off, int len);
+
+    void rayCircles(float ox, float oy, float dx, float dy,
+                    float[] cx, float[] cy, float[] r, boolean i,
+                    float[] out, int off, int len);
+}
@@ -0,0 +1,71 @@
+package com.github.rccookie.geometry.performance;
+
+import com.github.rccookie.json.JsonCtor;
+import com.github.rccookie.json.JsonObject;
+import com.github.rccookie.json.JsonSerializable;
+
+/**
+ * A quadratic or cubic Bézier curve.
+ */
+public class Bezier2 extends Spline2 implements JsonSerializable {
+
+    /**
+     * The control points, 3 for a quadratic or 4 for a cubic curve. After
+     * modifying them, {@link #update()} has to be called.
+     */
+    public final Vec2[] p;
+
+    @JsonCtor({"p", "tolerance", "ds"})
+    public Bezier2(Vec2[] p, float tolerance, boolean ds) {
+        super(tolerance, ds);
+        if(p.length != 3 && p.length != 4)
+            throw new IllegalArgumentException("Bézier curves need 3 or 4 control points, got " + p.length);
+        this.p = p;
+    }
+
+    /**
+     * Creates a new quadratic Bézier curve.
+     *
+     * @param a The start point
+     * @param c The control point
+     * @param b The end point
+     */
+    public Bezier2(Vec2 a, Vec2 c, Vec2 b) {
+        this(new Vec2[] { a, c, b }, DEFAULT_TOLERANCE, false);
+    }
+
+    /**
+     * Creates a new cubic Bézier curve.
+     *
+     * @param a The start point
+     * @param c1 The first control point
+     * @param c2 The second control point
+     * @param b The end point
+     */
+    public Bezier2(Vec2 a, Vec2 c1, Vec2 c2, Vec2 b) {
+        this(new Vec2[] { a, c1, c2, b }, DEFAULT_TOLERANCE, false);
+    }
+
+    @Override
+    public Object toJson() {
+        return new JsonObject("p", p, "tolerance", tolerance, "ds", ds);
+    }
+
+    public boolean isCubic() {
+        return p.length == 4;
+    }
+
+    @Override
+    public Vec2 point(float t, Vec2 out) {
+        float u = 1 - t;
+        if(p.length == 3) {
+            float a = u * u, b = 2 * u * t, c = t * t;
+            return out.set(a * p[0].x + b * p[1].x + c * p[2].x, a * p[0].y + b * p[1].y + c * p[2].y);
+        }
+        float a = u * u * u, b = 3 * u * u * t, c = 3 * u * t * t, d = t * t * t;
+        return out.set(
+                a * p[0].x + b * p[1].x + c * p[2].x + d * p[3].x,
+                a * p[0].y + b * p[1].y + c * p[2].y + d * p[3].y
+        );
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.rccookie.geometry.performance;
+
+import com.github.rccookie.json.JsonCtor;
+import com.github.rccookie.json.JsonObject;
+import com.github.rccookie.json.JsonSerializable;
+
+/**
+ * A uniform Catmull-Rom spline passing through all of its points. The
+ * tangents at the first and last point are calculated as if the first
+ * and last point were duplicated.
+ */
+public class CatmullRom2 extends Spline2 implements JsonSerializable {
+
+    /**
+     * The points the spline passes through, at least 2. After modifying
+     * them, {@link #update()} has to be called.
+     */
+    public final Vec2[] p;
+
+    @JsonCtor({"p", "tolerance", "ds"})
+    public CatmullRom2(Vec2[] p, float tolerance, boolean ds) {
+        super(tolerance, ds);
+        if(p.length < 2) throw new IllegalArgumentException("At least 2 points required");
+        this.p = p;
+    }
+
+    public CatmullRom2(Vec2... p) {
+        this(p, DEFAULT_TOLERANCE, false);
+    }
+
+    @Override
+    public Object toJson() {
+        return new JsonObject("p", p, "tolerance", tolerance, "ds", ds);
+    }
+
+    @Override
+    protected int pieces() {
+        return p.length - 1;
+    }
+
+    @Override
+    public Vec2 point(float t, Vec2 out) {
+        int last = p.length - 1;
+        float f = t * last;
+        int i = Math.min((int) f, last - 1);
+        t = f - i;
+
+        Vec2 p0 = p[i == 0 ? 0 : i-1], p1 = p[i], p2 = p[i+1], p3 = p[i+1 == last ? last : i+2];
+        return out.set(cubic(p0.x, p1.x, p2.x, p3.x, t), cubic(p0.y, p1.y, p2.y, p3.y, t));
+    }
+
+    private static float cubic(float p0, float p1, float p2, float p3, float t) {
+        return p1 + 0.5f * t * (p2 - p0 + t * (2 * p0 - 5 * p1 + 4 * p2 - p3 + t * (3 * (p1 - p2) + p3 - p0)));
+    }
+}
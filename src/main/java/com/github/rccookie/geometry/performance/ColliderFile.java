@@ -0,0 +1,319 @@
+package com.github.rccookie.geometry.performance;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A set of 2D colliders stored in a versioned, little-endian binary file
+ * that is memory mapped instead of being parsed. Opening a file only maps
+ * it into memory; colliders are read lazily from the mapped pages, and
+ * raycasts run directly against the mapped data without creating a
+ * collider object per entry.
+ * <p>The file starts with a header of {@value #HEADER_SIZE} bytes:
+ * <pre>
+ * 0  int   magic ({@code 'GCOL'})
+ * 4  int   version
+ * 8  long  number of records
+ * 16 int   record stride in bytes
+ * 20 int   reserved, 0
+ * </pre>
+ * followed by fixed-size records of {@value #STRIDE} bytes each:
+ * <pre>
+ * 0  byte  type (1: {@link Line2}, 2: {@link Rect}, 3: {@link Circle})
+ * 1  byte  flags (bit 0: i, bit 1: ds)
+ * 4  float[5] shape data
+ * </pre>
+ * where the shape data is {@code ax ay bx by} for lines, {@code cx cy sx sy a}
+ * for rectangles and {@code cx cy r a} for circles.
+ * <p>Instances are immutable and can be queried from multiple threads at
+ * the same time.
+ */
+public final class ColliderFile {
+
+    /**
+     * The magic number identifying a collider file, {@code 'GCOL'}.
+     */
+    public static final int MAGIC = 0x4C4F4347;
+
+    /**
+     * The version of the format written by this class.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the file header, in bytes.
+     */
+    public static final int HEADER_SIZE = 24;
+
+    /**
+     * The size of a single collider record, in bytes.
+     */
+    public static final int STRIDE = 24;
+
+    static final byte LINE = 1, RECT = 2, CIRCLE = 3;
+    static final int FLAG_I = 1, FLAG_DS = 2;
+
+    /**
+     * Number of records per mapped chunk, so that each chunk stays below the
+     * 2GB limit of a single {@link MappedByteBuffer}.
+     */
+    private static final int CHUNK_RECORDS = Integer.MAX_VALUE / STRIDE;
+
+
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+
+    private ColliderFile(MappedByteBuffer[] chunks, long size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    @Override
+    public String toString() {
+        return "ColliderFile{" + size + " colliders}";
+    }
+
+    /**
+     * Returns the number of colliders in this file.
+     *
+     * @return The number of colliders
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the type id of the collider at the given index, one of
+     * {@code 1} (line), {@code 2} (rect) or {@code 3} (circle).
+     *
+     * @param index The index of the collider
+     * @return The type of the collider
+     */
+    public int type(long index) {
+        return chunk(index).get(offset(index));
+    }
+
+    /**
+     * Creates a new collider object from the record at the given index.
+     * The returned collider is a copy and not backed by the file.
+     *
+     * @param index The index of the collider
+     * @return A new collider equal to the stored one
+     */
+    public Collider2 get(long index) {
+        ByteBuffer b = chunk(index);
+        int o = offset(index);
+        switch(b.get(o)) {
+            case LINE: return load(b, o, new Line2(new Vec2(), new Vec2()));
+            case RECT: return load(b, o, new Rect(new Vec2(), new Vec2()));
+            case CIRCLE: return load(b, o, new Circle(new Vec2(), 0));
+            default: throw new IllegalStateException("Unknown collider type " + b.get(o) + " at index " + index);
+        }
+    }
+
+    /**
+     * Calculates the closest collision of the given ray with any collider in
+     * this file. Only the collider that was hit gets materialized as an
+     * object.
+     *
+     * @param r The ray to cast
+     * @return The result of the raycast
+     */
+    public Raycast<Vec2> calc(Ray<Vec2> r) {
+        return calc(r, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Calculates the closest collision of the given ray with any collider in
+     * this file within the given distance. Only the collider that was hit
+     * gets materialized as an object.
+     *
+     * @param r The ray to cast
+     * @param maxL The maximum length of the ray
+     * @return The result of the raycast
+     */
+    public Raycast<Vec2> calc(Ray<Vec2> r, float maxL) {
+        float maxSqrL = maxL * maxL;
+
+        // Flyweights, reloaded for each record
+        Line2 line = new Line2(new Vec2(), new Vec2());
+        Rect rect = new Rect(new Vec2(), new Vec2());
+        Circle circle = new Circle(new Vec2(), 0);
+
+        Coll2 coll = null;
+        long hit = -1;
+        for(int c = 0; c < chunks.length; c++) {
+            ByteBuffer b = chunks[c];
+            int count = (int) Math.min(CHUNK_RECORDS, size - (long) c * CHUNK_RECORDS);
+            for(int j = 0, o = 0; j < count; j++, o += STRIDE) {
+                Coll2 newColl;
+                switch(b.get(o)) {
+                    case LINE: newColl = load(b, o, line).coll(r, maxSqrL); break;
+                    case RECT: newColl = load(b, o, rect).coll(r, maxSqrL); break;
+                    case CIRCLE: newColl = load(b, o, circle).coll(r, maxSqrL); break;
+                    default: throw new IllegalStateException("Unknown collider type " + b.get(o));
+                }
+                if(newColl != null && (coll == null || newColl.sqrL < coll.sqrL)) {
+                    coll = newColl;
+                    maxSqrL = newColl.sqrL;
+                    hit = (long) c * CHUNK_RECORDS + j;
+                }
+            }
+        }
+        return Raycast.of(coll, r, coll != null ? get(hit) : null, maxL);
+    }
+
+    private ByteBuffer chunk(long index) {
+        if(index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        return chunks[(int) (index / CHUNK_RECORDS)];
+    }
+
+    private static int offset(long index) {
+        return (int) (index % CHUNK_RECORDS) * STRIDE;
+    }
+
+
+
+    /**
+     * Memory maps the collider file at the given location. The file is not
+     * read beyond its header; records are paged in by the operating system
+     * when they are accessed.
+     *
+     * @param file The file to map
+     * @return The mapped collider file
+     * @throws IOException If an I/O error occurs
+     * @throws IllegalArgumentException If the file is not a collider file or
+     *                                  has an unsupported version
+     */
+    public static ColliderFile map(Path file) throws IOException {
+        try(FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ch.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if(header.getInt(0) != MAGIC)
+                throw new IllegalArgumentException("Not a collider file: " + file);
+            if(header.getInt(4) != VERSION)
+                throw new IllegalArgumentException("Unsupported collider file version " + header.getInt(4));
+            if(header.getInt(16) != STRIDE)
+                throw new IllegalArgumentException("Unsupported record stride " + header.getInt(16));
+
+            long size = header.getLong(8);
+            if(HEADER_SIZE + size * STRIDE > ch.size())
+                throw new IllegalArgumentException("Truncated collider file: " + file);
+
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((size + CHUNK_RECORDS - 1) / CHUNK_RECORDS)];
+            for(int i = 0; i < chunks.length; i++) {
+                long first = (long) i * CHUNK_RECORDS;
+                long count = Math.min(CHUNK_RECORDS, size - first);
+                chunks[i] = ch.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * STRIDE, count * STRIDE);
+                chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new ColliderFile(chunks, size);
+        }
+    }
+
+    /**
+     * Writes the given colliders into a new collider file at the given
+     * location, replacing any existing file. Supported colliders are
+     * {@link Line2}, {@link Rect} and {@link Circle}.
+     *
+     * @param file The file to write to
+     * @param colliders The colliders to write
+     * @throws IOException If an I/O error occurs
+     * @throws IllegalArgumentException If an unsupported collider is passed
+     */
+    public static void write(Path file, Iterable<? extends Collider2> colliders) throws IOException {
+        try(FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer b = ByteBuffer.allocateDirect(STRIDE * 4096).order(ByteOrder.LITTLE_ENDIAN);
+            b.position(HEADER_SIZE);
+
+            long size = 0;
+            for(Collider2 c : colliders) {
+                if(b.remaining() < STRIDE) {
+                    b.flip();
+                    while(b.hasRemaining()) ch.write(b);
+                    b.clear();
+                }
+                store(b, c);
+                size++;
+            }
+            b.flip();
+            while(b.hasRemaining()) ch.write(b);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(size).putInt(STRIDE).putInt(0).flip();
+            while(header.hasRemaining()) ch.write(header, header.position());
+        }
+    }
+
+    /**
+     * Writes the given colliders into a new collider file at the given
+     * location, replacing any existing file.
+     *
+     * @param file The file to write to
+     * @param colliders The colliders to write
+     * @throws IOException If an I/O error occurs
+     * @throws IllegalArgumentException If an unsupported collider is passed
+     * @see #write(Path, Iterable)
+     */
+    public static void write(Path file, Collider2... colliders) throws IOException {
+        write(file, Arrays.asList(colliders));
+    }
+
+
+
+    private static void store(ByteBuffer b, Collider2 c) {
+        if(c instanceof Line2) {
+            Line2 l = (Line2) c;
+            b.put(LINE).put((byte) (l.ds ? FLAG_DS : 0)).putShort((short) 0)
+                    .putFloat(l.a.x).putFloat(l.a.y).putFloat(l.b.x).putFloat(l.b.y).putFloat(0);
+        }
+        else if(c instanceof Rect) {
+            Rect r = (Rect) c;
+            b.put(RECT).put((byte) ((r.i ? FLAG_I : 0) | (r.ds ? FLAG_DS : 0))).putShort((short) 0)
+                    .putFloat(r.c.x).putFloat(r.c.y).putFloat(r.s.x).putFloat(r.s.y).putFloat(r.a);
+        }
+        else if(c instanceof Circle) {
+            Circle ci = (Circle) c;
+            b.put(CIRCLE).put((byte) (ci.i ? FLAG_I : 0)).putShort((short) 0)
+                    .putFloat(ci.c.x).putFloat(ci.c.y).putFloat(ci.r).putFloat(ci.a).putFloat(0);
+        }
+        else throw new IllegalArgumentException("Unsupported collider type: " + c.getClass().getName());
+    }
+
+    static Line2 load(ByteBuffer b, int o, Line2 l) {
+        l.ds = (b.get(o + 1) & FLAG_DS) != 0;
+        l.a.x = b.getFloat(o + 4);
+        l.a.y = b.getFloat(o + 8);
+        l.b.x = b.getFloat(o + 12);
+        l.b.y = b.getFloat(o + 16);
+        return l;
+    }
+
+    static Rect load(ByteBuffer b, int o, Rect r) {
+        byte flags = b.get(o + 1);
+        r.i = (flags & FLAG_I) != 0;
+        r.ds = (flags & FLAG_DS) != 0;
+        r.c.x = b.getFloat(o + 4);
+        r.c.y = b.getFloat(o + 8);
+        r.s.x = b.getFloat(o + 12);
+        r.s.y = b.getFloat(o + 16);
+        r.a = b.getFloat(o + 20);
+        return r;
+    }
+
+    static Circle load(ByteBuffer b, int o, Circle c) {
+        c.i = (b.get(o + 1) & FLAG_I) != 0;
+        c.c.x = b.getFloat(o + 4);
+        c.c.y = b.getFloat(o + 8);
+        c.r = b.getFloat(o + 12);
+        c.a = b.getFloat(o + 16);
+        return c;
+    }
+}
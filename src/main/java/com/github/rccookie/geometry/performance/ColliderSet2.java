@@ -0,0 +1,457 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * An immutable set of 2D colliders, packed for fast raycasts. Lines and
+ * circles are copied into primitive arrays and indexed by a bounding
+ * volume hierarchy, so a raycast only tests the few of them near the ray,
+ * without creating any objects. Other colliders are kept as they are and
+ * tested one by one.
+ * <p>The set takes a snapshot of the lines and circles when being created,
+ * later changes to them are not reflected and lead to inconsistent
+ * results, as the hit collider is materialized using its current state.
+ */
+public class ColliderSet2 {
+
+    private static final byte LINE = 1;
+    private static final byte CIRCLE = 2;
+
+    /**
+     * Number of floats stored per packed collider.
+     */
+    private static final int DATA = 5;
+
+    /**
+     * Maximum number of packed colliders per leaf of the hierarchy.
+     */
+    private static final int LEAF_SIZE = 4;
+
+
+    private final Collider2[] colliders;
+
+    /**
+     * Packed colliders in hierarchy order: their index in {@link #colliders},
+     * type and data. Lines store a, b and ds, circles c, r and i.
+     */
+    private final int[] ids;
+    private final byte[] types;
+    private final float[] data;
+
+    /**
+     * Hierarchy nodes in depth first order, the left child of a node being
+     * the next node. Leaves have a positive count. Skip is the node after
+     * the subtree of a node, so the hierarchy can be traversed without a
+     * stack.
+     */
+    private final float[] bounds;
+    private final int[] start, count, skip;
+    private int nodeCount = 0;
+
+    /**
+     * Indices of the colliders that are not packed.
+     */
+    private final int[] others;
+
+    /**
+     * Creates a new collider set from the given colliders.
+     *
+     * @param colliders The colliders to contain
+     */
+    public ColliderSet2(Iterable<? extends Collider2> colliders) {
+        Instrumentation.IndexEvent event = Instrumentation.ENABLED ? Instrumentation.beginIndex() : null;
+        List<Collider2> list = new ArrayList<>();
+        for(Collider2 c : colliders) list.add(c);
+        this.colliders = list.toArray(new Collider2[0]);
+
+        int packed = 0;
+        for(Collider2 c : this.colliders)
+            if(c instanceof Line2 || c instanceof Circle) packed++;
+
+        int[] order = new int[packed];
+        others = new int[this.colliders.length - packed];
+        float[] minX = new float[packed], minY = new float[packed], maxX = new float[packed], maxY = new float[packed];
+        for(int i=0, p=0, o=0; i<this.colliders.length; i++) {
+            Collider2 c = this.colliders[i];
+            if(c instanceof Line2) {
+                Line2 l = (Line2) c;
+                minX[p] = Math.min(l.a.x, l.b.x);
+                minY[p] = Math.min(l.a.y, l.b.y);
+                maxX[p] = Math.max(l.a.x, l.b.x);
+                maxY[p] = Math.max(l.a.y, l.b.y);
+                order[p++] = i;
+            }
+            else if(c instanceof Circle) {
+                Circle ci = (Circle) c;
+                minX[p] = ci.c.x - ci.r;
+                minY[p] = ci.c.y - ci.r;
+                maxX[p] = ci.c.x + ci.r;
+                maxY[p] = ci.c.y + ci.r;
+                order[p++] = i;
+            }
+            else others[o++] = i;
+        }
+
+        int maxNodes = Math.max(1, 2 * ((packed + LEAF_SIZE - 1) / LEAF_SIZE) * 2);
+        bounds = new float[maxNodes * 4];
+        start = new int[maxNodes];
+        count = new int[maxNodes];
+        skip = new int[maxNodes];
+        int[] perm = new int[packed];
+        for(int i=0; i<packed; i++) perm[i] = i;
+        if(packed != 0) build(perm, 0, packed, minX, minY, maxX, maxY);
+
+        ids = new int[packed];
+        types = new byte[packed];
+        data = new float[packed * DATA];
+        for(int i=0; i<packed; i++) {
+            int id = order[perm[i]], d = i * DATA;
+            ids[i] = id;
+            if(this.colliders[id] instanceof Line2) {
+                Line2 l = (Line2) this.colliders[id];
+                types[i] = LINE;
+                data[d] = l.a.x;
+                data[d+1] = l.a.y;
+                data[d+2] = l.b.x;
+                data[d+3] = l.b.y;
+                data[d+4] = l.ds ? 1 : 0;
+            }
+            else {
+                Circle c = (Circle) this.colliders[id];
+                types[i] = CIRCLE;
+                data[d] = c.c.x;
+                data[d+1] = c.c.y;
+                data[d+2] = c.r;
+                data[d+3] = c.a;
+                data[d+4] = c.i ? 1 : 0;
+            }
+        }
+        if(event != null) Instrumentation.endIndex(event, "ColliderSet2", false, this.colliders.length, nodeCount);
+    }
+
+    /**
+     * Creates a new collider set from the given colliders.
+     *
+     * @param colliders The colliders to contain
+     */
+    public ColliderSet2(Collider2... colliders) {
+        this(List.of(colliders));
+    }
+
+    /**
+     * Builds the node for the given range of packed colliders, reordering
+     * them by a median split along the longer axis of their centers.
+     */
+    private int build(int[] perm, int from, int to, float[] minX, float[] minY, float[] maxX, float[] maxY) {
+        int node = nodeCount++, b = node * 4;
+        float bMinX = Float.POSITIVE_INFINITY, bMinY = Float.POSITIVE_INFINITY;
+        float bMaxX = Float.NEGATIVE_INFINITY, bMaxY = Float.NEGATIVE_INFINITY;
+        float cMinX = Float.POSITIVE_INFINITY, cMinY = Float.POSITIVE_INFINITY;
+        float cMaxX = Float.NEGATIVE_INFINITY, cMaxY = Float.NEGATIVE_INFINITY;
+        for(int i=from; i<to; i++) {
+            int p = perm[i];
+            bMinX = Math.min(bMinX, minX[p]);
+            bMinY = Math.min(bMinY, minY[p]);
+            bMaxX = Math.max(bMaxX, maxX[p]);
+            bMaxY = Math.max(bMaxY, maxY[p]);
+            float cx = minX[p] + maxX[p], cy = minY[p] + maxY[p];
+            cMinX = Math.min(cMinX, cx);
+            cMinY = Math.min(cMinY, cy);
+            cMaxX = Math.max(cMaxX, cx);
+            cMaxY = Math.max(cMaxY, cy);
+        }
+        bounds[b] = bMinX;
+        bounds[b+1] = bMinY;
+        bounds[b+2] = bMaxX;
+        bounds[b+3] = bMaxY;
+
+        if(to - from <= LEAF_SIZE) {
+            start[node] = from;
+            count[node] = to - from;
+            skip[node] = nodeCount;
+            return node;
+        }
+
+        boolean x = cMaxX - cMinX >= cMaxY - cMinY;
+        int mid = (from + to) >>> 1;
+        select(perm, from, to - 1, mid, x ? minX : minY, x ? maxX : maxY);
+        build(perm, from, mid, minX, minY, maxX, maxY);
+        build(perm, mid, to, minX, minY, maxX, maxY);
+        skip[node] = nodeCount;
+        return node;
+    }
+
+    /**
+     * Partially sorts the given range such that the element at k is the one
+     * that would be there if the range was sorted by center.
+     */
+    private static void select(int[] perm, int lo, int hi, int k, float[] min, float[] max) {
+        while(lo < hi) {
+            int p = perm[(lo + hi) >>> 1];
+            float pivot = min[p] + max[p];
+            int i = lo, j = hi;
+            while(i <= j) {
+                while(min[perm[i]] + max[perm[i]] < pivot) i++;
+                while(min[perm[j]] + max[perm[j]] > pivot) j--;
+                if(i <= j) {
+                    int t = perm[i];
+                    perm[i++] = perm[j];
+                    perm[j--] = t;
+                }
+            }
+            if(k <= j) hi = j;
+            else if(k >= i) lo = i;
+            else return;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ColliderSet2{" + colliders.length + " colliders, " + ids.length + " packed}";
+    }
+
+    public int size() {
+        return colliders.length;
+    }
+
+    public Collider2 get(int index) {
+        return colliders[index];
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Calculates the closest collision of the given ray with any collider in
+     * this set.
+     *
+     * @param r The ray to cast
+     * @return The result of the raycast
+     */
+    public Raycast<Vec2> calc(Ray<Vec2> r) {
+        return calc(r, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Calculates the closest collision of the given ray with any collider in
+     * this set within the given distance. Only the collider that was hit
+     * creates a collision object.
+     *
+     * @param r The ray to cast
+     * @param maxL The maximum length of the ray
+     * @return The result of the raycast
+     */
+    public Raycast<Vec2> calc(Ray<Vec2> r, float maxL) {
+        float maxSqrL = maxL * maxL;
+        int hit = closest(r, maxSqrL);
+        if(hit == -1) return Raycast.of(null, r, null, maxL);
+        Collider2 c = colliders[hit];
+        return Raycast.of(c.coll(r, maxSqrL), r, c, maxL);
+    }
+
+    /**
+     * Returns the index of the collider that the given ray hits first.
+     * Does not create any objects, unless colliders other than lines and
+     * circles have to be tested.
+     *
+     * @param r The ray to cast
+     * @param maxSqrL The maximum squared length of the ray
+     * @return The index of the hit collider, or {@code -1} if no collider
+     *         was hit
+     */
+    public int closest(Ray<Vec2> r, float maxSqrL) {
+        return closest(r.o.x, r.o.y, r.d.x, r.d.y, maxSqrL, r);
+    }
+
+    /**
+     * Returns the index of the collider that the given ray hits first.
+     * Does not create any objects, unless colliders other than lines and
+     * circles have to be tested.
+     *
+     * @param ox The x coordinate of the ray origin
+     * @param oy The y coordinate of the ray origin
+     * @param dx The x coordinate of the ray direction
+     * @param dy The y coordinate of the ray direction
+     * @param maxSqrL The maximum squared length of the ray
+     * @return The index of the hit collider, or {@code -1} if no collider
+     *         was hit
+     */
+    public int closest(float ox, float oy, float dx, float dy, float maxSqrL) {
+        return closest(ox, oy, dx, dy, maxSqrL, (Ray<Vec2>) null);
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    private int closest(float ox, float oy, float dx, float dy, float maxSqrL, Ray<Vec2> r) {
+        Instrumentation.RaycastEvent event = Instrumentation.ENABLED ? Instrumentation.beginRaycast() : null;
+        int tests = others.length, hits = 0;
+        int hit = -1;
+        float bestSqrL = maxSqrL;
+
+        for(int id : others) {
+            if(r == null) r = new Ray2(new Vec2(ox, oy), new Vec2(dx, dy));
+            Coll<Vec2> coll = colliders[id].coll(r, bestSqrL);
+            if(coll != null && (hit == -1 || coll.sqrL < bestSqrL)) {
+                hit = id;
+                bestSqrL = coll.sqrL;
+            }
+        }
+        if(ids.length == 0) {
+            if(event != null) Instrumentation.endRaycast(event, "ColliderSet2", tests, hit != -1, 0);
+            return hit;
+        }
+
+        float sqrD = dx * dx + dy * dy;
+        float idx = 1 / dx, idy = 1 / dy;
+        float[] bounds = this.bounds, data = this.data;
+
+        int node = 0;
+        while(node < nodeCount) {
+            int b = node * 4;
+
+            // Slab test, using the squared length along the ray for pruning
+            float tx1 = (bounds[b] - ox) * idx, tx2 = (bounds[b+2] - ox) * idx;
+            float ty1 = (bounds[b+1] - oy) * idy, ty2 = (bounds[b+3] - oy) * idy;
+            // 0 * inf for a ray on the edge of a slab, which then does not bound it
+            if(tx1 != tx1 || tx2 != tx2) {
+                tx1 = Float.NEGATIVE_INFINITY;
+                tx2 = Float.POSITIVE_INFINITY;
+            }
+            if(ty1 != ty1 || ty2 != ty2) {
+                ty1 = Float.NEGATIVE_INFINITY;
+                ty2 = Float.POSITIVE_INFINITY;
+            }
+            float tMin = Math.max(Math.max(Math.min(tx1, tx2), Math.min(ty1, ty2)), 0);
+            float tMax = Math.min(Math.max(tx1, tx2), Math.max(ty1, ty2));
+            if(tMin > tMax || tMin * tMin * sqrD > bestSqrL) {
+                node = skip[node];
+                continue;
+            }
+
+            if(count[node] == 0) {
+                node++;
+                continue;
+            }
+
+            if(event != null) tests += count[node];
+            for(int i=start[node], end=i+count[node]; i<end; i++) {
+                int d = i * DATA;
+                float rHit;
+                if(types[i] == LINE) {
+                    float ax = data[d], ay = data[d+1];
+                    float abx = data[d+2] - ax, aby = data[d+3] - ay;
+
+                    float det = dx * aby - dy * abx;
+                    if((data[d+4] == 0 && det <= 0) ^ det == 0) continue;
+                    float iD = 1 / det;
+
+                    float lHit = (dx * oy - dy * ox + dy * ax - dx * ay) * iD;
+                    if(lHit < 0 || lHit > 1) continue;
+
+                    rHit = (abx * ay - aby * ax + aby * ox - abx * oy) * (-iD);
+                }
+                else {
+                    float cx = ox - data[d], cy = oy - data[d+1], cr = data[d+2];
+
+                    float a = 2 * (dx * dx + dy * dy);
+                    float bb = 2 * (cx * dx + cy * dy);
+                    float x = bb * bb - 2 * a * (cx * cx + cy * cy - cr * cr);
+                    if(x < 0) continue;
+                    x = (float) Math.sqrt(x);
+
+                    rHit = data[d+4] != 0 ? (-bb + x)/a : (-bb - x)/a;
+                }
+                if(rHit < 0) continue;
+
+                float hx = rHit * dx, hy = rHit * dy;
+                float sqrL = hx * hx + hy * hy;
+                if(event != null) hits++;
+                if(sqrL > bestSqrL || (hit != -1 && sqrL == bestSqrL)) continue;
+                hit = ids[i];
+                bestSqrL = sqrL;
+            }
+            node = skip[node];
+        }
+        // Every packed hit would have created a collision object when tested individually
+        if(event != null) Instrumentation.endRaycast(event, "ColliderSet2", tests, hit != -1, hits);
+        return hit;
+    }
+
+    /**
+     * Returns the index of the collider that the given ray hits first
+     * according to the given test, for example to test the original shapes
+     * of the colliders in double precision. The bounds of the colliders
+     * are grown by the given padding, which has to cover the difference
+     * between the colliders and the shapes tested. Every collider whose
+     * padded bounds are hit before the closest hit so far gets tested,
+     * all other colliders are tested regardless. Of colliders hit at the
+     * same ray index, the one with the lowest index is returned.
+     *
+     * @param ox The x coordinate of the ray origin
+     * @param oy The y coordinate of the ray origin
+     * @param dx The x coordinate of the ray direction
+     * @param dy The y coordinate of the ray direction
+     * @param pad The distance to grow the bounds of the colliders by
+     * @param test Returns the ray index at which the ray hits the collider
+     *             with the given index, or {@code NaN} if it misses it
+     * @return The index of the hit collider, or {@code -1} if no collider
+     *         was hit
+     */
+    public int closest(double ox, double oy, double dx, double dy, double pad, IntToDoubleFunction test) {
+        Instrumentation.RaycastEvent event = Instrumentation.ENABLED ? Instrumentation.beginRaycast() : null;
+        int tests = others.length;
+        int hit = -1;
+        double best = Double.POSITIVE_INFINITY;
+
+        for(int id : others) {
+            double t = test.applyAsDouble(id);
+            if(t < best || (t == best && id < hit)) {
+                hit = id;
+                best = t;
+            }
+        }
+
+        double idx = 1 / dx, idy = 1 / dy;
+        float[] bounds = this.bounds;
+        int node = 0;
+        while(node < nodeCount) {
+            int b = node * 4;
+
+            double tx1 = (bounds[b] - pad - ox) * idx, tx2 = (bounds[b+2] + pad - ox) * idx;
+            double ty1 = (bounds[b+1] - pad - oy) * idy, ty2 = (bounds[b+3] + pad - oy) * idy;
+            // 0 * inf for a ray on the edge of a slab, which then does not bound it
+            if(tx1 != tx1 || tx2 != tx2) {
+                tx1 = Double.NEGATIVE_INFINITY;
+                tx2 = Double.POSITIVE_INFINITY;
+            }
+            if(ty1 != ty1 || ty2 != ty2) {
+                ty1 = Double.NEGATIVE_INFINITY;
+                ty2 = Double.POSITIVE_INFINITY;
+            }
+            double tMin = Math.max(Math.min(tx1, tx2), Math.min(ty1, ty2));
+            double tMax = Math.min(Math.max(tx1, tx2), Math.max(ty1, ty2));
+            if(tMax < 0 || tMin > tMax || tMin > best) {
+                node = skip[node];
+                continue;
+            }
+
+            if(count[node] == 0) {
+                node++;
+                continue;
+            }
+
+            if(event != null) tests += count[node];
+            for(int i=start[node], end=i+count[node]; i<end; i++) {
+                int id = ids[i];
+                double t = test.applyAsDouble(id);
+                if(t < best || (t == best && id < hit)) {
+                    hit = id;
+                    best = t;
+                }
+            }
+            node = skip[node];
+        }
+        if(event != null) Instrumentation.endRaycast(event, "ColliderSet2", tests, hit != -1, 0);
+        return hit;
+    }
+}
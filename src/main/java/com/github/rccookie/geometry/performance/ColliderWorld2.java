@@ -0,0 +1,251 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A mutable collection of 2D colliders that is modified by a single writer
+ * thread and queried by any number of reader threads at the same time.
+ * <p>The writer adds, removes and freely modifies the colliders, for example
+ * by moving {@link Rect#c} or changing {@link Circle#r}, and calls
+ * {@link #publish()} once a frame is complete. Publishing copies the current
+ * state of all colliders into an immutable {@link Snapshot}, which readers
+ * obtain using {@link #snapshot()} without any locking. A snapshot is never
+ * modified, so all queries on it are consistent with each other, even
+ * while the writer already prepares the next frame.
+ * <p>Lines, circles, rects and rays are copied when publishing. Other
+ * colliders are shared with the snapshots and must not be modified once
+ * added, unless {@link #copy(Collider2)} is overridden to copy them.
+ */
+public class ColliderWorld2 {
+
+    private Collider2[] colliders = new Collider2[16];
+    private int[] free = new int[16];
+    private int freeCount = 0;
+    private int end = 0;
+    private int size = 0;
+
+    private volatile Snapshot snapshot = new Snapshot(0, new ColliderSet2(), new int[0], new Collider2[0]);
+
+    @Override
+    public String toString() {
+        return "ColliderWorld2{" + size + " colliders, epoch " + snapshot.epoch + '}';
+    }
+
+    /**
+     * Returns the number of colliders currently in the world, which may
+     * differ from the number in the last snapshot.
+     *
+     * @return The number of colliders
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds the given collider to the world. It will be contained in the
+     * snapshots from the next {@link #publish()} on.
+     *
+     * @param collider The collider to add
+     * @return The handle of the collider, which stays valid until it is
+     *         removed
+     */
+    public int add(Collider2 collider) {
+        if(collider == null) throw new NullPointerException();
+        int handle;
+        if(freeCount != 0) handle = free[--freeCount];
+        else {
+            if(end == colliders.length) colliders = Arrays.copyOf(colliders, end * 2);
+            handle = end++;
+        }
+        colliders[handle] = collider;
+        size++;
+        return handle;
+    }
+
+    /**
+     * Removes the collider with the given handle from the world. The handle
+     * may be returned by a later call to {@link #add(Collider2)}.
+     *
+     * @param handle The handle of the collider to remove
+     * @return The removed collider
+     */
+    public Collider2 remove(int handle) {
+        Collider2 c = get(handle);
+        colliders[handle] = null;
+        if(freeCount == free.length) free = Arrays.copyOf(free, freeCount * 2);
+        free[freeCount++] = handle;
+        size--;
+        return c;
+    }
+
+    /**
+     * Returns the live collider with the given handle. Should only be used
+     * by the writer thread, readers use {@link Snapshot#get(int)}.
+     *
+     * @param handle The handle of the collider
+     * @return The collider
+     */
+    public Collider2 get(int handle) {
+        if(handle < 0 || handle >= end || colliders[handle] == null)
+            throw new IllegalArgumentException("Invalid handle: " + handle);
+        return colliders[handle];
+    }
+
+    /**
+     * Publishes the current state of all colliders as a new snapshot.
+     * Readers that already hold an older snapshot keep using it unchanged.
+     *
+     * @return The published snapshot
+     */
+    public Snapshot publish() {
+        int[] handles = new int[size];
+        Collider2[] copies = new Collider2[end];
+        List<Collider2> list = new ArrayList<>(size);
+        for(int i=0, j=0; i<end; i++) {
+            if(colliders[i] == null) continue;
+            handles[j++] = i;
+            list.add(copies[i] = copy(colliders[i]));
+        }
+        Snapshot s = new Snapshot(snapshot.epoch + 1, new ColliderSet2(list), handles, copies);
+        snapshot = s;
+        return s;
+    }
+
+    /**
+     * Returns the most recently published snapshot. Can be called from any
+     * thread.
+     *
+     * @return The current snapshot
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Creates a copy of the given collider that is independent of later
+     * changes to it. Colliders that cannot be modified may be returned as
+     * they are.
+     *
+     * @param c The collider to copy
+     * @return The copied collider
+     */
+    protected Collider2 copy(Collider2 c) {
+        if(c instanceof Line2) {
+            Line2 l = (Line2) c;
+            return new Line2(l.a.clone(), l.b.clone(), l.ds);
+        }
+        if(c instanceof Circle) {
+            Circle ci = (Circle) c;
+            return new Circle(ci.c.clone(), ci.r, ci.a, ci.i);
+        }
+        if(c instanceof Rect) {
+            Rect r = (Rect) c;
+            return new Rect(r.c.clone(), r.s.clone(), r.a, r.i, r.ds);
+        }
+        if(c instanceof Ray2) {
+            Ray2 r = (Ray2) c;
+            return new Ray2(r.o.clone(), r.d.clone(), r.ds, r.i);
+        }
+        return c;
+    }
+
+
+
+    /**
+     * An immutable state of a {@link ColliderWorld2}. Snapshots are safe to
+     * be queried by multiple threads concurrently.
+     */
+    public static final class Snapshot {
+
+        private final long epoch;
+        private final ColliderSet2 set;
+        /**
+         * Handle of each collider in {@link #set}.
+         */
+        private final int[] handles;
+        /**
+         * Copied colliders by handle.
+         */
+        private final Collider2[] colliders;
+
+        private Snapshot(long epoch, ColliderSet2 set, int[] handles, Collider2[] colliders) {
+            this.epoch = epoch;
+            this.set = set;
+            this.handles = handles;
+            this.colliders = colliders;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{epoch " + epoch + ", " + handles.length + " colliders}";
+        }
+
+        /**
+         * Returns the number of the publication that created this snapshot,
+         * starting at {@code 1}. Later snapshots have higher epochs.
+         *
+         * @return The epoch of this snapshot
+         */
+        public long epoch() {
+            return epoch;
+        }
+
+        public int size() {
+            return handles.length;
+        }
+
+        /**
+         * Returns the copy of the collider with the given handle, as it was
+         * when this snapshot was published. The returned collider must not
+         * be modified.
+         *
+         * @param handle The handle of the collider
+         * @return The collider, or {@code null} if it was not present
+         */
+        public Collider2 get(int handle) {
+            return handle >= 0 && handle < colliders.length ? colliders[handle] : null;
+        }
+
+        /**
+         * Calculates the closest collision of the given ray with any collider
+         * in this snapshot.
+         *
+         * @param r The ray to cast
+         * @return The result of the raycast
+         */
+        public Raycast<Vec2> calc(Ray<Vec2> r) {
+            return set.calc(r);
+        }
+
+        /**
+         * Calculates the closest collision of the given ray with any collider
+         * in this snapshot within the given distance.
+         *
+         * @param r The ray to cast
+         * @param maxL The maximum length of the ray
+         * @return The result of the raycast
+         */
+        public Raycast<Vec2> calc(Ray<Vec2> r, float maxL) {
+            return set.calc(r, maxL);
+        }
+
+        /**
+         * Returns the handle of the collider that the given ray hits first.
+         *
+         * @param ox The x coordinate of the ray origin
+         * @param oy The y coordinate of the ray origin
+         * @param dx The x coordinate of the ray direction
+         * @param dy The y coordinate of the ray direction
+         * @param maxSqrL The maximum squared length of the ray
+         * @return The handle of the hit collider, or {@code -1} if no
+         *         collider was hit
+         * @see ColliderSet2#closest(float, float, float, float, float)
+         */
+        public int closest(float ox, float oy, float dx, float dy, float maxSqrL) {
+            int hit = set.closest(ox, oy, dx, dy, maxSqrL);
+            return hit == -1 ? -1 : handles[hit];
+        }
+    }
+}
@@ -0,0 +1,607 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import com.github.rccookie.util.Console;
+import com.github.rccookie.util.Stopwatch;
+
+/**
+ * Convex hulls of 2D and 3D point sets, given as arrays of coordinates or
+ * as vectors.
+ * <p>2D hulls are computed with Andrew's monotone chain, 3D hulls with
+ * quickhull. Before sorting, points inside the octagon spanned by the
+ * extreme points in eight directions are discarded, which removes nearly
+ * all points of large clouds. When computing in parallel, the points are
+ * split into chunks whose hulls are computed concurrently and then merged
+ * by computing the hull of their vertices.
+ * <p>Orientation tests are evaluated in double precision, where products
+ * of float coordinates are exact. Collinear and coplanar points on the
+ * boundary are not part of the result.
+ */
+public final class ConvexHull {
+
+    private ConvexHull() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Number of points per chunk when computing in parallel.
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+
+
+    /**
+     * Calculates the 2D convex hull of the given points.
+     *
+     * @param x The x coordinates of the points
+     * @param y The y coordinates of the points
+     * @param off The index of the first point
+     * @param len The number of points
+     * @param parallel Whether to split the computation across multiple threads
+     * @return The indices of the hull vertices in counter-clockwise order,
+     *         starting with the lowest x coordinate. Fewer than 3 if all
+     *         points are collinear
+     */
+    public static int[] indices(float[] x, float[] y, int off, int len, boolean parallel) {
+        if(!parallel || len <= CHUNK_SIZE) return hull2(x, y, off, off + len);
+        int[][] hulls = IntStream.range(0, (len + CHUNK_SIZE - 1) / CHUNK_SIZE).parallel()
+                .mapToObj(c -> hull2(x, y, off + c * CHUNK_SIZE, off + Math.min(len, (c + 1) * CHUNK_SIZE)))
+                .toArray(int[][]::new);
+        return monotoneChain(x, y, concat(hulls));
+    }
+
+    /**
+     * Calculates the 2D convex hull of the given points.
+     *
+     * @param x The x coordinates of the points
+     * @param y The y coordinates of the points
+     * @param off The index of the first point
+     * @param len The number of points
+     * @param parallel Whether to split the computation across multiple threads
+     * @return The convex hull as polygon
+     * @throws IllegalArgumentException If all points are collinear
+     */
+    public static Polygon2 polygon(float[] x, float[] y, int off, int len, boolean parallel) {
+        int[] hull = indices(x, y, off, len, parallel);
+        if(hull.length < 3) throw new IllegalArgumentException("Points are collinear");
+        float[] hx = new float[hull.length], hy = new float[hull.length];
+        for(int i=0; i<hull.length; i++) {
+            hx[i] = x[hull[i]];
+            hy[i] = y[hull[i]];
+        }
+        return new Polygon2(hx, hy);
+    }
+
+    /**
+     * Calculates the 2D convex hull of the given points.
+     *
+     * @param points The points to calculate the hull of
+     * @return The convex hull as polygon
+     * @throws IllegalArgumentException If all points are collinear
+     */
+    public static Polygon2 polygon(Vec2... points) {
+        float[] x = new float[points.length], y = new float[points.length];
+        for(int i=0; i<points.length; i++) {
+            x[i] = points[i].x;
+            y[i] = points[i].y;
+        }
+        return polygon(x, y, 0, points.length, false);
+    }
+
+    /**
+     * Calculates the 3D convex hull of the given points.
+     *
+     * @param x The x coordinates of the points
+     * @param y The y coordinates of the points
+     * @param z The z coordinates of the points
+     * @param off The index of the first point
+     * @param len The number of points
+     * @param parallel Whether to split the computation across multiple threads
+     * @return The triangles of the hull, three point indices per triangle in
+     *         counter-clockwise order when seen from outside
+     * @throws IllegalArgumentException If all points are coplanar
+     */
+    public static int[] faces(float[] x, float[] y, float[] z, int off, int len, boolean parallel) {
+        int[] points = IntStream.range(off, off + len).toArray();
+        if(!parallel || len <= CHUNK_SIZE) return new QuickHull3(x, y, z).run(points);
+
+        int[][] hulls = IntStream.range(0, (len + CHUNK_SIZE - 1) / CHUNK_SIZE).parallel().mapToObj(c -> {
+            int[] chunk = Arrays.copyOfRange(points, c * CHUNK_SIZE, Math.min(len, (c + 1) * CHUNK_SIZE));
+            try {
+                return vertices(new QuickHull3(x, y, z).run(chunk));
+            } catch(IllegalArgumentException e) {
+                return chunk; // Coplanar chunk, let the merge handle its points
+            }
+        }).toArray(int[][]::new);
+        return new QuickHull3(x, y, z).run(concat(hulls));
+    }
+
+    /**
+     * Calculates the 3D convex hull of the given points.
+     *
+     * @param x The x coordinates of the points
+     * @param y The y coordinates of the points
+     * @param z The z coordinates of the points
+     * @param off The index of the first point
+     * @param len The number of points
+     * @param parallel Whether to split the computation across multiple threads
+     * @return The convex hull as polyhedron
+     * @throws IllegalArgumentException If all points are coplanar
+     */
+    public static ConvexPolyhedron3 polyhedron(float[] x, float[] y, float[] z, int off, int len, boolean parallel) {
+        int[] faces = faces(x, y, z, off, len, parallel);
+        int[] vertices = vertices(faces);
+        float[] hx = new float[vertices.length], hy = new float[vertices.length], hz = new float[vertices.length];
+        for(int i=0; i<vertices.length; i++) {
+            hx[i] = x[vertices[i]];
+            hy[i] = y[vertices[i]];
+            hz[i] = z[vertices[i]];
+        }
+        for(int i=0; i<faces.length; i++)
+            faces[i] = Arrays.binarySearch(vertices, faces[i]);
+        return new ConvexPolyhedron3(hx, hy, hz, faces);
+    }
+
+    /**
+     * Calculates the 3D convex hull of the given points.
+     *
+     * @param points The points to calculate the hull of
+     * @return The convex hull as polyhedron
+     * @throws IllegalArgumentException If all points are coplanar
+     */
+    public static ConvexPolyhedron3 polyhedron(Vec3... points) {
+        float[] x = new float[points.length], y = new float[points.length], z = new float[points.length];
+        for(int i=0; i<points.length; i++) {
+            x[i] = points[i].x;
+            y[i] = points[i].y;
+            z[i] = points[i].z;
+        }
+        return polyhedron(x, y, z, 0, points.length, false);
+    }
+
+    // ------------------------------------------------------
+
+    private static int[] concat(int[][] arrays) {
+        int n = 0;
+        for(int[] a : arrays) n += a.length;
+        int[] all = new int[n];
+        n = 0;
+        for(int[] a : arrays) {
+            System.arraycopy(a, 0, all, n, a.length);
+            n += a.length;
+        }
+        return all;
+    }
+
+    /**
+     * Returns the sorted distinct indices in the given index buffer.
+     */
+    private static int[] vertices(int[] faces) {
+        int[] v = faces.clone();
+        Arrays.sort(v);
+        int n = 0;
+        for(int i=0; i<v.length; i++)
+            if(i == 0 || v[i] != v[i-1]) v[n++] = v[i];
+        return Arrays.copyOf(v, n);
+    }
+
+    /**
+     * Twice the signed area of the triangle abc, positive if it is
+     * counter-clockwise.
+     */
+    private static double cross(float[] x, float[] y, int a, int b, int c) {
+        return ((double) x[b] - x[a]) * ((double) y[c] - y[a]) - ((double) y[b] - y[a]) * ((double) x[c] - x[a]);
+    }
+
+    /**
+     * Calculates the hull of the points from {@code from} to {@code to},
+     * first discarding the points inside the octagon of extreme points.
+     */
+    private static int[] hull2(float[] x, float[] y, int from, int to) {
+        if(from == to) return new int[0];
+
+        // Extreme points in counter-clockwise order: -x, -x-y, -y, x-y, x, x+y, y, -x+y
+        int[] e = new int[8];
+        Arrays.fill(e, from);
+        for(int i=from+1; i<to; i++) {
+            float px = x[i], py = y[i];
+            if(px < x[e[0]]) e[0] = i;
+            if(px + py < x[e[1]] + y[e[1]]) e[1] = i;
+            if(py < y[e[2]]) e[2] = i;
+            if(px - py > x[e[3]] - y[e[3]]) e[3] = i;
+            if(px > x[e[4]]) e[4] = i;
+            if(px + py > x[e[5]] + y[e[5]]) e[5] = i;
+            if(py > y[e[6]]) e[6] = i;
+            if(px - py < x[e[7]] - y[e[7]]) e[7] = i;
+        }
+        // Skip duplicate corners, they would keep every point
+        int corners = 0;
+        for(int i=0; i<8; i++)
+            if(corners == 0 || (x[e[i]] != x[e[corners-1]] || y[e[i]] != y[e[corners-1]])) e[corners++] = e[i];
+        while(corners > 1 && x[e[corners-1]] == x[e[0]] && y[e[corners-1]] == y[e[0]]) corners--;
+
+        int[] kept = new int[to - from];
+        int n = 0;
+        for(int i=from; i<to; i++) {
+            boolean inside = corners >= 3;
+            for(int c=0; c<corners && inside; c++)
+                inside = cross(x, y, e[c], e[c + 1 == corners ? 0 : c + 1], i) > 0;
+            if(!inside) kept[n++] = i;
+        }
+        return monotoneChain(x, y, Arrays.copyOf(kept, n));
+    }
+
+    /**
+     * Maps a float to an int with the same order.
+     */
+    static int sortable(float f) {
+        int b = Float.floatToIntBits(f + 0f); // -0 to 0
+        return b ^ ((b >> 31) & 0x7FFFFFFF);
+    }
+
+    /**
+     * Calculates the hull of the given points.
+     */
+    private static int[] monotoneChain(float[] x, float[] y, int[] points) {
+        int n = points.length;
+        // Sort lexicographically by x and y, packing the index into the keys
+        long[] keys = new long[n];
+        for(int i=0; i<n; i++) keys[i] = ((long) sortable(x[points[i]]) << 32) | points[i];
+        Arrays.sort(keys);
+        for(int i=0; i<n; ) {
+            int j = i + 1;
+            while(j < n && (keys[j] >> 32) == (keys[i] >> 32)) j++;
+            if(j - i > 1) {
+                for(int k=i; k<j; k++) keys[k] = ((long) sortable(y[(int) keys[k]]) << 32) | (keys[k] & 0xFFFFFFFFL);
+                Arrays.sort(keys, i, j);
+            }
+            i = j;
+        }
+        int[] sorted = new int[n];
+        for(int i=0; i<n; i++) sorted[i] = (int) keys[i];
+
+        int[] hull = new int[Math.max(2 * n, 1)];
+        int h = 0;
+        for(int i=0; i<n; i++) {
+            while(h >= 2 && cross(x, y, hull[h-2], hull[h-1], sorted[i]) <= 0) h--;
+            hull[h++] = sorted[i];
+        }
+        for(int i=n-2, lower=h+1; i>=0; i--) {
+            while(h >= lower && cross(x, y, hull[h-2], hull[h-1], sorted[i]) <= 0) h--;
+            hull[h++] = sorted[i];
+        }
+        // The last point is the first one again
+        if(h > 1) h--;
+        // Only duplicates of a single point
+        if(h == 2 && x[hull[0]] == x[hull[1]] && y[hull[0]] == y[hull[1]]) h = 1;
+        return Arrays.copyOf(hull, Math.min(h, n));
+    }
+
+
+
+    /**
+     * Quickhull over a subset of points. Faces are triangles with a
+     * neighbor across each edge, points are assigned to the first face they
+     * are in front of, and the face with such points is repeatedly expanded
+     * to its furthest point.
+     */
+    private static final class QuickHull3 {
+
+        final float[] x, y, z;
+        double eps;
+
+        // Per face: vertices, neighbors across the edges v0v1, v1v2, v2v0,
+        // plane (unit normal and distance) and the points in front of it
+        int[] vertices = new int[3 * 64];
+        int[] neighbors = new int[3 * 64];
+        double[] planes = new double[4 * 64];
+        boolean[] dead = new boolean[64];
+        int[][] outside = new int[64][];
+        int[] outsideCount = new int[64];
+        int[] visited = new int[64];
+        int faceCount = 0;
+        int stamp = 0;
+
+        QuickHull3(float[] x, float[] y, float[] z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        double dist(int face, int p) {
+            int f = face * 4;
+            return planes[f] * x[p] + planes[f+1] * y[p] + planes[f+2] * z[p] - planes[f+3];
+        }
+
+        int addFace(int a, int b, int c) {
+            int f = faceCount++;
+            if(f == dead.length) {
+                int cap = f * 2;
+                vertices = Arrays.copyOf(vertices, 3 * cap);
+                neighbors = Arrays.copyOf(neighbors, 3 * cap);
+                planes = Arrays.copyOf(planes, 4 * cap);
+                dead = Arrays.copyOf(dead, cap);
+                outside = Arrays.copyOf(outside, cap);
+                outsideCount = Arrays.copyOf(outsideCount, cap);
+                visited = Arrays.copyOf(visited, cap);
+            }
+            vertices[3*f] = a;
+            vertices[3*f+1] = b;
+            vertices[3*f+2] = c;
+            double abx = (double) x[b] - x[a], aby = (double) y[b] - y[a], abz = (double) z[b] - z[a];
+            double acx = (double) x[c] - x[a], acy = (double) y[c] - y[a], acz = (double) z[c] - z[a];
+            double nx = aby * acz - abz * acy, ny = abz * acx - abx * acz, nz = abx * acy - aby * acx;
+            double l = Math.sqrt(nx * nx + ny * ny + nz * nz);
+            if(l != 0) {
+                nx /= l;
+                ny /= l;
+                nz /= l;
+            }
+            planes[4*f] = nx;
+            planes[4*f+1] = ny;
+            planes[4*f+2] = nz;
+            planes[4*f+3] = nx * x[a] + ny * y[a] + nz * z[a];
+            outside[f] = null;
+            outsideCount[f] = 0;
+            return f;
+        }
+
+        void addOutside(int face, int p) {
+            int[] o = outside[face];
+            if(o == null) outside[face] = o = new int[8];
+            else if(outsideCount[face] == o.length) outside[face] = o = Arrays.copyOf(o, o.length * 2);
+            o[outsideCount[face]++] = p;
+        }
+
+        /**
+         * Assigns the point to the first of the given faces it is in front
+         * of, if any.
+         */
+        void assign(int p, int fromFace, int toFace) {
+            for(int f=fromFace; f<toFace; f++) {
+                if(dist(f, p) > eps) {
+                    addOutside(f, p);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Sets the neighbor of the given face across the edge from a to b.
+         */
+        void link(int face, int a, int b, int neighbor) {
+            for(int j=0; j<3; j++) {
+                if(vertices[3*face+j] == a && vertices[3*face+(j+1)%3] == b) {
+                    neighbors[3*face+j] = neighbor;
+                    return;
+                }
+            }
+            throw new IllegalStateException("Edge not found");
+        }
+
+        int[] run(int[] points) {
+            if(points.length < 4) throw new IllegalArgumentException("Points are coplanar");
+
+            // Initial tetrahedron from extreme points
+            int[] e = new int[6];
+            Arrays.fill(e, points[0]);
+            for(int p : points) {
+                if(x[p] < x[e[0]]) e[0] = p;
+                if(x[p] > x[e[1]]) e[1] = p;
+                if(y[p] < y[e[2]]) e[2] = p;
+                if(y[p] > y[e[3]]) e[3] = p;
+                if(z[p] < z[e[4]]) e[4] = p;
+                if(z[p] > z[e[5]]) e[5] = p;
+            }
+            double maxX = Math.max(Math.abs(x[e[0]]), Math.abs(x[e[1]]));
+            double maxY = Math.max(Math.abs(y[e[2]]), Math.abs(y[e[3]]));
+            double maxZ = Math.max(Math.abs(z[e[4]]), Math.abs(z[e[5]]));
+            eps = 3 * Math.ulp(1d) * (maxX + maxY + maxZ);
+
+            int a = e[0], b = e[1];
+            double best = -1;
+            for(int i=0; i<6; i++) for(int j=i+1; j<6; j++) {
+                double d = sqrDist(e[i], e[j]);
+                if(d > best) {
+                    best = d;
+                    a = e[i];
+                    b = e[j];
+                }
+            }
+            if(best <= eps * eps) throw new IllegalArgumentException("Points are coplanar");
+
+            int c = -1;
+            best = eps * eps;
+            double abx = (double) x[b] - x[a], aby = (double) y[b] - y[a], abz = (double) z[b] - z[a];
+            for(int p : points) {
+                double apx = (double) x[p] - x[a], apy = (double) y[p] - y[a], apz = (double) z[p] - z[a];
+                double cx = aby * apz - abz * apy, cy = abz * apx - abx * apz, cz = abx * apy - aby * apx;
+                double d = (cx * cx + cy * cy + cz * cz) / (abx * abx + aby * aby + abz * abz);
+                if(d > best) {
+                    best = d;
+                    c = p;
+                }
+            }
+            if(c == -1) throw new IllegalArgumentException("Points are coplanar");
+
+            int base = addFace(a, b, c);
+            int d = -1;
+            best = eps;
+            for(int p : points) {
+                double dist = Math.abs(dist(base, p));
+                if(dist > best) {
+                    best = dist;
+                    d = p;
+                }
+            }
+            if(d == -1) throw new IllegalArgumentException("Points are coplanar");
+
+            // Orient the faces outwards, away from d
+            if(dist(base, d) > 0) {
+                int t = b;
+                b = c;
+                c = t;
+            }
+            faceCount = 0;
+            addFace(a, b, c);
+            addFace(a, d, b);
+            addFace(b, d, c);
+            addFace(c, d, a);
+            link(0, a, b, 1); link(0, b, c, 2); link(0, c, a, 3);
+            link(1, a, d, 3); link(1, d, b, 2); link(1, b, a, 0);
+            link(2, b, d, 1); link(2, d, c, 3); link(2, c, b, 0);
+            link(3, c, d, 2); link(3, d, a, 1); link(3, a, c, 0);
+
+            for(int p : points)
+                if(p != a && p != b && p != c && p != d) assign(p, 0, 4);
+
+            int[] stack = new int[64];
+            int top = 0;
+            for(int f=0; f<4; f++) stack[top++] = f;
+            int[] visible = new int[16], horizon = new int[3 * 16], todo = new int[16];
+
+            while(top != 0) {
+                int face = stack[--top];
+                if(dead[face] || outsideCount[face] == 0) continue;
+
+                // Furthest point in front of the face
+                int eye = -1;
+                double eyeDist = -1;
+                for(int i=0; i<outsideCount[face]; i++) {
+                    double dist = dist(face, outside[face][i]);
+                    if(dist > eyeDist) {
+                        eyeDist = dist;
+                        eye = outside[face][i];
+                    }
+                }
+
+                // Flood fill the faces visible from the eye
+                int visibleCount = 0, todoCount = 0;
+                stamp++;
+                visited[face] = stamp;
+                todo[todoCount++] = face;
+                while(todoCount != 0) {
+                    int f = todo[--todoCount];
+                    if(visibleCount == visible.length) visible = Arrays.copyOf(visible, visibleCount * 2);
+                    visible[visibleCount++] = f;
+                    for(int j=0; j<3; j++) {
+                        int n = neighbors[3*f+j];
+                        if(visited[n] == stamp || dist(n, eye) <= eps) continue;
+                        visited[n] = stamp;
+                        if(todoCount == todo.length) todo = Arrays.copyOf(todo, todoCount * 2);
+                        todo[todoCount++] = n;
+                    }
+                }
+
+                // Edges between visible and hidden faces, with the hidden face
+                int horizonCount = 0;
+                for(int v=0; v<visibleCount; v++) {
+                    int f = visible[v];
+                    for(int j=0; j<3; j++) {
+                        int n = neighbors[3*f+j];
+                        if(visited[n] == stamp) continue;
+                        if(3 * horizonCount == horizon.length) horizon = Arrays.copyOf(horizon, horizon.length * 2);
+                        horizon[3*horizonCount] = vertices[3*f+j];
+                        horizon[3*horizonCount+1] = vertices[3*f+(j+1)%3];
+                        horizon[3*horizonCount+2] = n;
+                        horizonCount++;
+                    }
+                }
+
+                // New faces from each horizon edge to the eye, linked by the
+                // start vertices of the edges, as the horizon is a cycle
+                int first = faceCount;
+                long[] starts = new long[horizonCount];
+                for(int h=0; h<horizonCount; h++) {
+                    int ea = horizon[3*h], eb = horizon[3*h+1], outer = horizon[3*h+2];
+                    int f = addFace(ea, eb, eye);
+                    neighbors[3*f] = outer;
+                    link(outer, eb, ea, f);
+                    starts[h] = ((long) ea << 32) | f;
+                }
+                Arrays.sort(starts);
+                for(int f=first; f<faceCount; f++) {
+                    int next = faceStartingAt(starts, vertices[3*f+1]);
+                    neighbors[3*f+1] = next;
+                    neighbors[3*next+2] = f;
+                }
+
+                // Reassign the points of the removed faces
+                for(int v=0; v<visibleCount; v++) {
+                    int f = visible[v];
+                    dead[f] = true;
+                    for(int i=0; i<outsideCount[f]; i++)
+                        if(outside[f][i] != eye) assign(outside[f][i], first, faceCount);
+                    outside[f] = null;
+                    outsideCount[f] = 0;
+                }
+                for(int f=first; f<faceCount; f++) {
+                    if(outsideCount[f] == 0) continue;
+                    if(top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                    stack[top++] = f;
+                }
+            }
+
+            int[] result = new int[3 * faceCount];
+            int n = 0;
+            for(int f=0; f<faceCount; f++) {
+                if(dead[f]) continue;
+                result[n++] = vertices[3*f];
+                result[n++] = vertices[3*f+1];
+                result[n++] = vertices[3*f+2];
+            }
+            return Arrays.copyOf(result, n);
+        }
+
+        /**
+         * Finds the new face whose horizon edge starts at the given vertex.
+         */
+        int faceStartingAt(long[] starts, int vertex) {
+            int lo = 0, hi = starts.length - 1;
+            while(lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if((int) (starts[mid] >> 32) < vertex) lo = mid + 1;
+                else hi = mid;
+            }
+            return (int) starts[lo];
+        }
+
+        double sqrDist(int a, int b) {
+            double dx = (double) x[a] - x[b], dy = (double) y[a] - y[b], dz = (double) z[a] - z[b];
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+
+
+    /**
+     * Measures the hulls of ten million random points. The hulls are
+     * checked by {@code ConvexHullTest}.
+     */
+    public static void main(String[] args) {
+        Random random = new Random(0);
+        int n = 10000000;
+        float[] x = new float[n], y = new float[n], z = new float[n];
+        for(int i=0; i<n; i++) {
+            // Points in a disc and ball, so that the hull has many vertices
+            do {
+                x[i] = random.nextFloat() * 2 - 1;
+                y[i] = random.nextFloat() * 2 - 1;
+                z[i] = random.nextFloat() * 2 - 1;
+            } while(x[i] * x[i] + y[i] * y[i] + z[i] * z[i] > 1);
+        }
+
+        for(int run=0; run<3; run++) {
+            for(boolean parallel : new boolean[] { false, true }) {
+                Stopwatch watch = new Stopwatch().start();
+                int[] hull = indices(x, y, 0, n, parallel);
+                Console.map((parallel ? "Parallel" : "Sequential") + " 2D", hull.length + " vertices, " + watch.stop().getPassedNanos() / 1000000d + "ms");
+                watch = new Stopwatch().start();
+                int[] faces = faces(x, y, z, 0, n, parallel);
+                Console.map((parallel ? "Parallel" : "Sequential") + " 3D", faces.length / 3 + " faces, " + watch.stop().getPassedNanos() / 1000000d + "ms");
+            }
+        }
+    }
+}
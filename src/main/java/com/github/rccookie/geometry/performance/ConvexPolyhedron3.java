@@ -0,0 +1,320 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.Arrays;
+
+/**
+ * A convex polyhedron made of triangles, used as collider, for example the
+ * result of {@link ConvexHull#polyhedron(float[], float[], float[], int, int, boolean)}.
+ * The triangles are given as index buffer with three vertex indices per
+ * face, in counter-clockwise order when seen from outside. Vertices and
+ * faces are copied when the polyhedron is created.
+ * <p>Like {@link Polygon2}, the polyhedron is solid: rays hit its faces only
+ * from outside, or only from inside if it is {@link #i inside out}. Where
+ * {@code Polygon2} is parameterized by its perimeter, positions on the
+ * polyhedron are given as fraction of its surface area: faces in order,
+ * each swept from its first vertex towards the opposite edge. Collisions
+ * carry the index of the hit face and barycentric coordinates within it,
+ * see {@link #get(int, float, float)}.
+ */
+public class ConvexPolyhedron3 implements Collider<Vec3> {
+
+    /**
+     * Whether the polyhedron is inside out, in which case rays hit its faces
+     * from inside.
+     */
+    public boolean i;
+
+    private final float[] x, y, z;
+    private final int[] faces;
+    /**
+     * Unit normal and distance from the origin of each face plane.
+     */
+    private final float[] planes;
+    /**
+     * Cumulative surface area at each face, one more than there are faces.
+     */
+    private final float[] areas;
+
+    /**
+     * Creates a new convex polyhedron.
+     *
+     * @param x The x coordinates of the vertices
+     * @param y The y coordinates of the vertices
+     * @param z The z coordinates of the vertices
+     * @param faces Three vertex indices per face, counter-clockwise when
+     *              seen from outside
+     */
+    public ConvexPolyhedron3(float[] x, float[] y, float[] z, int[] faces) {
+        if(faces.length < 12 || faces.length % 3 != 0)
+            throw new IllegalArgumentException("A polyhedron needs at least 4 triangles");
+        this.x = x.clone();
+        this.y = y.clone();
+        this.z = z.clone();
+        this.faces = faces.clone();
+
+        planes = new float[faces.length / 3 * 4];
+        areas = new float[faces.length / 3 + 1];
+        for(int f=0, p=0; f<faces.length; f+=3, p+=4) {
+            int a = faces[f], b = faces[f+1], c = faces[f+2];
+            float abx = x[b] - x[a], aby = y[b] - y[a], abz = z[b] - z[a];
+            float acx = x[c] - x[a], acy = y[c] - y[a], acz = z[c] - z[a];
+            float nx = aby * acz - abz * acy, ny = abz * acx - abx * acz, nz = abx * acy - aby * acx;
+            float l = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+            areas[f/3+1] = areas[f/3] + l / 2;
+            if(l != 0) {
+                nx /= l;
+                ny /= l;
+                nz /= l;
+            }
+            planes[p] = nx;
+            planes[p+1] = ny;
+            planes[p+2] = nz;
+            planes[p+3] = nx * x[a] + ny * y[a] + nz * z[a];
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof ConvexPolyhedron3)) return false;
+        ConvexPolyhedron3 p = (ConvexPolyhedron3) o;
+        return i == p.i && Arrays.equals(faces, p.faces) && Arrays.equals(x, p.x)
+                && Arrays.equals(y, p.y) && Arrays.equals(z, p.z);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(x) + Arrays.hashCode(faces)) + Boolean.hashCode(i);
+    }
+
+    @Override
+    public String toString() {
+        return "ConvexPolyhedron3{" + x.length + " vertices, " + faceCount() + " faces}";
+    }
+
+    // ------------------------------------------------------
+
+    public int vertexCount() {
+        return x.length;
+    }
+
+    public int faceCount() {
+        return faces.length / 3;
+    }
+
+    public Vec3 vertex(int index) {
+        return new Vec3(x[index], y[index], z[index]);
+    }
+
+    /**
+     * Returns a copy of the index buffer, three vertex indices per face.
+     *
+     * @return The faces of the polyhedron
+     */
+    public int[] faces() {
+        return faces.clone();
+    }
+
+    /**
+     * Returns the outwards pointing unit normal of the given face.
+     *
+     * @param face The index of the face
+     * @return The normal of the face
+     */
+    public Vec3 normal(int face) {
+        return new Vec3(planes[face*4], planes[face*4+1], planes[face*4+2]);
+    }
+
+    /**
+     * Returns the total surface area.
+     *
+     * @return The surface area of the polyhedron
+     */
+    @Override
+    public float length() {
+        return areas[areas.length - 1];
+    }
+
+    @Override
+    public float sqrLength() {
+        float a = areas[areas.length - 1];
+        return a * a;
+    }
+
+    @Override
+    public Vec3 get(float i) {
+        int f = face(i);
+        // Fraction of the face area swept by a line parallel to the edge opposite of its first vertex
+        float s = (float) Math.sqrt(faceT(f, i));
+        return get(f, s / 2, s / 2);
+    }
+
+    /**
+     * Returns the point on the given face with the given barycentric
+     * coordinates, as reported by {@link FaceColl3}.
+     *
+     * @param face The index of the face
+     * @param u The weight of the second vertex of the face
+     * @param v The weight of the third vertex of the face
+     * @return The point on the face
+     */
+    public Vec3 get(int face, float u, float v) {
+        int a = faces[3*face], b = faces[3*face+1], c = faces[3*face+2];
+        return new Vec3(
+                x[a] + u * (x[b] - x[a]) + v * (x[c] - x[a]),
+                y[a] + u * (y[b] - y[a]) + v * (y[c] - y[a]),
+                z[a] + u * (z[b] - z[a]) + v * (z[c] - z[a])
+        );
+    }
+
+    @Override
+    public Vec3 getNormal(float i) {
+        Vec3 n = normal(face(i));
+        return this.i ? n.negate() : n;
+    }
+
+    /**
+     * Binary searches the face containing the given fraction of the surface
+     * area.
+     */
+    private int face(float i) {
+        float target = i * areas[areas.length - 1];
+        int lo = 0, hi = areas.length - 2;
+        while(lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if(areas[mid] <= target) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    private float faceT(int f, float i) {
+        float a = areas[f+1] - areas[f];
+        if(a == 0) return 0;
+        float t = (i * areas[areas.length - 1] - areas[f]) / a;
+        return t < 0 ? 0 : t > 1 ? 1 : t;
+    }
+
+    /**
+     * Intersects the ray with all face planes at once: it enters the
+     * polyhedron at the last front face plane and leaves it at the first back
+     * face plane, and hits if it enters before it leaves. Unlike testing each
+     * triangle on its own, this cannot miss at shared edges.
+     */
+    @Override
+    public FaceColl3 coll(Ray<Vec3> r, float maxSqrL) {
+        float ox = r.o.x, oy = r.o.y, oz = r.o.z, dx = r.d.x, dy = r.d.y, dz = r.d.z;
+        float enter = Float.NEGATIVE_INFINITY, exit = Float.POSITIVE_INFINITY;
+        int enterFace = -1, exitFace = -1;
+
+        for(int p=0; p<planes.length; p+=4) {
+            float dn = planes[p] * dx + planes[p+1] * dy + planes[p+2] * dz;
+            float dist = planes[p+3] - planes[p] * ox - planes[p+1] * oy - planes[p+2] * oz;
+            if(dn == 0) {
+                // Parallel and in front of the plane, never inside
+                if(dist < 0) return null;
+                continue;
+            }
+            float t = dist / dn;
+            if(dn < 0) {
+                if(t > enter) {
+                    enter = t;
+                    enterFace = p / 4;
+                }
+            }
+            else if(t < exit) {
+                exit = t;
+                exitFace = p / 4;
+            }
+            if(enter > exit) return null;
+        }
+
+        float rHit;
+        int face;
+        if(i) {
+            rHit = exit;
+            face = exitFace;
+        }
+        else {
+            rHit = enter;
+            face = enterFace;
+        }
+        if(face == -1 || rHit < 0) return null;
+
+        float hx = rHit * dx, hy = rHit * dy, hz = rHit * dz;
+        float sqrL = hx * hx + hy * hy + hz * hz;
+        if(sqrL > maxSqrL) return null;
+
+        // Barycentric coordinates of the hit point
+        int a = faces[3*face], b = faces[3*face+1], c = faces[3*face+2];
+        float px = ox + hx - x[a], py = oy + hy - y[a], pz = oz + hz - z[a];
+        float e1x = x[b] - x[a], e1y = y[b] - y[a], e1z = z[b] - z[a];
+        float e2x = x[c] - x[a], e2y = y[c] - y[a], e2z = z[c] - z[a];
+        float d11 = e1x * e1x + e1y * e1y + e1z * e1z, d12 = e1x * e2x + e1y * e2y + e1z * e2z;
+        float d22 = e2x * e2x + e2y * e2y + e2z * e2z;
+        float p1 = px * e1x + py * e1y + pz * e1z, p2 = px * e2x + py * e2y + pz * e2z;
+        float det = d11 * d22 - d12 * d12;
+        float u = det == 0 ? 0 : (d22 * p1 - d12 * p2) / det, v = det == 0 ? 0 : (d11 * p2 - d12 * p1) / det;
+        return new FaceColl3(rHit, u, v, sqrL, face);
+    }
+
+    @Override
+    public boolean contains(Vec3 p) {
+        return contains(p.x, p.y, p.z);
+    }
+
+    /**
+     * Returns whether the given point is inside the polyhedron, that is
+     * behind all of its faces. Points outside are contained if the
+     * polyhedron is inside out.
+     *
+     * @return Whether the point is contained
+     */
+    public boolean contains(float px, float py, float pz) {
+        for(int p=0; p<planes.length; p+=4)
+            if(planes[p] * px + planes[p+1] * py + planes[p+2] * pz > planes[p+3]) return i;
+        return !i;
+    }
+
+
+
+    /**
+     * A collision with a {@link ConvexPolyhedron3}. {@link #tI1} and
+     * {@link #tI2} are the barycentric coordinates of the hit along the
+     * first and second edge of the face.
+     */
+    public static class FaceColl3 extends Coll3 {
+
+        /**
+         * The index of the face that was hit.
+         */
+        public final int face;
+
+        public FaceColl3(float rI, float tI1, float tI2, float sqrL, int face) {
+            super(rI, tI1, tI2, sqrL);
+            this.face = face;
+        }
+
+        @Override
+        public String toString() {
+            return "FaceColl3{" +
+                    "rI=" + rI +
+                    ", tI1=" + tI1 +
+                    ", tI2=" + tI2 +
+                    ", sqrL=" + sqrL +
+                    ", face=" + face +
+                    '}';
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(!(o instanceof FaceColl3) || !super.equals(o)) return false;
+            return ((FaceColl3) o).face == face;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * super.hashCode() + face;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.rccookie.geometry.performance;
+
+import com.github.rccookie.json.JsonCtor;
+import com.github.rccookie.json.JsonObject;
+import com.github.rccookie.json.JsonSerializable;
+
+/**
+ * The double precision counterpart of {@link Circle}.
+ */
+public class DCircle implements DCollider2, JsonSerializable {
+
+    public final DVec2 c;
+    public double r;
+    public double a;
+    public boolean i;
+
+    @JsonCtor({"c", "r", "a", "i"})
+    public DCircle(DVec2 c, double r, double a, boolean i) {
+        this.c = c;
+        this.r = r;
+        this.a = a;
+        this.i = i;
+    }
+
+    public DCircle(DVec2 c, double r, double a) {
+        this.c = c;
+        this.r = r;
+        this.a = a;
+        i = false;
+    }
+
+    public DCircle(DVec2 c, double r) {
+        this.c = c;
+        this.r = r;
+        a = 0;
+        i = false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof DCircle)) return false;
+        DCircle circle = (DCircle) o;
+        return circle.r == r && circle.a == a && i == circle.i && c.equals(circle.c);
+    }
+
+    @Override
+    public int hashCode() {
+        return 23 * (23 * (23 * c.hashCode() + Double.hashCode(r)) + Double.hashCode(a)) + Boolean.hashCode(i);
+    }
+
+    @Override
+    public Object toJson() {
+        return new JsonObject("c", c, "r", r, "a", a, "i", i);
+    }
+
+    @Override
+    public double length() {
+        return 2 * r * Math.PI;
+    }
+
+    @Override
+    public double sqrLength() {
+        double l = 2 * r * Math.PI;
+        return l * l;
+    }
+
+    @Override
+    public DVec2 get(double i) {
+        double angle = Math.toRadians(a + i * 360);
+        return new DVec2(c.x + Math.cos(angle) * r, c.y + Math.sin(angle) * r);
+    }
+
+    @Override
+    public DVec2 getNormal(double i) {
+        double angle = Math.toRadians(a + i * 360);
+        return this.i ?
+                new DVec2(-Math.cos(angle), -Math.sin(angle)) :
+                new DVec2(Math.cos(angle), Math.sin(angle));
+    }
+
+    @Override
+    public DColl2 coll(DRay<DVec2> r, double maxSqrL) {
+        double dx = r.o.x - c.x, dy = r.o.y - c.y;
+
+        double a = 2 * (r.d.x * r.d.x + r.d.y * r.d.y);
+        double b = 2 * (dx * r.d.x + dy * r.d.y);
+        double x = b * b - 2 * a * (dx * dx + dy * dy - this.r * this.r);
+
+        if(x < 0) return null;
+        x = Math.sqrt(x);
+
+        double rHit;
+        if(i) {
+            double i2 = (-b + x)/a;
+            if(i2 < 0) return null;
+            rHit = i2;
+        }
+        else {
+            double i1 = (-b - x)/a;
+            if(i1 < 0) return null;
+            rHit = i1;
+        }
+
+        dx = rHit * r.d.x;
+        dy = rHit * r.d.y;
+        double sqrL = dx * dx + dy * dy;
+        if(sqrL > maxSqrL) return null;
+
+        double cHit = (Math.toDegrees(Math.atan2(r.o.y + r.d.y * rHit - c.y, r.o.x + r.d.x * rHit - c.x)) - this.a) / 360;// + 0.25;
+        if(cHit < 0) cHit++;
+        return new DColl2(rHit, cHit, sqrL);
+    }
+
+    @Override
+    public boolean contains(DVec2 p) {
+        double dx = p.x - c.x, dy = p.y - c.y;
+        return (dx * dx + dy * dy <= r) ^ i;
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.rccookie.geometry.performance;
+
+import com.github.rccookie.json.JsonSerializable;
+
+/**
+ * The double precision counterpart of {@link Coll}.
+ */
+public abstract class DColl<V extends DVec<V>> implements JsonSerializable {
+
+    public final double rI;
+    public final double sqrL;
+
+    public DColl(double rI, double sqrL) {
+        this.rI = rI;
+        this.sqrL = sqrL;
+    }
+
+    @Override
+    public abstract String toString();
+
+    @Override
+    public abstract boolean equals(Object o);
+
+    @Override
+    public abstract int hashCode();
+}
@@ -0,0 +1,45 @@
+package com.github.rccookie.geometry.performance;
+
+import com.github.rccookie.json.JsonCtor;
+import com.github.rccookie.json.JsonObject;
+
+/**
+ * The double precision counterpart of {@link Coll2}.
+ */
+public class DColl2 extends DColl<DVec2> {
+
+    public final double lI;
+
+    @JsonCtor({"rI", "lI", "sqrL"})
+    public DColl2(double rI, double lI, double sqrL) {
+        super(rI, sqrL);
+        this.lI = lI;
+    }
+
+    @Override
+    public String toString() {
+        return "DColl{" +
+                "rI=" + rI +
+                ", lI=" + lI +
+                ", sqrL=" + sqrL +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof DColl2)) return false;
+        DColl2 c = (DColl2) o;
+        return c.rI == rI && c.lI == lI && c.sqrL == sqrL;
+    }
+
+    @Override
+    public int hashCode() {
+        return 11 * (11 * Double.hashCode(rI) + Double.hashCode(lI)) + Double.hashCode(sqrL);
+    }
+
+    @Override
+    public Object toJson() {
+        return new JsonObject("rI", rI, "lI", lI, "sqrL", sqrL);
+    }
+}
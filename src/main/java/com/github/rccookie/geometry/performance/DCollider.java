@@ -0,0 +1,25 @@
+package com.github.rccookie.geometry.performance;
+
+/**
+ * The double precision counterpart of {@link Collider}.
+ */
+public interface DCollider<V extends DVec<V>> {
+
+    double length();
+
+    double sqrLength();
+
+    V get(double i);
+
+    V getNormal(double i);
+
+    DColl<V> coll(DRay<V> r, double maxSqrL);
+
+    default DColl<V> coll(DRay<V> r) {
+        return coll(r, Double.POSITIVE_INFINITY);
+    }
+
+    boolean contains(V p);
+
+//    V intersection(DCollider<V> c);
+}
@@ -0,0 +1,7 @@
+package com.github.rccookie.geometry.performance;
+
+/**
+ * The double precision counterpart of {@link Collider2}.
+ */
+public interface DCollider2 extends DCollider<DVec2> {
+}
@@ -0,0 +1,37 @@
+package com.github.rccookie.geometry.performance;
+
+import com.github.rccookie.json.JsonSerializable;
+
+/**
+ * The double precision counterpart of {@link Line}.
+ */
+public abstract class DLine<V extends DVec<V>> implements DCollider<V>, JsonSerializable {
+
+    public final V a;
+    public final V b;
+    public boolean ds;
+
+    public DLine(V a, V b, boolean ds) {
+        this.a = a;
+        this.b = b;
+        this.ds = ds;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof DLine)) return false;
+        DLine<?> l = (DLine<?>) o;
+        return a.equals(l.a) && b.equals(l.b);
+    }
+
+    @Override
+    public int hashCode() {
+        return 19 * a.hashCode() + b.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "DLine{"+a+" to "+b+'}';
+    }
+}
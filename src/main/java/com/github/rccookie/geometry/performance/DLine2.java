@@ -0,0 +1,86 @@
+package com.github.rccookie.geometry.performance;
+
+import com.github.rccookie.json.JsonCtor;
+import com.github.rccookie.json.JsonObject;
+
+/**
+ * The double precision counterpart of {@link Line2}.
+ */
+public class DLine2 extends DLine<DVec2> implements DCollider2 {
+
+    public DLine2(DVec2 a, DVec2 b) {
+        super(a, b, false);
+    }
+
+    @JsonCtor({"a", "b", "ds"})
+    public DLine2(DVec2 a, DVec2 b, boolean ds) {
+        super(a, b, ds);
+    }
+
+    @Override
+    public Object toJson() {
+        return new JsonObject("a", a, "b", b, "ds", ds);
+    }
+
+    @Override
+    public double length() {
+        double dx = b.x - a.x, dy = b.y - a.y;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    @Override
+    public double sqrLength() {
+        double dx = b.x - a.x, dy = b.y - a.y;
+        return dx * dx + dy * dy;
+    }
+
+    @Override
+    public DVec2 get(double i) {
+        return new DVec2(a.x + i * (b.x - a.x), a.y + i * (b.y - a.y));
+    }
+
+    @Override
+    public DVec2 getNormal(double i) {
+        return new DVec2(a.y - b.y, b.x - a.x);
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    @Override
+    public DColl2 coll(DRay<DVec2> r, double maxSqrL) {
+
+        double abx = b.x - a.x, aby = b.y - a.y;
+
+        double d = r.d.x * aby - r.d.y * abx;
+        if((!ds && d <= 0) ^ d == 0)
+            return null; // Wrong direction
+        double iD = 1 / d;
+
+        double lHit = (r.d.x * r.o.y - r.d.y * r.o.x + r.d.y * a.x - r.d.x * a.y) * iD;
+
+        if(lHit < 0 || lHit > 1) return null;
+
+        double rHit = (abx * a.y - aby * a.x + aby * r.o.x - abx * r.o.y) * (-iD);
+
+        if(rHit < 0) return null;
+        double dx = rHit * r.d.x, dy = rHit * r.d.y;
+        double sqrL = dx * dx + dy * dy;
+        return sqrL > maxSqrL ? null : new DColl2(rHit, lHit, sqrL);
+    }
+
+    @Override
+    public boolean contains(DVec2 p) {
+        if(a.x == b.x) {
+            if(a.y == b.y) return a.x == p.x && a.y == p.y;
+            if(p.x != a.x) return false;
+            double i = (p.y - a.y) / (b.y - a.y);
+            return i >= 0 && i <= 1;
+        }
+        if(a.y == b.y) {
+            if(p.y != a.y) return false;
+            double i = (p.x - a.x) / (b.x - a.x);
+            return i >= 0 && i <= 1;
+        }
+        double i1 = (p.x - a.x) / (b.x - a.x), i2 = (p.y - a.y) / (b.y - a.y);
+        return i1 == i2 && i1 >= 0 && i1 <= 1;
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.rccookie.geometry.performance;
+
+import com.github.rccookie.json.JsonObject;
+import com.github.rccookie.json.JsonSerializable;
+
+/**
+ * The double precision counterpart of {@link Ray}.
+ */
+public abstract class DRay<V extends DVec<V>> implements DCollider<V>, JsonSerializable {
+
+    public final V o;
+    public final V d;
+    public final boolean ds;
+    public final boolean i;
+
+    public DRay(V o, V d, boolean ds, boolean i) {
+        this.o = o;
+        this.d = d;
+        this.ds = ds;
+        this.i = i;
+    }
+
+    @Override
+    public Object toJson() {
+        return new JsonObject("o", o, "d", d, "ds", ds, "i", i);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(this == obj) return true;
+        if(!(obj instanceof DRay)) return false;
+        DRay<?> r = (DRay<?>) obj;
+        return o.equals(r.o) && d.equals(r.d);
+    }
+
+    @Override
+    public int hashCode() {
+        return 17 * o.hashCode() + d.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "DRay{"+o+" -> "+d+'}';
+    }
+
+    @Override
+    public double length() {
+        return d.isZero() ? 0 : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public double sqrLength() {
+        return d.isZero() ? 0 : Double.POSITIVE_INFINITY;
+    }
+}
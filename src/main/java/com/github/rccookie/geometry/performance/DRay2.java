@@ -0,0 +1,56 @@
+package com.github.rccookie.geometry.performance;
+
+import com.github.rccookie.json.JsonCtor;
+
+/**
+ * The double precision counterpart of {@link Ray2}.
+ */
+public class DRay2 extends DRay<DVec2> implements DCollider2 {
+
+    public DRay2(DVec2 o, DVec2 d) {
+        super(o, d, false, false);
+    }
+
+    @JsonCtor({"o", "d", "ds", "i"})
+    public DRay2(DVec2 o, DVec2 d, boolean ds, boolean i) {
+        super(o, d, ds, i);
+    }
+
+    @Override
+    public DVec2 get(double i) {
+        return new DVec2(o.x + i * d.x, o.y + i * d.y);
+    }
+
+    @Override
+    public DVec2 getNormal(double i) {
+        //noinspection SuspiciousNameCombination
+        return new DVec2(-d.y, d.x);
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    @Override
+    public DColl2 coll(DRay<DVec2> r, double maxSqrL) {
+
+        double dot = r.d.x * d.y - r.d.y * d.x;
+        if((!ds && (/*(i && dot >= 0) ^*/ (!i && dot <= 0))) ^ dot == 0)
+            return null; // Wrong direction
+        double iD = 1 / dot;
+
+        double rHit = (d.x * o.y - d.y * o.x + d.y * r.o.x - d.x * r.o.y) * (-iD);
+
+        if(rHit < 0) return null;
+        double dx = rHit * r.d.x, dy = rHit * r.d.y;
+        double sqrL = dx * dx + dy * dy;
+        if(sqrL > maxSqrL) return null;
+
+        double hit = (r.d.x * r.o.y - r.d.y * r.o.x + r.d.y * o.x - r.d.x * o.y) * (iD);
+
+        return hit < 0 ? null : new DColl2(rHit, hit, sqrL);
+    }
+
+    @Override
+    public boolean contains(DVec2 p) {
+        double i1 = (p.x - o.x) / d.x, i2 = (p.y - o.y) / d.y;
+        return i1 == i2 && i1 >= 0 && i1 <= 1;
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.Iterator;
+
+/**
+ * The double precision counterpart of {@link Raycast}.
+ */
+public class DRaycast<V extends DVec<V>> {
+
+    public final DRay<V> r;
+    public final DCollider<V> e;
+    public final double sqrL;
+    public final double rI;
+    public final boolean collided;
+    public final DColl<V> coll;
+
+    private Double l;
+    private V p;
+
+    private DRaycast(DColl<V> coll, DRay<V> r, DCollider<V> e, Double maxL, double maxSqrL) {
+        this.r = r;
+        collided = coll != null;
+        this.coll = coll;
+        if(collided) {
+            this.e = e;
+            sqrL = coll.sqrL;
+            rI = coll.rI;
+            l = null;
+        }
+        else {
+            this.e = null;
+            sqrL = maxSqrL;
+            rI = Double.NaN;
+            l = maxL;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return r + ": " + e + " at " + point() + " (" + length() + ')';
+    }
+
+    public double length() {
+        return l != null ? l : (l = Math.sqrt(sqrL));
+    }
+
+    public V point() {
+        return p != null ? p :
+                (p = r.get(collided ? rI : length() / r.d.abs()));
+    }
+
+
+    /**
+     * Creates a raycast result from an already computed collision. Used by
+     * collider containers that run the intersection tests themselves.
+     *
+     * @param coll The closest collision, or {@code null} if nothing was hit
+     * @param r The ray that was cast
+     * @param e The collider that was hit, ignored if {@code coll} is {@code null}
+     * @param maxL The maximum length of the raycast
+     * @return A raycast describing the result
+     */
+    static <V extends DVec<V>> DRaycast<V> of(DColl<V> coll, DRay<V> r, DCollider<V> e, double maxL) {
+        return new DRaycast<>(coll, r, e, coll == null ? maxL : null, maxL * maxL);
+    }
+
+
+    public static <V extends DVec<V>> DRaycast<V> calc(DRay<V> r, Iterable<DCollider<V>> edges) {
+        return calc(r, edges, Double.POSITIVE_INFINITY);
+    }
+
+    public static <V extends DVec<V>> DRaycast<V> calc(DRay<V> r, Iterable<DCollider<V>> edges, double maxL) {
+        Instrumentation.RaycastEvent event = Instrumentation.ENABLED ? Instrumentation.beginRaycast() : null;
+        double maxSqrL = maxL * maxL;
+        Iterator<DCollider<V>> edgeIt = edges.iterator();
+        if(!edgeIt.hasNext()) {
+            if(event != null) Instrumentation.endRaycast(event, "DRaycast", 0, false, 0);
+            return new DRaycast<>(null, r, null, maxL, maxSqrL);
+        }
+
+        DCollider<V> e = edgeIt.next();
+        DColl<V> coll = e.coll(r, maxSqrL);
+        int tests = 1;
+
+        while(edgeIt.hasNext()) {
+            if(event != null) tests++;
+            DCollider<V> newE = edgeIt.next();
+            DColl<V> newColl = newE.coll(r, maxSqrL);
+            if(coll == null || (newColl != null && newColl.sqrL < coll.sqrL)) {
+                e = newE;
+                coll = newColl;
+            }
+        }
+
+        if(event != null) Instrumentation.endRaycast(event, "DRaycast", tests, coll != null, 0);
+        return new DRaycast<>(coll, r, e, coll == null ? maxL : null, maxSqrL);
+    }
+
+    public static <V extends DVec<V>> DRaycast<V> calc(DRay<V> r, DCollider<V>[] colliders) {
+        return calc(r, colliders, Double.POSITIVE_INFINITY);
+    }
+
+    public static <V extends DVec<V>> DRaycast<V> calc(DRay<V> r, DCollider<V>[] colliders, double maxL) {
+        Instrumentation.RaycastEvent event = Instrumentation.ENABLED ? Instrumentation.beginRaycast() : null;
+        double maxSqrL = maxL * maxL;
+        if(colliders.length == 0) {
+            if(event != null) Instrumentation.endRaycast(event, "DRaycast", 0, false, 0);
+            return new DRaycast<>(null, r, null, maxL, maxSqrL);
+        }
+
+        DCollider<V> e = colliders[0];
+        DColl<V> coll = e.coll(r, maxSqrL);
+
+        for(int i = 1; i< colliders.length; i++) {
+            DCollider<V> newE = colliders[i];
+            DColl<V> newColl = newE.coll(r, maxSqrL);
+            if(coll == null || (newColl != null && newColl.sqrL < coll.sqrL)) {
+                e = newE;
+                coll = newColl;
+            }
+        }
+
+        if(event != null) Instrumentation.endRaycast(event, "DRaycast", colliders.length, coll != null, 0);
+        return new DRaycast<>(coll, r, e, coll == null ? maxL : null, maxSqrL);
+    }
+}
@@ -0,0 +1,296 @@
+package com.github.rccookie.geometry.performance;
+
+import com.github.rccookie.json.JsonCtor;
+import com.github.rccookie.json.JsonObject;
+
+/**
+ * The double precision counterpart of {@link Rect}.
+ */
+public class DRect extends DBox<DVec2> implements DCollider2 {
+
+    public double a;
+
+    @JsonCtor({"c", "s", "a", "i", "ds"})
+    public DRect(DVec2 c, DVec2 s, double a, boolean i, boolean ds) {
+        super(c, s, i, ds);
+        this.a = a;
+    }
+
+    public DRect(DVec2 c, DVec2 s, double a, boolean i) {
+        this(c, s, a, i, false);
+    }
+
+    public DRect(DVec2 c, DVec2 s, double a) {
+        this(c, s, a, false, false);
+    }
+
+    public DRect(DVec2 c, DVec2 s) {
+        this(c, s, 0, false, false);
+    }
+
+    @Override
+    public Object toJson() {
+        JsonObject json = (JsonObject) super.toJson();
+        json.put("a", a);
+        return json;
+    }
+
+    @Override
+    public double length() {
+        return 2 * (s.x + s.y);
+    }
+
+    @Override
+    public double sqrLength() {
+        double l = 2 * (s.x + s.y);
+        return l * l;
+    }
+
+    @Override
+    public DVec2 get(double i) {
+        if(i > 1) i %= 1;
+        else if(i < 0) i = 1 - (i % 1);
+
+        double hsx = s.x * 0.5, hsy = s.y * 0.5;
+        double s1L = s.x / ((s.x + s.y) * 4);
+        double rad = Math.toRadians(a), sin = Math.sin(rad), cos = Math.cos(rad);
+
+        if(i <= s1L) {
+            i /= s1L;
+            return new DVec2(
+                    (/*center*/c.x - /*corner offset*/(hsx * cos - hsy * sin)) - /*direction*/(s.y * sin) * i,
+                    (/*center*/c.y - /*corner offset*/(hsy * cos + hsx * sin)) + /*direction*/(s.y * cos) * i
+            );
+        }
+        if(i <= 0.5) {
+            i = (i - s1L) / (0.5 - s1L);
+            return new DVec2(
+                    (/*center*/c.x - /*corner offset*/(hsx * cos + hsy * sin)) + /*direction*/(s.x * cos) * i,
+                    (/*center*/c.y + /*corner offset*/(hsy * cos - hsx * sin)) + /*direction*/(s.x * sin) * i
+            );
+        }
+        if(i <= s1L + 0.5) {
+            i = (i - 0.5) / s1L;
+            return new DVec2(
+                    (/*center*/c.x + /*corner offset*/(hsx * cos - hsy * sin)) + /*direction*/(s.y * sin) * i,
+                    (/*center*/c.y + /*corner offset*/(hsy * cos + hsx * sin)) - /*direction*/(s.y * cos) * i
+            );
+        }
+        i = (i - (s1L + 0.5)) / (0.5 - s1L);
+        return new DVec2(
+                (/*center*/c.x + /*corner offset*/(hsx * cos + hsy * sin)) - /*direction*/(s.x * cos) * i,
+                (/*center*/c.y - /*corner offset*/(hsy * cos - hsx * sin)) - /*direction*/(s.x * sin) * i
+        );
+    }
+
+    @Override
+    public DVec2 getNormal(double i) {
+        if(i > 1) i %= 1;
+        else if(i < 0) i = 1 - (i % 1);
+
+        double s1L = s.x / ((s.x + s.y) * 4);
+        double rad = Math.toRadians(a), sin = Math.sin(rad), cos = Math.cos(rad);
+
+        if(i <= s1L)
+            return new DVec2(-(s.y * cos), -(s.y * sin));
+        if(i <= 0.5)
+            return this.i ? new DVec2((s.x * sin), -(s.x * cos)) : new DVec2(-(s.x * sin), (s.x * cos));
+        if(i <= s1L + 0.5)
+            return new DVec2((s.y * cos), (s.y * sin));
+        return this.i ? new DVec2(-(s.x * sin), (s.x * cos)) : new DVec2((s.x * sin), -(s.x * cos));
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    @Override
+    public DColl2 coll(DRay<DVec2> r, double maxSqrL) {
+
+        double hsx = s.x * 0.5, hsy = s.y * 0.5;
+        double s1L = s.x / ((s.x + s.y) * 4);
+        double rad = Math.toRadians(a), sin = Math.sin(rad), cos = Math.cos(rad);
+
+        if(i) {
+            double sx = -s.y * sin, sy = s.y * cos;
+            double d = r.d.x * sy + r.d.y * -sx;
+
+            double iD, cx, cy;
+
+            if(d < 0) {
+                // Side 3 (right)
+                iD = 1 / d;
+                cx = c.x - (hsx * cos - hsy * sin);
+                cy = c.y - (hsy * cos + hsx * sin);
+
+                double lHit = (r.d.x * r.o.y - r.d.y * r.o.x + r.d.y * cx - r.d.x * cy) * iD;
+
+                if(lHit >= 0 && lHit <= 1) {
+                    double rHit = (sx * cy - sy * cx + sy * r.o.x - sx * r.o.y) * (-iD);
+
+                    if(rHit < 0) return null;
+                    double dx = rHit * r.d.x, dy = rHit * r.d.y;
+                    double sqrL = dx * dx + dy * dy;
+                    if(sqrL <= maxSqrL)
+                        return new DColl2(rHit, lHit * s1L + 0.5, sqrL);
+                }
+            } else if(d != 0) {
+                // Side 1 (left)
+                sx = -sx;
+                sy = -sy;
+                iD = -1 / d;
+                cx = c.x + (hsx * cos - hsy * sin);
+                cy = c.y + (hsy * cos + hsx * sin);
+
+                double lHit = (r.d.x * r.o.y - r.d.y * r.o.x + r.d.y * cx - r.d.x * cy) * iD;
+
+                if(lHit >= 0 && lHit <= 1) {
+                    double rHit = (sx * cy - sy * cx + sy * r.o.x - sx * r.o.y) * (-iD);
+
+                    if(rHit < 0) return null;
+                    double dx = rHit * r.d.x, dy = rHit * r.d.y;
+                    double sqrL = dx * dx + dy * dy;
+                    if(sqrL <= maxSqrL)
+                        return new DColl2(rHit, lHit * s1L, sqrL);
+                }
+            }
+
+            sx = s.x * cos;
+            sy = s.x * sin;
+            d = r.d.x * sy + r.d.y * -sx;
+            if(d == 0) return null;
+
+            iD = 1 / d;
+            double lHit;
+
+            if(d < 0) {
+                // Side 2 (top)
+                cx = c.x - (hsx * cos + hsy * sin);
+                cy = c.y + (hsy * cos - hsx * sin);
+
+                lHit = (r.d.x * r.o.y - r.d.y * r.o.x + r.d.y * cx - r.d.x * cy) * iD;
+
+                if(lHit >= 0 && lHit <= 1) {
+                    double rHit = (sx * cy - sy * cx + sy * r.o.x - sx * r.o.y) * (-iD);
+
+                    if(rHit < 0) return null;
+                    double dx = rHit * r.d.x, dy = rHit * r.d.y;
+                    double sqrL = dx * dx + dy * dy;
+                    if(sqrL <= maxSqrL)
+                        return new DColl2(rHit, lHit * (0.5 - s1L) + s1L, sqrL);
+                }
+            }
+
+            // Side 4 (bottom)
+            sx = -sx;
+            sy = -sy;
+            cx = c.x + (hsx * cos + hsy * sin);
+            cy = c.y - (hsy * cos - hsx * sin);
+
+            lHit = (r.d.x * r.o.y - r.d.y * r.o.x + r.d.y * cx - r.d.x * cy) * (-iD);
+
+            if(lHit < 0 || lHit > 1) return null;
+            double rHit = (sx * cy - sy * cx + sy * r.o.x - sx * r.o.y) * iD;
+
+            if(rHit < 0) return null;
+            double dx = rHit * r.d.x, dy = rHit * r.d.y;
+            double sqrL = dx * dx + dy * dy;
+            return sqrL > maxSqrL ? null : new DColl2(rHit, lHit * (0.5 - s1L) + (0.5 + s1L), sqrL);
+        }
+        else {
+            double sx = -s.y * sin, sy = s.y * cos;
+            double d = r.d.x * sy + r.d.y * -sx;
+
+            double iD, cx, cy;
+
+            if(d > 0) {
+                // Side 1 (left)
+                iD = 1 / d;
+                cx = c.x - (hsx * cos - hsy * sin);
+                cy = c.y - (hsy * cos + hsx * sin);
+
+                double lHit = (r.d.x * r.o.y - r.d.y * r.o.x + r.d.y * cx - r.d.x * cy) * iD;
+
+                if(lHit >= 0 && lHit <= 1) {
+                    double rHit = (sx * cy - sy * cx + sy * r.o.x - sx * r.o.y) * (-iD);
+
+                    if(rHit < 0) return null;
+                    double dx = rHit * r.d.x, dy = rHit * r.d.y;
+                    double sqrL = dx * dx + dy * dy;
+                    if(sqrL <= maxSqrL)
+                        return new DColl2(rHit, lHit * s1L, sqrL);
+                }
+            }
+            else if(d != 0) {
+                // Side 3 (right)
+                sx = -sx;
+                sy = -sy;
+                iD = -1 / d;
+                cx = c.x + (hsx * cos - hsy * sin);
+                cy = c.y + (hsy * cos + hsx * sin);
+
+                double lHit = (r.d.x * r.o.y - r.d.y * r.o.x + r.d.y * cx - r.d.x * cy) * iD;
+
+                if(lHit >= 0 && lHit <= 1) {
+                    double rHit = (sx * cy - sy * cx + sy * r.o.x - sx * r.o.y) * (-iD);
+
+                    if(rHit < 0) return null;
+                    double dx = rHit * r.d.x, dy = rHit * r.d.y;
+                    double sqrL = dx * dx + dy * dy;
+                    if(sqrL <= maxSqrL)
+                        return new DColl2(rHit, lHit * s1L + 0.5, sqrL);
+                }
+            }
+
+            sx = s.x * cos;
+            sy = s.x * sin;
+            d = r.d.x * sy + r.d.y * -sx;
+            if(d == 0) return null;
+
+            iD = 1 / d;
+            double lHit;
+
+            if(d > 0) {
+                // Side 2 (top)
+                cx = c.x - (hsx * cos + hsy * sin);
+                cy = c.y + (hsy * cos - hsx * sin);
+
+                lHit = (r.d.x * r.o.y - r.d.y * r.o.x + r.d.y * cx - r.d.x * cy) * iD;
+
+                if(lHit >= 0 && lHit <= 1) {
+                    double rHit = (sx * cy - sy * cx + sy * r.o.x - sx * r.o.y) * (-iD);
+
+                    if(rHit < 0) return null;
+                    double dx = rHit * r.d.x, dy = rHit * r.d.y;
+                    double sqrL = dx * dx + dy * dy;
+                    if(sqrL <= maxSqrL)
+                        return new DColl2(rHit, lHit * (0.5 - s1L) + s1L, sqrL);
+                }
+            }
+
+            // Side 4 (bottom)
+            sx = -sx;
+            sy = -sy;
+            cx = c.x + (hsx * cos + hsy * sin);
+            cy = c.y - (hsy * cos - hsx * sin);
+
+            lHit = (r.d.x * r.o.y - r.d.y * r.o.x + r.d.y * cx - r.d.x * cy) * (-iD);
+
+            if(lHit < 0 || lHit > 1) return null;
+            double rHit = (sx * cy - sy * cx + sy * r.o.x - sx * r.o.y) * iD;
+
+            if(rHit < 0) return null;
+            double dx = rHit * r.d.x, dy = rHit * r.d.y;
+            double sqrL = dx * dx + dy * dy;
+            return sqrL > maxSqrL ? null : new DColl2(rHit, lHit * (0.5 - s1L) + (0.5 + s1L), sqrL);
+        }
+    }
+
+    @Override
+    public boolean contains(DVec2 p) {
+
+        double rad = Math.toRadians(-a), sin = Math.sin(rad), cos = Math.cos(rad);
+        double hsx = s.x * 0.5, hsy = s.y * 0.5;
+        double dx = p.x - c.x, dy = p.y - c.y;
+        double px = dx * cos - dy * sin + c.x, py = dx * sin + dy * cos + c.y;
+
+        return (px >= c.x - hsx && px <= c.x + hsx && py >= c.y - hsy && py <= c.y + hsy) ^ i;
+    }
+}
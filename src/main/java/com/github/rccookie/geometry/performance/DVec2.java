@@ -0,0 +1,823 @@
+package com.github.rccookie.geometry.performance;
+
+import com.github.rccookie.json.JsonArray;
+import com.github.rccookie.json.JsonCtor;
+import com.github.rccookie.json.Type;
+
+/**
+ * The double precision counterpart of {@link Vec2}.
+ */
+public class DVec2 implements DVec<DVec2> {
+
+    /**
+     * A constant describing a zero vector. Do not modify!
+     */
+    public static final DVec2 ZERO = new DVec2();
+
+    /**
+     * A constant describing the vector {@code [1|1]}. Do not modify!
+     */
+    public static final DVec2 ONE = new DVec2(1, 1);
+
+    /**
+     * A constant describing unit vector for the x-axis. Do not modify!
+     */
+    public static final DVec2 X = new DVec2(1, 0);
+
+    /**
+     * A constant describing unit vector for the y-axis. Do not modify!
+     */
+    public static final DVec2 Y = new DVec2(0, 1);
+
+    // ------------------------------------------------------
+
+    /**
+     * The x component of this vector.
+     */
+    public double x;
+
+    /**
+     * The y component of this vector.
+     */
+    public double y;
+
+    // ------------------------------------------------------
+
+    /**
+     * Creates a new vector with {@code x} and {@code y} set to {@code 0}.
+     */
+    public DVec2() {
+        x = 0;
+        y = 0;
+    }
+
+    /**
+     * Creates a new vector initialized with the given values.
+     *
+     * @param x The value for the x component
+     * @param y The value for the y component
+     */
+    @JsonCtor(type = Type.ARRAY)
+    public DVec2(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Creates a new vector from the given array.
+     *
+     * @param a The array describing the components of the vector
+     */
+    public DVec2(double[] a) {
+        x = a[0];
+        y = a[1];
+    }
+
+    /**
+     * Creates a new vector copying the values of the given one.
+     *
+     * @param copy The vector to copy
+     */
+    public DVec2(DVec2 copy) {
+        x = copy.x;
+        y = copy.y;
+    }
+
+    /**
+     * Creates a new vector from the given float vector.
+     *
+     * @param copy The vector to copy
+     */
+    public DVec2(Vec2 copy) {
+        x = copy.x;
+        y = copy.y;
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public DVec2 clone() {
+        return new DVec2(x,y);
+    }
+
+    /**
+     * Tests whether the given object is a {@link DVec2} with identical
+     * component values.
+     *
+     * @param o The object to test for equality
+     * @return Whether the object is equal to this vector
+     */
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof DVec2)) return false;
+        DVec2 v = (DVec2) o;
+        return x == v.x && y == v.y;
+    }
+
+    /**
+     * Computes the hash code for this vector.
+     *
+     * @return The hash code for this vector
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(x) + Double.hashCode(y);
+    }
+
+    /**
+     * Creates a string representation of this vector in the form of
+     * {@code [x|y]}.
+     *
+     * @return A string representation of this vector
+     */
+    @Override
+    public String toString() {
+        return "["+x+"|"+y+"]";
+    }
+
+    @Override
+    public Object toJson() {
+        return new JsonArray(x, y);
+    }
+
+    // ------------------------------------------------------
+
+
+    @Override
+    public int size() {
+        return 2;
+    }
+
+    @Override
+    @Deprecated
+    public double getDim(int d) {
+        if(d == 0) return x;
+        if(d == 1) return y;
+        throw new IllegalArgumentException(d + "");
+    }
+
+    @Override
+    public double abs() {
+        return Math.sqrt(x * x + y * y);
+    }
+
+    @Override
+    public double sqrAbs() {
+        return x * x + y * y;
+    }
+
+    @Override
+    public double angle() {
+        return Math.toDegrees(Math.atan2(y, x));
+    }
+
+    @Override
+    public double angle(DVec2 v) {
+        return Math.toDegrees(Math.atan2(x * v.y - y * v.x, x * v.x + y * v.y));
+    }
+
+    @Override
+    public double dot(DVec2 v) {
+        return x * v.x + y * v.y;
+    }
+
+    /**
+     * Calculates the two-dimensional cross product with the given
+     * vector.
+     *
+     * @param v The vector to calculate the cross product with
+     * @return The cross product of the two vectors
+     */
+    public double cross(DVec2 v) {
+        return x * v.y - y * v.x;
+    }
+
+    @Override
+    public boolean isZero() {
+        return x == y && x == 0;
+    }
+
+    @Override
+    public boolean isValid() {
+        return Double.isFinite(x) && Double.isFinite(y);
+    }
+
+    @Override
+    public double[] toArray() {
+        return new double[] { x, y };
+    }
+
+    // ------------------------------------------------------
+
+
+    @Override
+    public DVec2 set(double v) {
+        x = v;
+        y = v;
+        return this;
+    }
+
+    /**
+     * Sets this vectors components to the given values.
+     *
+     * @param x The value for the x component
+     * @param y The value for the y component
+     * @return This vector
+     */
+    public DVec2 set(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    @Override
+    public DVec2 set(DVec2 v) {
+        x = v.x;
+        y = v.y;
+        return this;
+    }
+
+    @Override
+    public DVec2 set(double[] a) {
+        x = a[0];
+        y = a[1];
+        return this;
+    }
+
+    @Override
+    @Deprecated
+    public DVec2 setDim(int d, double v) {
+        if(d == 0) x = v;
+        else if(d == 1) y = v;
+        else throw new IllegalArgumentException(d + "");
+        return this;
+    }
+
+    @Override
+    public DVec2 setZero() {
+        x = 0;
+        y = 0;
+        return this;
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public DVec2 scale(double f) {
+        x *= f;
+        y *= f;
+        return this;
+    }
+
+    @Override
+    public DVec2 divide(double d) {
+        double factor = 1 / d;
+        x *= factor;
+        y *= factor;
+        return this;
+    }
+
+    @Override
+    public DVec2 negate() {
+        x = -x;
+        y = -y;
+        return this;
+    }
+
+    @Override
+    public DVec2 norm() {
+        double factor = 1 / Math.sqrt(x * x + y * y);
+        x *= factor;
+        y *= factor;
+        return this;
+    }
+
+    /**
+     * Rotates the vector by the given angle in degrees. This operation
+     * is rather performance intensive and should be used with care. A
+     * performance check for a {@code 0} rotation is not necessary.
+     *
+     * @param a The angle to rotate the vector, in degrees
+     * @return This vector
+     */
+    public DVec2 rotate(double a) {
+        if(a == 0) return this;
+        double r = Math.toRadians(a), sin = Math.sin(r), cos = Math.cos(r);
+        double oldX = x;
+        x = x * cos - y * sin;
+        y = oldX * sin + y * cos;
+        return this;
+    }
+
+    /**
+     * Rotates the vector by the given angle in degrees around the specified
+     * center point. This operation is rather performance intensive and should
+     * be used with care. A performance check for a {@code 0} rotation is not
+     * necessary.
+     *
+     * @param c The center to rotate around
+     * @param a The angle to rotate the vector, in degrees
+     * @return This vector
+     */
+    public DVec2 rotateAround(DVec2 c, double a) {
+        if(a == 0) return this;
+        double r = Math.toRadians(a), sin = Math.sin(r), cos = Math.cos(r);
+
+        x -= c.x;
+        y -= c.y;
+
+        double oldX = x;
+        x = x * cos - y * sin;
+        y = oldX * sin + y * cos;
+
+        x += c.x;
+        y += c.y;
+
+        return this;
+    }
+
+    @SuppressWarnings("SuspiciousNameCombination")
+    public DVec2 rotate90(int d) {
+        if(d == 0) return this;
+        double oldX = x;
+        if(d > 0) {
+            x = -y;
+            y = oldX;
+        }
+        else {
+            x = y;
+            y = -oldX;
+        }
+        return this;
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public DVec2 add(DVec2 v) {
+        x += v.x;
+        y += v.y;
+        return this;
+    }
+
+    /**
+     * Adds the given amount onto the x and y component of the
+     * vector.
+     *
+     * @param x The value to add to the x component
+     * @param y The value to add to the y component
+     * @return This vector
+     */
+    public DVec2 add(double x, double y) {
+        this.x += x;
+        this.y += y;
+        return this;
+    }
+
+    @Override
+    public DVec2 subtract(DVec2 v) {
+        x -= v.x;
+        y -= v.y;
+        return this;
+    }
+
+    @Override
+    public DVec2 multiply(DVec2 v) {
+        x *= v.x;
+        y *= v.y;
+        return this;
+    }
+
+    @Override
+    public DVec2 lerp(DVec2 t, double a) {
+        double ia = 1 - a;
+        x = x * ia + t.x * a;
+        y = y * ia + t.y * a;
+        return this;
+    }
+
+    @Override
+    public DVec2 project(DVec2 o) {
+        double f = (x * o.x + y * o.y) / (o.x * o.x + o.y * o.y);
+        x = o.x * f;
+        y = o.y * f;
+        return this;
+    }
+
+    @Override
+    public DVec2 apply(DVec2[] m) {
+        double oldX = x;
+        x = x * m[0].x + y * m[0].y;
+        y = oldX * m[1].x + y * m[1].y;
+        return this;
+    }
+
+    public DVec2 apply(Mat2x2 m) {
+        double oldX = x;
+        x = x * m.m00 + y * m.m01;
+        y = oldX * m.m10 + y * m.m11;
+        return this;
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public DVec2 scaled(double f) {
+        return new DVec2(x * f, y * f);
+    }
+
+    @Override
+    public DVec2 divided(double d) {
+        double f = 1 / d;
+        return new DVec2(x * f, y * f);
+    }
+
+    @Override
+    public DVec2 negated() {
+        return new DVec2(-x, -y);
+    }
+
+    @Override
+    public DVec2 normed() {
+        double f = 1 / Math.sqrt(x * x + y * y);
+        return new DVec2(x * f, y * f);
+    }
+
+    /**
+     * Returns a copy of this vector rotated by the given angle in
+     * degrees. This operation is rather performance intensive and
+     * should be used with care.
+     *
+     * @param a The angle to rotate the vector, in degrees
+     * @return The rotated vector
+     */
+    public DVec2 rotated(double a) {
+        double r = Math.toRadians(a), sin = Math.sin(r), cos = Math.cos(r);
+        return new DVec2(x * cos - y * sin, x * sin + y * cos);
+    }
+
+    /**
+     * Returns a copy of this vector rotated by the given angle in degrees
+     * around the specified center point. This operation is rather performance
+     * intensive and should be used with care.
+     *
+     * @param c The center to rotate around
+     * @param a The angle to rotate the vector, in degrees
+     * @return The rotated vector
+     */
+    public DVec2 rotatedAround(DVec2 c, double a) {
+        double r = Math.toRadians(a), sin = Math.sin(r), cos = Math.cos(r);
+
+        DVec2 v = new DVec2(x - c.x, y - c.y);
+
+        double oldX = v.x;
+        v.x = v.x * cos - v.y * sin;
+        v.y = oldX * sin + v.y * cos;
+
+        v.x += c.x;
+        v.y += c.y;
+
+        return v;
+    }
+
+    @SuppressWarnings("SuspiciousNameCombination")
+    public DVec2 rotated90(int d) {
+        return d == 0 ? new DVec2(x, y) : d > 0 ? new DVec2(-y, x) : new DVec2(y, -x);
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public DVec2 added(DVec2 v) {
+        return new DVec2(x + v.x, y + v.y);
+    }
+
+    /**
+     * Returns a vector with the given values added onto the
+     * corresponding component of this vector.
+     *
+     * @param x The value to add to the x component
+     * @param y The value to add to the y component
+     * @return The vector with the values added
+     */
+    public DVec2 added(double x, double y) {
+        return new DVec2(this.x + x, this.y + y);
+    }
+
+    @Override
+    public DVec2 subtracted(DVec2 v) {
+        return new DVec2(x - v.x, y - v.y);
+    }
+
+    @Override
+    public DVec2 multiplied(DVec2 v) {
+        return new DVec2(x * v.x, y * v.y);
+    }
+
+    @Override
+    public DVec2 lerped(DVec2 t, double a) {
+        double ia = 1 - a;
+        return new DVec2(x * ia + t.x * a, y * ia + t.y * a);
+    }
+
+    @Override
+    public DVec2 projected(DVec2 o) {
+        double f = (x * o.x + y * o.y) / (o.x * o.x + o.y * o.y);
+        return new DVec2(o.x * f, o.y * f);
+    }
+
+    @Override
+    public DVec2 applied(DVec2[] m) {
+        return new DVec2(
+                x * m[0].x + y * m[0].y,
+                x * m[1].x + y * m[1].y
+        );
+    }
+
+    public DVec2 applied(Mat2x2 m) {
+        return new DVec2(
+                x * m.m00 + y * m.m01,
+                x * m.m10 + y * m.m11
+        );
+    }
+
+    public DVec3 applied3(DVec3[] m) {
+        return new DVec3(
+                x * m[0].x + y * m[0].y,
+                x * m[1].x + y * m[1].y,
+                x * m[2].x + y * m[2].y
+        );
+    }
+
+    public DVec3 applied3(Mat2x3 m) {
+        return new DVec3(
+                x * m.m00 + y * m.m01,
+                x * m.m10 + y * m.m11,
+                x * m.m20 + y * m.m21
+        );
+    }
+
+    public DVec2 transformed(Mat2x2 m) {
+        return applied(m);
+    }
+
+    public DVec3 transformed(Mat2x3 m) {
+        return applied3(m);
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Returns a temporary copy of this vector scaled by the given factor,
+     * obtained from the given scratch scope.
+     *
+     * @param f The factor to scale by
+     * @param s The scratch scope to use
+     * @return The scaled vector, valid until the scope is closed
+     */
+    public DVec2 scaled(double f, Scratch s) {
+        return s.dvec2(x * f, y * f);
+    }
+
+    /**
+     * Returns a temporary normalized copy of this vector, obtained from the
+     * given scratch scope.
+     *
+     * @param s The scratch scope to use
+     * @return The normalized vector, valid until the scope is closed
+     */
+    public DVec2 normed(Scratch s) {
+        double f = 1 / Math.sqrt(x * x + y * y);
+        return s.dvec2(x * f, y * f);
+    }
+
+    /**
+     * Returns a temporary copy of this vector rotated by the given angle in
+     * degrees, obtained from the given scratch scope.
+     *
+     * @param a The angle to rotate the vector, in degrees
+     * @param s The scratch scope to use
+     * @return The rotated vector, valid until the scope is closed
+     */
+    public DVec2 rotated(double a, Scratch s) {
+        double r = Math.toRadians(a), sin = Math.sin(r), cos = Math.cos(r);
+        return s.dvec2(x * cos - y * sin, x * sin + y * cos);
+    }
+
+    /**
+     * Returns the temporary sum of this and the given vector, obtained from
+     * the given scratch scope.
+     *
+     * @param v The vector to add
+     * @param s The scratch scope to use
+     * @return The sum, valid until the scope is closed
+     */
+    public DVec2 added(DVec2 v, Scratch s) {
+        return s.dvec2(x + v.x, y + v.y);
+    }
+
+    /**
+     * Returns the temporary difference of this and the given vector,
+     * obtained from the given scratch scope.
+     *
+     * @param v The vector to subtract
+     * @param s The scratch scope to use
+     * @return The difference, valid until the scope is closed
+     */
+    public DVec2 subtracted(DVec2 v, Scratch s) {
+        return s.dvec2(x - v.x, y - v.y);
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public DVec2 to2() {
+        return this;
+    }
+
+    @Override
+    public DVec3 to3() {
+        return new DVec3(x, y, 0);
+    }
+
+    public IVec2 toI() {
+        return new IVec2((int) (x + 0.5), (int) (y + 0.5));
+    }
+
+    /**
+     * Returns this vector in float precision.
+     *
+     * @return A float vector with the rounded components of this vector
+     */
+    public Vec2 toF() {
+        return new Vec2((float) x, (float) y);
+    }
+
+    /**
+     * Returns this vector in float precision relative to the given origin.
+     * The difference is calculated in double precision, so the result stays
+     * accurate for points near the origin even if both are far away from
+     * {@code [0|0]}.
+     *
+     * @param origin The origin to calculate relative to
+     * @param out The vector to store the result in
+     * @return The result vector
+     */
+    public Vec2 toF(DVec2 origin, Vec2 out) {
+        out.x = (float) (x - origin.x);
+        out.y = (float) (y - origin.y);
+        return out;
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Creates a new vector facing in the given direction. The vector
+     * will have a length of {@code 1}.
+     *
+     * @param a The angle in degrees in which the vector should face
+     * @return A new vector facing in the given direction
+     */
+    public static DVec2 angled(double a) {
+        double r = Math.toRadians(a);
+        return new DVec2(Math.cos(r), Math.sin(r));
+    }
+
+    /**
+     * Creates a new vector facing in the given direction with the
+     * specified length.
+     *
+     * @param a The angle in degrees in which the vector should face
+     * @param l The length of the vector
+     * @return A new vector with the specified length facing in the
+     *         given direction
+     */
+    public static DVec2 angled(double a, double l) {
+        double r = Math.toRadians(a);
+        return new DVec2(Math.cos(r) * l, Math.sin(r) * l);
+    }
+
+    /**
+     * Returns a vector describing the difference between {@code from}
+     * and {@code to}.
+     *
+     * @param from The point from which the vector should start
+     * @param to The point at which the vector should end
+     * @return A vector from {@code from} to {@code to}
+     */
+    public static DVec2 between(DVec2 from, DVec2 to) {
+        return new DVec2(to.x - from.x, to.y - from.y);
+    }
+
+    /**
+     * Returns a vector describing the center point between the two
+     * vectors
+     *
+     * @param a The first vector
+     * @param b The second vector
+     * @return The center point between {@code a} and {@code b}
+     */
+    public static DVec2 average(DVec2 a, DVec2 b) {
+        return new DVec2((b.x + a.x) * 0.5, (b.y + a.y) * 0.5);
+    }
+
+    /**
+     * Returns the distance between the points {@code a} and {@code b}.
+     * Performance-intensive, use with care and consider using
+     * {@link #sqrDist(DVec2, DVec2)} instead.
+     *
+     * @param a The first point
+     * @param b The second point
+     * @return The distance between the two points
+     */
+    public static double dist(DVec2 a, DVec2 b) {
+        double x = b.x - a.x, y = b.y - a.y;
+        return Math.sqrt(x * x + y * y);
+    }
+
+    /**
+     * Returns the squared distance between the points {@code a} and
+     * {@code b} by not taking the square root in the calculation. This
+     * hugely increases performance. This method should be used if the
+     * distance is only needed to compare to some value - it's much
+     * cheaper to square the other value than to take the square root
+     * of this value.
+     *
+     * @param a The first point
+     * @param b The second point
+     * @return The squared distance between the two points
+     */
+    public static double sqrDist(DVec2 a, DVec2 b) {
+        double x = b.x - a.x, y = b.y - a.y;
+        return x * x + y * y;
+    }
+
+    /**
+     * Calculates the reflection of the vector with the given collision
+     * normal.
+     *
+     * @param v The vector to reflect
+     * @param n The normal vector of the wall to reflect of
+     * @return The reflected vector
+     */
+    public static DVec2 reflect(DVec2 v, DVec2 n) {
+        double f = 2 * (n.x * v.x + n.y * v.y);
+        return new DVec2(v.x - f * n.x, v.y - f * n.y);
+    }
+
+    public static double dot(DVec2 a, DVec2 b) {
+        return a.x * b.x + a.y * b.y;
+    }
+
+    public static double cross(DVec2 a, DVec2 b) {
+        return a.x * b.y - a.y * b.x;
+    }
+
+    public static DVec2 cross(DVec2 v, double f) {
+        return new DVec2(f * v.y, -f * v.x);
+    }
+
+    public static DVec2 cross(double f, DVec2 v) {
+        return new DVec2(-f * v.y, f * v.x);
+    }
+
+    public static DVec2 cross(DVec2 v, double f, DVec2 out) {
+        double y = -f * v.x;
+        out.x = f * v.y;
+        out.y = y;
+        return out;
+    }
+
+    public static DVec2 cross(double f, DVec2 v, DVec2 out) {
+        double y = f * v.x;
+        out.x = -f * v.y;
+        out.y = y;
+        return out;
+    }
+
+    public static DVec2 min(DVec2 a, DVec2 b) {
+        return new DVec2(Math.min(a.x, b.x), Math.min(a.y, b.y));
+    }
+
+    public static DVec2 max(DVec2 a, DVec2 b) {
+        return new DVec2(Math.max(a.x, b.x), Math.max(a.y, b.y));
+    }
+
+    public static DVec2 clamp(DVec2 x, DVec2 l, DVec2 h) {
+        //noinspection SuspiciousNameCombination
+        return new DVec2(FastMath.clamp(x.x, l.x, h.x), FastMath.clamp(x.y, l.y, h.y));
+    }
+
+    public static DVec2 min(DVec2 a, DVec2 b, DVec2 out) {
+        out.x = Math.min(a.x, b.x);
+        out.y = Math.min(a.y, b.y);
+        return out;
+    }
+
+    public static DVec2 max(DVec2 a, DVec2 b, DVec2 out) {
+        out.x = Math.max(a.x, b.x);
+        out.y = Math.max(a.y, b.y);
+        return out;
+    }
+}
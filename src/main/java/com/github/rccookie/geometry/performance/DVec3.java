@@ -0,0 +1,529 @@
+package com.github.rccookie.geometry.performance;
+
+import com.github.rccookie.json.JsonArray;
+import com.github.rccookie.json.JsonCtor;
+import com.github.rccookie.json.Type;
+
+/**
+ * The double precision counterpart of {@link Vec3}.
+ */
+public class DVec3 implements DVec<DVec3> {
+
+    public static final DVec3 ZERO = new DVec3();
+    public static final DVec3 ONE = new DVec3(1, 1, 1);
+    public static final DVec3 X = new DVec3(1, 0, 0);
+    public static final DVec3 Y = new DVec3(0, 1, 0);
+    public static final DVec3 Z = new DVec3(0, 0, 1);
+
+    // ------------------------------------------------------
+
+    public double x;
+    public double y;
+    public double z;
+
+    // ------------------------------------------------------
+
+    public DVec3() {
+        x = 0;
+        y = 0;
+        z = 0;
+    }
+
+    @JsonCtor(type = Type.ARRAY)
+    public DVec3(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public DVec3(double[] a) {
+        x = a[0];
+        y = a[1];
+        z = a[2];
+    }
+
+    public DVec3(Vec3 copy) {
+        x = copy.x;
+        y = copy.y;
+        z = copy.z;
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public DVec3 clone() {
+        return new DVec3(x,y,z);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(o == null || getClass() != o.getClass()) return false;
+        DVec3 v = (DVec3) o;
+        return x == v.x && y == v.y && z == v.z;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Double.hashCode(x) + Double.hashCode(y)) + Double.hashCode(z);
+    }
+
+    @Override
+    public String toString() {
+        return "["+x+"|"+y+"|"+z+"]";
+    }
+
+    @Override
+    public Object toJson() {
+        return new JsonArray(x, y, z);
+    }
+
+    // ------------------------------------------------------
+
+
+    @Override
+    public int size() {
+        return 3;
+    }
+
+    @Override
+    @Deprecated
+    public double getDim(int d) {
+        if(d == 0) return x;
+        if(d == 1) return y;
+        if(d == 2) return z;
+        throw new IllegalArgumentException(d + "");
+    }
+
+    @Override
+    public double abs() {
+        return Math.sqrt(x * x + y * y + z * z);
+    }
+
+    @Override
+    public double sqrAbs() {
+        return x * x + y * y + z * z;
+    }
+
+    @Override
+    public double angle() {
+        return Math.toDegrees(Math.acos(x / Math.sqrt(x * x + y * y + z * z)));
+    }
+
+    @Override
+    public double angle(DVec3 v) {
+        return Math.toDegrees(Math.acos(
+                (x * v.x + y * v.y + z * v.z) /
+                (Math.sqrt(x * x + y * y + z * z) *
+                Math.sqrt(v.x * v.x + v.y * v.y + v.z * v.z))
+        ));
+    }
+
+    @Override
+    public double dot(DVec3 v) {
+        return x * v.x + y * v.y + z * v.z;
+    }
+
+    @Override
+    public boolean isZero() {
+        return (x == y) == (y == z) && x == 0;
+    }
+
+    @Override
+    public boolean isValid() {
+        return Double.isFinite(x) && Double.isFinite(y) && Double.isFinite(z);
+    }
+
+    @Override
+    public double[] toArray() {
+        return new double[] { x, y, z };
+    }
+
+    // ------------------------------------------------------
+
+
+    @Override
+    public DVec3 set(double v) {
+        x = v;
+        y = v;
+        z = v;
+        return this;
+    }
+
+    public DVec3 set(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    @Override
+    public DVec3 set(DVec3 v) {
+        x = v.x;
+        y = v.y;
+        z = v.z;
+        return this;
+    }
+
+    @Override
+    public DVec3 set(double[] a) {
+        x = a[0];
+        y = a[1];
+        z = a[2];
+        return this;
+    }
+
+    @Override
+    @Deprecated
+    public DVec3 setDim(int d, double v) {
+        if(d == 0) x = v;
+        else if(d == 1) y = v;
+        else if(d == 2) z = v;
+        else throw new IllegalArgumentException(d + "");
+        return this;
+    }
+
+    @Override
+    public DVec3 setZero() {
+        x = 0;
+        y = 0;
+        z = 0;
+        return this;
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public DVec3 scale(double f) {
+        x *= f;
+        y *= f;
+        z *= f;
+        return this;
+    }
+
+    @Override
+    public DVec3 divide(double d) {
+        double factor = 1 / d;
+        x *= factor;
+        y *= factor;
+        z *= factor;
+        return this;
+    }
+
+    @Override
+    public DVec3 negate() {
+        x = -x;
+        y = -y;
+        z = -z;
+        return this;
+    }
+
+    @Override
+    public DVec3 norm() {
+        double factor = 1 / Math.sqrt(x * x + y * y + z * z);
+        x *= factor;
+        y *= factor;
+        z *= factor;
+        return this;
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public DVec3 add(DVec3 v) {
+        x += v.x;
+        y += v.y;
+        z += v.z;
+        return this;
+    }
+
+    /**
+     * Adds the given amount onto the x, y and z component of the
+     * vector.
+     *
+     * @param x The value to add to the x component
+     * @param y The value to add to the y component
+     * @param z The value to add to the z component
+     * @return This vector
+     */
+    public DVec3 add(double x, double y, double z) {
+        this.x += x;
+        this.y += y;
+        this.z += z;
+        return this;
+    }
+
+    @Override
+    public DVec3 subtract(DVec3 v) {
+        x -= v.x;
+        y -= v.y;
+        z -= v.z;
+        return this;
+    }
+
+    @Override
+    public DVec3 multiply(DVec3 v) {
+        x *= v.x;
+        y *= v.y;
+        z *= v.z;
+        return this;
+    }
+
+    @Override
+    public DVec3 lerp(DVec3 t, double a) {
+        double ia = 1 - a;
+        x = x * ia + t.x * a;
+        y = y * ia + t.y * a;
+        z = z * ia + t.z * a;
+        return this;
+    }
+
+    @Override
+    public DVec3 project(DVec3 o) {
+        double f = (x * o.x + y * o.y + z * o.z) / (o.x * o.x + o.y * o.y + o.z * o.z);
+        x = o.x * f;
+        y = o.y * f;
+        z = o.z * f;
+        return this;
+    }
+
+    @Override
+    public DVec3 apply(DVec3[] m) {
+        double oldX = x, oldY = y;
+        x = x * m[0].x + y * m[0].y + z * m[0].z;
+        y = oldX * m[1].x + y * m[1].y + z * m[1].z;
+        z = oldX * m[2].x + oldY * m[2].y + z * m[2].z;
+        return this;
+    }
+
+    public DVec3 apply(Mat3x3 m) {
+        double oldX = x, oldY = y;
+        x = x * m.m00 + y * m.m01 + z * m.m02;
+        y = oldX * m.m10 + y * m.m11 + z * m.m12;
+        z = oldX * m.m20 + oldY * m.m21 + z * m.m22;
+        return this;
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public DVec3 scaled(double f) {
+        return new DVec3(x * f, y * f, z * f);
+    }
+
+    @Override
+    public DVec3 divided(double d) {
+        double f = 1 / d;
+        return new DVec3(x * f, y * f, z * f);
+    }
+
+    @Override
+    public DVec3 negated() {
+        return new DVec3(-x, -y, -z);
+    }
+
+    @Override
+    public DVec3 normed() {
+        double f = 1 / Math.sqrt(x * x + y * y + z * z);
+        return new DVec3(x * f, y * f, z * f);
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public DVec3 added(DVec3 v) {
+        return new DVec3(x + v.x, y + v.y, z + v.z);
+    }
+
+    /**
+     * Returns a vector with the given values added onto the
+     * corresponding component of this vector.
+     *
+     * @param x The value to add to the x component
+     * @param y The value to add to the y component
+     * @param z The value to add to the z component
+     * @return The vector with the values added
+     */
+    public DVec3 added(double x, double y, double z) {
+        return new DVec3(this.x + x, this.y + y, this.z + z);
+    }
+
+    @Override
+    public DVec3 subtracted(DVec3 v) {
+        return new DVec3(x - v.x, y - v.y, z - v.z);
+    }
+
+    @Override
+    public DVec3 multiplied(DVec3 v) {
+        return new DVec3(x * v.x, y * v.y, z * v.z);
+    }
+
+    @Override
+    public DVec3 lerped(DVec3 t, double a) {
+        double ia = 1 - a;
+        return new DVec3(x * ia + t.x * a, y * ia + t.y * a, z * ia + t.z * a);
+    }
+
+    @Override
+    public DVec3 projected(DVec3 o) {
+        double f = (x * o.x + y * o.y + z * o.z) / (o.x * o.x + o.y * o.y + o.z * o.z);
+        return new DVec3(o.x * f, o.y * f, o.z * f);
+    }
+
+    @Override
+    public DVec3 applied(DVec3[] m) {
+        return new DVec3(
+                x * m[0].x + y * m[0].y + z * m[0].z,
+                x * m[1].x + y * m[1].y + z * m[1].z,
+                x * m[2].x + y * m[2].y + z * m[2].z
+        );
+    }
+
+    public DVec3 applied(Mat3x3 m) {
+        return new DVec3(
+                x * m.m00 + y * m.m01 + z * m.m02,
+                x * m.m10 + y * m.m11 + z * m.m12,
+                x * m.m20 + y * m.m21 + z * m.m22
+        );
+    }
+
+    public DVec2 applied2(DVec3[] m) {
+        return new DVec2(
+                x * m[0].x + y * m[0].y + z * m[0].z,
+                x * m[1].x + y * m[1].y + z * m[1].z
+        );
+    }
+
+    public DVec2 applied2(Mat3x2 m) {
+        return new DVec2(
+                x * m.m00 + y * m.m01 + z * m.m02,
+                x * m.m10 + y * m.m11 + z * m.m12
+        );
+    }
+
+    public DVec3 transformed(Mat3x3 m) {
+        return applied(m);
+    }
+
+    public DVec2 transformed(Mat3x2 m) {
+        return applied2(m);
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Returns a temporary copy of this vector scaled by the given factor,
+     * obtained from the given scratch scope.
+     *
+     * @param f The factor to scale by
+     * @param s The scratch scope to use
+     * @return The scaled vector, valid until the scope is closed
+     */
+    public DVec3 scaled(double f, Scratch s) {
+        return s.dvec3(x * f, y * f, z * f);
+    }
+
+    /**
+     * Returns a temporary normalized copy of this vector, obtained from the
+     * given scratch scope.
+     *
+     * @param s The scratch scope to use
+     * @return The normalized vector, valid until the scope is closed
+     */
+    public DVec3 normed(Scratch s) {
+        double f = 1 / Math.sqrt(x * x + y * y + z * z);
+        return s.dvec3(x * f, y * f, z * f);
+    }
+
+    /**
+     * Returns the temporary sum of this and the given vector, obtained from
+     * the given scratch scope.
+     *
+     * @param v The vector to add
+     * @param s The scratch scope to use
+     * @return The sum, valid until the scope is closed
+     */
+    public DVec3 added(DVec3 v, Scratch s) {
+        return s.dvec3(x + v.x, y + v.y, z + v.z);
+    }
+
+    /**
+     * Returns the temporary difference of this and the given vector,
+     * obtained from the given scratch scope.
+     *
+     * @param v The vector to subtract
+     * @param s The scratch scope to use
+     * @return The difference, valid until the scope is closed
+     */
+    public DVec3 subtracted(DVec3 v, Scratch s) {
+        return s.dvec3(x - v.x, y - v.y, z - v.z);
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public DVec2 to2() {
+        return new DVec2(x, y);
+    }
+
+    @Override
+    public DVec3 to3() {
+        return this;
+    }
+
+    public IVec3 toI() {
+        return new IVec3((int) (x + 0.5), (int) (y + 0.5), (int) (z + 0.5));
+    }
+
+    public Vec3 toF() {
+        return new Vec3((float) x, (float) y, (float) z);
+    }
+
+    /**
+     * Returns this vector in float precision relative to the given origin.
+     * The difference is calculated in double precision, so the result stays
+     * accurate for points near the origin even if both are far away from
+     * {@code [0|0|0]}.
+     *
+     * @param origin The origin to calculate relative to
+     * @param out The vector to store the result in
+     * @return The result vector
+     */
+    public Vec3 toF(DVec3 origin, Vec3 out) {
+        out.x = (float) (x - origin.x);
+        out.y = (float) (y - origin.y);
+        out.z = (float) (z - origin.z);
+        return out;
+    }
+
+
+
+    public static DVec3 cross(DVec3 a, DVec3 b) {
+        return new DVec3(
+                a.y * b.z - a.z * b.y,
+                a.z * b.x - a.x * b.z,
+                a.x * b.y - a.y * b.x
+        );
+    }
+
+    /**
+     * Returns the temporary cross product of the given vectors, obtained from
+     * the given scratch scope.
+     *
+     * @param a The left vector
+     * @param b The right vector
+     * @param s The scratch scope to use
+     * @return The cross product, valid until the scope is closed
+     */
+    public static DVec3 cross(DVec3 a, DVec3 b, Scratch s) {
+        return cross(a, b, s.dvec3());
+    }
+
+    public static DVec3 cross(DVec3 a, DVec3 b, DVec3 out) {
+        double ax = a.x, bx = b.x, ay = a.y, by = b.y;
+        out.x = ay * b.z - a.z * by;
+        out.y = a.z * bx - ax * b.z;
+        out.z = ax * by - ay * bx;
+        return out;
+    }
+}
@@ -0,0 +1,754 @@
+/*
+ * The construction of the triangulation is derived from Delaunator
+ * (https://github.com/mapbox/delaunator), which is licensed as follows:
+ *
+ * ISC License
+ *
+ * Copyright (c) 2017, Mapbox
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any purpose
+ * with or without fee is hereby granted, provided that the above copyright notice
+ * and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH
+ * REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT,
+ * INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS
+ * OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT, NEGLIGENCE OR OTHER
+ * TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF
+ * THIS SOFTWARE.
+ */
+
+package com.github.rccookie.geometry.performance;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.github.rccookie.util.Console;
+import com.github.rccookie.util.Stopwatch;
+
+/**
+ * The Delaunay triangulation of a set of 2D points, stored as compact
+ * half-edge structure in primitive arrays.
+ * <p>Triangle {@code t} consists of the points {@code triangles[3t]},
+ * {@code triangles[3t+1]} and {@code triangles[3t+2]} in counter-clockwise
+ * order. Half-edge {@code e} goes from point {@code triangles[e]} to the
+ * next point of its triangle, {@code halfedges[e]} is the opposite
+ * half-edge in the adjacent triangle, or {@code -1} on the convex hull.
+ * <p>The triangulation is built with a radial sweep: points are added in
+ * order of their distance from a seed triangle, each connected to the
+ * visible part of the current hull, and edges are flipped until they
+ * satisfy the Delaunay condition. Orientation and in-circle tests fall back
+ * to exact arithmetic if the floating point result is not certain.
+ * Duplicate points are not part of the triangulation.
+ * <p>The construction (radial sweep, hull hash, edge legalization and
+ * distance sort) is derived from
+ * <a href="https://github.com/mapbox/delaunator">Delaunator</a> by Mapbox,
+ * licensed under the ISC license, see the notice at the top of this file.
+ * <p>Point location and nearest site queries walk from the result of the
+ * previous query, so they take nearly constant time for queries close to
+ * each other. These methods are not thread safe, their variants with an
+ * explicit start are.
+ */
+public class Delaunay2 {
+
+    /**
+     * Relative error bounds of the floating point predicates, see
+     * Shewchuk, "Adaptive Precision Floating-Point Arithmetic and Fast
+     * Robust Geometric Predicates".
+     */
+    private static final double EPSILON = Math.ulp(1d) / 2;
+    private static final double ORIENT_BOUND = (3 + 16 * EPSILON) * EPSILON;
+    private static final double IN_CIRCLE_BOUND = (10 + 96 * EPSILON) * EPSILON;
+
+
+    /**
+     * Three point indices per triangle, in counter-clockwise order.
+     */
+    public final int[] triangles;
+    /**
+     * The opposite half-edge of each half-edge, or {@code -1} on the hull.
+     */
+    public final int[] halfedges;
+    /**
+     * The point indices of the convex hull, in counter-clockwise order. If
+     * all points are collinear, all distinct points ordered along the line.
+     */
+    public final int[] hull;
+
+    private final float[] x, y;
+
+    /**
+     * A half-edge ending at each point, the one on the hull for hull points,
+     * or {@code -1} for duplicate points.
+     */
+    private final int[] inedges;
+    /**
+     * The index of each point in {@link #hull}, or {@code -1}.
+     */
+    private final int[] hullIndex;
+
+    private int lastTriangle = 0, lastSite;
+
+    // Construction state
+    private int trianglesLen;
+    private int hullStart;
+    private int[] hullPrev, hullNext, hullTri, hullHash;
+    private double cx, cy;
+    private int[] edgeStack = new int[512];
+
+    /**
+     * Creates the Delaunay triangulation of the given points. The
+     * coordinates are copied.
+     *
+     * @param x The x coordinates of the points
+     * @param y The y coordinates of the points
+     */
+    public Delaunay2(float[] x, float[] y) {
+        if(x.length != y.length) throw new IllegalArgumentException("Coordinate arrays of different length");
+        this.x = x.clone();
+        this.y = y.clone();
+        int n = x.length;
+
+        int[] triangles = new int[Math.max(2 * n - 5, 0) * 3];
+        int[] halfedges = new int[triangles.length];
+        int[] hull = build(triangles, halfedges);
+        this.triangles = Arrays.copyOf(triangles, trianglesLen);
+        this.halfedges = Arrays.copyOf(halfedges, trianglesLen);
+        this.hull = hull;
+        hullPrev = hullNext = hullTri = hullHash = edgeStack = null;
+
+        inedges = new int[n];
+        hullIndex = new int[n];
+        Arrays.fill(inedges, -1);
+        Arrays.fill(hullIndex, -1);
+        for(int e=0; e<this.triangles.length; e++) {
+            int p = this.triangles[next(e)];
+            if(this.halfedges[e] == -1 || inedges[p] == -1) inedges[p] = e;
+        }
+        for(int i=0; i<hull.length; i++) hullIndex[hull[i]] = i;
+        lastSite = hull.length != 0 ? hull[0] : -1;
+    }
+
+    /**
+     * Creates the Delaunay triangulation of the given points.
+     *
+     * @param points The points to triangulate
+     */
+    public Delaunay2(Vec2... points) {
+        this(xs(points), ys(points));
+    }
+
+    private static float[] xs(Vec2[] vs) {
+        float[] x = new float[vs.length];
+        for(int i=0; i<vs.length; i++) x[i] = vs[i].x;
+        return x;
+    }
+
+    private static float[] ys(Vec2[] vs) {
+        float[] y = new float[vs.length];
+        for(int i=0; i<vs.length; i++) y[i] = vs[i].y;
+        return y;
+    }
+
+    @Override
+    public String toString() {
+        return "Delaunay2{" + x.length + " points, " + triangleCount() + " triangles}";
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Triangulates the points, returns the hull.
+     */
+    private int[] build(int[] triangles, int[] halfedges) {
+        int n = x.length;
+        if(n == 0) return new int[0];
+
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for(int i=0; i<n; i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        double mx = (minX + (double) maxX) / 2, my = (minY + (double) maxY) / 2;
+
+        // Seed triangle: the point closest to the center, the one closest to
+        // that, and the one forming the smallest circumcircle with them
+        int i0 = 0, i1 = -1, i2 = -1;
+        double min = Double.POSITIVE_INFINITY;
+        for(int i=0; i<n; i++) {
+            double d = sqrDist(x[i], y[i], mx, my);
+            if(d < min) {
+                i0 = i;
+                min = d;
+            }
+        }
+        min = Double.POSITIVE_INFINITY;
+        for(int i=0; i<n; i++) {
+            double d = sqrDist(x[i], y[i], x[i0], y[i0]);
+            if(d < min && d > 0) {
+                i1 = i;
+                min = d;
+            }
+        }
+        min = Double.POSITIVE_INFINITY;
+        if(i1 != -1) {
+            for(int i=0; i<n; i++) {
+                if(i == i0 || i == i1) continue;
+                double r = circumradius(x[i0], y[i0], x[i1], y[i1], x[i], y[i]);
+                if(r < min) {
+                    i2 = i;
+                    min = r;
+                }
+            }
+        }
+
+        double[] dists = new double[n];
+        int[] ids = new int[n];
+        for(int i=0; i<n; i++) ids[i] = i;
+
+        if(i2 == -1 || min == Double.POSITIVE_INFINITY) {
+            // All points collinear, order them along the line
+            boolean byX = maxX != minX;
+            for(int i=0; i<n; i++) dists[i] = byX ? x[i] - (double) x[0] : y[i] - (double) y[0];
+            quicksort(ids, dists, 0, n - 1);
+            int[] hull = new int[n];
+            int h = 0;
+            double last = Double.NEGATIVE_INFINITY;
+            for(int id : ids) {
+                if(dists[id] > last) {
+                    hull[h++] = id;
+                    last = dists[id];
+                }
+            }
+            return Arrays.copyOf(hull, h);
+        }
+
+        // Counter-clockwise seed triangle
+        if(orient(x[i0], y[i0], x[i1], y[i1], x[i2], y[i2]) < 0) {
+            int t = i1;
+            i1 = i2;
+            i2 = t;
+        }
+        double[] center = circumcenter(x[i0], y[i0], x[i1], y[i1], x[i2], y[i2]);
+        cx = center[0];
+        cy = center[1];
+
+        for(int i=0; i<n; i++) dists[i] = sqrDist(x[i], y[i], cx, cy);
+        quicksort(ids, dists, 0, n - 1);
+
+        int hashSize = (int) Math.ceil(Math.sqrt(n));
+        hullPrev = new int[n];
+        hullNext = new int[n];
+        hullTri = new int[n];
+        hullHash = new int[hashSize];
+        Arrays.fill(hullHash, -1);
+
+        hullStart = i0;
+        int hullSize = 3;
+        hullNext[i0] = hullPrev[i2] = i1;
+        hullNext[i1] = hullPrev[i0] = i2;
+        hullNext[i2] = hullPrev[i1] = i0;
+        hullTri[i0] = 0;
+        hullTri[i1] = 1;
+        hullTri[i2] = 2;
+        hullHash[hashKey(x[i0], y[i0], hashSize)] = i0;
+        hullHash[hashKey(x[i1], y[i1], hashSize)] = i1;
+        hullHash[hashKey(x[i2], y[i2], hashSize)] = i2;
+
+        trianglesLen = 0;
+        addTriangle(triangles, halfedges, i0, i1, i2, -1, -1, -1);
+
+        float xp = 0, yp = 0;
+        for(int k=0; k<n; k++) {
+            int i = ids[k];
+            float px = x[i], py = y[i];
+
+            // Skip duplicates, which are next to each other after sorting
+            if(k > 0 && px == xp && py == yp) continue;
+            xp = px;
+            yp = py;
+            if(i == i0 || i == i1 || i == i2) continue;
+
+            // Find a visible hull edge, starting close by angle
+            int start = 0;
+            for(int j=0, key=hashKey(px, py, hashSize); j<hashSize; j++) {
+                start = hullHash[(key + j) % hashSize];
+                if(start != -1 && start != hullNext[start]) break;
+            }
+            start = hullPrev[start];
+            int e = start, q;
+            while(orient(px, py, x[e], y[e], x[q = hullNext[e]], y[q]) >= 0) {
+                e = q;
+                if(e == start) {
+                    e = -1;
+                    break;
+                }
+            }
+            if(e == -1) continue; // Duplicate of a point that was not adjacent after sorting
+
+            int t = addTriangle(triangles, halfedges, e, i, hullNext[e], -1, -1, hullTri[e]);
+            hullTri[i] = legalize(triangles, halfedges, t + 2);
+            hullTri[e] = t;
+            hullSize++;
+
+            // Connect to the visible edges after the first one
+            int nxt = hullNext[e];
+            while(orient(px, py, x[nxt], y[nxt], x[q = hullNext[nxt]], y[q]) < 0) {
+                t = addTriangle(triangles, halfedges, nxt, i, q, hullTri[i], -1, hullTri[nxt]);
+                hullTri[i] = legalize(triangles, halfedges, t + 2);
+                hullNext[nxt] = nxt; // Removed from hull
+                hullSize--;
+                nxt = q;
+            }
+            // And to the ones before it
+            if(e == start) {
+                while(orient(px, py, x[q = hullPrev[e]], y[q], x[e], y[e]) < 0) {
+                    t = addTriangle(triangles, halfedges, q, i, e, -1, hullTri[e], hullTri[q]);
+                    legalize(triangles, halfedges, t + 2);
+                    hullTri[q] = t;
+                    hullNext[e] = e;
+                    hullSize--;
+                    e = q;
+                }
+            }
+
+            hullStart = hullPrev[i] = e;
+            hullNext[e] = hullPrev[nxt] = i;
+            hullNext[i] = nxt;
+            hullHash[hashKey(px, py, hashSize)] = i;
+            hullHash[hashKey(x[e], y[e], hashSize)] = e;
+        }
+
+        int[] hull = new int[hullSize];
+        for(int i=0, e=hullStart; i<hullSize; i++, e=hullNext[e]) hull[i] = e;
+        return hull;
+    }
+
+    private int hashKey(float px, float py, int hashSize) {
+        // Pseudo angle around the center, monotonic in the real angle
+        double dx = px - cx, dy = py - cy;
+        double p = dx / (Math.abs(dx) + Math.abs(dy));
+        double a = (dy > 0 ? 3 - p : 1 + p) / 4;
+        return (int) Math.floor(a * hashSize) % hashSize;
+    }
+
+    /**
+     * Flips the given edge and recursively the ones behind it until they
+     * satisfy the Delaunay condition.
+     *
+     * @return The half-edge that is now where the edge before the given one
+     *         in its triangle was
+     */
+    private int legalize(int[] triangles, int[] halfedges, int a) {
+        int i = 0, ar;
+        while(true) {
+            int b = halfedges[a];
+            int a0 = a - a % 3;
+            ar = a0 + (a + 2) % 3;
+
+            if(b == -1) {
+                if(i == 0) break;
+                a = edgeStack[--i];
+                continue;
+            }
+
+            int b0 = b - b % 3;
+            int al = a0 + (a + 1) % 3;
+            int bl = b0 + (b + 2) % 3;
+            int p0 = triangles[ar], pr = triangles[a], pl = triangles[al], p1 = triangles[bl];
+
+            if(inCircle(x[p0], y[p0], x[pr], y[pr], x[pl], y[pl], x[p1], y[p1]) > 0) {
+                triangles[a] = p1;
+                triangles[b] = p0;
+
+                int hbl = halfedges[bl];
+                // The flipped edge was on the hull, update its reference
+                if(hbl == -1) {
+                    int e = hullStart;
+                    do {
+                        if(hullTri[e] == bl) {
+                            hullTri[e] = a;
+                            break;
+                        }
+                        e = hullPrev[e];
+                    } while(e != hullStart);
+                }
+                link(halfedges, a, hbl);
+                link(halfedges, b, halfedges[ar]);
+                link(halfedges, ar, bl);
+
+                if(i == edgeStack.length) edgeStack = Arrays.copyOf(edgeStack, i * 2);
+                edgeStack[i++] = b0 + (b + 1) % 3;
+            }
+            else {
+                if(i == 0) break;
+                a = edgeStack[--i];
+            }
+        }
+        return ar;
+    }
+
+    private static void link(int[] halfedges, int a, int b) {
+        halfedges[a] = b;
+        if(b != -1) halfedges[b] = a;
+    }
+
+    private int addTriangle(int[] triangles, int[] halfedges, int i0, int i1, int i2, int a, int b, int c) {
+        int t = trianglesLen;
+        triangles[t] = i0;
+        triangles[t+1] = i1;
+        triangles[t+2] = i2;
+        link(halfedges, t, a);
+        link(halfedges, t + 1, b);
+        link(halfedges, t + 2, c);
+        trianglesLen += 3;
+        return t;
+    }
+
+    /**
+     * Sorts the ids by their distance.
+     */
+    private static void quicksort(int[] ids, double[] dists, int left, int right) {
+        while(right - left > 20) {
+            int median = (left + right) >>> 1;
+            int i = left + 1, j = right;
+            swap(ids, median, i);
+            if(dists[ids[left]] > dists[ids[right]]) swap(ids, left, right);
+            if(dists[ids[i]] > dists[ids[right]]) swap(ids, i, right);
+            if(dists[ids[left]] > dists[ids[i]]) swap(ids, left, i);
+
+            int temp = ids[i];
+            double tempDist = dists[temp];
+            while(true) {
+                do i++; while(dists[ids[i]] < tempDist);
+                do j--; while(dists[ids[j]] > tempDist);
+                if(j < i) break;
+                swap(ids, i, j);
+            }
+            ids[left + 1] = ids[j];
+            ids[j] = temp;
+
+            // Recurse into the smaller part
+            if(right - i + 1 >= j - left) {
+                quicksort(ids, dists, left, j - 1);
+                left = i;
+            }
+            else {
+                quicksort(ids, dists, i, right);
+                right = j - 1;
+            }
+        }
+        for(int i=left+1; i<=right; i++) {
+            int temp = ids[i];
+            double tempDist = dists[temp];
+            int j = i - 1;
+            while(j >= left && dists[ids[j]] > tempDist) ids[j + 1] = ids[j--];
+            ids[j + 1] = temp;
+        }
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    private static int next(int e) {
+        return e % 3 == 2 ? e - 2 : e + 1;
+    }
+
+    // ------------------------------------------------------
+
+    public int size() {
+        return x.length;
+    }
+
+    public int triangleCount() {
+        return triangles.length / 3;
+    }
+
+    public float x(int point) {
+        return x[point];
+    }
+
+    public float y(int point) {
+        return y[point];
+    }
+
+    /**
+     * Returns the triangle containing the given point, walking from the
+     * triangle found by the previous call.
+     *
+     * @return The index of the triangle, or {@code -1} if the point is
+     *         outside the convex hull
+     */
+    public int find(float px, float py) {
+        int t = find(px, py, lastTriangle);
+        if(t != -1) lastTriangle = t;
+        return t;
+    }
+
+    /**
+     * Returns the triangle containing the given point, walking from the
+     * given triangle towards it.
+     *
+     * @param start The triangle to start at
+     * @return The index of the triangle, or {@code -1} if the point is
+     *         outside the convex hull
+     */
+    public int find(float px, float py, int start) {
+        if(triangles.length == 0) return -1;
+        int t = start < 0 || 3 * start >= triangles.length ? 0 : start;
+        // The walk always terminates on Delaunay triangulations
+        walk: while(true) {
+            for(int j=0; j<3; j++) {
+                int e = 3 * t + j;
+                int a = triangles[e], b = triangles[next(e)];
+                if(orient(x[a], y[a], x[b], y[b], px, py) < 0) {
+                    int o = halfedges[e];
+                    if(o == -1) return -1;
+                    t = o / 3;
+                    continue walk;
+                }
+            }
+            return t;
+        }
+    }
+
+    /**
+     * Returns the point closest to the given position, walking from the
+     * result of the previous call.
+     *
+     * @return The index of the closest point, or {@code -1} if there are no
+     *         points
+     */
+    public int nearest(float px, float py) {
+        int i = nearest(px, py, lastSite);
+        if(i != -1) lastSite = i;
+        return i;
+    }
+
+    /**
+     * Returns the point closest to the given position, walking along the
+     * edges from the given point towards closer points.
+     *
+     * @param start The point to start at
+     * @return The index of the closest point, or {@code -1} if there are no
+     *         points
+     */
+    public int nearest(float px, float py, int start) {
+        if(hull.length == 0) return -1;
+        int i = start < 0 || start >= x.length || (inedges[start] == -1 && hullIndex[start] == -1) ? hull[0] : start;
+        double d = sqrDist(x[i], y[i], px, py);
+        if(triangles.length == 0) {
+            for(int j : hull) {
+                double dj = sqrDist(x[j], y[j], px, py);
+                if(dj < d) {
+                    i = j;
+                    d = dj;
+                }
+            }
+            return i;
+        }
+        // Greedy walk, which ends at the closest point on Delaunay triangulations
+        for(int c=i; ; c=i) {
+            int e0 = inedges[c], e = e0;
+            do {
+                int j = triangles[e];
+                double dj = sqrDist(x[j], y[j], px, py);
+                if(dj < d) {
+                    i = j;
+                    d = dj;
+                }
+                e = halfedges[next(e)];
+                if(e == -1) {
+                    j = hull[(hullIndex[c] + 1) % hull.length];
+                    dj = sqrDist(x[j], y[j], px, py);
+                    if(dj < d) {
+                        i = j;
+                        d = dj;
+                    }
+                    break;
+                }
+            } while(e != e0);
+            if(i == c) return i;
+        }
+    }
+
+    /**
+     * Writes the points connected to the given point by an edge into the
+     * given array, in counter-clockwise order.
+     *
+     * @param point The point to get the neighbors of
+     * @param out The array to write the neighbors to
+     * @return The number of neighbors, which may be more than were written
+     *         if the array is too small
+     */
+    public int neighbors(int point, int[] out) {
+        int count = 0;
+        if(triangles.length == 0) {
+            // Collinear, neighbors along the line
+            int h = hullIndex[point];
+            if(h == -1) return 0;
+            if(h > 0) {
+                if(count < out.length) out[count] = hull[h - 1];
+                count++;
+            }
+            if(h < hull.length - 1) {
+                if(count < out.length) out[count] = hull[h + 1];
+                count++;
+            }
+            return count;
+        }
+        int e0 = inedges[point];
+        if(e0 == -1) return 0;
+        int e = e0;
+        do {
+            if(count < out.length) out[count] = triangles[e];
+            count++;
+            e = halfedges[next(e)];
+            if(e == -1) {
+                // Around a hull point, the last neighbor is the next on the hull
+                int p = hull[(hullIndex[point] + 1) % hull.length];
+                if(count < out.length) out[count] = p;
+                return count + 1;
+            }
+        } while(e != e0);
+        return count;
+    }
+
+    /**
+     * Creates the Voronoi diagram of the points, clipped to the given
+     * bounds.
+     *
+     * @return The Voronoi diagram
+     */
+    public Voronoi2 voronoi(float minX, float minY, float maxX, float maxY) {
+        return new Voronoi2(this, minX, minY, maxX, maxY);
+    }
+
+    // ------------------------------------------------------
+
+    private static double sqrDist(double ax, double ay, double bx, double by) {
+        double dx = ax - bx, dy = ay - by;
+        return dx * dx + dy * dy;
+    }
+
+    private static double circumradius(double ax, double ay, double bx, double by, double cx, double cy) {
+        double dx = bx - ax, dy = by - ay, ex = cx - ax, ey = cy - ay;
+        double bl = dx * dx + dy * dy, cl = ex * ex + ey * ey;
+        double d = 0.5 / (dx * ey - dy * ex);
+        double x = (ey * bl - dy * cl) * d, y = (dx * cl - ex * bl) * d;
+        double r = x * x + y * y;
+        return r == r ? r : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the center of the circle through the three given points.
+     *
+     * @return The x and y coordinate of the center
+     */
+    static double[] circumcenter(double ax, double ay, double bx, double by, double cx, double cy) {
+        double dx = bx - ax, dy = by - ay, ex = cx - ax, ey = cy - ay;
+        double bl = dx * dx + dy * dy, cl = ex * ex + ey * ey;
+        double d = 0.5 / (dx * ey - dy * ex);
+        return new double[] { ax + (ey * bl - dy * cl) * d, ay + (dx * cl - ex * bl) * d };
+    }
+
+    /**
+     * Returns a value with the sign of the orientation of the point c
+     * relative to the line from a to b: positive if a, b and c are in
+     * counter-clockwise order, negative if clockwise and zero if collinear.
+     * The sign is exact.
+     *
+     * @return The orientation of the three points
+     */
+    public static double orient(float ax, float ay, float bx, float by, float cx, float cy) {
+        double l = ((double) bx - ax) * ((double) cy - ay), r = ((double) by - ay) * ((double) cx - ax);
+        double det = l - r;
+        if(Math.abs(det) >= ORIENT_BOUND * (Math.abs(l) + Math.abs(r))) return det;
+
+        BigDecimal bdx = exact(bx).subtract(exact(ax)), bdy = exact(by).subtract(exact(ay));
+        BigDecimal cdx = exact(cx).subtract(exact(ax)), cdy = exact(cy).subtract(exact(ay));
+        return bdx.multiply(cdy).subtract(bdy.multiply(cdx)).signum();
+    }
+
+    /**
+     * Returns a value with the sign of the position of point d relative to
+     * the circle through a, b and c, which have to be in counter-clockwise
+     * order: positive if d is inside, negative if outside and zero if on the
+     * circle. The sign is exact.
+     *
+     * @return The relation between the circle and the point
+     */
+    public static double inCircle(float ax, float ay, float bx, float by, float cx, float cy, float dx, float dy) {
+        double adx = (double) ax - dx, ady = (double) ay - dy;
+        double bdx = (double) bx - dx, bdy = (double) by - dy;
+        double cdx = (double) cx - dx, cdy = (double) cy - dy;
+        double bdxcdy = bdx * cdy, cdxbdy = cdx * bdy, cdxady = cdx * ady;
+        double adxcdy = adx * cdy, adxbdy = adx * bdy, bdxady = bdx * ady;
+        double alift = adx * adx + ady * ady, blift = bdx * bdx + bdy * bdy, clift = cdx * cdx + cdy * cdy;
+        double det = alift * (bdxcdy - cdxbdy) + blift * (cdxady - adxcdy) + clift * (adxbdy - bdxady);
+        double permanent = (Math.abs(bdxcdy) + Math.abs(cdxbdy)) * alift
+                + (Math.abs(cdxady) + Math.abs(adxcdy)) * blift
+                + (Math.abs(adxbdy) + Math.abs(bdxady)) * clift;
+        if(Math.abs(det) > IN_CIRCLE_BOUND * permanent) return det;
+
+        BigDecimal eadx = exact(ax).subtract(exact(dx)), eady = exact(ay).subtract(exact(dy));
+        BigDecimal ebdx = exact(bx).subtract(exact(dx)), ebdy = exact(by).subtract(exact(dy));
+        BigDecimal ecdx = exact(cx).subtract(exact(dx)), ecdy = exact(cy).subtract(exact(dy));
+        BigDecimal ea = eadx.multiply(eadx).add(eady.multiply(eady));
+        BigDecimal eb = ebdx.multiply(ebdx).add(ebdy.multiply(ebdy));
+        BigDecimal ec = ecdx.multiply(ecdx).add(ecdy.multiply(ecdy));
+        return ea.multiply(ebdx.multiply(ecdy).subtract(ecdx.multiply(ebdy)))
+                .add(eb.multiply(ecdx.multiply(eady).subtract(eadx.multiply(ecdy))))
+                .add(ec.multiply(eadx.multiply(ebdy).subtract(ebdx.multiply(eady))))
+                .signum();
+    }
+
+    private static BigDecimal exact(float f) {
+        return new BigDecimal(f);
+    }
+
+
+
+    /**
+     * Measures the triangulation of one million points and queries close
+     * to each other. The triangulation is checked by
+     * {@code Delaunay2Test}.
+     */
+    public static void main(String[] args) {
+        Random random = new Random(0);
+        int n = 1000000;
+        float[] x = new float[n], y = new float[n];
+        for(int i=0; i<n; i++) {
+            x[i] = random.nextFloat() * 1000;
+            y[i] = random.nextFloat() * 1000;
+        }
+        Delaunay2 d = null;
+        for(int run=0; run<3; run++) {
+            Stopwatch watch = new Stopwatch().start();
+            d = new Delaunay2(x, y);
+            Console.map("Triangulation", d + ", " + watch.stop().getPassedNanos() / 1000000d + "ms");
+        }
+        int queries = 1000000;
+        Stopwatch watch = new Stopwatch().start();
+        for(int i=0; i<queries; i++) {
+            // A moving query point, as with an object moving through the terrain
+            float t = i * 0.001f;
+            d.find(500 + 400 * FastMath.cos(t), 500 + 400 * FastMath.sin(t));
+        }
+        Console.map("Coherent find", watch.stop().getPassedNanos() / queries + "ns");
+        watch = new Stopwatch().start();
+        for(int i=0; i<queries; i++) {
+            float t = i * 0.001f;
+            d.nearest(500 + 400 * FastMath.cos(t), 500 + 400 * FastMath.sin(t));
+        }
+        Console.map("Coherent nearest", watch.stop().getPassedNanos() / queries + "ns");
+    }
+}
@@ -52,6 +52,11 @@ public final class FastMath {
         return x < l ? l : x > h ? h : x;
     }
 
+    public static double clamp(double x, double l, double h) {
+        //noinspection ManualMinMaxCalculation
+        return x < l ? l : x > h ? h : x;
+    }
+
     public static int clamp(int x, int l, int h) {
         //noinspection ManualMinMaxCalculation
         return x < l ? l : x > h ? h : x;
@@ -0,0 +1,527 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.Arrays;
+
+/**
+ * A collider made of solid square cells on a regular grid, for example the
+ * walls of a tile based map. Cells are addressed by integer coordinates,
+ * cell {@code [x|y]} covers the area from {@code [x*cellSize|y*cellSize]}
+ * to {@code [(x+1)*cellSize|(y+1)*cellSize]}.
+ * <p>The cells are stored as bits in chunks of {@value #CHUNK_SIZE} by
+ * {@value #CHUNK_SIZE} cells that are only allocated once a cell in them
+ * gets set, so very large sparse maps are cheap. Rays are traced cell by
+ * cell (Amanatides–Woo DDA) and skip unallocated chunks entirely.
+ * <p>A ray starting inside a solid cell does not hit that cell, only the
+ * cells it enters afterwards.
+ * <p>The outline used by {@link #length()}, {@link #get(float)} and
+ * {@link #getNormal(float)} consists of all cell faces between a solid and
+ * an empty cell, each of length {@link #cellSize}, running
+ * counter-clockwise around the solid cells. The faces are ordered by
+ * chunk, then by row, cell and side. The list of faces is built on first
+ * use and rebuilt after the grid was changed.
+ */
+public class Grid2 implements Collider2 {
+
+    /**
+     * Width and height of a chunk, in cells.
+     */
+    public static final int CHUNK_SIZE = 64;
+    private static final int CHUNK_SHIFT = 6;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * Outward normal of the faces on each side of a cell, and the start
+     * and end corner of each face when walking the outline.
+     */
+    private static final int[] SIDE_X = { -1, 1, 0, 0 }, SIDE_Y = { 0, 0, -1, 1 };
+    private static final int[] START_X = { 0, 1, 0, 1 }, START_Y = { 1, 0, 0, 1 };
+    private static final int[] END_X = { 0, 1, 1, 0 }, END_Y = { 0, 1, 0, 1 };
+
+    /**
+     * Size of a cell in world units.
+     */
+    public final float cellSize;
+    private final float iCellSize;
+
+    /**
+     * Chunks by {@link #key(int, int)} in an open addressing hash table,
+     * each holding one long per row. Empty slots have no chunk. Unlike a
+     * map with boxed keys, looking up chunks while tracing does not
+     * allocate.
+     */
+    private long[] keys = new long[16];
+    private long[][] chunks = new long[16][];
+    private int chunkCount = 0;
+
+    // Chunk bounds of all allocated chunks, inclusive
+    private int minCX = Integer.MAX_VALUE, minCY = Integer.MAX_VALUE;
+    private int maxCX = Integer.MIN_VALUE, maxCY = Integer.MIN_VALUE;
+
+    /**
+     * The faces of the outline, three ints per face: the x and y coordinate
+     * of the solid cell and the side index. Never changed once built, the
+     * grid drops it when changed.
+     */
+    private volatile int[] outline = null;
+
+    public Grid2() {
+        this(1);
+    }
+
+    public Grid2(float cellSize) {
+        if(!(cellSize > 0)) throw new IllegalArgumentException("Cell size must be positive");
+        this.cellSize = cellSize;
+        iCellSize = 1 / cellSize;
+    }
+
+    @Override
+    public String toString() {
+        return "Grid2{cellSize=" + cellSize + ", chunks=" + chunkCount + '}';
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Returns whether the given cell is solid.
+     *
+     * @param x The x coordinate of the cell
+     * @param y The y coordinate of the cell
+     * @return Whether the cell is solid
+     */
+    public boolean isSolid(int x, int y) {
+        long[] chunk = chunk(x >> CHUNK_SHIFT, y >> CHUNK_SHIFT);
+        return chunk != null && (chunk[y & CHUNK_MASK] & (1L << x)) != 0;
+    }
+
+    public boolean isSolid(IVec2 c) {
+        return isSolid(c.x, c.y);
+    }
+
+    /**
+     * Sets whether the given cell is solid.
+     *
+     * @param x The x coordinate of the cell
+     * @param y The y coordinate of the cell
+     * @param solid Whether the cell should be solid
+     * @return This grid
+     */
+    public Grid2 setSolid(int x, int y, boolean solid) {
+        int cx = x >> CHUNK_SHIFT, cy = y >> CHUNK_SHIFT;
+        long[] chunk = chunk(cx, cy);
+        if(chunk == null) {
+            if(!solid) return this;
+            chunk = addChunk(cx, cy);
+            minCX = Math.min(minCX, cx);
+            minCY = Math.min(minCY, cy);
+            maxCX = Math.max(maxCX, cx);
+            maxCY = Math.max(maxCY, cy);
+        }
+        // Shifts only use the lower 6 bits, which is x & CHUNK_MASK
+        long row = chunk[y & CHUNK_MASK];
+        chunk[y & CHUNK_MASK] = solid ? row | (1L << x) : row & ~(1L << x);
+        if(chunk[y & CHUNK_MASK] != row) outline = null;
+        return this;
+    }
+
+    public Grid2 setSolid(IVec2 c, boolean solid) {
+        return setSolid(c.x, c.y, solid);
+    }
+
+    /**
+     * Sets whether all cells in the given rectangle are solid.
+     *
+     * @param x1 The lower x coordinate, inclusive
+     * @param y1 The lower y coordinate, inclusive
+     * @param x2 The upper x coordinate, inclusive
+     * @param y2 The upper y coordinate, inclusive
+     * @param solid Whether the cells should be solid
+     * @return This grid
+     */
+    public Grid2 fill(int x1, int y1, int x2, int y2, boolean solid) {
+        for(int y=y1; y<=y2; y++) for(int x=x1; x<=x2; x++)
+            setSolid(x, y, solid);
+        return this;
+    }
+
+    /**
+     * Removes all solid cells from this grid.
+     */
+    public void clear() {
+        Arrays.fill(chunks, null);
+        chunkCount = 0;
+        minCX = minCY = Integer.MAX_VALUE;
+        maxCX = maxCY = Integer.MIN_VALUE;
+        outline = null;
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Returns the total length of all faces between solid and empty cells.
+     *
+     * @return The length of the outline
+     */
+    @Override
+    public float length() {
+        return outline().length / 3 * cellSize;
+    }
+
+    @Override
+    public float sqrLength() {
+        float l = length();
+        return l * l;
+    }
+
+    /**
+     * Returns the point at the given fraction of the outline.
+     *
+     * @param i The fraction of the outline, from {@code 0} to {@code 1}
+     * @return The point on the outline
+     * @throws IllegalStateException If the grid has no solid cells
+     */
+    @Override
+    public Vec2 get(float i) {
+        int[] outline = outline();
+        int f = face(outline, i);
+        float t = FastMath.clamp(i * (outline.length / 3) - f, 0, 1);
+        int s = outline[3*f+2];
+        return new Vec2(
+                (outline[3*f] + START_X[s] + t * (END_X[s] - START_X[s])) * cellSize,
+                (outline[3*f+1] + START_Y[s] + t * (END_Y[s] - START_Y[s])) * cellSize
+        );
+    }
+
+    /**
+     * Returns the outward normal of the face at the given fraction of the
+     * outline. It is the same as {@link GridColl2#n} of a ray hitting that
+     * face.
+     *
+     * @param i The fraction of the outline, from {@code 0} to {@code 1}
+     * @return The normal of the face
+     * @throws IllegalStateException If the grid has no solid cells
+     */
+    @Override
+    public Vec2 getNormal(float i) {
+        int[] outline = outline();
+        int s = outline[3 * face(outline, i) + 2];
+        return new Vec2(SIDE_X[s], SIDE_Y[s]);
+    }
+
+    private static int face(int[] outline, float i) {
+        int count = outline.length / 3;
+        if(count == 0) throw new IllegalStateException("Grid has no solid cells");
+        return Math.max(0, Math.min(count - 1, (int) (i * count)));
+    }
+
+    /**
+     * Returns the faces of the outline, building them if the grid changed
+     * since the last call.
+     */
+    private int[] outline() {
+        int[] outline = this.outline;
+        if(outline != null) return outline;
+
+        long[] sorted = new long[chunkCount];
+        int n = 0;
+        for(int i=0; i<keys.length; i++)
+            if(chunks[i] != null) sorted[n++] = keys[i];
+        Arrays.sort(sorted);
+
+        outline = new int[48];
+        n = 0;
+        for(long key : sorted) {
+            int cx = (int) (key >> 32), cy = (int) key;
+            long[] chunk = chunk(cx, cy);
+            for(int r=0; r<CHUNK_SIZE; r++) {
+                int y = (cy << CHUNK_SHIFT) + r;
+                for(long row = chunk[r]; row != 0; row &= row - 1) {
+                    int x = (cx << CHUNK_SHIFT) + Long.numberOfTrailingZeros(row);
+                    for(int s=0; s<4; s++) {
+                        if(isSolid(x + SIDE_X[s], y + SIDE_Y[s])) continue;
+                        if(n == outline.length) outline = Arrays.copyOf(outline, n * 2);
+                        outline[n++] = x;
+                        outline[n++] = y;
+                        outline[n++] = s;
+                    }
+                }
+            }
+        }
+        return this.outline = Arrays.copyOf(outline, n);
+    }
+
+    @Override
+    public boolean contains(Vec2 p) {
+        return isSolid((int) Math.floor(p.x * iCellSize), (int) Math.floor(p.y * iCellSize));
+    }
+
+    /**
+     * Calculates the first solid cell hit by the given ray. The returned
+     * collision holds the cell that was hit and the normal of the face it
+     * was entered through. The line index {@link GridColl2#lI} describes
+     * the hit position along that face, from {@code 0} to {@code 1}.
+     *
+     * @param r The ray to cast
+     * @param maxSqrL The maximum squared length of the ray
+     * @return The collision, or {@code null} if no solid cell was hit
+     */
+    @Override
+    public GridColl2 coll(Ray<Vec2> r, float maxSqrL) {
+        // Like any other collider test, recorded by the enclosing query if any
+        int[] hit = new int[3];
+        float ox = r.o.x, oy = r.o.y, dx = r.d.x, dy = r.d.y;
+        float sqrD = dx * dx + dy * dy;
+        float t = cast(ox, oy, dx, dy, (float) Math.sqrt(maxSqrL / sqrD), Integer.MIN_VALUE, Integer.MIN_VALUE, hit);
+        if(t != t) return null;
+
+        int x = hit[0], y = hit[1];
+        boolean xFace = hit[2] != 0;
+        float lI = xFace ? (oy + t * dy) * iCellSize - y : (ox + t * dx) * iCellSize - x;
+        return new GridColl2(t, FastMath.clamp(lI, 0, 1), t * t * sqrD, x, y,
+                xFace ? (dx > 0 ? -1 : 1) : 0, xFace ? 0 : (dy > 0 ? -1 : 1));
+    }
+
+    /**
+     * Calculates the ray index of the first solid cell hit by the ray with
+     * the given origin and direction, without allocating.
+     *
+     * @param ox The x coordinate of the ray origin
+     * @param oy The y coordinate of the ray origin
+     * @param dx The x component of the ray direction
+     * @param dy The y component of the ray direction
+     * @param maxSqrL The maximum squared length of the ray
+     * @return The ray index of the hit, or {@code NaN} if no solid cell was hit
+     */
+    public float rayIndex(float ox, float oy, float dx, float dy, float maxSqrL) {
+        Instrumentation.RaycastEvent event = Instrumentation.ENABLED ? Instrumentation.beginRaycast() : null;
+        float t = cast(ox, oy, dx, dy, (float) Math.sqrt(maxSqrL / (dx * dx + dy * dy)),
+                Integer.MIN_VALUE, Integer.MIN_VALUE, null);
+        if(event != null) Instrumentation.endRaycast(event, "Grid2", 1, t == t, t == t ? 1 : 0);
+        return t;
+    }
+
+    /**
+     * Determines whether the center of the target cell can be seen from the
+     * center of the start cell, meaning no solid cell other than the start
+     * and target cell lies between them. Does not allocate.
+     *
+     * @param x1 The x coordinate of the start cell
+     * @param y1 The y coordinate of the start cell
+     * @param x2 The x coordinate of the target cell
+     * @param y2 The y coordinate of the target cell
+     * @return Whether the target cell is visible from the start cell
+     */
+    public boolean lineOfSight(int x1, int y1, int x2, int y2) {
+        if(x1 == x2 && y1 == y2) return true;
+        Instrumentation.RaycastEvent event = Instrumentation.ENABLED ? Instrumentation.beginRaycast() : null;
+        float t = cast((x1 + 0.5f) * cellSize, (y1 + 0.5f) * cellSize,
+                (x2 - x1) * cellSize, (y2 - y1) * cellSize, 1, x2, y2, null);
+        if(event != null) Instrumentation.endRaycast(event, "Grid2", 1, t == t, t == t ? 1 : 0);
+        return t != t;
+    }
+
+    /**
+     * Traces the ray through the grid.
+     *
+     * @param maxT The maximum ray index
+     * @param stopX The x coordinate of a cell to end the trace at without hit
+     * @param stopY The y coordinate of that cell
+     * @param hit Filled with x, y and whether an x face was hit, if not null
+     * @return The ray index of the hit, or {@code NaN}
+     */
+    private float cast(float ox, float oy, float dx, float dy, float maxT, int stopX, int stopY, int[] hit) {
+        if(chunkCount == 0 || (dx == 0 && dy == 0)) return Float.NaN;
+
+        // Work in cell units
+        ox *= iCellSize;
+        oy *= iCellSize;
+        int stepX = dx > 0 ? 1 : dx < 0 ? -1 : 0, stepY = dy > 0 ? 1 : dy < 0 ? -1 : 0;
+        float iDx = cellSize / dx, iDy = cellSize / dy;
+
+        int x = (int) Math.floor(ox), y = (int) Math.floor(oy);
+        int cx = x >> CHUNK_SHIFT, cy = y >> CHUNK_SHIFT;
+        long[] chunk = chunk(cx, cy);
+
+        while(true) {
+            if(chunk == null) {
+                // Ray left the allocated area and moves further away
+                if((cx < minCX && stepX <= 0) || (cx > maxCX && stepX >= 0) ||
+                   (cy < minCY && stepY <= 0) || (cy > maxCY && stepY >= 0))
+                    return Float.NaN;
+
+                // Skip to the first cell in the next chunk
+                int bx = stepX > 0 ? (cx + 1) << CHUNK_SHIFT : cx << CHUNK_SHIFT;
+                int by = stepY > 0 ? (cy + 1) << CHUNK_SHIFT : cy << CHUNK_SHIFT;
+                float tx = stepX == 0 ? Float.POSITIVE_INFINITY : (bx - ox) * iDx;
+                float ty = stepY == 0 ? Float.POSITIVE_INFINITY : (by - oy) * iDy;
+                float t;
+                if(tx < ty) {
+                    t = tx;
+                    x = stepX > 0 ? bx : bx - 1;
+                    y = alignCell(oy, iDy, stepY, (int) Math.floor(oy + t / iDy), t, true, cy);
+                }
+                else {
+                    t = ty;
+                    y = stepY > 0 ? by : by - 1;
+                    x = alignCell(ox, iDx, stepX, (int) Math.floor(ox + t / iDx), t, false, cx);
+                }
+                if(t > maxT) return Float.NaN;
+                if(hit != null) hit[2] = tx < ty ? 1 : 0;
+                cx = x >> CHUNK_SHIFT;
+                cy = y >> CHUNK_SHIFT;
+                chunk = chunk(cx, cy);
+                if(chunk == null || (chunk[y & CHUNK_MASK] & (1L << x)) == 0) continue;
+                if(x == stopX && y == stopY) return Float.NaN;
+                if(hit != null) {
+                    hit[0] = x;
+                    hit[1] = y;
+                }
+                return t;
+            }
+
+            // Walk cell by cell inside the chunk
+            while(true) {
+                float tx = stepX == 0 ? Float.POSITIVE_INFINITY : (x + (stepX > 0 ? 1 : 0) - ox) * iDx;
+                float ty = stepY == 0 ? Float.POSITIVE_INFINITY : (y + (stepY > 0 ? 1 : 0) - oy) * iDy;
+                float t;
+                boolean xFace = tx < ty;
+                if(xFace) {
+                    t = tx;
+                    x += stepX;
+                }
+                else {
+                    t = ty;
+                    y += stepY;
+                }
+                if(t > maxT) return Float.NaN;
+
+                int ncx = x >> CHUNK_SHIFT, ncy = y >> CHUNK_SHIFT;
+                if(ncx != cx || ncy != cy) {
+                    cx = ncx;
+                    cy = ncy;
+                    chunk = chunk(cx, cy);
+                    if(chunk == null) break;
+                }
+                if((chunk[y & CHUNK_MASK] & (1L << x)) == 0) continue;
+                if(x == stopX && y == stopY) return Float.NaN;
+                if(hit != null) {
+                    hit[0] = x;
+                    hit[1] = y;
+                    hit[2] = xFace ? 1 : 0;
+                }
+                return t;
+            }
+        }
+    }
+
+    /**
+     * Returns the cell the ray is in along one axis at the given ray index,
+     * using the same boundary comparisons as the cell walk, so that the
+     * cell is consistent with walking there step by step. Crossings exactly
+     * at the ray index count if {@code ties} is set, which is the case for
+     * the y axis because the walk steps along y first on ties. The result
+     * is kept within the given chunk.
+     */
+    private static int alignCell(float o, float iD, int step, int c, float t, boolean ties, int chunk) {
+        if(step != 0) {
+            int off = step > 0 ? 1 : 0;
+            while(crossed((c + off - o) * iD, t, ties)) c += step;
+            while(!crossed((c + 1 - off - o) * iD, t, ties)) c -= step;
+        }
+        int min = chunk << CHUNK_SHIFT;
+        return Math.max(min, Math.min(min + CHUNK_MASK, c));
+    }
+
+    private static boolean crossed(float boundary, float t, boolean ties) {
+        return ties ? boundary <= t : boundary < t;
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+
+    /**
+     * Returns the chunk with the given chunk coordinates, or {@code null} if
+     * it is not allocated.
+     */
+    private long[] chunk(int cx, int cy) {
+        long key = key(cx, cy);
+        int mask = keys.length - 1;
+        for(int i=hash(key) & mask;; i=(i+1) & mask) {
+            long[] chunk = chunks[i];
+            if(chunk == null || keys[i] == key) return chunk;
+        }
+    }
+
+    private long[] addChunk(int cx, int cy) {
+        // Keep the table at most half full
+        if(2 * ++chunkCount > keys.length) {
+            long[] oldKeys = keys;
+            long[][] oldChunks = chunks;
+            keys = new long[oldKeys.length * 2];
+            chunks = new long[oldKeys.length * 2][];
+            for(int i=0; i<oldKeys.length; i++)
+                if(oldChunks[i] != null) insert(oldKeys[i], oldChunks[i]);
+        }
+        long[] chunk = new long[CHUNK_SIZE];
+        insert(key(cx, cy), chunk);
+        return chunk;
+    }
+
+    private void insert(long key, long[] chunk) {
+        int mask = keys.length - 1, i = hash(key) & mask;
+        while(chunks[i] != null) i = (i + 1) & mask;
+        keys[i] = key;
+        chunks[i] = chunk;
+    }
+
+
+
+    /**
+     * A collision with a {@link Grid2}.
+     */
+    public static class GridColl2 extends Coll2 {
+
+        /**
+         * The cell that was hit.
+         */
+        public final int x, y;
+        /**
+         * The normal of the face the cell was entered through.
+         */
+        public final IVec2 n;
+
+        public GridColl2(float rI, float lI, float sqrL, int x, int y, int nx, int ny) {
+            super(rI, lI, sqrL);
+            this.x = x;
+            this.y = y;
+            n = new IVec2(nx, ny);
+        }
+
+        @Override
+        public String toString() {
+            return "GridColl{" +
+                    "rI=" + rI +
+                    ", lI=" + lI +
+                    ", sqrL=" + sqrL +
+                    ", cell=[" + x + "|" + y + "]" +
+                    ", n=" + n +
+                    '}';
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(!super.equals(o) || !(o instanceof GridColl2)) return false;
+            GridColl2 c = (GridColl2) o;
+            return c.x == x && c.y == y && c.n.equals(n);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * super.hashCode() + x) + y;
+        }
+    }
+}
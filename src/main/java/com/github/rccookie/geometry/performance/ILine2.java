@@ -38,26 +38,152 @@ public class ILine2 extends ILine<IVec2> {
         return new IVec2(a.y - b.y, b.x - a.x);
     }
 
-    @SuppressWarnings("DuplicatedCode")
+    /**
+     * Calculates the collision of the given float ray with this line.
+     * The products are calculated in double precision, which represents
+     * them exactly for integer endpoints, so rays through a shared corner
+     * of two lines do not slip between them due to rounding.
+     *
+     * @param r The ray to intersect with
+     * @param maxSqrL The maximum squared length of the ray
+     * @return The collision, or {@code null} if the ray does not hit
+     */
     public Coll2 coll(Ray<Vec2> r, float maxSqrL) {
 
-        float abx = b.x - a.x, aby = b.y - a.y;
+        double abx = (long) b.x - a.x, aby = (long) b.y - a.y;
+        double dx = r.d.x, dy = r.d.y;
+        double aox = (double) r.o.x - a.x, aoy = (double) r.o.y - a.y;
 
-        float d = r.d.x * aby - r.d.y * abx;
+        double d = dx * aby - dy * abx;
         if((!ds && d <= 0) ^ d == 0)
             return null; // Wrong direction
-        float iD = 1 / d;
 
-        float lHit = (r.d.x * r.o.y - r.d.y * r.o.x + r.d.y * a.x - r.d.x * a.y) * iD;
+        double lNum = dx * aoy - dy * aox;
+        double rNum = abx * aoy - aby * aox;
+        if(d < 0) {
+            d = -d;
+            lNum = -lNum;
+            rNum = -rNum;
+        }
+        if(lNum < 0 || lNum > d || rNum < 0) return null;
+
+        double iD = 1 / d;
+        double rHit = rNum * iD;
+        double sqrL = rHit * rHit * (dx * dx + dy * dy);
+        return sqrL > maxSqrL ? null : new Coll2((float) rHit, (float) (lNum * iD), (float) sqrL);
+    }
+
+    /**
+     * Calculates the collision of the integer ray with origin {@code o} and
+     * direction {@code d} with this line. Whether the ray hits is decided
+     * exactly using long arithmetic, the only division happens once a hit
+     * has been confirmed. Coordinates and directions have to be within
+     * {@code ±2^30} to rule out overflows.
+     *
+     * @param o The origin of the ray
+     * @param d The direction of the ray
+     * @param maxSqrL The maximum squared length of the ray
+     * @return The collision, or {@code null} if the ray does not hit
+     */
+    public Coll2 coll(IVec2 o, IVec2 d, float maxSqrL) {
+        return coll(o.x, o.y, d.x, d.y, maxSqrL);
+    }
+
+    /**
+     * Calculates the collision of the integer ray with the given origin and
+     * direction with this line.
+     *
+     * @see #coll(IVec2, IVec2, float)
+     */
+    public Coll2 coll(int ox, int oy, int dx, int dy, float maxSqrL) {
 
-        if(lHit < 0 || lHit > 1) return null;
+        long abx = (long) b.x - a.x, aby = (long) b.y - a.y;
+        long aox = (long) ox - a.x, aoy = (long) oy - a.y;
 
-        float rHit = (abx * a.y - aby * a.x + aby * r.o.x - abx * r.o.y) * (-iD);
+        long d = dx * aby - dy * abx;
+        if((!ds && d <= 0) ^ d == 0)
+            return null; // Wrong direction
 
-        if(rHit < 0) return null;
-        float dx = rHit * r.d.x, dy = rHit * r.d.y;
-        float sqrL = dx * dx + dy * dy;
-        return sqrL > maxSqrL ? null : new Coll2(rHit, lHit, sqrL);
+        long lNum = dx * aoy - dy * aox;
+        long rNum = abx * aoy - aby * aox;
+        if(d < 0) {
+            d = -d;
+            lNum = -lNum;
+            rNum = -rNum;
+        }
+        if(lNum < 0 || lNum > d || rNum < 0) return null;
+
+        double iD = 1.0 / d;
+        double rHit = rNum * iD;
+        double sqrL = rHit * rHit * ((double) dx * dx + (double) dy * dy);
+        return sqrL > maxSqrL ? null : new Coll2((float) rHit, (float) (lNum * iD), (float) sqrL);
+    }
+
+    /**
+     * Determines whether this line intersects with the given one, including
+     * touching endpoints and overlapping collinear lines. The result is
+     * exact. Coordinates have to be within {@code ±2^30}.
+     *
+     * @param l The line to test
+     * @return Whether the lines have at least one point in common
+     */
+    public boolean intersects(ILine2 l) {
+        int o1 = orientation(a, b, l.a), o2 = orientation(a, b, l.b);
+        int o3 = orientation(l.a, l.b, a), o4 = orientation(l.a, l.b, b);
+
+        if(o1 * o2 < 0 && o3 * o4 < 0) return true;
+
+        return (o1 == 0 && inBounds(a, b, l.a))
+                || (o2 == 0 && inBounds(a, b, l.b))
+                || (o3 == 0 && inBounds(l.a, l.b, a))
+                || (o4 == 0 && inBounds(l.a, l.b, b));
+    }
+
+    /**
+     * Calculates the intersection point of this line with the given one.
+     * Whether the lines intersect is decided exactly, the point itself is
+     * only divided out after that. For overlapping collinear lines, no
+     * single intersection point exists and {@code null} is returned.
+     *
+     * @param l The line to intersect with
+     * @return The intersection point, or {@code null}
+     */
+    public Vec2 intersection(ILine2 l) {
+        long abx = (long) b.x - a.x, aby = (long) b.y - a.y;
+        long cdx = (long) l.b.x - l.a.x, cdy = (long) l.b.y - l.a.y;
+        long acx = (long) l.a.x - a.x, acy = (long) l.a.y - a.y;
+
+        long d = abx * cdy - aby * cdx;
+        if(d == 0) {
+            if(abx * acy - aby * acx != 0) return null; // Parallel
+            // Collinear: only a single shared point is an intersection
+            if(a.equals(b)) return l.contains(a) ? new Vec2(a.x, a.y) : null;
+            if(l.a.equals(l.b)) return contains(l.a) ? new Vec2(l.a.x, l.a.y) : null;
+            IVec2 lo = max(min(a, b), min(l.a, l.b)), hi = min(max(a, b), max(l.a, l.b));
+            return lo.equals(hi) ? new Vec2(lo.x, lo.y) : null;
+        }
+
+        long tNum = acx * cdy - acy * cdx;
+        long uNum = acx * aby - acy * abx;
+        if(d < 0) {
+            d = -d;
+            tNum = -tNum;
+            uNum = -uNum;
+        }
+        if(tNum < 0 || tNum > d || uNum < 0 || uNum > d) return null;
+
+        double t = (double) tNum / d;
+        return new Vec2((float) (a.x + t * abx), (float) (a.y + t * aby));
+    }
+
+    /**
+     * Determines exactly whether the given point lies on this line.
+     *
+     * @param p The point to test
+     * @return Whether the point is on this line
+     */
+    public boolean contains(IVec2 p) {
+        return orientation(a, b, p) == 0 && inBounds(a, b, p);
     }
 
     public boolean contains(Vec2 p) {
@@ -76,4 +202,35 @@ public class ILine2 extends ILine<IVec2> {
         float i1 = (p.x - a.x) / (b.x - a.x), i2 = (p.y - a.y) / (b.y - a.y);
         return i1 == i2 && i1 >= 0 && i1 <= 1;
     }
+
+
+    /**
+     * Returns the orientation of the point {@code c} relative to the line
+     * through {@code a} and {@code b}, calculated exactly using long
+     * arithmetic. Coordinates have to be within {@code ±2^30}.
+     *
+     * @return {@code 1} if {@code c} is left of the line, {@code -1} if it is
+     *         right of it and {@code 0} if the points are collinear
+     */
+    public static int orientation(IVec2 a, IVec2 b, IVec2 c) {
+        return Long.signum(((long) b.x - a.x) * ((long) c.y - a.y) - ((long) b.y - a.y) * ((long) c.x - a.x));
+    }
+
+    // Lexicographic order, which is the order along any collinear line
+    private static IVec2 min(IVec2 a, IVec2 b) {
+        return a.x < b.x || (a.x == b.x && a.y <= b.y) ? a : b;
+    }
+
+    private static IVec2 max(IVec2 a, IVec2 b) {
+        return min(a, b) == a ? b : a;
+    }
+
+    /**
+     * Determines whether {@code p} lies within the bounding box of
+     * {@code a} and {@code b}.
+     */
+    private static boolean inBounds(IVec2 a, IVec2 b, IVec2 p) {
+        return p.x >= Math.min(a.x, b.x) && p.x <= Math.max(a.x, b.x)
+                && p.y >= Math.min(a.y, b.y) && p.y <= Math.max(a.y, b.y);
+    }
 }
@@ -0,0 +1,174 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Counters and flight recorder events behind {@link Metrics}. All calls
+ * into this class are guarded by {@link #ENABLED}, which is a compile time
+ * constant for the JIT, so the instrumentation is removed entirely when
+ * disabled. The pattern is:
+ * <pre>
+ * RaycastEvent event = Instrumentation.ENABLED ? Instrumentation.beginRaycast() : null;
+ * // ... query
+ * if(event != null) Instrumentation.endRaycast(event, "Source", tests, hit, avoided);
+ * </pre>
+ */
+final class Instrumentation implements Metrics {
+
+    static final boolean ENABLED = Boolean.getBoolean("geometry.metrics");
+
+    static final Instrumentation METRICS = new Instrumentation();
+
+    // Striped, so concurrent queries do not contend on a single counter
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder tests = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder avoided = new LongAdder();
+
+    private Instrumentation() { }
+
+    @Override
+    public String toString() {
+        return "Metrics{" +
+                "queries=" + queries() +
+                ", colliderTests=" + colliderTests() +
+                ", hits=" + hits() +
+                ", allocationsAvoided=" + allocationsAvoided() +
+                '}';
+    }
+
+    @Override
+    public long queries() {
+        return queries.sum();
+    }
+
+    @Override
+    public long colliderTests() {
+        return tests.sum();
+    }
+
+    @Override
+    public long hits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long allocationsAvoided() {
+        return avoided.sum();
+    }
+
+    @Override
+    public void reset() {
+        queries.reset();
+        tests.reset();
+        hits.reset();
+        avoided.reset();
+    }
+
+    // ------------------------------------------------------
+
+    static RaycastEvent beginRaycast() {
+        RaycastEvent event = new RaycastEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endRaycast(RaycastEvent event, String source, int tests, boolean hit, int avoided) {
+        METRICS.queries.increment();
+        METRICS.tests.add(tests);
+        if(hit) METRICS.hits.increment();
+        if(avoided != 0) METRICS.avoided.add(avoided);
+        event.end();
+        if(event.shouldCommit()) {
+            event.source = source;
+            event.tests = tests;
+            event.hit = hit;
+            event.commit();
+        }
+    }
+
+    static BatchEvent beginBatch() {
+        BatchEvent event = new BatchEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endBatch(BatchEvent event, String kernel, int count, boolean query) {
+        if(query) {
+            METRICS.queries.add(count);
+            METRICS.tests.add(count);
+        }
+        event.end();
+        if(event.shouldCommit()) {
+            event.kernel = kernel;
+            event.count = count;
+            event.vectorized = Batch.isVectorized();
+            event.commit();
+        }
+    }
+
+    static IndexEvent beginIndex() {
+        IndexEvent event = new IndexEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endIndex(IndexEvent event, String index, boolean refit, int size, int nodes) {
+        event.end();
+        if(event.shouldCommit()) {
+            event.index = index;
+            event.refit = refit;
+            event.size = size;
+            event.nodes = nodes;
+            event.commit();
+        }
+    }
+
+
+
+    @Name("com.github.rccookie.geometry.Raycast")
+    @Label("Raycast")
+    @Category("Geometry")
+    @StackTrace(false)
+    static final class RaycastEvent extends Event {
+        @Label("Source")
+        String source;
+        @Label("Collider Tests")
+        int tests;
+        @Label("Hit")
+        boolean hit;
+    }
+
+    @Name("com.github.rccookie.geometry.BatchQuery")
+    @Label("Batch Query")
+    @Category("Geometry")
+    @StackTrace(false)
+    static final class BatchEvent extends Event {
+        @Label("Kernel")
+        String kernel;
+        @Label("Count")
+        int count;
+        @Label("Vectorized")
+        boolean vectorized;
+    }
+
+    @Name("com.github.rccookie.geometry.Index")
+    @Label("Index Build")
+    @Category("Geometry")
+    static final class IndexEvent extends Event {
+        @Label("Index")
+        String index;
+        @Label("Refit")
+        boolean refit;
+        @Label("Elements")
+        int size;
+        @Label("Nodes")
+        int nodes;
+    }
+}
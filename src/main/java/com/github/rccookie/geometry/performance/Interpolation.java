@@ -54,6 +54,64 @@ public interface Interpolation {
         return x -> get(i.get(x));
     }
 
+    /**
+     * Calculates the results for all inputs in the given array and
+     * stores them in the output array.
+     *
+     * @param x The input values
+     * @param out The array to store the output values in, may be
+     *            {@code x}
+     */
+    default void get(float[] x, float[] out) {
+        get(x, 0, out, 0, x.length);
+    }
+
+    /**
+     * Calculates the results for the given range of inputs and stores
+     * them in the output array.
+     *
+     * @param x The input values
+     * @param off The index of the first input value
+     * @param out The array to store the output values in, may be
+     *            {@code x}
+     * @param outOff The index to store the first output value at
+     * @param len The number of values to calculate
+     */
+    default void get(float[] x, int off, float[] out, int outOff, int len) {
+        for(int i=0; i<len; i++)
+            out[outOff + i] = get(x[off + i]);
+    }
+
+    /**
+     * Samples this interpolation in the range {@code [0..1]} into a
+     * lookup table that is linearly interpolated. This is useful for
+     * expensive interpolations or long composition chains, which are
+     * then evaluated with a single table lookup.
+     *
+     * @param samples The number of samples to take, at least {@code 2}
+     * @return A baked version of this interpolation
+     * @see BakedInterpolation
+     */
+    default BakedInterpolation baked(int samples) {
+        return new BakedInterpolation(this, samples, 0, 1, false);
+    }
+
+    /**
+     * Samples this interpolation in the range {@code [0..1]} into a
+     * lookup table that is interpolated either linearly or cubic. This
+     * is useful for expensive interpolations or long composition chains,
+     * which are then evaluated with a single table lookup.
+     *
+     * @param samples The number of samples to take, at least {@code 2}
+     * @param cubic Whether to interpolate cubic between the samples,
+     *              which is more accurate for smooth curves but slower
+     * @return A baked version of this interpolation
+     * @see BakedInterpolation
+     */
+    default BakedInterpolation baked(int samples, boolean cubic) {
+        return new BakedInterpolation(this, samples, 0, 1, cubic);
+    }
+
 
 
     /**
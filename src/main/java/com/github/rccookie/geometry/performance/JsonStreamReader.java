@@ -0,0 +1,415 @@
+package com.github.rccookie.geometry.performance;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads vectors, colliders and matrices from json incrementally, without
+ * parsing the whole input into a json tree first. Accepts the structure
+ * produced by the {@code toJson()} methods of the read types and by
+ * {@link JsonStreamWriter}. Object keys may appear in any order, unknown
+ * keys are skipped and missing scalar fields default to {@code 0} or
+ * {@code false}.
+ * <p>Long arrays can be read element by element:
+ * <pre>
+ * reader.beginArray();
+ * Vec2 v = new Vec2();
+ * while(reader.hasNext())
+ *     process(reader.readVec2(v));
+ * reader.endArray();
+ * </pre>
+ * Using the methods that take an output object the reader works in
+ * constant memory, independent of the length of the input.
+ */
+public class JsonStreamReader implements Closeable {
+
+    private static final int MAX_DEPTH = 64;
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int pos = 0, limit = 0;
+    private long offset = 0;
+
+    private final char[] token = new char[64];
+    private final boolean[] empty = new boolean[MAX_DEPTH];
+    private int depth = 0;
+
+    /**
+     * Creates a new json stream reader reading from the given reader.
+     *
+     * @param in The reader to read from
+     */
+    public JsonStreamReader(Reader in) {
+        this.in = in;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Opens a json array.
+     *
+     * @throws IOException If an I/O error occurs or the next value is
+     *                     not an array
+     */
+    public void beginArray() throws IOException {
+        if(depth == MAX_DEPTH - 1)
+            throw new IOException("Maximum nesting depth of " + (MAX_DEPTH - 1) + " exceeded");
+        value();
+        expect('[');
+        empty[++depth] = true;
+    }
+
+    /**
+     * Closes the innermost open json array. All elements have to be read
+     * before.
+     *
+     * @throws IOException If an I/O error occurs or the array has more
+     *                     elements
+     */
+    public void endArray() throws IOException {
+        if(depth == 0) throw new IllegalStateException("No open array");
+        expect(']');
+        depth--;
+    }
+
+    /**
+     * Determines whether the current array has another element.
+     *
+     * @return Whether another element follows
+     * @throws IOException If an I/O error occurs
+     */
+    public boolean hasNext() throws IOException {
+        int c = peek();
+        return c != ']' && c != '}' && c != -1;
+    }
+
+    /**
+     * Determines whether the next value is {@code null}, and if so, skips
+     * it.
+     *
+     * @return Whether a {@code null} value was skipped
+     * @throws IOException If an I/O error occurs
+     */
+    public boolean skipNull() throws IOException {
+        value();
+        if(peek() != 'n') {
+            // Undo the separator, the value was not consumed
+            if(depth != 0) empty[depth] = true;
+            return false;
+        }
+        literal("null");
+        return true;
+    }
+
+    // ------------------------------------------------------
+
+    public Vec2 readVec2() throws IOException {
+        return readVec2(new Vec2());
+    }
+
+    public Vec2 readVec2(Vec2 out) throws IOException {
+        value();
+        return vec2(out);
+    }
+
+    public Vec3 readVec3() throws IOException {
+        return readVec3(new Vec3());
+    }
+
+    public Vec3 readVec3(Vec3 out) throws IOException {
+        value();
+        expect('[');
+        out.x = number();
+        expect(',');
+        out.y = number();
+        expect(',');
+        out.z = number();
+        expect(']');
+        return out;
+    }
+
+    public IVec2 readIVec2() throws IOException {
+        return readIVec2(new IVec2());
+    }
+
+    public IVec2 readIVec2(IVec2 out) throws IOException {
+        value();
+        expect('[');
+        out.x = integer();
+        expect(',');
+        out.y = integer();
+        expect(']');
+        return out;
+    }
+
+    public Line2 readLine2() throws IOException {
+        return readLine2(new Line2(new Vec2(), new Vec2()));
+    }
+
+    public Line2 readLine2(Line2 out) throws IOException {
+        value();
+        out.ds = false;
+        expect('{');
+        if(peek() != '}') do {
+            switch(key()) {
+                case "a": vec2(out.a); break;
+                case "b": vec2(out.b); break;
+                case "ds": out.ds = bool(); break;
+                default: skipValue();
+            }
+        } while(nextField());
+        expect('}');
+        return out;
+    }
+
+    public Rect readRect() throws IOException {
+        return readRect(new Rect(new Vec2(), new Vec2()));
+    }
+
+    public Rect readRect(Rect out) throws IOException {
+        value();
+        out.a = 0;
+        out.i = out.ds = false;
+        expect('{');
+        if(peek() != '}') do {
+            switch(key()) {
+                case "c": vec2(out.c); break;
+                case "s": vec2(out.s); break;
+                case "a": out.a = number(); break;
+                case "i": out.i = bool(); break;
+                case "ds": out.ds = bool(); break;
+                default: skipValue();
+            }
+        } while(nextField());
+        expect('}');
+        return out;
+    }
+
+    public Circle readCircle() throws IOException {
+        return readCircle(new Circle(new Vec2(), 0));
+    }
+
+    public Circle readCircle(Circle out) throws IOException {
+        value();
+        out.r = out.a = 0;
+        out.i = false;
+        expect('{');
+        if(peek() != '}') do {
+            switch(key()) {
+                case "c": vec2(out.c); break;
+                case "r": out.r = number(); break;
+                case "a": out.a = number(); break;
+                case "i": out.i = bool(); break;
+                default: skipValue();
+            }
+        } while(nextField());
+        expect('}');
+        return out;
+    }
+
+    public Mat2x2 readMat2x2() throws IOException {
+        return readMat2x2(new Mat2x2());
+    }
+
+    public Mat2x2 readMat2x2(Mat2x2 out) throws IOException {
+        value();
+        expect('[');
+        expect('[');
+        out.m00 = number();
+        expect(',');
+        out.m01 = number();
+        expect(']');
+        expect(',');
+        expect('[');
+        out.m10 = number();
+        expect(',');
+        out.m11 = number();
+        expect(']');
+        expect(']');
+        return out;
+    }
+
+    public Coll2 readColl2() throws IOException {
+        value();
+        float rI = 0, lI = 0, sqrL = 0;
+        expect('{');
+        if(peek() != '}') do {
+            switch(key()) {
+                case "rI": rI = number(); break;
+                case "lI": lI = number(); break;
+                case "sqrL": sqrL = number(); break;
+                default: skipValue();
+            }
+        } while(nextField());
+        expect('}');
+        return new Coll2(rI, lI, sqrL);
+    }
+
+    // ------------------------------------------------------
+
+    private void value() throws IOException {
+        if(depth == 0) return;
+        if(empty[depth]) empty[depth] = false;
+        else expect(',');
+    }
+
+    private Vec2 vec2(Vec2 out) throws IOException {
+        expect('[');
+        out.x = number();
+        expect(',');
+        out.y = number();
+        expect(']');
+        return out;
+    }
+
+    private String key() throws IOException {
+        String key = string();
+        expect(':');
+        return key;
+    }
+
+    private boolean nextField() throws IOException {
+        if(peek() != ',') return false;
+        pos++;
+        return true;
+    }
+
+    private float number() throws IOException {
+        return Float.parseFloat(new String(token, 0, token()));
+    }
+
+    private int integer() throws IOException {
+        int n = token();
+        if(n == 0) throw error("Expected number");
+        int i = token[0] == '-' || token[0] == '+' ? 1 : 0, v = 0;
+        if(i == n) throw error("Expected number");
+        for(; i<n; i++) {
+            char c = token[i];
+            if(c < '0' || c > '9')
+                return (int) Float.parseFloat(new String(token, 0, n));
+            v = v * 10 + (c - '0');
+        }
+        return token[0] == '-' ? -v : v;
+    }
+
+    private boolean bool() throws IOException {
+        if(peek() == 't') {
+            literal("true");
+            return true;
+        }
+        literal("false");
+        return false;
+    }
+
+    private String string() throws IOException {
+        expect('"');
+        StringBuilder str = new StringBuilder();
+        int c;
+        while((c = next()) != '"') {
+            if(c == -1) throw error("Unterminated string");
+            if(c == '\\') {
+                c = next();
+                switch(c) {
+                    case 'n': str.append('\n'); break;
+                    case 't': str.append('\t'); break;
+                    case 'r': str.append('\r'); break;
+                    case 'b': str.append('\b'); break;
+                    case 'f': str.append('\f'); break;
+                    case 'u': {
+                        int v = 0;
+                        for(int i=0; i<4; i++) v = (v << 4) + Character.digit(next(), 16);
+                        str.append((char) v);
+                        break;
+                    }
+                    default: str.append((char) c);
+                }
+            }
+            else str.append((char) c);
+        }
+        return str.toString();
+    }
+
+    private void skipValue() throws IOException {
+        int c = peek();
+        if(c == '"') string();
+        else if(c == '[' || c == '{') {
+            int nesting = 0;
+            boolean inString = false;
+            do {
+                c = next();
+                if(c == -1) throw error("Unexpected end of input");
+                if(inString) {
+                    if(c == '\\') next();
+                    else if(c == '"') inString = false;
+                }
+                else if(c == '"') inString = true;
+                else if(c == '[' || c == '{') nesting++;
+                else if(c == ']' || c == '}') nesting--;
+            } while(nesting != 0);
+        }
+        else if(token() == 0) throw error("Expected value");
+    }
+
+    /**
+     * Reads a number or literal token into {@link #token}.
+     *
+     * @return The length of the token
+     */
+    private int token() throws IOException {
+        peek();
+        int n = 0, c;
+        while((c = current()) != -1 && (Character.isLetterOrDigit(c) || c == '-' || c == '+' || c == '.')) {
+            if(n == token.length) throw error("Token too long");
+            token[n++] = (char) c;
+            pos++;
+        }
+        return n;
+    }
+
+    private void literal(String literal) throws IOException {
+        int n = token();
+        if(n != literal.length() || !literal.contentEquals(new String(token, 0, n)))
+            throw error("Expected " + literal);
+    }
+
+    private void expect(char c) throws IOException {
+        if(peek() != c) throw error("Expected '" + c + "'");
+        pos++;
+    }
+
+    private IOException error(String message) {
+        return new IOException(message + " at position " + (offset + pos));
+    }
+
+    /**
+     * Skips whitespace and returns the next char without consuming it.
+     */
+    private int peek() throws IOException {
+        int c;
+        while((c = current()) == ' ' || c == '\n' || c == '\r' || c == '\t') pos++;
+        return c;
+    }
+
+    private int next() throws IOException {
+        int c = current();
+        if(c != -1) pos++;
+        return c;
+    }
+
+    private int current() throws IOException {
+        if(pos == limit) {
+            offset += limit;
+            pos = 0;
+            limit = in.read(buffer, 0, buffer.length);
+            if(limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[pos];
+    }
+}
@@ -0,0 +1,247 @@
+package com.github.rccookie.geometry.performance;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes vectors, colliders and matrices as json directly into a
+ * {@link Writer}, without building a json tree first. The produced json
+ * uses the same structure as the {@code toJson()} methods of the written
+ * types, so it can be read back using {@link JsonStreamReader} or the
+ * {@link com.github.rccookie.json.JsonCtor} constructors.
+ * <p>Values can be written at the top level or inside arrays opened with
+ * {@link #beginArray()}. The writer keeps no state apart from the current
+ * nesting, so arbitrarily long arrays are written with constant memory.
+ * Non-finite floats are written as {@code NaN}, {@code Infinity} and
+ * {@code -Infinity}.
+ */
+public class JsonStreamWriter implements Closeable, Flushable {
+
+    private static final int MAX_DEPTH = 64;
+
+    private final Writer out;
+    private final boolean[] empty = new boolean[MAX_DEPTH];
+    private int depth = 0;
+
+    /**
+     * Creates a new json stream writer writing into the given writer. For
+     * best performance the writer should be buffered.
+     *
+     * @param out The writer to write to
+     */
+    public JsonStreamWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Opens a new json array.
+     *
+     * @return This writer
+     * @throws IOException If an I/O error occurs
+     */
+    public JsonStreamWriter beginArray() throws IOException {
+        if(depth == MAX_DEPTH - 1)
+            throw new IllegalStateException("Maximum nesting depth of " + (MAX_DEPTH - 1) + " exceeded");
+        value();
+        out.write('[');
+        empty[++depth] = true;
+        return this;
+    }
+
+    /**
+     * Closes the innermost open json array.
+     *
+     * @return This writer
+     * @throws IOException If an I/O error occurs
+     */
+    public JsonStreamWriter endArray() throws IOException {
+        if(depth == 0) throw new IllegalStateException("No open array");
+        depth--;
+        out.write(']');
+        return this;
+    }
+
+    // ------------------------------------------------------
+
+    public JsonStreamWriter write(Vec2 v) throws IOException {
+        value();
+        vec2(v);
+        return this;
+    }
+
+    public JsonStreamWriter write(Vec3 v) throws IOException {
+        value();
+        out.write('[');
+        number(v.x);
+        out.write(',');
+        number(v.y);
+        out.write(',');
+        number(v.z);
+        out.write(']');
+        return this;
+    }
+
+    public JsonStreamWriter write(IVec2 v) throws IOException {
+        value();
+        out.write('[');
+        out.write(Integer.toString(v.x));
+        out.write(',');
+        out.write(Integer.toString(v.y));
+        out.write(']');
+        return this;
+    }
+
+    public JsonStreamWriter write(Line2 l) throws IOException {
+        value();
+        out.write("{\"a\":");
+        vec2(l.a);
+        out.write(",\"b\":");
+        vec2(l.b);
+        out.write(",\"ds\":");
+        bool(l.ds);
+        out.write('}');
+        return this;
+    }
+
+    public JsonStreamWriter write(Rect r) throws IOException {
+        value();
+        out.write("{\"c\":");
+        vec2(r.c);
+        out.write(",\"s\":");
+        vec2(r.s);
+        out.write(",\"i\":");
+        bool(r.i);
+        out.write(",\"ds\":");
+        bool(r.ds);
+        out.write(",\"a\":");
+        number(r.a);
+        out.write('}');
+        return this;
+    }
+
+    public JsonStreamWriter write(Circle c) throws IOException {
+        value();
+        out.write("{\"c\":");
+        vec2(c.c);
+        out.write(",\"r\":");
+        number(c.r);
+        out.write(",\"a\":");
+        number(c.a);
+        out.write(",\"i\":");
+        bool(c.i);
+        out.write('}');
+        return this;
+    }
+
+    public JsonStreamWriter write(Mat2x2 m) throws IOException {
+        value();
+        out.write("[[");
+        number(m.m00);
+        out.write(',');
+        number(m.m01);
+        out.write("],[");
+        number(m.m10);
+        out.write(',');
+        number(m.m11);
+        out.write("]]");
+        return this;
+    }
+
+    public JsonStreamWriter write(Coll2 c) throws IOException {
+        value();
+        out.write("{\"rI\":");
+        number(c.rI);
+        out.write(",\"lI\":");
+        number(c.lI);
+        out.write(",\"sqrL\":");
+        number(c.sqrL);
+        out.write('}');
+        return this;
+    }
+
+    /**
+     * Writes a {@code null} value, for example for a missing collision.
+     *
+     * @return This writer
+     * @throws IOException If an I/O error occurs
+     */
+    public JsonStreamWriter writeNull() throws IOException {
+        value();
+        out.write("null");
+        return this;
+    }
+
+    // ------------------------------------------------------
+
+    public JsonStreamWriter write(Vec2[] a) throws IOException {
+        beginArray();
+        for(Vec2 v : a) write(v);
+        return endArray();
+    }
+
+    public JsonStreamWriter write(Vec3[] a) throws IOException {
+        beginArray();
+        for(Vec3 v : a) write(v);
+        return endArray();
+    }
+
+    public JsonStreamWriter write(IVec2[] a) throws IOException {
+        beginArray();
+        for(IVec2 v : a) write(v);
+        return endArray();
+    }
+
+    public JsonStreamWriter write(Line2[] a) throws IOException {
+        beginArray();
+        for(Line2 l : a) write(l);
+        return endArray();
+    }
+
+    public JsonStreamWriter write(Rect[] a) throws IOException {
+        beginArray();
+        for(Rect r : a) write(r);
+        return endArray();
+    }
+
+    public JsonStreamWriter write(Circle[] a) throws IOException {
+        beginArray();
+        for(Circle c : a) write(c);
+        return endArray();
+    }
+
+    // ------------------------------------------------------
+
+    private void value() throws IOException {
+        if(depth == 0) return;
+        if(empty[depth]) empty[depth] = false;
+        else out.write(',');
+    }
+
+    private void vec2(Vec2 v) throws IOException {
+        out.write('[');
+        number(v.x);
+        out.write(',');
+        number(v.y);
+        out.write(']');
+    }
+
+    private void number(float f) throws IOException {
+        out.write(Float.toString(f));
+    }
+
+    private void bool(boolean b) throws IOException {
+        out.write(b ? "true" : "false");
+    }
+}
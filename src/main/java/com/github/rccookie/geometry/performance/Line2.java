@@ -3,7 +3,6 @@ package com.github.rccookie.geometry.performance;
 import com.github.rccookie.json.Json;
 import com.github.rccookie.json.JsonCtor;
 import com.github.rccookie.json.JsonObject;
-import com.github.rccookie.util.Console;
 
 public class Line2 extends Line<Vec2> implements Collider2 {
 
@@ -69,15 +68,15 @@ public class Line2 extends Line<Vec2> implements Collider2 {
     @Override
     public boolean contains(Vec2 p) {
         if(a.x == b.x) {
-            Console.info("x equals");
-            if(a.y == b.y) return a.x == p.x && a.y == b.y;
-            Console.info("y equals not");
+            if(a.y == b.y) return a.x == p.x && a.y == p.y;
+            if(p.x != a.x) return false;
             float i = (p.y - a.y) / (b.y - a.y);
-            return i >= 0 || i <= 1;
+            return i >= 0 && i <= 1;
         }
         if(a.y == b.y) {
+            if(p.y != a.y) return false;
             float i = (p.x - a.x) / (b.x - a.x);
-            return i >= 0 || i <= 1;
+            return i >= 0 && i <= 1;
         }
         float i1 = (p.x - a.x) / (b.x - a.x), i2 = (p.y - a.y) / (b.y - a.y);
         return i1 == i2 && i1 >= 0 && i1 <= 1;
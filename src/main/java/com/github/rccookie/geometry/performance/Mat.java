@@ -1,5 +1,6 @@
 package com.github.rccookie.geometry.performance;
 
+import java.lang.reflect.Array;
 import java.util.Arrays;
 
 public class Mat<I extends Vec<I,?>, O extends Vec<O,?>> {
@@ -17,7 +18,7 @@ public class Mat<I extends Vec<I,?>, O extends Vec<O,?>> {
         this.i = i;
         this.o = o;
 
-        r = (I[]) new Vec[h];
+        r = (I[]) Array.newInstance(i.getClass(), h);
         for(int j=0; j<h; j++)
             r[j] = i.clone().setZero();
     }
@@ -1,22 +1,373 @@
 package com.github.rccookie.geometry.performance;
 
-import com.github.rccookie.json.Json;
+import com.github.rccookie.json.JsonArray;
 import com.github.rccookie.json.JsonCtor;
 import com.github.rccookie.json.JsonSerializable;
+import com.github.rccookie.util.Cloneable;
 
-public class Mat2x2 extends Mat<Vec2, Vec2> implements JsonSerializable {
+/**
+ * A performance-oriented 2x2 matrix transforming {@link Vec2}s into
+ * {@link Vec2}s. The components are stored in individual fields,
+ * {@code mRC} being the component in row {@code R} and column {@code C}.
+ * <p>Like the vector classes this matrix is mutable. Methods named in
+ * present tense modify this matrix, methods in past tense return a
+ * modified copy, and the static methods write into an output parameter,
+ * which may be one of the inputs.
+ */
+public class Mat2x2 implements Cloneable<Mat2x2>, JsonSerializable {
 
-    public Mat2x2() {
-        super(Vec2.ZERO, Vec2.ZERO);
+    /**
+     * A constant describing the identity matrix. Do not modify!
+     */
+    public static final Mat2x2 IDENTITY = new Mat2x2(1, 0, 0, 1);
+
+    // ------------------------------------------------------
+
+    public float m00, m01;
+    public float m10, m11;
+
+    // ------------------------------------------------------
+
+    /**
+     * Creates a new matrix with all components set to {@code 0}.
+     */
+    public Mat2x2() { }
+
+    /**
+     * Creates a new matrix with the given components, row by row.
+     */
+    public Mat2x2(float m00, float m01,
+                  float m10, float m11) {
+        this.m00 = m00; this.m01 = m01;
+        this.m10 = m10; this.m11 = m11;
     }
 
+    /**
+     * Creates a new matrix from the given rows.
+     *
+     * @param r The rows of the matrix
+     */
     @JsonCtor
     public Mat2x2(Vec2[] r) {
-        super(Vec2.ZERO, Vec2.ZERO, r);
+        m00 = r[0].x; m01 = r[0].y;
+        m10 = r[1].x; m11 = r[1].y;
+    }
+
+    /**
+     * Creates a new matrix from the given generic matrix.
+     *
+     * @param m The matrix to copy
+     */
+    public Mat2x2(Mat<Vec2, Vec2> m) {
+        this(m.r);
+    }
+
+    /**
+     * Creates a new matrix copying the given one.
+     *
+     * @param copy The matrix to copy
+     */
+    public Mat2x2(Mat2x2 copy) {
+        set(copy);
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public Mat2x2 clone() {
+        return new Mat2x2(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof Mat2x2)) return false;
+        Mat2x2 m = (Mat2x2) o;
+        return m00 == m.m00 && m01 == m.m01 &&
+               m10 == m.m10 && m11 == m.m11;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = Float.hashCode(m00);
+        h = 31 * h + Float.hashCode(m01);
+        h = 31 * h + Float.hashCode(m10);
+        return 31 * h + Float.hashCode(m11);
+    }
+
+    @Override
+    public String toString() {
+        return "[["+m00+"|"+m01+"], ["+m10+"|"+m11+"]]";
     }
 
     @Override
     public Object toJson() {
-        return Json.extractJson(r);
+        return new JsonArray(new JsonArray(m00, m01), new JsonArray(m10, m11));
+    }
+
+    /**
+     * Returns a generic matrix with the same components.
+     *
+     * @return A generic matrix equal to this one
+     */
+    public Mat<Vec2, Vec2> toMat() {
+        return new Mat<>(Vec2.ZERO, Vec2.ZERO, new Vec2[] { new Vec2(m00, m01), new Vec2(m10, m11) });
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Calculates the determinant of this matrix.
+     *
+     * @return The determinant
+     */
+    public float det() {
+        return m00 * m11 - m01 * m10;
+    }
+
+    // ------------------------------------------------------
+
+    public Mat2x2 set(float m00, float m01,
+                      float m10, float m11) {
+        this.m00 = m00; this.m01 = m01;
+        this.m10 = m10; this.m11 = m11;
+        return this;
+    }
+
+    public Mat2x2 set(Mat2x2 m) {
+        m00 = m.m00; m01 = m.m01;
+        m10 = m.m10; m11 = m.m11;
+        return this;
+    }
+
+    public Mat2x2 setIdentity() {
+        return set(1, 0, 0, 1);
+    }
+
+    public Mat2x2 setZero() {
+        return set(0, 0, 0, 0);
+    }
+
+    /**
+     * Sets this matrix to a rotation by the given angle.
+     *
+     * @param a The angle to rotate by, in degrees
+     * @return This matrix
+     */
+    public Mat2x2 setRotation(float a) {
+        float sin = FastMath.sin(a), cos = FastMath.cos(a);
+        return set(cos, -sin, sin, cos);
+    }
+
+    /**
+     * Sets this matrix to a scaling by the given factors.
+     *
+     * @param x The factor in x direction
+     * @param y The factor in y direction
+     * @return This matrix
+     */
+    public Mat2x2 setScale(float x, float y) {
+        return set(x, 0, 0, y);
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Multiplies this matrix by the given one, so that this matrix becomes
+     * {@code this * m}. The resulting matrix applies {@code m} first.
+     *
+     * @param m The matrix to multiply by
+     * @return This matrix
+     */
+    public Mat2x2 multiply(Mat2x2 m) {
+        return multiply(this, m, this);
+    }
+
+    /**
+     * Scales each component of this matrix by the given factor.
+     *
+     * @param f The factor to scale by
+     * @return This matrix
+     */
+    public Mat2x2 scale(float f) {
+        m00 *= f; m01 *= f;
+        m10 *= f; m11 *= f;
+        return this;
+    }
+
+    public Mat2x2 transpose() {
+        float t = m01;
+        m01 = m10;
+        m10 = t;
+        return this;
+    }
+
+    /**
+     * Inverts this matrix.
+     *
+     * @return This matrix
+     * @throws ArithmeticException If the matrix is not invertible
+     */
+    public Mat2x2 invert() {
+        return invert(this, this);
+    }
+
+    public Mat2x2 multiplied(Mat2x2 m) {
+        return multiply(this, m, new Mat2x2());
+    }
+
+    public Mat2x2 scaled(float f) {
+        return clone().scale(f);
+    }
+
+    public Mat2x2 transposed() {
+        return new Mat2x2(m00, m10, m01, m11);
+    }
+
+    public Mat2x2 inverted() {
+        return invert(this, new Mat2x2());
+    }
+
+    /**
+     * Returns the temporary product of this and the given matrix, obtained
+     * from the given scratch scope.
+     *
+     * @param m The matrix to multiply by
+     * @param s The scratch scope to use
+     * @return The product, valid until the scope is closed
+     */
+    public Mat2x2 multiplied(Mat2x2 m, Scratch s) {
+        return multiply(this, m, s.mat2x2());
+    }
+
+    /**
+     * Returns the temporary inverse of this matrix, obtained from the given
+     * scratch scope.
+     *
+     * @param s The scratch scope to use
+     * @return The inverse, valid until the scope is closed
+     * @throws ArithmeticException If the matrix is not invertible
+     */
+    public Mat2x2 inverted(Scratch s) {
+        return invert(this, s.mat2x2());
+    }
+
+    /**
+     * Transforms the given vector by this matrix into a temporary vector
+     * obtained from the given scratch scope.
+     *
+     * @param v The vector to transform
+     * @param s The scratch scope to use
+     * @return The transformed vector, valid until the scope is closed
+     */
+    public Vec2 transform(Vec2 v, Scratch s) {
+        return transform(v, s.vec2());
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Transforms the given vector by this matrix.
+     *
+     * @param v The vector to transform, will be modified
+     * @return The given vector
+     */
+    public Vec2 transform(Vec2 v) {
+        float x = v.x;
+        v.x = m00 * x + m01 * v.y;
+        v.y = m10 * x + m11 * v.y;
+        return v;
+    }
+
+    /**
+     * Transforms the given vector by this matrix and stores the result in
+     * the output vector.
+     *
+     * @param v The vector to transform
+     * @param out The vector to store the result in, may be {@code v}
+     * @return The output vector
+     */
+    public Vec2 transform(Vec2 v, Vec2 out) {
+        float x = v.x;
+        out.x = m00 * x + m01 * v.y;
+        out.y = m10 * x + m11 * v.y;
+        return out;
+    }
+
+    /**
+     * Transforms all given vectors in place.
+     *
+     * @param vs The vectors to transform
+     */
+    public void transform(Vec2[] vs) {
+        float m00 = this.m00, m01 = this.m01, m10 = this.m10, m11 = this.m11;
+        for(Vec2 v : vs) {
+            float x = v.x;
+            v.x = m00 * x + m01 * v.y;
+            v.y = m10 * x + m11 * v.y;
+        }
+    }
+
+    /**
+     * Transforms the vectors stored in the given component arrays in
+     * place.
+     *
+     * @param x The x components of the vectors
+     * @param y The y components of the vectors
+     * @param off The index of the first vector to transform
+     * @param len The number of vectors to transform
+     */
+    public void transform(float[] x, float[] y, int off, int len) {
+        float m00 = this.m00, m01 = this.m01, m10 = this.m10, m11 = this.m11;
+        for(int i=off, end=off+len; i<end; i++) {
+            float vx = x[i], vy = y[i];
+            x[i] = m00 * vx + m01 * vy;
+            y[i] = m10 * vx + m11 * vy;
+        }
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Calculates {@code a * b} and stores the result in {@code out}.
+     *
+     * @param a The left matrix
+     * @param b The right matrix
+     * @param out The matrix to store the result in, may be {@code a} or {@code b}
+     * @return The output matrix
+     */
+    public static Mat2x2 multiply(Mat2x2 a, Mat2x2 b, Mat2x2 out) {
+        return out.set(
+                a.m00 * b.m00 + a.m01 * b.m10, a.m00 * b.m01 + a.m01 * b.m11,
+                a.m10 * b.m00 + a.m11 * b.m10, a.m10 * b.m01 + a.m11 * b.m11
+        );
+    }
+
+    /**
+     * Calculates the inverse of {@code m} and stores it in {@code out}.
+     *
+     * @param m The matrix to invert
+     * @param out The matrix to store the result in, may be {@code m}
+     * @return The output matrix
+     * @throws ArithmeticException If the matrix is not invertible
+     */
+    public static Mat2x2 invert(Mat2x2 m, Mat2x2 out) {
+        float det = m.m00 * m.m11 - m.m01 * m.m10;
+        if(det == 0) throw new ArithmeticException("Matrix is not invertible");
+        float iDet = 1 / det;
+        return out.set(
+                m.m11 * iDet, -m.m01 * iDet,
+                -m.m10 * iDet, m.m00 * iDet
+        );
+    }
+
+    /**
+     * Creates a new rotation matrix for the given angle.
+     *
+     * @param a The angle to rotate by, in degrees
+     * @return A new rotation matrix
+     */
+    public static Mat2x2 rotation(float a) {
+        return new Mat2x2().setRotation(a);
     }
 }
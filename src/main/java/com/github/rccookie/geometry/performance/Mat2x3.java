@@ -1,22 +1,255 @@
 package com.github.rccookie.geometry.performance;
 
-import com.github.rccookie.json.Json;
+import com.github.rccookie.json.JsonArray;
 import com.github.rccookie.json.JsonCtor;
 import com.github.rccookie.json.JsonSerializable;
+import com.github.rccookie.util.Cloneable;
 
-public class Mat2x3 extends Mat<Vec2, Vec3> implements JsonSerializable {
+/**
+ * A performance-oriented matrix transforming {@link Vec2}s into
+ * {@link Vec3}s, thus having three rows with two columns each. The
+ * components are stored in individual fields, {@code mRC} being the
+ * component in row {@code R} and column {@code C}.
+ *
+ * @see Mat2x2
+ */
+public class Mat2x3 implements Cloneable<Mat2x3>, JsonSerializable {
 
-    public Mat2x3() {
-        super(Vec2.ZERO, Vec3.ZERO);
+    public float m00, m01;
+    public float m10, m11;
+    public float m20, m21;
+
+    // ------------------------------------------------------
+
+    /**
+     * Creates a new matrix with all components set to {@code 0}.
+     */
+    public Mat2x3() { }
+
+    /**
+     * Creates a new matrix with the given components, row by row.
+     */
+    public Mat2x3(float m00, float m01,
+                  float m10, float m11,
+                  float m20, float m21) {
+        set(m00, m01, m10, m11, m20, m21);
     }
 
+    /**
+     * Creates a new matrix from the given rows.
+     *
+     * @param r The rows of the matrix
+     */
     @JsonCtor
     public Mat2x3(Vec2[] r) {
-        super(Vec2.ZERO, Vec3.ZERO, r);
+        m00 = r[0].x; m01 = r[0].y;
+        m10 = r[1].x; m11 = r[1].y;
+        m20 = r[2].x; m21 = r[2].y;
+    }
+
+    /**
+     * Creates a new matrix from the given generic matrix.
+     *
+     * @param m The matrix to copy
+     */
+    public Mat2x3(Mat<Vec2, Vec3> m) {
+        this(m.r);
+    }
+
+    /**
+     * Creates a new matrix copying the given one.
+     *
+     * @param copy The matrix to copy
+     */
+    public Mat2x3(Mat2x3 copy) {
+        set(copy);
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public Mat2x3 clone() {
+        return new Mat2x3(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof Mat2x3)) return false;
+        Mat2x3 m = (Mat2x3) o;
+        return m00 == m.m00 && m01 == m.m01 &&
+               m10 == m.m10 && m11 == m.m11 &&
+               m20 == m.m20 && m21 == m.m21;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = Float.hashCode(m00);
+        h = 31 * h + Float.hashCode(m01);
+        h = 31 * h + Float.hashCode(m10);
+        h = 31 * h + Float.hashCode(m11);
+        h = 31 * h + Float.hashCode(m20);
+        return 31 * h + Float.hashCode(m21);
+    }
+
+    @Override
+    public String toString() {
+        return "[["+m00+"|"+m01+"], ["+m10+"|"+m11+"], ["+m20+"|"+m21+"]]";
     }
 
     @Override
     public Object toJson() {
-        return Json.extractJson(r);
+        return new JsonArray(new JsonArray(m00, m01), new JsonArray(m10, m11), new JsonArray(m20, m21));
+    }
+
+    /**
+     * Returns a generic matrix with the same components.
+     *
+     * @return A generic matrix equal to this one
+     */
+    public Mat<Vec2, Vec3> toMat() {
+        return new Mat<>(Vec2.ZERO, Vec3.ZERO, new Vec2[] {
+                new Vec2(m00, m01), new Vec2(m10, m11), new Vec2(m20, m21)
+        });
+    }
+
+    // ------------------------------------------------------
+
+    public Mat2x3 set(float m00, float m01,
+                      float m10, float m11,
+                      float m20, float m21) {
+        this.m00 = m00; this.m01 = m01;
+        this.m10 = m10; this.m11 = m11;
+        this.m20 = m20; this.m21 = m21;
+        return this;
+    }
+
+    public Mat2x3 set(Mat2x3 m) {
+        return set(m.m00, m.m01, m.m10, m.m11, m.m20, m.m21);
+    }
+
+    public Mat2x3 setZero() {
+        return set(0, 0, 0, 0, 0, 0);
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Multiplies this matrix by the given one, so that this matrix becomes
+     * {@code this * m}. The resulting matrix applies {@code m} first.
+     *
+     * @param m The matrix to multiply by
+     * @return This matrix
+     */
+    public Mat2x3 multiply(Mat2x2 m) {
+        return set(
+                m00 * m.m00 + m01 * m.m10, m00 * m.m01 + m01 * m.m11,
+                m10 * m.m00 + m11 * m.m10, m10 * m.m01 + m11 * m.m11,
+                m20 * m.m00 + m21 * m.m10, m20 * m.m01 + m21 * m.m11
+        );
+    }
+
+    /**
+     * Calculates {@code this * m} and stores the result in {@code out}.
+     *
+     * @param m The matrix to multiply by
+     * @param out The matrix to store the result in
+     * @return The output matrix
+     */
+    public Mat3x3 multiply(Mat3x2 m, Mat3x3 out) {
+        return out.set(
+                m00 * m.m00 + m01 * m.m10, m00 * m.m01 + m01 * m.m11, m00 * m.m02 + m01 * m.m12,
+                m10 * m.m00 + m11 * m.m10, m10 * m.m01 + m11 * m.m11, m10 * m.m02 + m11 * m.m12,
+                m20 * m.m00 + m21 * m.m10, m20 * m.m01 + m21 * m.m11, m20 * m.m02 + m21 * m.m12
+        );
+    }
+
+    /**
+     * Scales each component of this matrix by the given factor.
+     *
+     * @param f The factor to scale by
+     * @return This matrix
+     */
+    public Mat2x3 scale(float f) {
+        m00 *= f; m01 *= f;
+        m10 *= f; m11 *= f;
+        m20 *= f; m21 *= f;
+        return this;
+    }
+
+    public Mat2x3 multiplied(Mat2x2 m) {
+        return clone().multiply(m);
+    }
+
+    public Mat3x3 multiplied(Mat3x2 m) {
+        return multiply(m, new Mat3x3());
+    }
+
+    public Mat2x3 scaled(float f) {
+        return clone().scale(f);
+    }
+
+    public Mat3x2 transposed() {
+        return transpose(new Mat3x2());
+    }
+
+    /**
+     * Stores the transposed of this matrix in the given matrix.
+     *
+     * @param out The matrix to store the result in
+     * @return The output matrix
+     */
+    public Mat3x2 transpose(Mat3x2 out) {
+        return out.set(m00, m10, m20, m01, m11, m21);
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Transforms the given vector by this matrix.
+     *
+     * @param v The vector to transform
+     * @return A new vector with the result
+     */
+    public Vec3 transform(Vec2 v) {
+        return transform(v, new Vec3());
+    }
+
+    /**
+     * Transforms the given vector by this matrix and stores the result in
+     * the output vector.
+     *
+     * @param v The vector to transform
+     * @param out The vector to store the result in
+     * @return The output vector
+     */
+    public Vec3 transform(Vec2 v, Vec3 out) {
+        float x = v.x, y = v.y;
+        out.x = m00 * x + m01 * y;
+        out.y = m10 * x + m11 * y;
+        out.z = m20 * x + m21 * y;
+        return out;
+    }
+
+    /**
+     * Transforms the vectors stored in the input component arrays and
+     * writes the results into the output component arrays.
+     *
+     * @param x The x components of the input vectors
+     * @param y The y components of the input vectors
+     * @param ox The x components of the output vectors
+     * @param oy The y components of the output vectors
+     * @param oz The z components of the output vectors
+     * @param off The index of the first vector to transform
+     * @param len The number of vectors to transform
+     */
+    public void transform(float[] x, float[] y, float[] ox, float[] oy, float[] oz, int off, int len) {
+        float m00 = this.m00, m01 = this.m01, m10 = this.m10, m11 = this.m11, m20 = this.m20, m21 = this.m21;
+        for(int i=off, end=off+len; i<end; i++) {
+            float vx = x[i], vy = y[i];
+            ox[i] = m00 * vx + m01 * vy;
+            oy[i] = m10 * vx + m11 * vy;
+            oz[i] = m20 * vx + m21 * vy;
+        }
     }
 }
@@ -1,22 +1,246 @@
 package com.github.rccookie.geometry.performance;
 
-import com.github.rccookie.json.Json;
+import com.github.rccookie.json.JsonArray;
 import com.github.rccookie.json.JsonCtor;
 import com.github.rccookie.json.JsonSerializable;
+import com.github.rccookie.util.Cloneable;
 
-public class Mat3x2 extends Mat<Vec3, Vec2> implements JsonSerializable {
+/**
+ * A performance-oriented matrix transforming {@link Vec3}s into
+ * {@link Vec2}s, thus having two rows with three columns each. The
+ * components are stored in individual fields, {@code mRC} being the
+ * component in row {@code R} and column {@code C}.
+ *
+ * @see Mat3x3
+ */
+public class Mat3x2 implements Cloneable<Mat3x2>, JsonSerializable {
 
-    public Mat3x2() {
-        super(Vec3.ZERO, Vec2.ZERO);
+    public float m00, m01, m02;
+    public float m10, m11, m12;
+
+    // ------------------------------------------------------
+
+    /**
+     * Creates a new matrix with all components set to {@code 0}.
+     */
+    public Mat3x2() { }
+
+    /**
+     * Creates a new matrix with the given components, row by row.
+     */
+    public Mat3x2(float m00, float m01, float m02,
+                  float m10, float m11, float m12) {
+        set(m00, m01, m02, m10, m11, m12);
     }
 
+    /**
+     * Creates a new matrix from the given rows.
+     *
+     * @param r The rows of the matrix
+     */
     @JsonCtor
     public Mat3x2(Vec3[] r) {
-        super(Vec3.ZERO, Vec2.ZERO, r);
+        m00 = r[0].x; m01 = r[0].y; m02 = r[0].z;
+        m10 = r[1].x; m11 = r[1].y; m12 = r[1].z;
+    }
+
+    /**
+     * Creates a new matrix from the given generic matrix.
+     *
+     * @param m The matrix to copy
+     */
+    public Mat3x2(Mat<Vec3, Vec2> m) {
+        this(m.r);
+    }
+
+    /**
+     * Creates a new matrix copying the given one.
+     *
+     * @param copy The matrix to copy
+     */
+    public Mat3x2(Mat3x2 copy) {
+        set(copy);
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public Mat3x2 clone() {
+        return new Mat3x2(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof Mat3x2)) return false;
+        Mat3x2 m = (Mat3x2) o;
+        return m00 == m.m00 && m01 == m.m01 && m02 == m.m02 &&
+               m10 == m.m10 && m11 == m.m11 && m12 == m.m12;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = Float.hashCode(m00);
+        h = 31 * h + Float.hashCode(m01);
+        h = 31 * h + Float.hashCode(m02);
+        h = 31 * h + Float.hashCode(m10);
+        h = 31 * h + Float.hashCode(m11);
+        return 31 * h + Float.hashCode(m12);
+    }
+
+    @Override
+    public String toString() {
+        return "[["+m00+"|"+m01+"|"+m02+"], ["+m10+"|"+m11+"|"+m12+"]]";
     }
 
     @Override
     public Object toJson() {
-        return Json.extractJson(r);
+        return new JsonArray(new JsonArray(m00, m01, m02), new JsonArray(m10, m11, m12));
+    }
+
+    /**
+     * Returns a generic matrix with the same components.
+     *
+     * @return A generic matrix equal to this one
+     */
+    public Mat<Vec3, Vec2> toMat() {
+        return new Mat<>(Vec3.ZERO, Vec2.ZERO, new Vec3[] { new Vec3(m00, m01, m02), new Vec3(m10, m11, m12) });
+    }
+
+    // ------------------------------------------------------
+
+    public Mat3x2 set(float m00, float m01, float m02,
+                      float m10, float m11, float m12) {
+        this.m00 = m00; this.m01 = m01; this.m02 = m02;
+        this.m10 = m10; this.m11 = m11; this.m12 = m12;
+        return this;
+    }
+
+    public Mat3x2 set(Mat3x2 m) {
+        return set(m.m00, m.m01, m.m02, m.m10, m.m11, m.m12);
+    }
+
+    public Mat3x2 setZero() {
+        return set(0, 0, 0, 0, 0, 0);
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Multiplies this matrix by the given one, so that this matrix becomes
+     * {@code this * m}. The resulting matrix applies {@code m} first.
+     *
+     * @param m The matrix to multiply by
+     * @return This matrix
+     */
+    public Mat3x2 multiply(Mat3x3 m) {
+        return set(
+                m00 * m.m00 + m01 * m.m10 + m02 * m.m20,
+                m00 * m.m01 + m01 * m.m11 + m02 * m.m21,
+                m00 * m.m02 + m01 * m.m12 + m02 * m.m22,
+                m10 * m.m00 + m11 * m.m10 + m12 * m.m20,
+                m10 * m.m01 + m11 * m.m11 + m12 * m.m21,
+                m10 * m.m02 + m11 * m.m12 + m12 * m.m22
+        );
+    }
+
+    /**
+     * Calculates {@code this * m} and stores the result in {@code out}.
+     *
+     * @param m The matrix to multiply by
+     * @param out The matrix to store the result in
+     * @return The output matrix
+     */
+    public Mat2x2 multiply(Mat2x3 m, Mat2x2 out) {
+        return out.set(
+                m00 * m.m00 + m01 * m.m10 + m02 * m.m20, m00 * m.m01 + m01 * m.m11 + m02 * m.m21,
+                m10 * m.m00 + m11 * m.m10 + m12 * m.m20, m10 * m.m01 + m11 * m.m11 + m12 * m.m21
+        );
+    }
+
+    /**
+     * Scales each component of this matrix by the given factor.
+     *
+     * @param f The factor to scale by
+     * @return This matrix
+     */
+    public Mat3x2 scale(float f) {
+        m00 *= f; m01 *= f; m02 *= f;
+        m10 *= f; m11 *= f; m12 *= f;
+        return this;
+    }
+
+    public Mat3x2 multiplied(Mat3x3 m) {
+        return clone().multiply(m);
+    }
+
+    public Mat2x2 multiplied(Mat2x3 m) {
+        return multiply(m, new Mat2x2());
+    }
+
+    public Mat3x2 scaled(float f) {
+        return clone().scale(f);
+    }
+
+    public Mat2x3 transposed() {
+        return transpose(new Mat2x3());
+    }
+
+    /**
+     * Stores the transposed of this matrix in the given matrix.
+     *
+     * @param out The matrix to store the result in
+     * @return The output matrix
+     */
+    public Mat2x3 transpose(Mat2x3 out) {
+        return out.set(m00, m10, m01, m11, m02, m12);
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Transforms the given vector by this matrix.
+     *
+     * @param v The vector to transform
+     * @return A new vector with the result
+     */
+    public Vec2 transform(Vec3 v) {
+        return transform(v, new Vec2());
+    }
+
+    /**
+     * Transforms the given vector by this matrix and stores the result in
+     * the output vector.
+     *
+     * @param v The vector to transform
+     * @param out The vector to store the result in
+     * @return The output vector
+     */
+    public Vec2 transform(Vec3 v, Vec2 out) {
+        float x = v.x, y = v.y, z = v.z;
+        out.x = m00 * x + m01 * y + m02 * z;
+        out.y = m10 * x + m11 * y + m12 * z;
+        return out;
+    }
+
+    /**
+     * Transforms the vectors stored in the input component arrays and
+     * writes the results into the output component arrays.
+     *
+     * @param x The x components of the input vectors
+     * @param y The y components of the input vectors
+     * @param z The z components of the input vectors
+     * @param ox The x components of the output vectors
+     * @param oy The y components of the output vectors
+     * @param off The index of the first vector to transform
+     * @param len The number of vectors to transform
+     */
+    public void transform(float[] x, float[] y, float[] z, float[] ox, float[] oy, int off, int len) {
+        float m00 = this.m00, m01 = this.m01, m02 = this.m02, m10 = this.m10, m11 = this.m11, m12 = this.m12;
+        for(int i=off, end=off+len; i<end; i++) {
+            float vx = x[i], vy = y[i], vz = z[i];
+            ox[i] = m00 * vx + m01 * vy + m02 * vz;
+            oy[i] = m10 * vx + m11 * vy + m12 * vz;
+        }
     }
 }
@@ -1,22 +1,393 @@
 package com.github.rccookie.geometry.performance;
 
-import com.github.rccookie.json.Json;
+import com.github.rccookie.json.JsonArray;
 import com.github.rccookie.json.JsonCtor;
 import com.github.rccookie.json.JsonSerializable;
+import com.github.rccookie.util.Cloneable;
 
-public class Mat3x3 extends Mat<Vec3, Vec3> implements JsonSerializable {
+/**
+ * A performance-oriented 3x3 matrix transforming {@link Vec3}s into
+ * {@link Vec3}s. The components are stored in individual fields,
+ * {@code mRC} being the component in row {@code R} and column {@code C}.
+ * <p>Like the vector classes this matrix is mutable. Methods named in
+ * present tense modify this matrix, methods in past tense return a
+ * modified copy, and the static methods write into an output parameter,
+ * which may be one of the inputs.
+ */
+public class Mat3x3 implements Cloneable<Mat3x3>, JsonSerializable {
 
-    public Mat3x3() {
-        super(Vec3.ZERO, Vec3.ZERO);
+    /**
+     * A constant describing the identity matrix. Do not modify!
+     */
+    public static final Mat3x3 IDENTITY = new Mat3x3(1, 0, 0, 0, 1, 0, 0, 0, 1);
+
+    // ------------------------------------------------------
+
+    public float m00, m01, m02;
+    public float m10, m11, m12;
+    public float m20, m21, m22;
+
+    // ------------------------------------------------------
+
+    /**
+     * Creates a new matrix with all components set to {@code 0}.
+     */
+    public Mat3x3() { }
+
+    /**
+     * Creates a new matrix with the given components, row by row.
+     */
+    public Mat3x3(float m00, float m01, float m02,
+                  float m10, float m11, float m12,
+                  float m20, float m21, float m22) {
+        this.m00 = m00; this.m01 = m01; this.m02 = m02;
+        this.m10 = m10; this.m11 = m11; this.m12 = m12;
+        this.m20 = m20; this.m21 = m21; this.m22 = m22;
     }
 
+    /**
+     * Creates a new matrix from the given rows.
+     *
+     * @param r The rows of the matrix
+     */
     @JsonCtor
     public Mat3x3(Vec3[] r) {
-        super(Vec3.ZERO, Vec3.ZERO, r);
+        m00 = r[0].x; m01 = r[0].y; m02 = r[0].z;
+        m10 = r[1].x; m11 = r[1].y; m12 = r[1].z;
+        m20 = r[2].x; m21 = r[2].y; m22 = r[2].z;
+    }
+
+    /**
+     * Creates a new matrix from the given generic matrix.
+     *
+     * @param m The matrix to copy
+     */
+    public Mat3x3(Mat<Vec3, Vec3> m) {
+        this(m.r);
+    }
+
+    /**
+     * Creates a new matrix copying the given one.
+     *
+     * @param copy The matrix to copy
+     */
+    public Mat3x3(Mat3x3 copy) {
+        set(copy);
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public Mat3x3 clone() {
+        return new Mat3x3(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof Mat3x3)) return false;
+        Mat3x3 m = (Mat3x3) o;
+        return m00 == m.m00 && m01 == m.m01 && m02 == m.m02 &&
+               m10 == m.m10 && m11 == m.m11 && m12 == m.m12 &&
+               m20 == m.m20 && m21 == m.m21 && m22 == m.m22;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = Float.hashCode(m00);
+        h = 31 * h + Float.hashCode(m01);
+        h = 31 * h + Float.hashCode(m02);
+        h = 31 * h + Float.hashCode(m10);
+        h = 31 * h + Float.hashCode(m11);
+        h = 31 * h + Float.hashCode(m12);
+        h = 31 * h + Float.hashCode(m20);
+        h = 31 * h + Float.hashCode(m21);
+        return 31 * h + Float.hashCode(m22);
+    }
+
+    @Override
+    public String toString() {
+        return "[["+m00+"|"+m01+"|"+m02+"], ["+m10+"|"+m11+"|"+m12+"], ["+m20+"|"+m21+"|"+m22+"]]";
     }
 
     @Override
     public Object toJson() {
-        return Json.extractJson(r);
+        return new JsonArray(new JsonArray(m00, m01, m02), new JsonArray(m10, m11, m12), new JsonArray(m20, m21, m22));
+    }
+
+    /**
+     * Returns a generic matrix with the same components.
+     *
+     * @return A generic matrix equal to this one
+     */
+    public Mat<Vec3, Vec3> toMat() {
+        return new Mat<>(Vec3.ZERO, Vec3.ZERO, new Vec3[] {
+                new Vec3(m00, m01, m02), new Vec3(m10, m11, m12), new Vec3(m20, m21, m22)
+        });
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Calculates the determinant of this matrix.
+     *
+     * @return The determinant
+     */
+    public float det() {
+        return m00 * (m11 * m22 - m12 * m21)
+             - m01 * (m10 * m22 - m12 * m20)
+             + m02 * (m10 * m21 - m11 * m20);
+    }
+
+    // ------------------------------------------------------
+
+    public Mat3x3 set(float m00, float m01, float m02,
+                      float m10, float m11, float m12,
+                      float m20, float m21, float m22) {
+        this.m00 = m00; this.m01 = m01; this.m02 = m02;
+        this.m10 = m10; this.m11 = m11; this.m12 = m12;
+        this.m20 = m20; this.m21 = m21; this.m22 = m22;
+        return this;
+    }
+
+    public Mat3x3 set(Mat3x3 m) {
+        m00 = m.m00; m01 = m.m01; m02 = m.m02;
+        m10 = m.m10; m11 = m.m11; m12 = m.m12;
+        m20 = m.m20; m21 = m.m21; m22 = m.m22;
+        return this;
+    }
+
+    public Mat3x3 setIdentity() {
+        return set(1, 0, 0, 0, 1, 0, 0, 0, 1);
+    }
+
+    public Mat3x3 setZero() {
+        return set(0, 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Sets this matrix to a scaling by the given factors.
+     *
+     * @param x The factor in x direction
+     * @param y The factor in y direction
+     * @param z The factor in z direction
+     * @return This matrix
+     */
+    public Mat3x3 setScale(float x, float y, float z) {
+        return set(x, 0, 0, 0, y, 0, 0, 0, z);
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Multiplies this matrix by the given one, so that this matrix becomes
+     * {@code this * m}. The resulting matrix applies {@code m} first.
+     *
+     * @param m The matrix to multiply by
+     * @return This matrix
+     */
+    public Mat3x3 multiply(Mat3x3 m) {
+        return multiply(this, m, this);
+    }
+
+    /**
+     * Scales each component of this matrix by the given factor.
+     *
+     * @param f The factor to scale by
+     * @return This matrix
+     */
+    public Mat3x3 scale(float f) {
+        m00 *= f; m01 *= f; m02 *= f;
+        m10 *= f; m11 *= f; m12 *= f;
+        m20 *= f; m21 *= f; m22 *= f;
+        return this;
+    }
+
+    public Mat3x3 transpose() {
+        float t = m01; m01 = m10; m10 = t;
+        t = m02; m02 = m20; m20 = t;
+        t = m12; m12 = m21; m21 = t;
+        return this;
+    }
+
+    /**
+     * Inverts this matrix.
+     *
+     * @return This matrix
+     * @throws ArithmeticException If the matrix is not invertible
+     */
+    public Mat3x3 invert() {
+        return invert(this, this);
+    }
+
+    public Mat3x3 multiplied(Mat3x3 m) {
+        return multiply(this, m, new Mat3x3());
+    }
+
+    public Mat3x3 scaled(float f) {
+        return clone().scale(f);
+    }
+
+    public Mat3x3 transposed() {
+        return new Mat3x3(m00, m10, m20, m01, m11, m21, m02, m12, m22);
+    }
+
+    public Mat3x3 inverted() {
+        return invert(this, new Mat3x3());
+    }
+
+    /**
+     * Returns the temporary product of this and the given matrix, obtained
+     * from the given scratch scope.
+     *
+     * @param m The matrix to multiply by
+     * @param s The scratch scope to use
+     * @return The product, valid until the scope is closed
+     */
+    public Mat3x3 multiplied(Mat3x3 m, Scratch s) {
+        return multiply(this, m, s.mat3x3());
+    }
+
+    /**
+     * Returns the temporary inverse of this matrix, obtained from the given
+     * scratch scope.
+     *
+     * @param s The scratch scope to use
+     * @return The inverse, valid until the scope is closed
+     * @throws ArithmeticException If the matrix is not invertible
+     */
+    public Mat3x3 inverted(Scratch s) {
+        return invert(this, s.mat3x3());
+    }
+
+    /**
+     * Transforms the given vector by this matrix into a temporary vector
+     * obtained from the given scratch scope.
+     *
+     * @param v The vector to transform
+     * @param s The scratch scope to use
+     * @return The transformed vector, valid until the scope is closed
+     */
+    public Vec3 transform(Vec3 v, Scratch s) {
+        return transform(v, s.vec3());
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Transforms the given vector by this matrix.
+     *
+     * @param v The vector to transform, will be modified
+     * @return The given vector
+     */
+    public Vec3 transform(Vec3 v) {
+        return transform(v, v);
+    }
+
+    /**
+     * Transforms the given vector by this matrix and stores the result in
+     * the output vector.
+     *
+     * @param v The vector to transform
+     * @param out The vector to store the result in, may be {@code v}
+     * @return The output vector
+     */
+    public Vec3 transform(Vec3 v, Vec3 out) {
+        float x = v.x, y = v.y, z = v.z;
+        out.x = m00 * x + m01 * y + m02 * z;
+        out.y = m10 * x + m11 * y + m12 * z;
+        out.z = m20 * x + m21 * y + m22 * z;
+        return out;
+    }
+
+    /**
+     * Transforms all given vectors in place.
+     *
+     * @param vs The vectors to transform
+     */
+    public void transform(Vec3[] vs) {
+        float m00 = this.m00, m01 = this.m01, m02 = this.m02;
+        float m10 = this.m10, m11 = this.m11, m12 = this.m12;
+        float m20 = this.m20, m21 = this.m21, m22 = this.m22;
+        for(Vec3 v : vs) {
+            float x = v.x, y = v.y, z = v.z;
+            v.x = m00 * x + m01 * y + m02 * z;
+            v.y = m10 * x + m11 * y + m12 * z;
+            v.z = m20 * x + m21 * y + m22 * z;
+        }
+    }
+
+    /**
+     * Transforms the vectors stored in the given component arrays in
+     * place.
+     *
+     * @param x The x components of the vectors
+     * @param y The y components of the vectors
+     * @param z The z components of the vectors
+     * @param off The index of the first vector to transform
+     * @param len The number of vectors to transform
+     */
+    public void transform(float[] x, float[] y, float[] z, int off, int len) {
+        float m00 = this.m00, m01 = this.m01, m02 = this.m02;
+        float m10 = this.m10, m11 = this.m11, m12 = this.m12;
+        float m20 = this.m20, m21 = this.m21, m22 = this.m22;
+        for(int i=off, end=off+len; i<end; i++) {
+            float vx = x[i], vy = y[i], vz = z[i];
+            x[i] = m00 * vx + m01 * vy + m02 * vz;
+            y[i] = m10 * vx + m11 * vy + m12 * vz;
+            z[i] = m20 * vx + m21 * vy + m22 * vz;
+        }
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Calculates {@code a * b} and stores the result in {@code out}.
+     *
+     * @param a The left matrix
+     * @param b The right matrix
+     * @param out The matrix to store the result in, may be {@code a} or {@code b}
+     * @return The output matrix
+     */
+    public static Mat3x3 multiply(Mat3x3 a, Mat3x3 b, Mat3x3 out) {
+        return out.set(
+                a.m00 * b.m00 + a.m01 * b.m10 + a.m02 * b.m20,
+                a.m00 * b.m01 + a.m01 * b.m11 + a.m02 * b.m21,
+                a.m00 * b.m02 + a.m01 * b.m12 + a.m02 * b.m22,
+                a.m10 * b.m00 + a.m11 * b.m10 + a.m12 * b.m20,
+                a.m10 * b.m01 + a.m11 * b.m11 + a.m12 * b.m21,
+                a.m10 * b.m02 + a.m11 * b.m12 + a.m12 * b.m22,
+                a.m20 * b.m00 + a.m21 * b.m10 + a.m22 * b.m20,
+                a.m20 * b.m01 + a.m21 * b.m11 + a.m22 * b.m21,
+                a.m20 * b.m02 + a.m21 * b.m12 + a.m22 * b.m22
+        );
+    }
+
+    /**
+     * Calculates the inverse of {@code m} and stores it in {@code out}.
+     *
+     * @param m The matrix to invert
+     * @param out The matrix to store the result in, may be {@code m}
+     * @return The output matrix
+     * @throws ArithmeticException If the matrix is not invertible
+     */
+    public static Mat3x3 invert(Mat3x3 m, Mat3x3 out) {
+        float c00 = m.m11 * m.m22 - m.m12 * m.m21;
+        float c01 = m.m12 * m.m20 - m.m10 * m.m22;
+        float c02 = m.m10 * m.m21 - m.m11 * m.m20;
+        float det = m.m00 * c00 + m.m01 * c01 + m.m02 * c02;
+        if(det == 0) throw new ArithmeticException("Matrix is not invertible");
+        float iDet = 1 / det;
+        return out.set(
+                c00 * iDet,
+                (m.m02 * m.m21 - m.m01 * m.m22) * iDet,
+                (m.m01 * m.m12 - m.m02 * m.m11) * iDet,
+                c01 * iDet,
+                (m.m00 * m.m22 - m.m02 * m.m20) * iDet,
+                (m.m02 * m.m10 - m.m00 * m.m12) * iDet,
+                c02 * iDet,
+                (m.m01 * m.m20 - m.m00 * m.m21) * iDet,
+                (m.m00 * m.m11 - m.m01 * m.m10) * iDet
+        );
     }
 }
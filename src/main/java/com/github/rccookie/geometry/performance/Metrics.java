@@ -0,0 +1,72 @@
+package com.github.rccookie.geometry.performance;
+
+/**
+ * Counters describing the collision queries executed by the performance
+ * engine since the start of the application or the last {@link #reset()}.
+ * <p>Instrumentation is disabled by default and costs nothing then. It is
+ * enabled by starting the application with {@code -Dgeometry.metrics=true},
+ * in which case the counters are updated and JDK Flight Recorder events
+ * are emitted for raycasts, batch queries, index builds and refits. The
+ * events can be enabled and configured like any other JFR event, in the
+ * category {@code Geometry}.
+ */
+public interface Metrics {
+
+    /**
+     * Returns the number of ray queries, each of which may test multiple
+     * colliders.
+     *
+     * @return The number of queries
+     */
+    long queries();
+
+    /**
+     * Returns the number of individual ray-collider tests.
+     *
+     * @return The number of collider tests
+     */
+    long colliderTests();
+
+    /**
+     * Returns the number of queries that hit a collider.
+     *
+     * @return The number of hits
+     */
+    long hits();
+
+    /**
+     * Returns the number of collision objects that did not have to be
+     * created, because the query was answered by an allocation-free path
+     * like {@link ColliderSet2#closest(float, float, float, float, float)}
+     * or {@link Grid2#rayIndex(float, float, float, float, float)}.
+     *
+     * @return The number of avoided allocations
+     */
+    long allocationsAvoided();
+
+    /**
+     * Resets all counters to {@code 0}.
+     */
+    void reset();
+
+
+
+    /**
+     * Returns whether instrumentation is enabled.
+     *
+     * @return Whether instrumentation is enabled
+     */
+    static boolean isEnabled() {
+        return Instrumentation.ENABLED;
+    }
+
+    /**
+     * Returns the counters of the performance engine. The returned metrics
+     * are updated live and stay at {@code 0} if instrumentation is disabled.
+     *
+     * @return The global metrics
+     */
+    static Metrics get() {
+        return Instrumentation.METRICS;
+    }
+}
@@ -0,0 +1,308 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.Arrays;
+
+/**
+ * A closed, simple polygon used as collider. The vertices are copied when
+ * the polygon is created and stored in counter-clockwise order, reversing
+ * them if they were given clockwise, so the polygon cannot be modified
+ * afterwards.
+ * <p>Like {@link Circle}, a polygon is solid: rays hit its edges only from
+ * outside, or only from inside if it is {@link #i inside out}. Positions
+ * along the outline are given as fraction of the perimeter, starting at
+ * the first vertex.
+ */
+public class Polygon2 implements Collider2 {
+
+    /**
+     * Whether the polygon is inside out, in which case rays hit its edges
+     * from inside, and normals point inwards.
+     */
+    public boolean i;
+
+    private final float[] x, y;
+    /**
+     * Cumulative perimeter length at each vertex, one more than there are
+     * vertices.
+     */
+    private final float[] s;
+    private final float minX, minY, maxX, maxY;
+
+    /**
+     * Creates a new polygon from the given vertex coordinates.
+     *
+     * @param x The x coordinates of the vertices
+     * @param y The y coordinates of the vertices
+     * @param off The index of the first vertex
+     * @param len The number of vertices, at least 3
+     * @param i Whether the polygon should be inside out
+     */
+    public Polygon2(float[] x, float[] y, int off, int len, boolean i) {
+        if(len < 3) throw new IllegalArgumentException("A polygon needs at least 3 vertices");
+        this.x = Arrays.copyOfRange(x, off, off + len);
+        this.y = Arrays.copyOfRange(y, off, off + len);
+        this.i = i;
+
+        if(signedArea(this.x, this.y, 0, len) < 0) {
+            for(int a=0, b=len-1; a<b; a++, b--) {
+                float t = this.x[a]; this.x[a] = this.x[b]; this.x[b] = t;
+                t = this.y[a]; this.y[a] = this.y[b]; this.y[b] = t;
+            }
+        }
+
+        s = new float[len + 1];
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for(int j=0; j<len; j++) {
+            int k = j + 1 == len ? 0 : j + 1;
+            float dx = this.x[k] - this.x[j], dy = this.y[k] - this.y[j];
+            s[j+1] = s[j] + (float) Math.sqrt(dx * dx + dy * dy);
+            minX = Math.min(minX, this.x[j]);
+            minY = Math.min(minY, this.y[j]);
+            maxX = Math.max(maxX, this.x[j]);
+            maxY = Math.max(maxY, this.y[j]);
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    /**
+     * Creates a new polygon from the given vertex coordinates.
+     *
+     * @param x The x coordinates of the vertices
+     * @param y The y coordinates of the vertices
+     */
+    public Polygon2(float[] x, float[] y) {
+        this(x, y, 0, x.length, false);
+    }
+
+    /**
+     * Creates a new polygon from the given vertices.
+     *
+     * @param vertices The vertices of the polygon
+     */
+    public Polygon2(Vec2... vertices) {
+        this(xs(vertices), ys(vertices));
+    }
+
+    private static float[] xs(Vec2[] vs) {
+        float[] x = new float[vs.length];
+        for(int i=0; i<vs.length; i++) x[i] = vs[i].x;
+        return x;
+    }
+
+    private static float[] ys(Vec2[] vs) {
+        float[] y = new float[vs.length];
+        for(int i=0; i<vs.length; i++) y[i] = vs[i].y;
+        return y;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof Polygon2)) return false;
+        Polygon2 p = (Polygon2) o;
+        return i == p.i && Arrays.equals(x, p.x) && Arrays.equals(y, p.y);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(x) + Arrays.hashCode(y)) + Boolean.hashCode(i);
+    }
+
+    @Override
+    public String toString() {
+        return "Polygon2{" + x.length + " vertices}";
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Returns the number of vertices.
+     *
+     * @return The number of vertices
+     */
+    public int size() {
+        return x.length;
+    }
+
+    public float x(int index) {
+        return x[index];
+    }
+
+    public float y(int index) {
+        return y[index];
+    }
+
+    public Vec2 vertex(int index) {
+        return new Vec2(x[index], y[index]);
+    }
+
+    /**
+     * Copies the vertex coordinates into the given arrays, in counter-clockwise
+     * order.
+     *
+     * @param x The array to write the x coordinates to
+     * @param y The array to write the y coordinates to
+     * @param off The index to write the first vertex to
+     */
+    public void vertices(float[] x, float[] y, int off) {
+        System.arraycopy(this.x, 0, x, off, this.x.length);
+        System.arraycopy(this.y, 0, y, off, this.y.length);
+    }
+
+    /**
+     * Returns the area enclosed by the polygon.
+     *
+     * @return The area of the polygon
+     */
+    public float area() {
+        return signedArea(x, y, 0, x.length);
+    }
+
+    @Override
+    public float length() {
+        return s[x.length];
+    }
+
+    @Override
+    public float sqrLength() {
+        float l = s[x.length];
+        return l * l;
+    }
+
+    @Override
+    public Vec2 get(float i) {
+        int e = edge(i);
+        float t = edgeT(e, i);
+        int k = e + 1 == x.length ? 0 : e + 1;
+        return new Vec2(x[e] + t * (x[k] - x[e]), y[e] + t * (y[k] - y[e]));
+    }
+
+    @Override
+    public Vec2 getNormal(float i) {
+        int e = edge(i), k = e + 1 == x.length ? 0 : e + 1;
+        float dx = x[k] - x[e], dy = y[k] - y[e];
+        float l = (float) Math.sqrt(dx * dx + dy * dy);
+        if(l == 0) return new Vec2();
+        return this.i ? new Vec2(-dy / l, dx / l) : new Vec2(dy / l, -dx / l);
+    }
+
+    /**
+     * Binary searches the edge containing the given fraction of the
+     * perimeter.
+     */
+    private int edge(float i) {
+        float target = i * s[x.length];
+        int lo = 0, hi = x.length - 1;
+        while(lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if(s[mid] <= target) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    private float edgeT(int e, float i) {
+        float l = s[e+1] - s[e];
+        if(l == 0) return 0;
+        float t = (i * s[x.length] - s[e]) / l;
+        return t < 0 ? 0 : t > 1 ? 1 : t;
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    @Override
+    public Coll2 coll(Ray<Vec2> r, float maxSqrL) {
+        float ox = r.o.x, oy = r.o.y, dx = r.d.x, dy = r.d.y;
+
+        // Slab test against the bounds, only useful from outside
+        if(!i) {
+            float idx = 1 / dx, idy = 1 / dy;
+            float tx1 = (minX - ox) * idx, tx2 = (maxX - ox) * idx;
+            float ty1 = (minY - oy) * idy, ty2 = (maxY - oy) * idy;
+            // 0 * inf for a ray on the edge of a slab, which then does not bound it
+            if(tx1 != tx1 || tx2 != tx2) {
+                tx1 = Float.NEGATIVE_INFINITY;
+                tx2 = Float.POSITIVE_INFINITY;
+            }
+            if(ty1 != ty1 || ty2 != ty2) {
+                ty1 = Float.NEGATIVE_INFINITY;
+                ty2 = Float.POSITIVE_INFINITY;
+            }
+            float tMax = Math.min(Math.max(tx1, tx2), Math.max(ty1, ty2));
+            if(Math.max(Math.min(tx1, tx2), Math.min(ty1, ty2)) > tMax || tMax < 0) return null;
+        }
+
+        float bestR = Float.POSITIVE_INFINITY, bestL = 0;
+        int bestE = -1;
+        for(int e=0, n=x.length; e<n; e++) {
+            int k = e + 1 == n ? 0 : e + 1;
+            float ax = x[e], ay = y[e];
+            float abx = x[k] - ax, aby = y[k] - ay;
+
+            // Negative if the ray enters through the edge from outside, which is on the right
+            float d = dx * aby - dy * abx;
+            if(i ? d <= 0 : d >= 0) continue;
+            float iD = 1 / d;
+
+            float lHit = (dx * oy - dy * ox + dy * ax - dx * ay) * iD;
+            if(lHit < 0 || lHit > 1) continue;
+
+            float rHit = (abx * ay - aby * ax + aby * ox - abx * oy) * (-iD);
+            if(rHit < 0 || rHit >= bestR) continue;
+            bestR = rHit;
+            bestL = lHit;
+            bestE = e;
+        }
+        if(bestE == -1) return null;
+
+        float hx = bestR * dx, hy = bestR * dy;
+        float sqrL = hx * hx + hy * hy;
+        if(sqrL > maxSqrL) return null;
+        return new Coll2(bestR, (s[bestE] + bestL * (s[bestE+1] - s[bestE])) / s[x.length], sqrL);
+    }
+
+    @Override
+    public boolean contains(Vec2 p) {
+        return contains(p.x, p.y);
+    }
+
+    /**
+     * Returns whether the given point is inside the polygon, using the
+     * crossing number. Points outside are contained if the polygon is
+     * inside out.
+     *
+     * @return Whether the point is contained
+     */
+    public boolean contains(float px, float py) {
+        boolean in = false;
+        if(px >= minX && px <= maxX && py >= minY && py <= maxY) {
+            for(int a=0, b=x.length-1; a<x.length; b=a++) {
+                if((y[a] > py) != (y[b] > py) && px < (x[b] - x[a]) * (py - y[a]) / (y[b] - y[a]) + x[a])
+                    in = !in;
+            }
+        }
+        return in ^ i;
+    }
+
+
+
+    /**
+     * Calculates the signed area of the given polygon, which is positive if
+     * its vertices are in counter-clockwise order.
+     *
+     * @param x The x coordinates of the vertices
+     * @param y The y coordinates of the vertices
+     * @param off The index of the first vertex
+     * @param len The number of vertices
+     * @return The signed area
+     */
+    public static float signedArea(float[] x, float[] y, int off, int len) {
+        double a = 0;
+        for(int i=off, j=off+len-1; i<off+len; j=i++)
+            a += (double) x[j] * y[i] - (double) x[i] * y[j];
+        return (float) (a * 0.5);
+    }
+}
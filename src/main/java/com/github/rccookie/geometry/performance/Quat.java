@@ -0,0 +1,474 @@
+package com.github.rccookie.geometry.performance;
+
+import com.github.rccookie.json.JsonArray;
+import com.github.rccookie.json.JsonCtor;
+import com.github.rccookie.json.JsonSerializable;
+import com.github.rccookie.json.Type;
+import com.github.rccookie.util.Cloneable;
+
+/**
+ * A performance-oriented quaternion describing a rotation in 3D space.
+ * Unlike euler angles, quaternions can be composed by multiplication and
+ * do not suffer from gimbal lock. Rotating a vector requires no
+ * trigonometric functions.
+ * <p>Most methods assume the quaternion to be normalized, which is the
+ * case for all quaternions created from angles or matrices. Errors from
+ * repeated multiplication can be removed using {@link #norm()}.
+ * <p>Euler angles are given in degrees in the order z, y, x, meaning the
+ * rotation first rotates around the x-axis, then around the y-axis and
+ * finally around the z-axis, equal to the order used by
+ * {@link com.github.rccookie.geometry.Rotation}.
+ */
+public class Quat implements Cloneable<Quat>, JsonSerializable {
+
+    /**
+     * A constant describing the identity rotation. Do not modify!
+     */
+    public static final Quat IDENTITY = new Quat();
+
+    // ------------------------------------------------------
+
+    public float x, y, z, w;
+
+    // ------------------------------------------------------
+
+    /**
+     * Creates a new identity quaternion.
+     */
+    public Quat() {
+        w = 1;
+    }
+
+    /**
+     * Creates a new quaternion with the given components.
+     *
+     * @param x The x component of the vector part
+     * @param y The y component of the vector part
+     * @param z The z component of the vector part
+     * @param w The scalar part
+     */
+    @JsonCtor(type = Type.ARRAY)
+    public Quat(float x, float y, float z, float w) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+    }
+
+    /**
+     * Creates a new quaternion copying the given one.
+     *
+     * @param copy The quaternion to copy
+     */
+    public Quat(Quat copy) {
+        set(copy);
+    }
+
+    // ------------------------------------------------------
+
+    @Override
+    public Quat clone() {
+        return new Quat(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof Quat)) return false;
+        Quat q = (Quat) o;
+        return x == q.x && y == q.y && z == q.z && w == q.w;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * Float.hashCode(x) + Float.hashCode(y)) + Float.hashCode(z)) + Float.hashCode(w);
+    }
+
+    @Override
+    public String toString() {
+        return "["+x+"|"+y+"|"+z+"|"+w+"]";
+    }
+
+    @Override
+    public Object toJson() {
+        return new JsonArray(x, y, z, w);
+    }
+
+    // ------------------------------------------------------
+
+    public float abs() {
+        return (float) Math.sqrt(x * x + y * y + z * z + w * w);
+    }
+
+    public float sqrAbs() {
+        return x * x + y * y + z * z + w * w;
+    }
+
+    public float dot(Quat q) {
+        return x * q.x + y * q.y + z * q.z + w * q.w;
+    }
+
+    /**
+     * Calculates the euler angles of this rotation and stores them in the
+     * given vector, the rotation around the x-axis in {@code out.x} and so
+     * on.
+     *
+     * @param out The vector to store the angles in, in degrees
+     * @return The output vector
+     */
+    public Vec3 getEuler(Vec3 out) {
+        float sinY = 2 * (w * y - z * x);
+        out.x = (float) Math.toDegrees(Math.atan2(2 * (w * x + y * z), 1 - 2 * (x * x + y * y)));
+        out.y = (float) Math.toDegrees(Math.asin(sinY < -1 ? -1 : sinY > 1 ? 1 : sinY));
+        out.z = (float) Math.toDegrees(Math.atan2(2 * (w * z + x * y), 1 - 2 * (y * y + z * z)));
+        return out;
+    }
+
+    /**
+     * Stores the rotation matrix equivalent to this rotation in the given
+     * matrix.
+     *
+     * @param out The matrix to store the rotation in
+     * @return The output matrix
+     */
+    public Mat3x3 toMat(Mat3x3 out) {
+        float xx = x * x, yy = y * y, zz = z * z;
+        float xy = x * y, xz = x * z, yz = y * z;
+        float wx = w * x, wy = w * y, wz = w * z;
+        return out.set(
+                1 - 2 * (yy + zz), 2 * (xy - wz), 2 * (xz + wy),
+                2 * (xy + wz), 1 - 2 * (xx + zz), 2 * (yz - wx),
+                2 * (xz - wy), 2 * (yz + wx), 1 - 2 * (xx + yy)
+        );
+    }
+
+    public Mat3x3 toMat() {
+        return toMat(new Mat3x3());
+    }
+
+    // ------------------------------------------------------
+
+    public Quat set(float x, float y, float z, float w) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+        return this;
+    }
+
+    public Quat set(Quat q) {
+        return set(q.x, q.y, q.z, q.w);
+    }
+
+    public Quat setIdentity() {
+        return set(0, 0, 0, 1);
+    }
+
+    /**
+     * Sets this quaternion to a rotation around the given axis.
+     *
+     * @param axis The axis to rotate around, does not need to be normalized
+     * @param a The angle to rotate by, in degrees
+     * @return This quaternion
+     */
+    public Quat setAxisAngle(Vec3 axis, float a) {
+        double half = Math.toRadians(a) * 0.5;
+        float f = (float) (Math.sin(half) / Math.sqrt(axis.x * axis.x + axis.y * axis.y + axis.z * axis.z));
+        return set(axis.x * f, axis.y * f, axis.z * f, (float) Math.cos(half));
+    }
+
+    /**
+     * Sets this quaternion to the rotation described by the given euler
+     * angles.
+     *
+     * @param z The rotation around the z-axis, in degrees, applied last
+     * @param y The rotation around the y-axis, in degrees
+     * @param x The rotation around the x-axis, in degrees, applied first
+     * @return This quaternion
+     */
+    public Quat setEuler(float z, float y, float x) {
+        double hz = Math.toRadians(z) * 0.5, hy = Math.toRadians(y) * 0.5, hx = Math.toRadians(x) * 0.5;
+        double cz = Math.cos(hz), sz = Math.sin(hz);
+        double cy = Math.cos(hy), sy = Math.sin(hy);
+        double cx = Math.cos(hx), sx = Math.sin(hx);
+        return set(
+                (float) (sx * cy * cz - cx * sy * sz),
+                (float) (cx * sy * cz + sx * cy * sz),
+                (float) (cx * cy * sz - sx * sy * cz),
+                (float) (cx * cy * cz + sx * sy * sz)
+        );
+    }
+
+    /**
+     * Sets this quaternion to the rotation described by the given rotation
+     * matrix. The matrix must be orthonormal.
+     *
+     * @param m The rotation matrix
+     * @return This quaternion
+     */
+    public Quat set(Mat3x3 m) {
+        float trace = m.m00 + m.m11 + m.m22;
+        if(trace > 0) {
+            float s = 0.5f / (float) Math.sqrt(trace + 1);
+            return set((m.m21 - m.m12) * s, (m.m02 - m.m20) * s, (m.m10 - m.m01) * s, 0.25f / s);
+        }
+        if(m.m00 > m.m11 && m.m00 > m.m22) {
+            float s = 2 * (float) Math.sqrt(1 + m.m00 - m.m11 - m.m22), is = 1 / s;
+            return set(0.25f * s, (m.m01 + m.m10) * is, (m.m02 + m.m20) * is, (m.m21 - m.m12) * is);
+        }
+        if(m.m11 > m.m22) {
+            float s = 2 * (float) Math.sqrt(1 + m.m11 - m.m00 - m.m22), is = 1 / s;
+            return set((m.m01 + m.m10) * is, 0.25f * s, (m.m12 + m.m21) * is, (m.m02 - m.m20) * is);
+        }
+        float s = 2 * (float) Math.sqrt(1 + m.m22 - m.m00 - m.m11), is = 1 / s;
+        return set((m.m02 + m.m20) * is, (m.m12 + m.m21) * is, 0.25f * s, (m.m10 - m.m01) * is);
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Multiplies this quaternion by the given one, so that this quaternion
+     * becomes {@code this * q}. The resulting rotation applies {@code q}
+     * first.
+     *
+     * @param q The quaternion to multiply by
+     * @return This quaternion
+     */
+    public Quat multiply(Quat q) {
+        return multiply(this, q, this);
+    }
+
+    /**
+     * Multiplies the given quaternion by this one, so that this quaternion
+     * becomes {@code q * this}. The resulting rotation applies {@code q}
+     * last.
+     *
+     * @param q The quaternion to multiply with
+     * @return This quaternion
+     */
+    public Quat preMultiply(Quat q) {
+        return multiply(q, this, this);
+    }
+
+    /**
+     * Normalizes this quaternion to a length of {@code 1}.
+     *
+     * @return This quaternion
+     */
+    public Quat norm() {
+        float f = 1 / (float) Math.sqrt(x * x + y * y + z * z + w * w);
+        x *= f;
+        y *= f;
+        z *= f;
+        w *= f;
+        return this;
+    }
+
+    /**
+     * Conjugates this quaternion, which inverts the rotation of a normalized
+     * quaternion.
+     *
+     * @return This quaternion
+     */
+    public Quat conjugate() {
+        x = -x;
+        y = -y;
+        z = -z;
+        return this;
+    }
+
+    /**
+     * Inverts this quaternion. For normalized quaternions {@link #conjugate()}
+     * has the same effect and is faster.
+     *
+     * @return This quaternion
+     */
+    public Quat invert() {
+        float f = 1 / (x * x + y * y + z * z + w * w);
+        x *= -f;
+        y *= -f;
+        z *= -f;
+        w *= f;
+        return this;
+    }
+
+    public Quat multiplied(Quat q) {
+        return multiply(this, q, new Quat());
+    }
+
+    public Quat normed() {
+        return clone().norm();
+    }
+
+    public Quat conjugated() {
+        return new Quat(-x, -y, -z, w);
+    }
+
+    public Quat inverted() {
+        return clone().invert();
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Rotates the given vector by this rotation.
+     *
+     * @param v The vector to rotate, will be modified
+     * @return The given vector
+     */
+    public Vec3 rotate(Vec3 v) {
+        return rotate(v, v);
+    }
+
+    /**
+     * Rotates the given vector by this rotation and stores the result in
+     * the output vector.
+     *
+     * @param v The vector to rotate
+     * @param out The vector to store the result in, may be {@code v}
+     * @return The output vector
+     */
+    public Vec3 rotate(Vec3 v, Vec3 out) {
+        // v' = v + w*t + q x t, with t = 2 * (q x v)
+        float vx = v.x, vy = v.y, vz = v.z;
+        float tx = 2 * (y * vz - z * vy);
+        float ty = 2 * (z * vx - x * vz);
+        float tz = 2 * (x * vy - y * vx);
+        out.x = vx + w * tx + (y * tz - z * ty);
+        out.y = vy + w * ty + (z * tx - x * tz);
+        out.z = vz + w * tz + (x * ty - y * tx);
+        return out;
+    }
+
+    /**
+     * Rotates all given vectors in place.
+     *
+     * @param vs The vectors to rotate
+     */
+    public void rotate(Vec3[] vs) {
+        for(Vec3 v : vs) rotate(v, v);
+    }
+
+    /**
+     * Rotates the vectors stored in the given component arrays in place.
+     *
+     * @param x The x components of the vectors
+     * @param y The y components of the vectors
+     * @param z The z components of the vectors
+     * @param off The index of the first vector to rotate
+     * @param len The number of vectors to rotate
+     */
+    public void rotate(float[] x, float[] y, float[] z, int off, int len) {
+        rotate(x, y, z, x, y, z, off, len);
+    }
+
+    /**
+     * Rotates the vectors stored in the input component arrays and writes
+     * the results into the output component arrays, which may be the input
+     * arrays. For large batches this converts the quaternion into a matrix
+     * once, which needs fewer operations per vector.
+     *
+     * @param x The x components of the input vectors
+     * @param y The y components of the input vectors
+     * @param z The z components of the input vectors
+     * @param ox The x components of the output vectors
+     * @param oy The y components of the output vectors
+     * @param oz The z components of the output vectors
+     * @param off The index of the first vector to rotate
+     * @param len The number of vectors to rotate
+     */
+    public void rotate(float[] x, float[] y, float[] z, float[] ox, float[] oy, float[] oz, int off, int len) {
+        float qx = this.x, qy = this.y, qz = this.z, qw = this.w;
+        float xx = qx * qx, yy = qy * qy, zz = qz * qz;
+        float xy = qx * qy, xz = qx * qz, yz = qy * qz;
+        float wx = qw * qx, wy = qw * qy, wz = qw * qz;
+        float m00 = 1 - 2 * (yy + zz), m01 = 2 * (xy - wz), m02 = 2 * (xz + wy);
+        float m10 = 2 * (xy + wz), m11 = 1 - 2 * (xx + zz), m12 = 2 * (yz - wx);
+        float m20 = 2 * (xz - wy), m21 = 2 * (yz + wx), m22 = 1 - 2 * (xx + yy);
+        for(int i=off, end=off+len; i<end; i++) {
+            float vx = x[i], vy = y[i], vz = z[i];
+            ox[i] = m00 * vx + m01 * vy + m02 * vz;
+            oy[i] = m10 * vx + m11 * vy + m12 * vz;
+            oz[i] = m20 * vx + m21 * vy + m22 * vz;
+        }
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Calculates {@code a * b} and stores the result in {@code out}.
+     *
+     * @param a The left quaternion, applied last
+     * @param b The right quaternion, applied first
+     * @param out The quaternion to store the result in, may be {@code a} or {@code b}
+     * @return The output quaternion
+     */
+    public static Quat multiply(Quat a, Quat b, Quat out) {
+        return out.set(
+                a.w * b.x + a.x * b.w + a.y * b.z - a.z * b.y,
+                a.w * b.y - a.x * b.z + a.y * b.w + a.z * b.x,
+                a.w * b.z + a.x * b.y - a.y * b.x + a.z * b.w,
+                a.w * b.w - a.x * b.x - a.y * b.y - a.z * b.z
+        );
+    }
+
+    /**
+     * Linearly interpolates between the two rotations and normalizes the
+     * result. This is much cheaper than {@link #slerp(Quat, Quat, float, Quat)}
+     * but does not have a constant angular velocity. Always takes the
+     * shorter path.
+     *
+     * @param a The start rotation
+     * @param b The target rotation
+     * @param t The process of the interpolation, from {@code 0} to {@code 1}
+     * @param out The quaternion to store the result in, may be {@code a} or {@code b}
+     * @return The output quaternion
+     */
+    public static Quat nlerp(Quat a, Quat b, float t, Quat out) {
+        float ia = 1 - t, ib = a.dot(b) < 0 ? -t : t;
+        return out.set(
+                a.x * ia + b.x * ib,
+                a.y * ia + b.y * ib,
+                a.z * ia + b.z * ib,
+                a.w * ia + b.w * ib
+        ).norm();
+    }
+
+    /**
+     * Spherically interpolates between the two rotations, resulting in a
+     * constant angular velocity. Always takes the shorter path.
+     *
+     * @param a The start rotation
+     * @param b The target rotation
+     * @param t The process of the interpolation, from {@code 0} to {@code 1}
+     * @param out The quaternion to store the result in, may be {@code a} or {@code b}
+     * @return The output quaternion
+     */
+    public static Quat slerp(Quat a, Quat b, float t, Quat out) {
+        float cos = a.dot(b), sign = 1;
+        if(cos < 0) {
+            cos = -cos;
+            sign = -1;
+        }
+        // Nearly parallel, sin(angle) becomes numerically unstable
+        if(cos > 0.9995f) return nlerp(a, b, t, out);
+
+        double angle = Math.acos(cos), iSin = 1 / Math.sin(angle);
+        float ia = (float) (Math.sin((1 - t) * angle) * iSin);
+        float ib = (float) (Math.sin(t * angle) * iSin) * sign;
+        return out.set(
+                a.x * ia + b.x * ib,
+                a.y * ia + b.y * ib,
+                a.z * ia + b.z * ib,
+                a.w * ia + b.w * ib
+        );
+    }
+
+    public static Quat axisAngle(Vec3 axis, float a) {
+        return new Quat().setAxisAngle(axis, a);
+    }
+
+    public static Quat euler(float z, float y, float x) {
+        return new Quat().setEuler(z, y, x);
+    }
+}
@@ -47,20 +47,40 @@ public class Raycast<V extends Vec<V,?>> {
     }
 
 
+    /**
+     * Creates a raycast result from an already computed collision. Used by
+     * collider containers that run the intersection tests themselves.
+     *
+     * @param coll The closest collision, or {@code null} if nothing was hit
+     * @param r The ray that was cast
+     * @param e The collider that was hit, ignored if {@code coll} is {@code null}
+     * @param maxL The maximum length of the raycast
+     * @return A raycast describing the result
+     */
+    static <V extends Vec<V,?>> Raycast<V> of(Coll<V> coll, Ray<V> r, Collider<V> e, float maxL) {
+        return new Raycast<>(coll, r, e, coll == null ? maxL : null, maxL * maxL);
+    }
+
+
     public static <V extends Vec<V,?>> Raycast<V> calc(Ray<V> r, Iterable<Collider<V>> edges) {
         return calc(r, edges, Float.POSITIVE_INFINITY);
     }
 
     public static <V extends Vec<V,?>> Raycast<V> calc(Ray<V> r, Iterable<Collider<V>> edges, float maxL) {
+        Instrumentation.RaycastEvent event = Instrumentation.ENABLED ? Instrumentation.beginRaycast() : null;
         float maxSqrL = maxL * maxL;
         Iterator<Collider<V>> edgeIt = edges.iterator();
-        if(!edgeIt.hasNext())
+        if(!edgeIt.hasNext()) {
+            if(event != null) Instrumentation.endRaycast(event, "Raycast", 0, false, 0);
             return new Raycast<>(null, r, null, maxL, maxSqrL);
+        }
 
         Collider<V> e = edgeIt.next();
         Coll<V> coll = e.coll(r, maxSqrL);
+        int tests = 1;
 
         while(edgeIt.hasNext()) {
+            if(event != null) tests++;
             Collider<V> newE = edgeIt.next();
             Coll<V> newColl = newE.coll(r, maxSqrL);
             if(coll == null || (newColl != null && newColl.sqrL < coll.sqrL)) {
@@ -69,6 +89,7 @@ public class Raycast<V extends Vec<V,?>> {
             }
         }
 
+        if(event != null) Instrumentation.endRaycast(event, "Raycast", tests, coll != null, 0);
         return new Raycast<>(coll, r, e, coll == null ? maxL : null, maxSqrL);
     }
 
@@ -77,9 +98,12 @@ public class Raycast<V extends Vec<V,?>> {
     }
 
     public static <V extends Vec<V,?>> Raycast<V> calc(Ray<V> r, Collider<V>[] colliders, float maxL) {
+        Instrumentation.RaycastEvent event = Instrumentation.ENABLED ? Instrumentation.beginRaycast() : null;
         float maxSqrL = maxL * maxL;
-        if(colliders.length == 0)
+        if(colliders.length == 0) {
+            if(event != null) Instrumentation.endRaycast(event, "Raycast", 0, false, 0);
             return new Raycast<>(null, r, null, maxL, maxSqrL);
+        }
 
         Collider<V> e = colliders[0];
         Coll<V> coll = e.coll(r, maxSqrL);
@@ -93,6 +117,7 @@ public class Raycast<V extends Vec<V,?>> {
             }
         }
 
+        if(event != null) Instrumentation.endRaycast(event, "Raycast", colliders.length, coll != null, 0);
         return new Raycast<>(coll, r, e, coll == null ? maxL : null, maxSqrL);
     }
 }
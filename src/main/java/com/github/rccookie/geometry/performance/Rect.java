@@ -2,7 +2,6 @@ package com.github.rccookie.geometry.performance;
 
 import com.github.rccookie.json.JsonCtor;
 import com.github.rccookie.json.JsonObject;
-import com.github.rccookie.util.Console;
 
 public class Rect extends Box<Vec2> implements Collider2 {
 
@@ -69,7 +68,6 @@ public class Rect extends Box<Vec2> implements Collider2 {
         }
         if(i <= s1L + 0.5f) {
             i = (i - 0.5f) / s1L;
-            Console.map("i", i);
             return new Vec2(
                     (/*center*/c.x + /*corner offset*/(hsx * cos - hsy * sin)) + /*direction*/(s.y * sin) * i,
                     (/*center*/c.y + /*corner offset*/(hsy * cos + hsx * sin)) - /*direction*/(s.y * cos) * i
@@ -0,0 +1,112 @@
+package com.github.rccookie.geometry.performance;
+
+/**
+ * Plain loop implementation of the batch kernels, used when no vectorized
+ * implementation is available and for the remainders of vectorized loops.
+ */
+final class ScalarKernels implements BatchKernels {
+
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    private ScalarKernels() { }
+
+    @Override
+    public void transform2(Affine2 m, float[] x, float[] y, float[] ox, float[] oy, int off, int len) {
+        float m00 = m.m00, m01 = m.m01, m02 = m.m02;
+        float m10 = m.m10, m11 = m.m11, m12 = m.m12;
+        for(int i=off, end=off+len; i<end; i++) {
+            float px = x[i], py = y[i];
+            ox[i] = m00 * px + m01 * py + m02;
+            oy[i] = m10 * px + m11 * py + m12;
+        }
+    }
+
+    @Override
+    public void transform3(Mat3x3 m, float[] x, float[] y, float[] z, float[] ox, float[] oy, float[] oz, int off, int len) {
+        float m00 = m.m00, m01 = m.m01, m02 = m.m02;
+        float m10 = m.m10, m11 = m.m11, m12 = m.m12;
+        float m20 = m.m20, m21 = m.m21, m22 = m.m22;
+        for(int i=off, end=off+len; i<end; i++) {
+            float px = x[i], py = y[i], pz = z[i];
+            ox[i] = m00 * px + m01 * py + m02 * pz;
+            oy[i] = m10 * px + m11 * py + m12 * pz;
+            oz[i] = m20 * px + m21 * py + m22 * pz;
+        }
+    }
+
+    @Override
+    public void dot2(float[] ax, float[] ay, float[] bx, float[] by, float[] out, int off, int len) {
+        for(int i=off, end=off+len; i<end; i++)
+            out[i] = ax[i] * bx[i] + ay[i] * by[i];
+    }
+
+    @Override
+    public void dot3(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz, float[] out, int off, int len) {
+        for(int i=off, end=off+len; i<end; i++)
+            out[i] = ax[i] * bx[i] + ay[i] * by[i] + az[i] * bz[i];
+    }
+
+    @Override
+    public void length2(float[] x, float[] y, float[] out, int off, int len) {
+        for(int i=off, end=off+len; i<end; i++)
+            out[i] = (float) Math.sqrt(x[i] * x[i] + y[i] * y[i]);
+    }
+
+    @Override
+    public void length3(float[] x, float[] y, float[] z, float[] out, int off, int len) {
+        for(int i=off, end=off+len; i<end; i++)
+            out[i] = (float) Math.sqrt(x[i] * x[i] + y[i] * y[i] + z[i] * z[i]);
+    }
+
+    @Override
+    public void normalize2(float[] x, float[] y, int off, int len) {
+        for(int i=off, end=off+len; i<end; i++) {
+            float f = 1 / (float) Math.sqrt(x[i] * x[i] + y[i] * y[i]);
+            x[i] *= f;
+            y[i] *= f;
+        }
+    }
+
+    @Override
+    public void normalize3(float[] x, float[] y, float[] z, int off, int len) {
+        for(int i=off, end=off+len; i<end; i++) {
+            float f = 1 / (float) Math.sqrt(x[i] * x[i] + y[i] * y[i] + z[i] * z[i]);
+            x[i] *= f;
+            y[i] *= f;
+            z[i] *= f;
+        }
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    @Override
+    public void raySegments(float ox, float oy, float dx, float dy,
+                            float[] ax, float[] ay, float[] bx, float[] by, boolean ds,
+                            float[] out, int off, int len) {
+        for(int i=off, end=off+len; i<end; i++) {
+            float abx = bx[i] - ax[i], aby = by[i] - ay[i];
+            float aox = ox - ax[i], aoy = oy - ay[i];
+
+            float d = dx * aby - dy * abx;
+            float iD = 1 / d;
+            float lHit = (dx * aoy - dy * aox) * iD;
+            float rHit = (abx * aoy - aby * aox) * iD;
+
+            boolean hit = (ds ? d != 0 : d > 0) && lHit >= 0 && lHit <= 1 && rHit >= 0;
+            out[i] = hit ? rHit : Float.NaN;
+        }
+    }
+
+    @Override
+    public void rayCircles(float ox, float oy, float dx, float dy,
+                           float[] cx, float[] cy, float[] r, boolean i,
+                           float[] out, int off, int len) {
+        float a = 2 * (dx * dx + dy * dy), iA = 1 / a;
+        for(int j=off, end=off+len; j<end; j++) {
+            float cox = ox - cx[j], coy = oy - cy[j];
+            float b = 2 * (cox * dx + coy * dy);
+            float x = b * b - 2 * a * (cox * cox + coy * coy - r[j] * r[j]);
+            float rHit = (-b + (i ? 1 : -1) * (float) Math.sqrt(x)) * iA;
+            out[j] = x >= 0 && rHit >= 0 ? rHit : Float.NaN;
+        }
+    }
+}
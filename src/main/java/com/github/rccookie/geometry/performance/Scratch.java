@@ -0,0 +1,276 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.Arrays;
+
+/**
+ * A per-thread pool of temporary vectors and matrices. Instances handed out
+ * by a scope are returned to the pool when the scope is closed, so
+ * intermediate results of calculations do not create garbage once the pool
+ * has grown large enough.
+ * <pre>{@code
+ * try(Scratch s = Scratch.open()) {
+ *     Vec2 dir = b.subtracted(a, s).norm();
+ *     c.add(dir.rotated(90, s).scale(width));
+ * }
+ * }</pre>
+ * <p>Scopes can be nested; closing a scope returns everything obtained since
+ * it was opened. Objects obtained from a scope must not be used after it is
+ * closed, as they will be handed out again. Results that should outlive the
+ * scope have to be copied, or written into objects owned by the caller.
+ * <p>A scratch pool belongs to the thread that opened it and must not be
+ * passed to other threads.
+ */
+public final class Scratch implements AutoCloseable {
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+
+    private Vec2[] vec2s = new Vec2[16];
+    private Vec3[] vec3s = new Vec3[16];
+    private Mat2x2[] mat2x2s = new Mat2x2[4];
+    private Mat3x3[] mat3x3s = new Mat3x3[4];
+    private DVec2[] dvec2s = new DVec2[4];
+    private DVec3[] dvec3s = new DVec3[4];
+    private int vec2Count = 0, vec3Count = 0, mat2x2Count = 0, mat3x3Count = 0, dvec2Count = 0, dvec3Count = 0;
+
+    /**
+     * Counts at the start of each open scope, six per scope.
+     */
+    private int[] marks = new int[6 * 8];
+    private int depth = 0;
+
+    private Scratch() { }
+
+    /**
+     * Opens a new scope on the scratch pool of the current thread.
+     *
+     * @return The scratch pool of the current thread, to be closed at the
+     *         end of the scope
+     */
+    public static Scratch open() {
+        Scratch s = SCRATCH.get();
+        int m = s.depth++ * 6;
+        if(m == s.marks.length) s.marks = Arrays.copyOf(s.marks, m * 2);
+        s.marks[m] = s.vec2Count;
+        s.marks[m+1] = s.vec3Count;
+        s.marks[m+2] = s.mat2x2Count;
+        s.marks[m+3] = s.mat3x3Count;
+        s.marks[m+4] = s.dvec2Count;
+        s.marks[m+5] = s.dvec3Count;
+        return s;
+    }
+
+    /**
+     * Closes the innermost open scope, returning all objects obtained since
+     * it was opened.
+     *
+     * @throws IllegalStateException If no scope is open
+     */
+    @Override
+    public void close() {
+        if(depth == 0) throw new IllegalStateException("No open scratch scope");
+        int m = --depth * 6;
+        vec2Count = marks[m];
+        vec3Count = marks[m+1];
+        mat2x2Count = marks[m+2];
+        mat3x3Count = marks[m+3];
+        dvec2Count = marks[m+4];
+        dvec3Count = marks[m+5];
+    }
+
+    @Override
+    public String toString() {
+        return "Scratch{depth " + depth + ", " + vec2Count + '/' + vec2s.length + " vec2, "
+                + vec3Count + '/' + vec3s.length + " vec3, "
+                + mat2x2Count + '/' + mat2x2s.length + " mat2x2, "
+                + mat3x3Count + '/' + mat3x3s.length + " mat3x3, "
+                + dvec2Count + '/' + dvec2s.length + " dvec2, "
+                + dvec3Count + '/' + dvec3s.length + " dvec3}";
+    }
+
+    private void checkOpen() {
+        if(depth == 0) throw new IllegalStateException("No open scratch scope");
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Returns a temporary zero vector.
+     *
+     * @return A vector valid until the current scope is closed
+     */
+    public Vec2 vec2() {
+        checkOpen();
+        if(vec2Count == vec2s.length) vec2s = Arrays.copyOf(vec2s, vec2Count * 2);
+        Vec2 v = vec2s[vec2Count];
+        if(v == null) return vec2s[vec2Count++] = new Vec2();
+        vec2Count++;
+        return v.setZero();
+    }
+
+    /**
+     * Returns a temporary vector with the given values.
+     *
+     * @return A vector valid until the current scope is closed
+     */
+    public Vec2 vec2(float x, float y) {
+        return vec2().set(x, y);
+    }
+
+    /**
+     * Returns a temporary copy of the given vector.
+     *
+     * @param v The vector to copy
+     * @return A vector valid until the current scope is closed
+     */
+    public Vec2 vec2(Vec2 v) {
+        return vec2().set(v);
+    }
+
+    /**
+     * Returns a temporary zero vector.
+     *
+     * @return A vector valid until the current scope is closed
+     */
+    public Vec3 vec3() {
+        checkOpen();
+        if(vec3Count == vec3s.length) vec3s = Arrays.copyOf(vec3s, vec3Count * 2);
+        Vec3 v = vec3s[vec3Count];
+        if(v == null) return vec3s[vec3Count++] = new Vec3();
+        vec3Count++;
+        return v.setZero();
+    }
+
+    /**
+     * Returns a temporary vector with the given values.
+     *
+     * @return A vector valid until the current scope is closed
+     */
+    public Vec3 vec3(float x, float y, float z) {
+        return vec3().set(x, y, z);
+    }
+
+    /**
+     * Returns a temporary copy of the given vector.
+     *
+     * @param v The vector to copy
+     * @return A vector valid until the current scope is closed
+     */
+    public Vec3 vec3(Vec3 v) {
+        return vec3().set(v);
+    }
+
+    /**
+     * Returns a temporary zero matrix.
+     *
+     * @return A matrix valid until the current scope is closed
+     */
+    public Mat2x2 mat2x2() {
+        checkOpen();
+        if(mat2x2Count == mat2x2s.length) mat2x2s = Arrays.copyOf(mat2x2s, mat2x2Count * 2);
+        Mat2x2 m = mat2x2s[mat2x2Count];
+        if(m == null) return mat2x2s[mat2x2Count++] = new Mat2x2();
+        mat2x2Count++;
+        return m.setZero();
+    }
+
+    /**
+     * Returns a temporary copy of the given matrix.
+     *
+     * @param m The matrix to copy
+     * @return A matrix valid until the current scope is closed
+     */
+    public Mat2x2 mat2x2(Mat2x2 m) {
+        return mat2x2().set(m);
+    }
+
+    /**
+     * Returns a temporary zero matrix.
+     *
+     * @return A matrix valid until the current scope is closed
+     */
+    public Mat3x3 mat3x3() {
+        checkOpen();
+        if(mat3x3Count == mat3x3s.length) mat3x3s = Arrays.copyOf(mat3x3s, mat3x3Count * 2);
+        Mat3x3 m = mat3x3s[mat3x3Count];
+        if(m == null) return mat3x3s[mat3x3Count++] = new Mat3x3();
+        mat3x3Count++;
+        return m.setZero();
+    }
+
+    /**
+     * Returns a temporary copy of the given matrix.
+     *
+     * @param m The matrix to copy
+     * @return A matrix valid until the current scope is closed
+     */
+    public Mat3x3 mat3x3(Mat3x3 m) {
+        return mat3x3().set(m);
+    }
+
+    /**
+     * Returns a temporary zero vector.
+     *
+     * @return A vector valid until the current scope is closed
+     */
+    public DVec2 dvec2() {
+        checkOpen();
+        if(dvec2Count == dvec2s.length) dvec2s = Arrays.copyOf(dvec2s, dvec2Count * 2);
+        DVec2 v = dvec2s[dvec2Count];
+        if(v == null) return dvec2s[dvec2Count++] = new DVec2();
+        dvec2Count++;
+        return v.setZero();
+    }
+
+    /**
+     * Returns a temporary vector with the given values.
+     *
+     * @return A vector valid until the current scope is closed
+     */
+    public DVec2 dvec2(double x, double y) {
+        return dvec2().set(x, y);
+    }
+
+    /**
+     * Returns a temporary copy of the given vector.
+     *
+     * @param v The vector to copy
+     * @return A vector valid until the current scope is closed
+     */
+    public DVec2 dvec2(DVec2 v) {
+        return dvec2().set(v);
+    }
+
+    /**
+     * Returns a temporary zero vector.
+     *
+     * @return A vector valid until the current scope is closed
+     */
+    public DVec3 dvec3() {
+        checkOpen();
+        if(dvec3Count == dvec3s.length) dvec3s = Arrays.copyOf(dvec3s, dvec3Count * 2);
+        DVec3 v = dvec3s[dvec3Count];
+        if(v == null) return dvec3s[dvec3Count++] = new DVec3();
+        dvec3Count++;
+        return v.setZero();
+    }
+
+    /**
+     * Returns a temporary vector with the given values.
+     *
+     * @return A vector valid until the current scope is closed
+     */
+    public DVec3 dvec3(double x, double y, double z) {
+        return dvec3().set(x, y, z);
+    }
+
+    /**
+     * Returns a temporary copy of the given vector.
+     *
+     * @param v The vector to copy
+     * @return A vector valid until the current scope is closed
+     */
+    public DVec3 dvec3(DVec3 v) {
+        return dvec3().set(v);
+    }
+}
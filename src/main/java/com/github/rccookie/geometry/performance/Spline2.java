@@ -0,0 +1,446 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.Arrays;
+
+/**
+ * Base class for 2D curves that are defined by a parametric function and
+ * used as collider by flattening them into a polyline.
+ * <p>The curve gets flattened adaptively the first time it is used, such
+ * that no point of the polyline deviates more than {@link #tolerance}
+ * from the curve. Together with the polyline, a table of the cumulative
+ * arc length and a bounding box hierarchy over the segments are cached.
+ * Thus, {@link #get(float)} and {@link #getNormal(float)} are parameterized
+ * uniformly by arc length and run in {@code O(log n)}, and
+ * {@link #coll(Ray, float)} only tests the segments whose bounds are hit by
+ * the ray.
+ * <p>If the control points of the curve get modified, {@link #update()}
+ * has to be called to rebuild the cache. The cache is immutable and
+ * replaced as a whole, so curves can be queried from multiple threads.
+ */
+public abstract class Spline2 implements Collider2 {
+
+    /**
+     * The default maximum distance between the curve and its flattened
+     * polyline.
+     */
+    public static final float DEFAULT_TOLERANCE = 0.1f;
+
+    /**
+     * Maximum number of subdivisions of a single piece while flattening.
+     */
+    private static final int MAX_DEPTH = 16;
+
+    /**
+     * Number of subdivisions that are always made, so that symmetric
+     * s-curves don't get flattened to a single segment.
+     */
+    private static final int MIN_DEPTH = 2;
+
+    /**
+     * Maximum number of segments per leaf of the bounds hierarchy.
+     */
+    private static final int LEAF_SIZE = 4;
+
+
+    /**
+     * The maximum distance between the curve and its flattened polyline.
+     */
+    public final float tolerance;
+    /**
+     * Whether rays hit the curve from both sides. Otherwise, only rays
+     * coming from the side the normal points to hit it.
+     */
+    public boolean ds;
+
+    /**
+     * The cached flattened curve, built on first use.
+     */
+    private volatile Polyline polyline;
+
+    public Spline2(float tolerance, boolean ds) {
+        if(!(tolerance > 0)) throw new IllegalArgumentException("Tolerance must be positive");
+        this.tolerance = tolerance;
+        this.ds = ds;
+    }
+
+    /**
+     * Calculates the point of the curve at the given curve parameter. The
+     * curve parameter is not proportional to the arc length, use
+     * {@link #get(float)} for that.
+     *
+     * @param t The curve parameter, from {@code 0} to {@code 1}
+     * @param out The vector to store the result in
+     * @return The result vector
+     */
+    public abstract Vec2 point(float t, Vec2 out);
+
+    /**
+     * Returns the number of polynomial pieces the curve consists of. Each
+     * piece covers an equal part of the curve parameter and is flattened
+     * separately.
+     *
+     * @return The number of pieces
+     */
+    protected int pieces() {
+        return 1;
+    }
+
+    /**
+     * Rebuilds the cached polyline, arc length table and bounds. Has to be
+     * called after the control points of the curve were modified.
+     */
+    public void update() {
+        Instrumentation.IndexEvent event = Instrumentation.ENABLED ? Instrumentation.beginIndex() : null;
+        Polyline polyline = new Polyline(this);
+        this.polyline = polyline;
+        if(event != null) Instrumentation.endIndex(event, getClass().getSimpleName(), false, polyline.n, polyline.bounds.length / 4);
+    }
+
+    /**
+     * Returns the cached polyline, building it if this is the first use.
+     * Concurrent first uses may each build one, which are equal.
+     */
+    private Polyline polyline() {
+        Polyline polyline = this.polyline;
+        if(polyline == null) {
+            update();
+            polyline = this.polyline;
+        }
+        return polyline;
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Returns the number of segments the curve was flattened to.
+     *
+     * @return The number of segments
+     */
+    public int segments() {
+        return polyline().n;
+    }
+
+    /**
+     * Returns the flattened polyline as lines, for example to use it with
+     * code that only handles lines.
+     *
+     * @return The segments of the flattened curve
+     */
+    public Line2[] toLines() {
+        Polyline c = polyline();
+        float[] x = c.x, y = c.y;
+        int n = c.n;
+        Line2[] lines = new Line2[n];
+        for(int i=0; i<n; i++)
+            lines[i] = new Line2(new Vec2(x[i], y[i]), new Vec2(x[i+1], y[i+1]), ds);
+        return lines;
+    }
+
+    @Override
+    public float length() {
+        Polyline c = polyline();
+        return c.s[c.n];
+    }
+
+    @Override
+    public float sqrLength() {
+        float l = length();
+        return l * l;
+    }
+
+    /**
+     * Returns the point at the given fraction of the arc length.
+     *
+     * @param i The fraction of the arc length, from {@code 0} to {@code 1}
+     * @return The point on the flattened curve
+     */
+    @Override
+    public Vec2 get(float i) {
+        Polyline c = polyline();
+        float[] x = c.x, y = c.y;
+        if(c.n == 0) return new Vec2(x[0], y[0]);
+        int seg = c.segment(i);
+        float t = c.segmentT(seg, i);
+        return new Vec2(x[seg] + t * (x[seg+1] - x[seg]), y[seg] + t * (y[seg+1] - y[seg]));
+    }
+
+    /**
+     * Returns the unit normal at the given fraction of the arc length,
+     * which is the normal of the segment of the flattened curve at that
+     * point.
+     *
+     * @param i The fraction of the arc length, from {@code 0} to {@code 1}
+     * @return The normal
+     */
+    @Override
+    public Vec2 getNormal(float i) {
+        Polyline c = polyline();
+        float[] x = c.x, y = c.y;
+        if(c.n == 0) return new Vec2();
+        int seg = c.segment(i);
+        float dx = x[seg+1] - x[seg], dy = y[seg+1] - y[seg];
+        float l = (float) Math.sqrt(dx * dx + dy * dy);
+        return l == 0 ? new Vec2() : new Vec2(-dy / l, dx / l);
+    }
+
+    @Override
+    public Coll2 coll(Ray<Vec2> r, float maxSqrL) {
+        Polyline c = polyline();
+        int n = c.n;
+        if(n == 0) return null;
+        float[] x = c.x, y = c.y, s = c.s, bounds = c.bounds;
+        int[] ranges = c.ranges;
+
+        float ox = r.o.x, oy = r.o.y, dx = r.d.x, dy = r.d.y;
+        float sqrD = dx * dx + dy * dy;
+        if(sqrD == 0) return null;
+        float maxR = Float.isInfinite(maxSqrL) ? Float.POSITIVE_INFINITY : (float) Math.sqrt(maxSqrL / sqrD);
+        float idx = 1 / dx, idy = 1 / dy;
+
+        float bestR = Float.POSITIVE_INFINITY, bestL = 0;
+
+        int node = 0;
+        do {
+            int b = node * 4, start = ranges[node * 2], end = ranges[node * 2 + 1];
+
+            // Slab test
+            float tx1 = (bounds[b] - ox) * idx, tx2 = (bounds[b+2] - ox) * idx;
+            float ty1 = (bounds[b+1] - oy) * idy, ty2 = (bounds[b+3] - oy) * idy;
+            // 0 * inf for a ray on the edge of a slab, which then does not bound it
+            if(tx1 != tx1 || tx2 != tx2) {
+                tx1 = Float.NEGATIVE_INFINITY;
+                tx2 = Float.POSITIVE_INFINITY;
+            }
+            if(ty1 != ty1 || ty2 != ty2) {
+                ty1 = Float.NEGATIVE_INFINITY;
+                ty2 = Float.POSITIVE_INFINITY;
+            }
+            float tMin = Math.max(Math.min(tx1, tx2), Math.min(ty1, ty2));
+            float tMax = Math.min(Math.max(tx1, tx2), Math.max(ty1, ty2));
+            if(tMax < 0 || tMin > tMax || tMin > bestR || tMin > maxR) {
+                node = skip(node);
+                continue;
+            }
+
+            if(end - start > LEAF_SIZE) {
+                node = node * 2 + 1;
+                continue;
+            }
+
+            for(int i=start; i<end; i++) {
+                float ax = x[i], ay = y[i];
+                float abx = x[i+1] - ax, aby = y[i+1] - ay;
+
+                float d = dx * aby - dy * abx;
+                if((!ds && d <= 0) ^ d == 0) continue;
+                float iD = 1 / d;
+
+                float lHit = (dx * oy - dy * ox + dy * ax - dx * ay) * iD;
+                if(lHit < 0 || lHit > 1) continue;
+
+                float rHit = (abx * ay - aby * ax + aby * ox - abx * oy) * (-iD);
+                if(rHit < 0 || rHit >= bestR) continue;
+
+                bestR = rHit;
+                bestL = (s[i] + lHit * (s[i+1] - s[i])) / s[n];
+            }
+            node = skip(node);
+        } while(node != 0);
+
+        if(bestR == Float.POSITIVE_INFINITY) return null;
+        float sqrL = bestR * bestR * sqrD;
+        return sqrL > maxSqrL ? null : new Coll2(bestR, bestL, sqrL);
+    }
+
+    /**
+     * Returns the node following the subtree of the given node in depth
+     * first order, or {@code 0} if there is none.
+     */
+    private static int skip(int node) {
+        // Leave right children upwards, then continue with the right sibling
+        while(node != 0 && (node & 1) == 0) node = (node - 1) >> 1;
+        return node == 0 ? 0 : node + 1;
+    }
+
+    /**
+     * Returns whether the given point lies on the flattened curve, allowing
+     * a deviation of {@link #tolerance}.
+     *
+     * @param p The point to test
+     * @return Whether the point lies on the curve
+     */
+    @Override
+    public boolean contains(Vec2 p) {
+        Polyline c = polyline();
+        float[] x = c.x, y = c.y, bounds = c.bounds;
+        int[] ranges = c.ranges;
+        float sqrTolerance = tolerance * tolerance;
+        if(c.n == 0) {
+            float dx = p.x - x[0], dy = p.y - y[0];
+            return dx * dx + dy * dy <= sqrTolerance;
+        }
+        int node = 0;
+        do {
+            int b = node * 4, start = ranges[node * 2], end = ranges[node * 2 + 1];
+            if(p.x < bounds[b] - tolerance || p.y < bounds[b+1] - tolerance
+                    || p.x > bounds[b+2] + tolerance || p.y > bounds[b+3] + tolerance) {
+                node = skip(node);
+                continue;
+            }
+            if(end - start > LEAF_SIZE) {
+                node = node * 2 + 1;
+                continue;
+            }
+            for(int i=start; i<end; i++) {
+                float abx = x[i+1] - x[i], aby = y[i+1] - y[i];
+                float apx = p.x - x[i], apy = p.y - y[i];
+                float sqrAB = abx * abx + aby * aby;
+                float t = sqrAB == 0 ? 0 : Math.max(0, Math.min(1, (apx * abx + apy * aby) / sqrAB));
+                float dx = apx - t * abx, dy = apy - t * aby;
+                if(dx * dx + dy * dy <= sqrTolerance) return true;
+            }
+            node = skip(node);
+        } while(node != 0);
+        return false;
+    }
+
+
+
+    /**
+     * The flattened curve with its arc length table and bounds hierarchy.
+     * Not modified once constructed, so it can be shared between threads.
+     */
+    private static final class Polyline {
+
+        /**
+         * Points of the flattened polyline.
+         */
+        float[] x, y;
+        /**
+         * Cumulative arc length at each point of the polyline.
+         */
+        float[] s;
+        /**
+         * Number of segments of the polyline.
+         */
+        int n;
+        /**
+         * Bounds hierarchy in heap layout, 4 floats per node.
+         */
+        float[] bounds;
+        /**
+         * First and last (exclusive) segment of each node of the hierarchy, so
+         * it can be traversed without a stack.
+         */
+        int[] ranges;
+
+        Polyline(Spline2 curve) {
+            x = new float[64];
+            y = new float[64];
+
+            Vec2 p = curve.point(0, new Vec2()), q = new Vec2(), m = new Vec2();
+            x[0] = p.x;
+            y[0] = p.y;
+
+            int pieces = curve.pieces();
+            float sqrTolerance = curve.tolerance * curve.tolerance;
+            for(int i=0; i<pieces; i++) {
+                float t0 = (float) i / pieces, t1 = (float) (i + 1) / pieces;
+                curve.point(t1, q);
+                flatten(curve, t0, x[n], y[n], t1, q.x, q.y, 0, sqrTolerance, m);
+            }
+            x = Arrays.copyOf(x, n + 1);
+            y = Arrays.copyOf(y, n + 1);
+
+            s = new float[n + 1];
+            for(int i=0; i<n; i++) {
+                float dx = x[i+1] - x[i], dy = y[i+1] - y[i];
+                s[i+1] = s[i] + (float) Math.sqrt(dx * dx + dy * dy);
+            }
+
+            int leaves = Math.max(1, (n + LEAF_SIZE - 1) / LEAF_SIZE);
+            bounds = new float[4 * 2 * Integer.highestOneBit(leaves * 2 - 1)];
+            ranges = new int[bounds.length / 2];
+            if(n != 0) build(0, 0, n);
+        }
+
+        /**
+         * Flattens the curve between t0 and t1, whose points are already known.
+         * The point at t0 must be the last point of the polyline, the point
+         * at t1 gets appended.
+         */
+        private void flatten(Spline2 curve, float t0, float x0, float y0, float t1, float x1, float y1, int depth, float sqrTolerance, Vec2 m) {
+            float tm = (t0 + t1) * 0.5f;
+            curve.point(tm, m);
+            float mx = m.x, my = m.y;
+            if(depth < MAX_DEPTH) {
+                float dx = mx - (x0 + x1) * 0.5f, dy = my - (y0 + y1) * 0.5f;
+                if(depth < MIN_DEPTH || dx * dx + dy * dy > sqrTolerance) {
+                    flatten(curve, t0, x0, y0, tm, mx, my, depth + 1, sqrTolerance, m);
+                    flatten(curve, tm, mx, my, t1, x1, y1, depth + 1, sqrTolerance, m);
+                    return;
+                }
+            }
+            if(++n == x.length) {
+                x = Arrays.copyOf(x, n * 2);
+                y = Arrays.copyOf(y, n * 2);
+            }
+            x[n] = x1;
+            y[n] = y1;
+        }
+
+        /**
+         * Builds the bounds of the given node, covering the segments from
+         * start (inclusive) to end (exclusive).
+         */
+        private void build(int node, int start, int end) {
+            int b = node * 4;
+            ranges[node * 2] = start;
+            ranges[node * 2 + 1] = end;
+            if(end - start <= LEAF_SIZE) {
+                float minX = x[start], minY = y[start], maxX = minX, maxY = minY;
+                for(int i=start+1; i<=end; i++) {
+                    minX = Math.min(minX, x[i]);
+                    minY = Math.min(minY, y[i]);
+                    maxX = Math.max(maxX, x[i]);
+                    maxY = Math.max(maxY, y[i]);
+                }
+                bounds[b] = minX;
+                bounds[b+1] = minY;
+                bounds[b+2] = maxX;
+                bounds[b+3] = maxY;
+                return;
+            }
+            int mid = (start + end) >>> 1;
+            int l = node * 2 + 1, r = l + 1;
+            build(l, start, mid);
+            build(r, mid, end);
+            bounds[b] = Math.min(bounds[l*4], bounds[r*4]);
+            bounds[b+1] = Math.min(bounds[l*4+1], bounds[r*4+1]);
+            bounds[b+2] = Math.max(bounds[l*4+2], bounds[r*4+2]);
+            bounds[b+3] = Math.max(bounds[l*4+3], bounds[r*4+3]);
+        }
+
+        /**
+         * Binary searches the segment containing the given fraction of the arc
+         * length.
+         */
+        int segment(float i) {
+            float target = i * s[n];
+            int lo = 0, hi = n - 1;
+            while(lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if(s[mid] <= target) lo = mid;
+                else hi = mid - 1;
+            }
+            return lo;
+        }
+
+        float segmentT(int seg, float i) {
+            float l = s[seg+1] - s[seg];
+            if(l == 0) return 0;
+            float t = (i * s[n] - s[seg]) / l;
+            return t < 0 ? 0 : t > 1 ? 1 : t;
+        }
+    }
+}
@@ -0,0 +1,581 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.github.rccookie.util.Console;
+import com.github.rccookie.util.Stopwatch;
+
+/**
+ * Triangulation of simple polygons with holes into index buffers, for
+ * example to use them with triangle based colliders or to export them as
+ * mesh.
+ * <p>The polygon is split into y-monotone pieces with a plane sweep from top
+ * to bottom, which are then triangulated in linear time each, taking
+ * O(n log n) time overall. Vertices are given as coordinate arrays, the
+ * outline first, followed by the holes, whose start indices are given
+ * separately. Rings may be in any orientation, the resulting triangles are
+ * always counter-clockwise. No objects are created per vertex or triangle.
+ * <p>Orientation tests are exact, see {@link Delaunay2#orient(float, float,
+ * float, float, float, float)}. The polygon has to be simple, holes have to
+ * be inside of it and must not touch it or each other.
+ */
+public final class Triangulation {
+
+    private Triangulation() {
+        throw new UnsupportedOperationException();
+    }
+
+
+    /**
+     * Returns the number of triangles of a polygon with the given number of
+     * vertices and holes.
+     *
+     * @param vertices The total number of vertices, including those of the
+     *                 holes
+     * @param holes The number of holes
+     * @return The number of triangles
+     */
+    public static int triangleCount(int vertices, int holes) {
+        return Math.max(vertices + 2 * holes - 2, 0);
+    }
+
+    /**
+     * Triangulates the given polygon.
+     *
+     * @param x The x coordinates of the vertices
+     * @param y The y coordinates of the vertices
+     * @param holes The index of the first vertex of each hole, ascending
+     * @return Three vertex indices per triangle, in counter-clockwise order
+     */
+    public static int[] triangulate(float[] x, float[] y, int... holes) {
+        int[] out = new int[3 * triangleCount(x.length, holes.length)];
+        int n = triangulate(x, y, holes, out, 0);
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Triangulates the given polygon into the given index buffer, which
+     * needs space for {@link #triangleCount(int, int)} triangles.
+     *
+     * @param x The x coordinates of the vertices
+     * @param y The y coordinates of the vertices
+     * @param holes The index of the first vertex of each hole, ascending
+     * @param out The array to write three vertex indices per triangle to,
+     *            in counter-clockwise order
+     * @param off The index to write the first triangle to
+     * @return The number of indices written
+     */
+    public static int triangulate(float[] x, float[] y, int[] holes, int[] out, int off) {
+        if(x.length != y.length) throw new IllegalArgumentException("Coordinate arrays of different length");
+        for(int r=0; r<=holes.length; r++) {
+            int start = r == 0 ? 0 : holes[r-1], end = r == holes.length ? x.length : holes[r];
+            if(end - start < 3) throw new IllegalArgumentException("A ring needs at least 3 vertices");
+        }
+        if(out.length - off < 3 * triangleCount(x.length, holes.length))
+            throw new IllegalArgumentException("Index buffer too small");
+        return new MonotoneSweep(x, y, holes, out, off).run() - off;
+    }
+
+    /**
+     * Triangulates the given polygon. The vertex indices refer to the
+     * vertices of the polygon, followed by the vertices of each hole, in
+     * the order returned by {@link Polygon2#vertices(float[], float[], int)}.
+     *
+     * @param polygon The outline of the polygon
+     * @param holes The holes in the polygon
+     * @return Three vertex indices per triangle, in counter-clockwise order
+     */
+    public static int[] triangulate(Polygon2 polygon, Polygon2... holes) {
+        int n = polygon.size();
+        int[] starts = new int[holes.length];
+        for(int i=0; i<holes.length; i++) {
+            starts[i] = n;
+            n += holes[i].size();
+        }
+        float[] x = new float[n], y = new float[n];
+        polygon.vertices(x, y, 0);
+        for(int i=0; i<holes.length; i++) holes[i].vertices(x, y, starts[i]);
+        return triangulate(x, y, starts);
+    }
+
+
+
+    /**
+     * Monotone decomposition and triangulation of one polygon.
+     * <p>Each vertex starts as one node of a ring with the interior on the
+     * left. Inserting a diagonal duplicates both of its end nodes and splits
+     * their ring into two, so that afterwards every ring is a monotone piece.
+     * The sweep status holds the edges with the interior on their right,
+     * ordered from left to right, in a treap keyed by the edge index.
+     */
+    private static final class MonotoneSweep {
+
+        private static final byte START = 0, END = 1, SPLIT = 2, MERGE = 3, REGULAR = 4;
+
+        private final float[] x, y;
+        private final int[] out;
+        private int o;
+
+        /**
+         * Ring neighbors of each vertex, with the interior on the left.
+         * Edge i goes from vertex i to vertex next[i].
+         */
+        private final int[] next, prev;
+        private final byte[] type;
+
+        private int[] nodeVertex, nodeNext, nodePrev;
+        private int nodeCount;
+
+        /**
+         * Helper node of each edge in the sweep status.
+         */
+        private final int[] helper;
+        private final int[] left, right, parent, priority;
+        private int root = -1;
+
+        MonotoneSweep(float[] x, float[] y, int[] holes, int[] out, int off) {
+            this.x = x;
+            this.y = y;
+            this.out = out;
+            o = off;
+            int n = x.length;
+
+            next = new int[n];
+            prev = new int[n];
+            for(int r=0; r<=holes.length; r++) {
+                int start = r == 0 ? 0 : holes[r-1], end = r == holes.length ? n : holes[r];
+                // Outline counter-clockwise, holes clockwise
+                boolean reverse = (Polygon2.signedArea(x, y, start, end - start) > 0) != (r == 0);
+                for(int i=start; i<end; i++) {
+                    int j = i + 1 == end ? start : i + 1;
+                    if(reverse) {
+                        next[j] = i;
+                        prev[i] = j;
+                    }
+                    else {
+                        next[i] = j;
+                        prev[j] = i;
+                    }
+                }
+            }
+
+            int capacity = n + 2 * (n + 3 * holes.length);
+            nodeVertex = new int[capacity];
+            nodeNext = new int[capacity];
+            nodePrev = new int[capacity];
+            for(int i=0; i<n; i++) nodeVertex[i] = i;
+            System.arraycopy(next, 0, nodeNext, 0, n);
+            System.arraycopy(prev, 0, nodePrev, 0, n);
+            nodeCount = n;
+
+            type = new byte[n];
+            helper = new int[n];
+            left = new int[n];
+            right = new int[n];
+            parent = new int[n];
+            priority = new int[n];
+            int seed = 0x9E3779B9;
+            for(int i=0; i<n; i++) {
+                seed ^= seed << 13;
+                seed ^= seed >>> 17;
+                seed ^= seed << 5;
+                priority[i] = seed;
+            }
+        }
+
+        /**
+         * Triangulates the polygon, returns the index after the last written
+         * index.
+         */
+        int run() {
+            int[] order = sweepOrder();
+            for(int v : order) {
+                int p = prev[v], n = next[v];
+                boolean pAbove = above(p, v), nAbove = above(n, v);
+                boolean convex = orient(p, v, n) > 0;
+                type[v] = !pAbove && !nAbove ? (convex ? START : SPLIT) : pAbove && nAbove ? (convex ? END : MERGE) : REGULAR;
+
+                int e;
+                switch(type[v]) {
+                    case START:
+                        insert(v, v);
+                        break;
+                    case END:
+                        if(isMerge(helper[p])) split(v, helper[p]);
+                        delete(p);
+                        break;
+                    case SPLIT:
+                        // The lower left part stays at the node, the lower right one moves to the copy
+                        e = leftOf(v);
+                        int copy = split(v, helper[e]);
+                        helper[e] = v;
+                        insert(v, copy);
+                        break;
+                    case MERGE:
+                        int node = v;
+                        if(isMerge(helper[p])) node = split(v, helper[p]);
+                        delete(p);
+                        e = leftOf(v);
+                        if(isMerge(helper[e])) split(node, helper[e]);
+                        helper[e] = node;
+                        break;
+                    default:
+                        if(pAbove) {
+                            // Interior on the right
+                            node = isMerge(helper[p]) ? split(v, helper[p]) : v;
+                            delete(p);
+                            insert(v, node);
+                        }
+                        else {
+                            e = leftOf(v);
+                            if(isMerge(helper[e])) split(v, helper[e]);
+                            helper[e] = v;
+                        }
+                }
+            }
+
+            boolean[] visited = new boolean[nodeCount];
+            int[] sorted = new int[nodeCount], stack = new int[nodeCount];
+            boolean[] onLeft = new boolean[nodeCount];
+            for(int start=0; start<nodeCount; start++)
+                if(!visited[start]) triangulateMonotone(start, visited, sorted, onLeft, stack);
+            return o;
+        }
+
+        /**
+         * Sorts the vertices from top to bottom, and from left to right at
+         * equal height.
+         */
+        private int[] sweepOrder() {
+            int n = x.length;
+            long[] keys = new long[n];
+            for(int i=0; i<n; i++) keys[i] = ((long) ConvexHull.sortable(-y[i]) << 32) | i;
+            Arrays.sort(keys);
+            for(int i=0; i<n; ) {
+                int j = i + 1;
+                while(j < n && (keys[j] >> 32) == (keys[i] >> 32)) j++;
+                if(j - i > 1) {
+                    for(int k=i; k<j; k++) keys[k] = ((long) ConvexHull.sortable(x[(int) keys[k]]) << 32) | (keys[k] & 0xFFFFFFFFL);
+                    Arrays.sort(keys, i, j);
+                }
+                i = j;
+            }
+            int[] order = new int[n];
+            for(int i=0; i<n; i++) order[i] = (int) keys[i];
+            return order;
+        }
+
+        private boolean above(int a, int b) {
+            return y[a] > y[b] || (y[a] == y[b] && x[a] < x[b]);
+        }
+
+        private double orient(int a, int b, int c) {
+            return Delaunay2.orient(x[a], y[a], x[b], y[b], x[c], y[c]);
+        }
+
+        private boolean isMerge(int node) {
+            return type[nodeVertex[node]] == MERGE;
+        }
+
+        /**
+         * Inserts a diagonal from node a to node b, splitting their ring.
+         *
+         * @return The copy of a, which continues to the old next node of a
+         */
+        private int split(int a, int b) {
+            if(nodeCount + 2 > nodeVertex.length) {
+                int capacity = nodeVertex.length * 2;
+                nodeVertex = Arrays.copyOf(nodeVertex, capacity);
+                nodeNext = Arrays.copyOf(nodeNext, capacity);
+                nodePrev = Arrays.copyOf(nodePrev, capacity);
+            }
+            int a2 = nodeCount++, b2 = nodeCount++;
+            nodeVertex[a2] = nodeVertex[a];
+            nodeVertex[b2] = nodeVertex[b];
+            int an = nodeNext[a], bp = nodePrev[b];
+            nodeNext[a] = b;
+            nodePrev[b] = a;
+            nodeNext[a2] = an;
+            nodePrev[an] = a2;
+            nodeNext[b2] = a2;
+            nodePrev[a2] = b2;
+            nodeNext[bp] = b2;
+            nodePrev[b2] = bp;
+            return a2;
+        }
+
+        // ------------------------------------------------------
+
+        /**
+         * Returns whether the given vertex is right of the given edge.
+         */
+        private boolean rightOf(int edge, int v) {
+            int a = edge, b = next[edge];
+            return above(a, b) ? orient(a, b, v) > 0 : orient(b, a, v) > 0;
+        }
+
+        /**
+         * Returns the status edge directly left of the given vertex.
+         */
+        private int leftOf(int v) {
+            int best = -1;
+            for(int e=root; e!=-1; ) {
+                if(rightOf(e, v)) {
+                    best = e;
+                    e = right[e];
+                }
+                else e = left[e];
+            }
+            return best;
+        }
+
+        /**
+         * Inserts the edge starting at the given vertex into the status.
+         */
+        private void insert(int edge, int helperNode) {
+            helper[edge] = helperNode;
+            left[edge] = right[edge] = -1;
+            if(root == -1) {
+                root = edge;
+                parent[edge] = -1;
+                return;
+            }
+            int p = root;
+            while(true) {
+                if(rightOf(p, edge)) {
+                    if(right[p] == -1) {
+                        right[p] = edge;
+                        break;
+                    }
+                    p = right[p];
+                }
+                else {
+                    if(left[p] == -1) {
+                        left[p] = edge;
+                        break;
+                    }
+                    p = left[p];
+                }
+            }
+            parent[edge] = p;
+            while(parent[edge] != -1 && priority[parent[edge]] < priority[edge]) rotateUp(edge);
+        }
+
+        private void delete(int edge) {
+            while(left[edge] != -1 || right[edge] != -1) {
+                int l = left[edge], r = right[edge];
+                rotateUp(l == -1 ? r : r == -1 ? l : priority[l] > priority[r] ? l : r);
+            }
+            int p = parent[edge];
+            if(p == -1) root = -1;
+            else if(left[p] == edge) left[p] = -1;
+            else right[p] = -1;
+        }
+
+        private void rotateUp(int n) {
+            int p = parent[n], g = parent[p];
+            if(left[p] == n) {
+                left[p] = right[n];
+                if(right[n] != -1) parent[right[n]] = p;
+                right[n] = p;
+            }
+            else {
+                right[p] = left[n];
+                if(left[n] != -1) parent[left[n]] = p;
+                left[n] = p;
+            }
+            parent[p] = n;
+            parent[n] = g;
+            if(g == -1) root = n;
+            else if(left[g] == p) left[g] = n;
+            else right[g] = n;
+        }
+
+        // ------------------------------------------------------
+
+        /**
+         * Triangulates the monotone ring containing the given node.
+         */
+        private void triangulateMonotone(int start, boolean[] visited, int[] sorted, boolean[] onLeft, int[] stack) {
+            int top = start, bottom = start, k = 0;
+            int c = start;
+            do {
+                visited[c] = true;
+                if(above(nodeVertex[c], nodeVertex[top])) top = c;
+                if(above(nodeVertex[bottom], nodeVertex[c])) bottom = c;
+                k++;
+                c = nodeNext[c];
+            } while(c != start);
+
+            // Merge the left chain, following the ring from the top, and the right chain
+            sorted[0] = nodeVertex[top];
+            int l = nodeNext[top], r = nodePrev[top];
+            for(int m=1; m<k-1; m++) {
+                if(r == bottom || (l != bottom && above(nodeVertex[l], nodeVertex[r]))) {
+                    sorted[m] = nodeVertex[l];
+                    onLeft[m] = true;
+                    l = nodeNext[l];
+                }
+                else {
+                    sorted[m] = nodeVertex[r];
+                    onLeft[m] = false;
+                    r = nodePrev[r];
+                }
+            }
+            sorted[k-1] = nodeVertex[bottom];
+
+            stack[0] = 0;
+            stack[1] = 1;
+            int s = 2;
+            for(int j=2; j<k-1; j++) {
+                int u = sorted[j];
+                if(onLeft[j] != onLeft[stack[s-1]]) {
+                    // Connect to all vertices on the other chain
+                    for(int i=s-1; i>0; i--) emit(u, sorted[stack[i]], sorted[stack[i-1]]);
+                    stack[0] = j - 1;
+                    stack[1] = j;
+                    s = 2;
+                }
+                else {
+                    // Cut off the vertices on the same chain while the diagonals are inside
+                    int last = stack[--s];
+                    while(s > 0) {
+                        double side = orient(sorted[stack[s-1]], u, sorted[last]);
+                        if(onLeft[j] ? side >= 0 : side <= 0) break;
+                        emit(u, sorted[last], sorted[stack[s-1]]);
+                        last = stack[--s];
+                    }
+                    stack[s++] = last;
+                    stack[s++] = j;
+                }
+            }
+            for(int i=s-1; i>0; i--) emit(sorted[k-1], sorted[stack[i]], sorted[stack[i-1]]);
+        }
+
+        private void emit(int a, int b, int c) {
+            out[o++] = a;
+            if(orient(a, b, c) >= 0) {
+                out[o++] = b;
+                out[o++] = c;
+            }
+            else {
+                out[o++] = c;
+                out[o++] = b;
+            }
+        }
+    }
+
+
+
+    /**
+     * Naive ear clipping of a polygon without holes, for comparison: cuts
+     * off the next convex vertex that has no other vertex in its triangle.
+     */
+    private static int[] earClip(float[] x, float[] y) {
+        int n = x.length;
+        int[] next = new int[n], prev = new int[n];
+        boolean ccw = Polygon2.signedArea(x, y, 0, n) > 0;
+        for(int i=0; i<n; i++) {
+            int j = i + 1 == n ? 0 : i + 1;
+            if(ccw) {
+                next[i] = j;
+                prev[j] = i;
+            }
+            else {
+                next[j] = i;
+                prev[i] = j;
+            }
+        }
+        int[] out = new int[3 * (n - 2)];
+        int o = 0, v = 0, count = n;
+        for(int stall=0; count>3 && stall<count; v=next[v]) {
+            int a = prev[v], c = next[v];
+            if(isEar(x, y, next, a, v, c)) {
+                out[o++] = a;
+                out[o++] = v;
+                out[o++] = c;
+                next[a] = c;
+                prev[c] = a;
+                count--;
+                stall = 0;
+            }
+            else stall++;
+        }
+        if(count == 3) {
+            out[o++] = prev[v];
+            out[o++] = v;
+            out[o++] = next[v];
+        }
+        return Arrays.copyOf(out, o);
+    }
+
+    private static boolean isEar(float[] x, float[] y, int[] next, int a, int b, int c) {
+        if(Delaunay2.orient(x[a], y[a], x[b], y[b], x[c], y[c]) <= 0) return false;
+        for(int p=next[c]; p!=a; p=next[p]) {
+            if(Delaunay2.orient(x[a], y[a], x[b], y[b], x[p], y[p]) >= 0
+                    && Delaunay2.orient(x[b], y[b], x[c], y[c], x[p], y[p]) >= 0
+                    && Delaunay2.orient(x[c], y[c], x[a], y[a], x[p], y[p]) >= 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the total area of the given triangles.
+     */
+    private static double area(float[] x, float[] y, int[] triangles) {
+        double area = 0;
+        for(int t=0; t<triangles.length; t+=3) {
+            int a = triangles[t], b = triangles[t+1], c = triangles[t+2];
+            area += ((double) x[b] - x[a]) * ((double) y[c] - y[a]) - ((double) y[b] - y[a]) * ((double) x[c] - x[a]);
+        }
+        return area / 2;
+    }
+
+
+
+    /**
+     * Compares the triangulation to naive ear clipping on polygons with
+     * 100000 vertices. The triangulation is checked by
+     * {@code TriangulationTest}.
+     */
+    public static void main(String[] args) {
+        Random random = new Random(0);
+        int n = 100000;
+        float[][] polygon = starPolygon(random, n, 0);
+        float[] x = polygon[0], y = polygon[1];
+        double expected = Polygon2.signedArea(x, y, 0, n);
+        for(int run=0; run<3; run++) {
+            Stopwatch watch = new Stopwatch().start();
+            int[] triangles = triangulate(x, y);
+            Console.map("Monotone", triangles.length / 3 + " triangles, area " + area(x, y, triangles) + " of " + expected + ", " + watch.stop().getPassedNanos() / 1000000d + "ms");
+        }
+        Stopwatch watch = new Stopwatch().start();
+        int[] triangles = earClip(x, y);
+        Console.map("Ear clipping", triangles.length / 3 + " triangles, area " + area(x, y, triangles) + " of " + expected + ", " + watch.stop().getPassedNanos() / 1000000d + "ms");
+    }
+
+    /**
+     * Creates a random star shaped polygon around the origin with square
+     * holes of area 0.01, all given counter-clockwise.
+     */
+    private static float[][] starPolygon(Random random, int n, int holes) {
+        float[] x = new float[n + 4 * holes], y = new float[n + 4 * holes];
+        for(int i=0; i<n; i++) {
+            // Jittered angles, so that for at least 8 vertices the holes are inside
+            float angle = (i + random.nextFloat() * 0.9f) * 2 * (float) Math.PI / n;
+            float r = 0.5f + random.nextFloat() * 0.5f;
+            x[i] = r * (float) Math.cos(angle);
+            y[i] = r * (float) Math.sin(angle);
+        }
+        for(int h=0; h<holes; h++) {
+            float cx = -0.3f + 0.15f * h, cy = (h % 2) * 0.15f - 0.05f;
+            x[n+4*h] = cx;         y[n+4*h] = cy;
+            x[n+4*h+1] = cx + 0.1f; y[n+4*h+1] = cy;
+            x[n+4*h+2] = cx + 0.1f; y[n+4*h+2] = cy + 0.1f;
+            x[n+4*h+3] = cx;        y[n+4*h+3] = cy + 0.1f;
+        }
+        return new float[][] { x, y };
+    }
+}
@@ -0,0 +1,315 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A container for a large number of concurrent tweens, each animating a
+ * fixed number of float components from a start to an end value over time,
+ * shaped by an {@link Interpolation}. All tweens of a container are stored
+ * in parallel primitive arrays and advanced together in a single pass by
+ * {@link #update(float)}, without creating any objects.
+ * <p>Tweens are identified by the slot id returned when adding them. When
+ * a tween completes, its value stays at the end value and its slot is
+ * recycled for a later {@link #add(float[], float[], float, int)} call, so
+ * an id should not be used anymore after {@link #isActive(int)} returned
+ * {@code false}.
+ * <p>Curves are referenced by an id. The constants of {@link Interpolation}
+ * are registered by default with the ids declared in this class, others
+ * can be registered using {@link #curve(Interpolation)}. Consecutive tweens
+ * with the same curve are evaluated with a single batch call, so it is
+ * beneficial to register {@link BakedInterpolation}s for expensive curves.
+ * <p>Containers are not thread safe, but can split their own updates
+ * across threads using {@link #update(float, boolean)}.
+ */
+public class Tweens {
+
+    public static final int LINEAR = 0;
+    public static final int INVERT = 1;
+    public static final int SQUARED = 2;
+    public static final int SQRT = 3;
+    public static final int SMOOTH = 4;
+    public static final int FADE = 5;
+    public static final int SIN = 6;
+    public static final int SIN01 = 7;
+    public static final int EXP = 8;
+
+    /**
+     * Number of slots updated per task when updating in parallel.
+     */
+    private static final int CHUNK_SIZE = 4096;
+
+
+    private final int dim;
+    private final int capacity;
+
+    private final float[] from, to, value;
+    private final float[] duration, elapsed, progress;
+    private final int[] curve;
+    private final boolean[] active;
+
+    private final int[] free;
+    private int freeCount = 0;
+    private int used = 0;
+    private int size = 0;
+
+    private Interpolation[] curves = {
+            Interpolation.LINEAR, Interpolation.INVERT, Interpolation.SQUARED, Interpolation.SQRT, Interpolation.SMOOTH,
+            Interpolation.FADE, Interpolation.SIN, Interpolation.SIN01, Interpolation.EXP
+    };
+    private int curveCount = curves.length;
+
+    /**
+     * Creates a new tween container.
+     *
+     * @param capacity The maximum number of concurrent tweens
+     * @param dim The number of float components each tween animates, for
+     *            example {@code 1} for alpha or {@code 2} for positions
+     */
+    public Tweens(int capacity, int dim) {
+        if(capacity < 0) throw new IllegalArgumentException("Negative capacity");
+        if(dim < 1) throw new IllegalArgumentException("At least one dimension required");
+        this.capacity = capacity;
+        this.dim = dim;
+        from = new float[capacity * dim];
+        to = new float[capacity * dim];
+        value = new float[capacity * dim];
+        duration = new float[capacity];
+        elapsed = new float[capacity];
+        progress = new float[capacity];
+        curve = new int[capacity];
+        active = new boolean[capacity];
+        free = new int[capacity];
+    }
+
+    @Override
+    public String toString() {
+        return "Tweens{" + size + '/' + capacity + " active, dim=" + dim + '}';
+    }
+
+    /**
+     * Returns the id of the given curve, registering it if necessary.
+     *
+     * @param i The curve to get the id for
+     * @return The id of the curve
+     */
+    public int curve(Interpolation i) {
+        for(int j=0; j<curveCount; j++)
+            if(curves[j] == i) return j;
+        if(curveCount == curves.length)
+            curves = Arrays.copyOf(curves, curveCount * 2);
+        curves[curveCount] = i;
+        return curveCount++;
+    }
+
+    /**
+     * Returns the number of active tweens.
+     *
+     * @return The number of active tweens
+     */
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int dim() {
+        return dim;
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Starts a new tween.
+     *
+     * @param from The start value, with {@link #dim()} components
+     * @param to The end value, with {@link #dim()} components
+     * @param duration The duration of the tween
+     * @param curve The id of the curve to use
+     * @return The id of the new tween
+     * @throws IllegalStateException If the container is full
+     */
+    public int add(float[] from, float[] to, float duration, int curve) {
+        int id = allocate(duration, curve);
+        System.arraycopy(from, 0, this.from, id * dim, dim);
+        System.arraycopy(to, 0, this.to, id * dim, dim);
+        System.arraycopy(from, 0, value, id * dim, dim);
+        return id;
+    }
+
+    /**
+     * Starts a new tween in a container with one component per tween.
+     *
+     * @param from The start value
+     * @param to The end value
+     * @param duration The duration of the tween
+     * @param curve The id of the curve to use
+     * @return The id of the new tween
+     * @throws IllegalStateException If the container is full
+     */
+    public int add(float from, float to, float duration, int curve) {
+        if(dim != 1) throw new IllegalStateException("Tweens have " + dim + " components");
+        int id = allocate(duration, curve);
+        this.from[id] = value[id] = from;
+        this.to[id] = to;
+        return id;
+    }
+
+    /**
+     * Starts a new tween in a container with two components per tween.
+     *
+     * @param from The start value
+     * @param to The end value
+     * @param duration The duration of the tween
+     * @param curve The id of the curve to use
+     * @return The id of the new tween
+     * @throws IllegalStateException If the container is full
+     */
+    public int add(Vec2 from, Vec2 to, float duration, int curve) {
+        if(dim != 2) throw new IllegalStateException("Tweens have " + dim + " components");
+        int id = allocate(duration, curve), i = id * 2;
+        this.from[i] = value[i] = from.x;
+        this.from[i+1] = value[i+1] = from.y;
+        this.to[i] = to.x;
+        this.to[i+1] = to.y;
+        return id;
+    }
+
+    private int allocate(float duration, int curve) {
+        if(curve < 0 || curve >= curveCount) throw new IllegalArgumentException("Unknown curve id " + curve);
+        int id;
+        if(freeCount != 0) id = free[--freeCount];
+        else if(used < capacity) id = used++;
+        else throw new IllegalStateException("Tween capacity of " + capacity + " exhausted");
+        this.duration[id] = duration;
+        this.curve[id] = curve;
+        elapsed[id] = 0;
+        active[id] = true;
+        size++;
+        return id;
+    }
+
+    /**
+     * Stops the given tween, keeping its current value.
+     *
+     * @param id The id of the tween to stop
+     */
+    public void cancel(int id) {
+        if(active[id]) recycle(id);
+    }
+
+    private void recycle(int id) {
+        active[id] = false;
+        free[freeCount++] = id;
+        size--;
+    }
+
+    /**
+     * Stops all tweens.
+     */
+    public void clear() {
+        Arrays.fill(active, 0, used, false);
+        used = freeCount = size = 0;
+    }
+
+    // ------------------------------------------------------
+
+    public boolean isActive(int id) {
+        return active[id];
+    }
+
+    /**
+     * Returns the current value of the given tween in a container with one
+     * component per tween.
+     *
+     * @param id The id of the tween
+     * @return The current value
+     */
+    public float get(int id) {
+        return value[id * dim];
+    }
+
+    public float get(int id, int d) {
+        return value[id * dim + d];
+    }
+
+    public Vec2 get(int id, Vec2 out) {
+        int i = id * dim;
+        return out.set(value[i], value[i+1]);
+    }
+
+    /**
+     * Returns the array holding the current values of all tweens, the
+     * component {@code d} of tween {@code id} being at index
+     * {@code id * dim() + d}. Do not modify!
+     *
+     * @return The values of all tweens
+     */
+    public float[] values() {
+        return value;
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Advances all active tweens by the given time.
+     *
+     * @param dt The time passed since the last update
+     */
+    public void update(float dt) {
+        update(dt, false);
+    }
+
+    /**
+     * Advances all active tweens by the given time.
+     *
+     * @param dt The time passed since the last update
+     * @param parallel Whether to split the update across multiple threads.
+     *                 Only worth it for many thousand tweens, and requires
+     *                 all used curves to be thread safe
+     */
+    public void update(float dt, boolean parallel) {
+        int used = this.used;
+        if(!parallel || used <= CHUNK_SIZE) {
+            update(dt, 0, used, true);
+            return;
+        }
+        IntStream.range(0, (used + CHUNK_SIZE - 1) / CHUNK_SIZE).parallel()
+                .forEach(c -> update(dt, c * CHUNK_SIZE, Math.min(used, (c + 1) * CHUNK_SIZE), false));
+
+        // Recycle completed slots, not thread safe
+        for(int i=0; i<used; i++)
+            if(active[i] && elapsed[i] >= duration[i]) recycle(i);
+    }
+
+    private void update(float dt, int start, int end, boolean recycle) {
+        float[] duration = this.duration, elapsed = this.elapsed, progress = this.progress;
+        boolean[] active = this.active;
+
+        for(int i=start; i<end; i++) {
+            if(!active[i]) continue;
+            float e = elapsed[i] += dt;
+            progress[i] = e >= duration[i] ? 1 : e / duration[i];
+        }
+
+        int[] curve = this.curve;
+        for(int i=start; i<end;) {
+            int c = curve[i], j = i + 1;
+            while(j < end && curve[j] == c) j++;
+            curves[c].get(progress, i, progress, i, j - i);
+            i = j;
+        }
+
+        float[] from = this.from, to = this.to, value = this.value;
+        int dim = this.dim;
+        for(int i=start; i<end; i++) {
+            if(!active[i]) continue;
+            float a = progress[i];
+            for(int k=i*dim, kEnd=k+dim; k<kEnd; k++)
+                value[k] = from[k] + a * (to[k] - from[k]);
+            if(recycle && elapsed[i] >= duration[i]) recycle(i);
+        }
+    }
+}
@@ -392,7 +392,7 @@ public class Vec2 implements Vec<Vec2, IVec2> {
     @Override
     public Vec2 project(Vec2 o) {
         float f = (x * o.x + y * o.y) / (o.x * o.x + o.y * o.y);
-        x = o.y * f;
+        x = o.x * f;
         y = o.y * f;
         return this;
     }
@@ -413,6 +413,13 @@ public class Vec2 implements Vec<Vec2, IVec2> {
         return this;
     }
 
+    public Vec2 apply(Mat2x2 m) {
+        float oldX = x;
+        x = x * m.m00 + y * m.m01;
+        y = oldX * m.m10 + y * m.m11;
+        return this;
+    }
+
     // ------------------------------------------------------
 
     @Override
@@ -517,7 +524,7 @@ public class Vec2 implements Vec<Vec2, IVec2> {
     @Override
     public Vec2 projected(Vec2 o) {
         float f = (x * o.x + y * o.y) / (o.x * o.x + o.y * o.y);
-        return new Vec2(o.y * f, o.y * f);
+        return new Vec2(o.x * f, o.y * f);
     }
 
     @Override
@@ -536,6 +543,13 @@ public class Vec2 implements Vec<Vec2, IVec2> {
         );
     }
 
+    public Vec2 applied(Mat2x2 m) {
+        return new Vec2(
+                x * m.m00 + y * m.m01,
+                x * m.m10 + y * m.m11
+        );
+    }
+
     public Vec3 applied3(Vec3[] m) {
         return new Vec3(
                 x * m[0].x + y * m[0].y,
@@ -552,6 +566,14 @@ public class Vec2 implements Vec<Vec2, IVec2> {
         );
     }
 
+    public Vec3 applied3(Mat2x3 m) {
+        return new Vec3(
+                x * m.m00 + y * m.m01,
+                x * m.m10 + y * m.m11,
+                x * m.m20 + y * m.m21
+        );
+    }
+
     @SuppressWarnings("deprecation")
     @Override
     public <O extends Vec<O,?>> O transformed(Mat<Vec2, O> m) {
@@ -561,6 +583,77 @@ public class Vec2 implements Vec<Vec2, IVec2> {
         return o;
     }
 
+    public Vec2 transformed(Mat2x2 m) {
+        return applied(m);
+    }
+
+    public Vec3 transformed(Mat2x3 m) {
+        return applied3(m);
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Returns a temporary copy of this vector scaled by the given factor,
+     * obtained from the given scratch scope.
+     *
+     * @param f The factor to scale by
+     * @param s The scratch scope to use
+     * @return The scaled vector, valid until the scope is closed
+     */
+    public Vec2 scaled(float f, Scratch s) {
+        return s.vec2(x * f, y * f);
+    }
+
+    /**
+     * Returns a temporary normalized copy of this vector, obtained from the
+     * given scratch scope.
+     *
+     * @param s The scratch scope to use
+     * @return The normalized vector, valid until the scope is closed
+     */
+    public Vec2 normed(Scratch s) {
+        float f = 1 / (float) Math.sqrt(x * x + y * y);
+        return s.vec2(x * f, y * f);
+    }
+
+    /**
+     * Returns a temporary copy of this vector rotated by the given angle in
+     * degrees, obtained from the given scratch scope.
+     *
+     * @param a The angle to rotate the vector, in degrees
+     * @param s The scratch scope to use
+     * @return The rotated vector, valid until the scope is closed
+     */
+    public Vec2 rotated(float a, Scratch s) {
+        float sin = FastMath.sin(a), cos = FastMath.cos(a);
+        return s.vec2(x * cos - y * sin, x * sin + y * cos);
+    }
+
+    /**
+     * Returns the temporary sum of this and the given vector, obtained from
+     * the given scratch scope.
+     *
+     * @param v The vector to add
+     * @param s The scratch scope to use
+     * @return The sum, valid until the scope is closed
+     */
+    public Vec2 added(Vec2 v, Scratch s) {
+        return s.vec2(x + v.x, y + v.y);
+    }
+
+    /**
+     * Returns the temporary difference of this and the given vector,
+     * obtained from the given scratch scope.
+     *
+     * @param v The vector to subtract
+     * @param s The scratch scope to use
+     * @return The difference, valid until the scope is closed
+     */
+    public Vec2 subtracted(Vec2 v, Scratch s) {
+        return s.vec2(x - v.x, y - v.y);
+    }
+
     // ------------------------------------------------------
 
     @Override
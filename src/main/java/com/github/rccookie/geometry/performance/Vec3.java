@@ -254,7 +254,7 @@ public class Vec3 implements Vec<Vec3, IVec3> {
     public Vec3 multiply(Vec3 v) {
         x *= v.x;
         y *= v.y;
-        z -= v.z;
+        z *= v.z;
         return this;
     }
 
@@ -270,7 +270,7 @@ public class Vec3 implements Vec<Vec3, IVec3> {
     @Override
     public Vec3 project(Vec3 o) {
         float f = (x * o.x + y * o.y + z * o.z) / (o.x * o.x + o.y * o.y + o.z * o.z);
-        x = o.y * f;
+        x = o.x * f;
         y = o.y * f;
         z = o.z * f;
         return this;
@@ -294,6 +294,14 @@ public class Vec3 implements Vec<Vec3, IVec3> {
         return this;
     }
 
+    public Vec3 apply(Mat3x3 m) {
+        float oldX = x, oldY = y;
+        x = x * m.m00 + y * m.m01 + z * m.m02;
+        y = oldX * m.m10 + y * m.m11 + z * m.m12;
+        z = oldX * m.m20 + oldY * m.m21 + z * m.m22;
+        return this;
+    }
+
     // ------------------------------------------------------
 
     @Override
@@ -357,7 +365,7 @@ public class Vec3 implements Vec<Vec3, IVec3> {
     @Override
     public Vec3 projected(Vec3 o) {
         float f = (x * o.x + y * o.y + z * o.z) / (o.x * o.x + o.y * o.y + o.z * o.z);
-        return new Vec3(o.y * f, o.y * f, o.z * f);
+        return new Vec3(o.x * f, o.y * f, o.z * f);
     }
 
     @Override
@@ -378,6 +386,14 @@ public class Vec3 implements Vec<Vec3, IVec3> {
         );
     }
 
+    public Vec3 applied(Mat3x3 m) {
+        return new Vec3(
+                x * m.m00 + y * m.m01 + z * m.m02,
+                x * m.m10 + y * m.m11 + z * m.m12,
+                x * m.m20 + y * m.m21 + z * m.m22
+        );
+    }
+
     public Vec2 applied2(Vec3[] m) {
         return new Vec2(
                 x * m[0].x + y * m[0].y + z * m[0].z,
@@ -392,6 +408,13 @@ public class Vec3 implements Vec<Vec3, IVec3> {
         );
     }
 
+    public Vec2 applied2(Mat3x2 m) {
+        return new Vec2(
+                x * m.m00 + y * m.m01 + z * m.m02,
+                x * m.m10 + y * m.m11 + z * m.m12
+        );
+    }
+
     @SuppressWarnings("deprecation")
     @Override
     public <O extends Vec<O,?>> O transformed(Mat<Vec3, O> m) {
@@ -401,6 +424,64 @@ public class Vec3 implements Vec<Vec3, IVec3> {
         return o;
     }
 
+    public Vec3 transformed(Mat3x3 m) {
+        return applied(m);
+    }
+
+    public Vec2 transformed(Mat3x2 m) {
+        return applied2(m);
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Returns a temporary copy of this vector scaled by the given factor,
+     * obtained from the given scratch scope.
+     *
+     * @param f The factor to scale by
+     * @param s The scratch scope to use
+     * @return The scaled vector, valid until the scope is closed
+     */
+    public Vec3 scaled(float f, Scratch s) {
+        return s.vec3(x * f, y * f, z * f);
+    }
+
+    /**
+     * Returns a temporary normalized copy of this vector, obtained from the
+     * given scratch scope.
+     *
+     * @param s The scratch scope to use
+     * @return The normalized vector, valid until the scope is closed
+     */
+    public Vec3 normed(Scratch s) {
+        float f = 1 / (float) Math.sqrt(x * x + y * y + z * z);
+        return s.vec3(x * f, y * f, z * f);
+    }
+
+    /**
+     * Returns the temporary sum of this and the given vector, obtained from
+     * the given scratch scope.
+     *
+     * @param v The vector to add
+     * @param s The scratch scope to use
+     * @return The sum, valid until the scope is closed
+     */
+    public Vec3 added(Vec3 v, Scratch s) {
+        return s.vec3(x + v.x, y + v.y, z + v.z);
+    }
+
+    /**
+     * Returns the temporary difference of this and the given vector,
+     * obtained from the given scratch scope.
+     *
+     * @param v The vector to subtract
+     * @param s The scratch scope to use
+     * @return The difference, valid until the scope is closed
+     */
+    public Vec3 subtracted(Vec3 v, Scratch s) {
+        return s.vec3(x - v.x, y - v.y, z - v.z);
+    }
+
     // ------------------------------------------------------
 
     @Override
@@ -428,6 +509,19 @@ public class Vec3 implements Vec<Vec3, IVec3> {
         );
     }
 
+    /**
+     * Returns the temporary cross product of the given vectors, obtained from
+     * the given scratch scope.
+     *
+     * @param a The left vector
+     * @param b The right vector
+     * @param s The scratch scope to use
+     * @return The cross product, valid until the scope is closed
+     */
+    public static Vec3 cross(Vec3 a, Vec3 b, Scratch s) {
+        return cross(a, b, s.vec3());
+    }
+
     public static Vec3 cross(Vec3 a, Vec3 b, Vec3 out) {
         float ax = a.x, bx = b.x, ay = a.y, by = b.y;
         out.x = ay * b.z - a.z * by;
@@ -0,0 +1,171 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.Arrays;
+
+/**
+ * The Voronoi diagram of a set of points, derived from their
+ * {@link Delaunay2 Delaunay triangulation} and clipped to a rectangle.
+ * <p>The vertices of the diagram are the circumcenters of the triangles,
+ * stored per triangle index. Cells are computed on demand by clipping the
+ * bounds with the bisector of each Delaunay neighbor, which also bounds the
+ * otherwise infinite cells of points on the convex hull. Cells are clipped
+ * in buffers of the diagram, so computing them is not thread safe.
+ */
+public class Voronoi2 {
+
+    /**
+     * The triangulation the diagram was derived from.
+     */
+    public final Delaunay2 delaunay;
+    /**
+     * The bounds the cells are clipped to.
+     */
+    public final float minX, minY, maxX, maxY;
+    /**
+     * The circumcenter of each triangle of the triangulation.
+     */
+    public final float[] circumX, circumY;
+
+    /**
+     * Buffers for computing cells, grown as needed.
+     */
+    private int[] neighbors = new int[8];
+    private float[] clipX = new float[12], clipY = new float[12];
+
+    Voronoi2(Delaunay2 delaunay, float minX, float minY, float maxX, float maxY) {
+        if(!(minX <= maxX && minY <= maxY)) throw new IllegalArgumentException("Invalid bounds");
+        this.delaunay = delaunay;
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+
+        int[] triangles = delaunay.triangles;
+        circumX = new float[triangles.length / 3];
+        circumY = new float[circumX.length];
+        for(int t=0, e=0; t<circumX.length; t++, e+=3) {
+            int a = triangles[e], b = triangles[e+1], c = triangles[e+2];
+            double[] center = Delaunay2.circumcenter(delaunay.x(a), delaunay.y(a), delaunay.x(b), delaunay.y(b), delaunay.x(c), delaunay.y(c));
+            circumX[t] = (float) center[0];
+            circumY[t] = (float) center[1];
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Voronoi2{" + delaunay.size() + " cells, [" + minX + ", " + minY + "] to [" + maxX + ", " + maxY + "]}";
+    }
+
+    // ------------------------------------------------------
+
+    /**
+     * Returns the cell containing the given position, which is the one of
+     * the closest point.
+     *
+     * @return The index of the cell, or {@code -1} if there are no points
+     * @see Delaunay2#nearest(float, float)
+     */
+    public int find(float px, float py) {
+        return delaunay.nearest(px, py);
+    }
+
+    /**
+     * Returns the cell of the given point as polygon.
+     *
+     * @param point The index of the point
+     * @return The cell of the point, or {@code null} if it is empty within
+     *         the bounds, or the point is a duplicate
+     */
+    public Polygon2 cell(int point) {
+        float[] x = new float[8], y = new float[8];
+        int n = cell(point, x, y);
+        if(n > x.length) {
+            x = new float[n];
+            y = new float[n];
+            n = cell(point, x, y);
+        }
+        return n < 3 ? null : new Polygon2(x, y, 0, n, false);
+    }
+
+    /**
+     * Writes the vertices of the cell of the given point into the given
+     * arrays, in counter-clockwise order. At most four more vertices than
+     * the point has neighbors are needed.
+     *
+     * @param point The index of the point
+     * @param x The array to write the x coordinates to
+     * @param y The array to write the y coordinates to
+     * @return The number of vertices, or the number of entries needed if the
+     *         arrays are too small. Less than 3 if the cell is empty
+     */
+    public int cell(int point, float[] x, float[] y) {
+        int count = delaunay.neighbors(point, neighbors);
+        if(count > neighbors.length) {
+            neighbors = new int[count];
+            delaunay.neighbors(point, neighbors);
+        }
+        if(count == 0 && delaunay.nearest(delaunay.x(point), delaunay.y(point), point) != point) return 0;
+        int capacity = count + 4;
+        if(x.length < capacity || y.length < capacity) return capacity;
+        if(clipX.length < capacity) {
+            clipX = new float[capacity];
+            clipY = new float[capacity];
+        }
+
+        int[] neighbors = this.neighbors;
+        float[] cx = x, cy = y, ox = clipX, oy = clipY;
+        cx[0] = minX; cy[0] = minY;
+        cx[1] = maxX; cy[1] = minY;
+        cx[2] = maxX; cy[2] = maxY;
+        cx[3] = minX; cy[3] = maxY;
+        int n = 4;
+
+        float sx = delaunay.x(point), sy = delaunay.y(point);
+        for(int k=0; k<count && n>0; k++) {
+            // Keep the half plane closer to the point than to the neighbor
+            int j = neighbors[k];
+            float nx = delaunay.x(j) - sx, ny = delaunay.y(j) - sy;
+            float mx = (delaunay.x(j) + sx) / 2, my = (delaunay.y(j) + sy) / 2;
+            n = clip(cx, cy, n, ox, oy, nx, ny, nx * mx + ny * my);
+            float[] t = cx; cx = ox; ox = t;
+            t = cy; cy = oy; oy = t;
+        }
+        if(cx != x) {
+            System.arraycopy(cx, 0, x, 0, n);
+            System.arraycopy(cy, 0, y, 0, n);
+        }
+        return n;
+    }
+
+    /**
+     * Clips the convex polygon to the half plane {@code nx*x + ny*y <= d}
+     * (Sutherland-Hodgman).
+     */
+    private static int clip(float[] x, float[] y, int n, float[] outX, float[] outY, float nx, float ny, float d) {
+        int m = 0;
+        for(int i=0, j=n-1; i<n; j=i++) {
+            float di = nx * x[i] + ny * y[i] - d, dj = nx * x[j] + ny * y[j] - d;
+            if((di <= 0) != (dj <= 0)) {
+                float t = dj / (dj - di);
+                outX[m] = x[j] + t * (x[i] - x[j]);
+                outY[m++] = y[j] + t * (y[i] - y[j]);
+            }
+            if(di <= 0) {
+                outX[m] = x[i];
+                outY[m++] = y[i];
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Returns the cells of all points.
+     *
+     * @return The cells by point index, {@code null} for empty cells
+     */
+    public Polygon2[] cells() {
+        Polygon2[] cells = new Polygon2[delaunay.size()];
+        Arrays.setAll(cells, this::cell);
+        return cells;
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.rccookie.geometry.performance;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Batch kernels using the Vector API. Only compiled on Java 17+ into the
+ * multi-release part of the jar, and only loaded by {@link Batch} if the
+ * {@code jdk.incubator.vector} module is available. Remainders that do not
+ * fill a whole vector are handled by {@link ScalarKernels}.
+ */
+final class SimdKernels implements BatchKernels {
+
+    private static final VectorSpecies<Float> S = FloatVector.SPECIES_PREFERRED;
+
+    static final SimdKernels INSTANCE = new SimdKernels();
+
+    private SimdKernels() {
+        // Vectorizing a single lane only adds overhead
+        if(S.length() < 2) throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void transform2(Affine2 m, float[] x, float[] y, float[] ox, float[] oy, int off, int len) {
+        float m00 = m.m00, m01 = m.m01, m02 = m.m02;
+        float m10 = m.m10, m11 = m.m11, m12 = m.m12;
+        int i = off, bound = off + S.loopBound(len);
+        for(; i<bound; i+=S.length()) {
+            FloatVector px = FloatVector.fromArray(S, x, i), py = FloatVector.fromArray(S, y, i);
+            px.mul(m00).add(py.mul(m01)).add(m02).intoArray(ox, i);
+            px.mul(m10).add(py.mul(m11)).add(m12).intoArray(oy, i);
+        }
+        ScalarKernels.INSTANCE.transform2(m, x, y, ox, oy, i, off + len - i);
+    }
+
+    @Override
+    public void transform3(Mat3x3 m, float[] x, float[] y, float[] z, float[] ox, float[] oy, float[] oz, int off, int len) {
+        float m00 = m.m00, m01 = m.m01, m02 = m.m02;
+        float m10 = m.m10, m11 = m.m11, m12 = m.m12;
+        float m20 = m.m20, m21 = m.m21, m22 = m.m22;
+        int i = off, bound = off + S.loopBound(len);
+        for(; i<bound; i+=S.length()) {
+            FloatVector px = FloatVector.fromArray(S, x, i);
+            FloatVector py = FloatVector.fromArray(S, y, i);
+            FloatVector pz = FloatVector.fromArray(S, z, i);
+            px.mul(m00).add(py.mul(m01)).add(pz.mul(m02)).intoArray(ox, i);
+            px.mul(m10).add(py.mul(m11)).add(pz.mul(m12)).intoArray(oy, i);
+            px.mul(m20).add(py.mul(m21)).add(pz.mul(m22)).intoArray(oz, i);
+        }
+        ScalarKernels.INSTANCE.transform3(m, x, y, z, ox, oy, oz, i, off + len - i);
+    }
+
+    @Override
+    public void dot2(float[] ax, float[] ay, float[] bx, float[] by, float[] out, int off, int len) {
+        int i = off, bound = off + S.loopBound(len);
+        for(; i<bound; i+=S.length()) {
+            FloatVector.fromArray(S, ax, i).mul(FloatVector.fromArray(S, bx, i))
+                    .add(FloatVector.fromArray(S, ay, i).mul(FloatVector.fromArray(S, by, i)))
+                    .intoArray(out, i);
+        }
+        ScalarKernels.INSTANCE.dot2(ax, ay, bx, by, out, i, off + len - i);
+    }
+
+    @Override
+    public void dot3(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz, float[] out, int off, int len) {
+        int i = off, bound = off + S.loopBound(len);
+        for(; i<bound; i+=S.length()) {
+            FloatVector.fromArray(S, ax, i).mul(FloatVector.fromArray(S, bx, i))
+                    .add(FloatVector.fromArray(S, ay, i).mul(FloatVector.fromArray(S, by, i)))
+                    .add(FloatVector.fromArray(S, az, i).mul(FloatVector.fromArray(S, bz, i)))
+                    .intoArray(out, i);
+        }
+        ScalarKernels.INSTANCE.dot3(ax, ay, az, bx, by, bz, out, i, off + len - i);
+    }
+
+    @Override
+    public void length2(float[] x, float[] y, float[] out, int off, int len) {
+        int i = off, bound = off + S.loopBound(len);
+        for(; i<bound; i+=S.length()) {
+            FloatVector px = FloatVector.fromArray(S, x, i), py = FloatVector.fromArray(S, y, i);
+            px.mul(px).add(py.mul(py)).sqrt().intoArray(out, i);
+        }
+        ScalarKernels.INSTANCE.length2(x, y, out, i, off + len - i);
+    }
+
+    @Override
+    public void length3(float[] x, float[] y, float[] z, float[] out, int off, int len) {
+        int i = off, bound = off + S.loopBound(len);
+        for(; i<bound; i+=S.length()) {
+            FloatVector px = FloatVector.fromArray(S, x, i);
+            FloatVector py = FloatVector.fromArray(S, y, i);
+            FloatVector pz = FloatVector.fromArray(S, z, i);
+            px.mul(px).add(py.mul(py)).add(pz.mul(pz)).sqrt().intoArray(out, i);
+        }
+        ScalarKernels.INSTANCE.length3(x, y, z, out, i, off + len - i);
+    }
+
+    @Override
+    public void normalize2(float[] x, float[] y, int off, int len) {
+        int i = off, bound = off + S.loopBound(len);
+        for(; i<bound; i+=S.length()) {
+            FloatVector px = FloatVector.fromArray(S, x, i), py = FloatVector.fromArray(S, y, i);
+            FloatVector f = FloatVector.broadcast(S, 1).div(px.mul(px).add(py.mul(py)).sqrt());
+            px.mul(f).intoArray(x, i);
+            py.mul(f).intoArray(y, i);
+        }
+        ScalarKernels.INSTANCE.normalize2(x, y, i, off + len - i);
+    }
+
+    @Override
+    public void normalize3(float[] x, float[] y, float[] z, int off, int len) {
+        int i = off, bound = off + S.loopBound(len);
+        for(; i<bound; i+=S.length()) {
+            FloatVector px = FloatVector.fromArray(S, x, i);
+            FloatVector py = FloatVector.fromArray(S, y, i);
+            FloatVector pz = FloatVector.fromArray(S, z, i);
+            FloatVector f = FloatVector.broadcast(S, 1).div(px.mul(px).add(py.mul(py)).add(pz.mul(pz)).sqrt());
+            px.mul(f).intoArray(x, i);
+            py.mul(f).intoArray(y, i);
+            pz.mul(f).intoArray(z, i);
+        }
+        ScalarKernels.INSTANCE.normalize3(x, y, z, i, off + len - i);
+    }
+
+    @Override
+    public void raySegments(float ox, float oy, float dx, float dy,
+                            float[] ax, float[] ay, float[] bx, float[] by, boolean ds,
+                            float[] out, int off, int len) {
+        int i = off, bound = off + S.loopBound(len);
+        for(; i<bound; i+=S.length()) {
+            FloatVector pax = FloatVector.fromArray(S, ax, i), pay = FloatVector.fromArray(S, ay, i);
+            FloatVector abx = FloatVector.fromArray(S, bx, i).sub(pax);
+            FloatVector aby = FloatVector.fromArray(S, by, i).sub(pay);
+            FloatVector aox = pax.neg().add(ox), aoy = pay.neg().add(oy);
+
+            FloatVector d = aby.mul(dx).sub(abx.mul(dy));
+            FloatVector iD = FloatVector.broadcast(S, 1).div(d);
+            FloatVector lHit = aoy.mul(dx).sub(aox.mul(dy)).mul(iD);
+            FloatVector rHit = abx.mul(aoy).sub(aby.mul(aox)).mul(iD);
+
+            VectorMask<Float> hit = ds ? d.compare(VectorOperators.NE, 0) : d.compare(VectorOperators.GT, 0);
+            hit = hit.and(lHit.compare(VectorOperators.GE, 0))
+                    .and(lHit.compare(VectorOperators.LE, 1))
+                    .and(rHit.compare(VectorOperators.GE, 0));
+            FloatVector.broadcast(S, Float.NaN).blend(rHit, hit).intoArray(out, i);
+        }
+        ScalarKernels.INSTANCE.raySegments(ox, oy, dx, dy, ax, ay, bx, by, ds, out, i, off + len - i);
+    }
+
+    @Override
+    public void rayCircles(float ox, float oy, float dx, float dy,
+                           float[] cx, float[] cy, float[] r, boolean i,
+                           float[] out, int off, int len) {
+        float a = 2 * (dx * dx + dy * dy), iA = 1 / a, sign = i ? 1 : -1;
+        int j = off, bound = off + S.loopBound(len);
+        for(; j<bound; j+=S.length()) {
+            FloatVector cox = FloatVector.fromArray(S, cx, j).neg().add(ox);
+            FloatVector coy = FloatVector.fromArray(S, cy, j).neg().add(oy);
+            FloatVector pr = FloatVector.fromArray(S, r, j);
+            FloatVector b = cox.mul(dx).add(coy.mul(dy)).mul(2);
+            FloatVector x = b.mul(b).sub(cox.mul(cox).add(coy.mul(coy)).sub(pr.mul(pr)).mul(2 * a));
+            FloatVector rHit = x.sqrt().mul(sign).sub(b).mul(iA);
+
+            VectorMask<Float> hit = x.compare(VectorOperators.GE, 0).and(rHit.compare(VectorOperators.GE, 0));
+            FloatVector.broadcast(S, Float.NaN).blend(rHit, hit).intoArray(out, j);
+        }
+        ScalarKernels.INSTANCE.rayCircles(ox, oy, dx, dy, cx, cy, r, i, out, j, off + len - j);
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.rccookie.geometry;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the Barnes–Hut approximation against
+ * {@link BarnesHut#bruteForce}.
+ */
+class BarnesHutTest {
+
+    private static final int N = 2000;
+
+    /**
+     * Bound for the RMS error relative to the RMS acceleration with an
+     * opening angle of {@code 0.5}.
+     */
+    private static final double THETA_05_ERROR = 1E-2;
+
+    /**
+     * Returns the RMS error relative to the RMS acceleration and the
+     * maximum relative error of a single body for the solver's
+     * accelerations of a random system, compared to the exact ones. The
+     * latter is large for bodies whose forces nearly cancel out.
+     */
+    private static double[] error(int dim, double theta, boolean parallel) {
+        Random random = new Random(dim);
+        double[] x = new double[N], y = new double[N], z = new double[N], m = new double[N];
+        for(int i=0; i<N; i++) {
+            x[i] = random.nextGaussian() * 1E9;
+            y[i] = random.nextGaussian() * 1E9;
+            z[i] = dim == 3 ? random.nextGaussian() * 1E9 : 0;
+            m[i] = Physics.M_EARTH * (0.5 + random.nextDouble());
+        }
+        double[] ex = new double[N], ey = new double[N], ez = new double[N];
+        BarnesHut.bruteForce(x, y, dim == 3 ? z : null, m, N, Physics.G, 0, ex, ey, ez);
+
+        BarnesHut tree = new BarnesHut(dim, theta).build(x, y, z, m, N, parallel);
+        double[] ax = new double[N], ay = new double[N], az = new double[N];
+        tree.accelerate(ax, ay, az, 0, N, parallel);
+
+        double err2 = 0, a2 = 0, max = 0;
+        for(int i=0; i<N; i++) {
+            double dx = ax[i] - ex[i], dy = ay[i] - ey[i], dz = az[i] - ez[i];
+            double d2 = dx * dx + dy * dy + dz * dz, e2 = ex[i] * ex[i] + ey[i] * ey[i] + ez[i] * ez[i];
+            err2 += d2;
+            a2 += e2;
+            max = Math.max(max, Math.sqrt(d2 / e2));
+        }
+        return new double[] { Math.sqrt(err2 / a2), max };
+    }
+
+    private static void assertExact(int dim) {
+        // Only the summation order differs from the brute force solution
+        double[] err = error(dim, 0, false);
+        Assertions.assertTrue(err[1] < 1E-12, () -> dim + "D maximum relative error with theta=0 is " + err[1]);
+    }
+
+    private static void assertApproximate(int dim) {
+        double[] err = error(dim, 0.5, false);
+        Assertions.assertTrue(err[0] < THETA_05_ERROR, () -> dim + "D relative RMS error with theta=0.5 is " + err[0]);
+    }
+
+    @Test
+    void exact2D() {
+        assertExact(2);
+    }
+
+    @Test
+    void exact3D() {
+        assertExact(3);
+    }
+
+    @Test
+    void approximate2D() {
+        assertApproximate(2);
+    }
+
+    @Test
+    void approximate3D() {
+        assertApproximate(3);
+    }
+
+    @Test
+    void parallel() {
+        for(int dim=2; dim<=3; dim++)
+            Assertions.assertArrayEquals(error(dim, 0.5, false), error(dim, 0.5, true), 0d);
+    }
+}
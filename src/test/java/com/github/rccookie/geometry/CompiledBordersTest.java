@@ -0,0 +1,66 @@
+package com.github.rccookie.geometry;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that compiled borders give the same results as
+ * {@link Raycast#raycast2D(Ray, double, Border...)}.
+ */
+class CompiledBordersTest {
+
+    private static void assertSame(Border[] borders, CompiledBorders compiled, Ray ray) {
+        Raycast.Raycast2D expected = Raycast.raycast2D(ray, 100, borders);
+        Raycast.Raycast2D actual = compiled.raycast2D(ray, 100);
+        Assertions.assertEquals(expected.hitBorder, actual.hitBorder, () -> "Border hit by " + ray);
+        Assertions.assertEquals(expected.rayIndex, actual.rayIndex, () -> "Ray index of " + ray);
+    }
+
+    @Test
+    void hitMissedInFloatPrecision() {
+        Edge e = new Edge(Vector.of(1e7 + 0.1, 0), Vector.of(1e7 + 0.4, 0));
+        Ray ray = new Ray(Vector.of(1e7 + 0.2, -1), Vector.of(0, 1));
+        Assertions.assertEquals(1, CompiledBorders.compile(e).raycast2D(ray, 100).rayIndex, 1e-9);
+        assertSame(new Border[] { e }, CompiledBorders.compile(e), ray);
+    }
+
+    @Test
+    void randomScenes() {
+        Random random = new Random(0);
+        // Offsets within, at the edge of and beyond the range floats represent integers exactly in
+        double[] offsets = { 0, 1e3, 1e6, 1e7, 1e9 };
+        double[] scales = { 1e-3, 1, 100 };
+        for(double offset : offsets) {
+            for(double scale : scales) {
+                Border[] borders = new Border[60];
+                for(int i=0; i<borders.length; i++) {
+                    double x = offset + random.nextDouble() * 10 * scale, y = offset + random.nextDouble() * 10 * scale;
+                    if(i % 3 == 0)
+                        borders[i] = new Circle(Vector.of(x, y), random.nextDouble() * scale, random.nextDouble() * 360, i % 2 == 0);
+                    else if(i == 1)
+                        borders[i] = new Ray(Vector.of(x, y), Vector.of(random.nextDouble() - 0.5, random.nextDouble() - 0.5));
+                    else
+                        // Some axis-aligned, some sharing an end point with the previous edge
+                        borders[i] = new Edge(i % 5 == 0 && borders[i-1] instanceof Edge ? ((Edge) borders[i-1]).end : Vector.of(x, y),
+                                Vector.of(x + (i % 4 == 0 ? 0 : random.nextDouble() - 0.5) * scale, y + (random.nextDouble() - 0.5) * scale));
+                }
+                CompiledBorders compiled = CompiledBorders.compile(borders);
+                for(int r=0; r<500; r++) {
+                    Vector root = Vector.of(offset + (random.nextDouble() * 14 - 2) * scale, offset + (random.nextDouble() * 14 - 2) * scale);
+                    Vector direction;
+                    if(r % 4 == 0) {
+                        // Aimed exactly at an edge end point
+                        Border target = borders[random.nextInt(borders.length)];
+                        if(!(target instanceof Edge)) continue;
+                        direction = Vector.between(root, ((Edge) target).start);
+                    }
+                    else if(r % 4 == 1) direction = r % 8 == 1 ? Vector.of(0, random.nextBoolean() ? 1 : -1) : Vector.of(random.nextBoolean() ? 1 : -1, 0);
+                    else direction = Vector.of(random.nextDouble() - 0.5, random.nextDouble() - 0.5);
+                    assertSame(borders, compiled, new Ray(root, direction));
+                }
+            }
+        }
+    }
+}
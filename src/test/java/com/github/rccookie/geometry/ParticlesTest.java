@@ -0,0 +1,56 @@
+package com.github.rccookie.geometry;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the integrators of {@link Particles} against the closed
+ * formulas in {@link Physics.Mechanics}.
+ */
+class ParticlesTest {
+
+    private static final Vector3D V0 = new Vector3D(3, -2, 12);
+    private static final double T = 2;
+
+    private static Particles thrown(double dt, boolean verlet, boolean parallel) {
+        Particles p = new Particles(10000);
+        for(int i=0; i<p.capacity(); i++) p.add(new Vector3D(), V0, 1);
+        int steps = (int) Math.round(T / dt);
+        for(int i=0; i<steps; i++) {
+            if(verlet) p.stepVerlet(dt, parallel);
+            else p.stepEuler(dt, parallel);
+        }
+        return p;
+    }
+
+    private static void assertClose(Vector3D expected, Vector3D actual, double delta, String name) {
+        Assertions.assertTrue(actual.subtract(expected).abs() <= delta, () -> name + " is " + actual + ", expected " + expected);
+    }
+
+    @Test
+    void verletIsExact() {
+        Vector3D loc = Physics.Mechanics.throwLoc(T, V0), vel = Physics.Mechanics.throwVel(T, V0);
+        for(boolean parallel : new boolean[] { false, true }) {
+            Particles p = thrown(1 / 64d, true, parallel);
+            for(int i=0; i<p.size(); i++) {
+                assertClose(loc, p.location(i), 1e-12, "Verlet location");
+                assertClose(vel, p.velocity(i), 1e-12, "Verlet velocity");
+            }
+        }
+    }
+
+    @Test
+    void eulerIsFirstOrder() {
+        Vector3D loc = Physics.Mechanics.throwLoc(T, V0), vel = Physics.Mechanics.throwVel(T, V0);
+        for(double dt : new double[] { 1 / 32d, 1 / 64d, 1 / 128d }) {
+            Particles p = thrown(dt, false, false);
+            // The velocity is exact, but each step moves with the velocity
+            // at its end, which overestimates the fall by g * t * dt / 2
+            assertClose(vel, p.velocity(0), 1e-12, "Euler velocity");
+            Vector3D err = p.location(0).subtract(loc);
+            Assertions.assertEquals(0, err.x(), 1e-12);
+            Assertions.assertEquals(0, err.y(), 1e-12);
+            Assertions.assertEquals(-Physics.G_EARTH * T * dt / 2, err.z(), 1e-12, () -> "Euler error with dt=" + dt);
+        }
+    }
+}
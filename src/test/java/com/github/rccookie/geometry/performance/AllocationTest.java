@@ -0,0 +1,175 @@
+package com.github.rccookie.geometry.performance;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.github.rccookie.geometry.Physics;
+import com.github.rccookie.geometry.Vector3D;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+/**
+ * Checks that the hot paths of the performance package do not allocate
+ * any memory once they have been compiled. Each path is warmed up and then
+ * run repeatedly while the bytes allocated by the current thread are
+ * measured using {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ * <p>Each path is a separate test, which fails if the path allocates. The
+ * check can be skipped using {@code -DskipAllocationCheck}. New
+ * allocation-free operations should be added to {@link #paths()}.
+ */
+class AllocationTest {
+
+    /**
+     * Number of invocations before measuring, enough for the JIT to compile
+     * the paths with escape analysis.
+     */
+    private static final int WARMUP = 50000;
+
+    /**
+     * Number of invocations per measurement.
+     */
+    private static final int OPS = 10000;
+
+    /**
+     * Number of measurements per path, of which the lowest counts, as a
+     * compilation may finish during a measurement.
+     */
+    private static final int ROUNDS = 5;
+
+
+    /**
+     * A hot path. Returns some result so the work cannot be eliminated.
+     */
+    @FunctionalInterface
+    private interface Path {
+        float run(int i);
+    }
+
+    /**
+     * Receives the results of the paths.
+     */
+    private static float sink;
+
+
+    private static Map<String, Path> paths() {
+        Map<String, Path> paths = new LinkedHashMap<>();
+
+        Vec2 a = new Vec2(1, 2), b = new Vec2(3, -1), v2 = new Vec2();
+        paths.put("Vec2 in-place", i -> v2.set(a).add(b).subtract(a).scale(0.5f).rotate(i).norm().dot(b));
+        Vec3 c = new Vec3(1, 2, 3), d = new Vec3(-2, 0, 1), v3 = new Vec3();
+        paths.put("Vec3 in-place", i -> Vec3.cross(c, d, v3.set(c)).add(d).scale(i).norm().dot(c));
+        paths.put("FastMath", i -> FastMath.sin(i) + FastMath.cos(i) + FastMath.atan2(i, 3) + FastMath.clamp(i, 0f, 1f));
+
+        Mat3x3 m3 = new Mat3x3(1, 2, 3, 0, 1, 4, 5, 6, 0), mOut = new Mat3x3();
+        paths.put("Mat3x3", i -> Mat3x3.multiply(m3, m3, mOut).transform(c, v3).x);
+        Affine2 affine = new Affine2().rotate(30).translate(1, 2);
+        paths.put("Affine2", i -> affine.transformPoint(a, v2).x);
+        paths.put("Scratch", i -> {
+            try(Scratch s = Scratch.open()) {
+                return b.subtracted(a, s).norm().rotated(i, s).added(a, s).x
+                        + Vec3.cross(c, d, s).normed(s).x + m3.multiplied(m3, s).transform(c, s).y;
+            }
+        });
+
+        ILine2 iLine = new ILine2(new IVec2(0, -5), new IVec2(0, 5)), iOther = new ILine2(new IVec2(-3, 0), new IVec2(4, 1));
+        paths.put("ILine2 intersects", i -> iLine.intersects(iOther) ? 1 : 0);
+
+        float[] x = new float[256], y = new float[256], z = new float[256], out = new float[256];
+        for(int i=0; i<x.length; i++) {
+            x[i] = i % 17 - 8;
+            y[i] = i % 13 - 6;
+            z[i] = i % 11 + 1;
+        }
+        paths.put("Batch raySegments", i -> {
+            Batch.raySegments(0, 0, 1, 0.25f, x, y, z, y, true, out, 0, x.length);
+            return out[i & 255];
+        });
+        paths.put("Batch rayCircles", i -> {
+            Batch.rayCircles(0, 0, 1, 0.25f, x, y, z, false, out, 0, x.length);
+            return out[i & 255];
+        });
+
+        Collider2[] colliders = new Collider2[256];
+        for(int i=0; i<colliders.length; i++)
+            colliders[i] = i % 2 == 0 ?
+                    new Line2(new Vec2(x[i], y[i]), new Vec2(x[i] + 1, y[i] + 2), true) :
+                    new Circle(new Vec2(x[i], y[i]), 0.5f);
+        ColliderSet2 set = new ColliderSet2(colliders);
+        paths.put("ColliderSet2 closest", i -> set.closest(-10, i % 7, 1, 0.1f, Float.POSITIVE_INFINITY));
+        ColliderWorld2 world = new ColliderWorld2();
+        for(Collider2 collider : colliders) world.add(collider);
+        world.publish();
+        paths.put("ColliderWorld2 closest", i -> world.snapshot().closest(-10, i % 7, 1, 0.1f, Float.POSITIVE_INFINITY));
+
+        Grid2 grid = new Grid2();
+        grid.fill(100, -50, 101, 50, true);
+        grid.setSolid(-70, 200, true);
+        paths.put("Grid2 rayIndex", i -> grid.rayIndex(0.5f, 0.5f, 1, (i % 10 - 5) * 0.05f, Float.POSITIVE_INFINITY));
+        paths.put("Grid2 lineOfSight", i -> grid.lineOfSight(0, 0, 150, i % 40) ? 1 : 0);
+
+        Bezier2 bezier = new Bezier2(new Vec2(-5, 0), new Vec2(0, 8), new Vec2(3, -8), new Vec2(5, 0));
+        Vec2 onCurve = bezier.get(0.3f), offCurve = new Vec2(0, -3);
+        paths.put("Spline2 contains", i -> (bezier.contains(onCurve) ? 1 : 0) + (bezier.contains(offCurve) ? 1 : 0));
+
+        // Sites in general position, degenerate ones fall back to exact arithmetic
+        float[] sx = new float[1000], sy = new float[1000];
+        for(int i=0; i<sx.length; i++) {
+            sx[i] = (float) (i * 0.6180339887 % 1) * 10;
+            sy[i] = (float) (i * 0.7548776662 % 1) * 10;
+        }
+        Delaunay2 delaunay = new Delaunay2(sx, sy);
+        paths.put("Delaunay2 find", i -> delaunay.find(i % 97 * 0.1031f, i % 89 * 0.1093f));
+        paths.put("Delaunay2 nearest", i -> delaunay.nearest(i % 97 * 0.1031f, i % 89 * 0.1093f));
+        Voronoi2 voronoi = delaunay.voronoi(-1, -1, 11, 11);
+        float[] cellX = new float[64], cellY = new float[64];
+        paths.put("Voronoi2 cell", i -> voronoi.cell(i % sx.length, cellX, cellY) + cellX[0]);
+
+        Vector3D v0 = new Vector3D(3, -2, 12), loc = new Vector3D();
+        paths.put("Physics throwLoc", i -> (float) Physics.Mechanics.throwLoc(i * 0.01, v0, loc).z());
+
+        return paths;
+    }
+
+    /**
+     * Returns the number of bytes the given path allocates per 1000
+     * invocations after being warmed up.
+     */
+    private static long allocated(Path path, com.sun.management.ThreadMXBean bean) {
+        long thread = Thread.currentThread().getId();
+        float sink = 0;
+        for(int i=0; i<WARMUP; i++) sink += path.run(i);
+
+        long min = Long.MAX_VALUE;
+        for(int r=0; r<ROUNDS && min != 0; r++) {
+            long overhead = bean.getThreadAllocatedBytes(thread);
+            long before = bean.getThreadAllocatedBytes(thread);
+            overhead = before - overhead;
+            for(int i=0; i<OPS; i++) sink += path.run(i);
+            long bytes = bean.getThreadAllocatedBytes(thread) - before - overhead;
+            // Anything below one byte per invocation is measurement noise
+            min = Math.min(min, bytes < OPS ? 0 : bytes * 1000 / OPS);
+        }
+        AllocationTest.sink += sink;
+        return min;
+    }
+
+    @TestFactory
+    Stream<DynamicTest> hotPathsDoNotAllocate() {
+        Assumptions.assumeTrue(System.getProperty("skipAllocationCheck") == null, "Allocation check skipped");
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "Allocation measurement not supported by this JVM");
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean.isThreadAllocatedMemorySupported(), "Allocation measurement not supported by this JVM");
+        bean.setThreadAllocatedMemoryEnabled(true);
+
+        return paths().entrySet().stream().map(path -> DynamicTest.dynamicTest(path.getKey(), () -> {
+            long bytes = allocated(path.getValue(), bean);
+            Assertions.assertEquals(0, bytes, () -> path.getKey() + " allocates " + bytes + " bytes per 1000 ops");
+        }));
+    }
+}
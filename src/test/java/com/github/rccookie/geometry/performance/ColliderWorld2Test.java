@@ -0,0 +1,105 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Stress test: one writer moves colliders and publishes snapshots while
+ * multiple readers raycast against them, checking that every snapshot is
+ * internally consistent.
+ */
+class ColliderWorld2Test {
+
+    /**
+     * Duration of the stress test in milliseconds.
+     */
+    private static final long DURATION = 500;
+
+    @Test
+    void concurrentSnapshots() throws InterruptedException {
+        int readerCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+
+        // All colliders are moved to the same x coordinate each frame, which
+        // is derived from the epoch, so readers can check the hit location.
+        ColliderWorld2 world = new ColliderWorld2();
+        Random random = new Random(0);
+        List<Integer> handles = new ArrayList<>();
+        for(int i=0; i<200; i++) {
+            float y = i * 4;
+            handles.add(world.add(i % 2 == 0 ?
+                    new Circle(new Vec2(0, y), 1) :
+                    new Line2(new Vec2(0, y - 1), new Vec2(0, y + 1), true)));
+        }
+
+        // One frame of the writer: change all colliders, then publish them
+        Runnable frame = () -> {
+            long next = world.snapshot().epoch() + 1;
+            float x = 10 + next % 100;
+            for(int i=0; i<handles.size(); i++) {
+                Collider2 c = world.get(handles.get(i));
+                if(c instanceof Circle) {
+                    // Readers would see the changed radius with the old center if shared
+                    Circle circle = (Circle) c;
+                    circle.r = 1 + random.nextFloat();
+                    circle.c.x = x + circle.r;
+                }
+                else {
+                    ((Line2) c).a.x = x;
+                    ((Line2) c).b.x = x;
+                }
+                if(i % 16 == 0) Thread.yield();
+            }
+            // Churn handles to exercise removal and reuse
+            int h = handles.remove(random.nextInt(handles.size()));
+            handles.add(world.add(world.remove(h)));
+            world.publish();
+        };
+        frame.run();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong queries = new AtomicLong(), errors = new AtomicLong();
+
+        Thread writer = new Thread(() -> {
+            while(running.get()) frame.run();
+        });
+
+        Thread[] readers = new Thread[readerCount];
+        for(int t=0; t<readerCount; t++) {
+            readers[t] = new Thread(() -> {
+                Random r = new Random();
+                while(running.get()) {
+                    ColliderWorld2.Snapshot s = world.snapshot();
+                    float expected = 10 + s.epoch() % 100;
+                    for(int i=0; i<100; i++) {
+                        float y = r.nextInt(200) * 4;
+                        Raycast<Vec2> cast = s.calc(new Ray2(new Vec2(0, y), new Vec2(1, 0)));
+                        int handle = s.closest(0, y, 1, 0, Float.POSITIVE_INFINITY);
+                        queries.incrementAndGet();
+                        if(!cast.collided || handle == -1 || s.get(handle) != cast.e
+                                || Math.abs(cast.point().x - expected) > 0.01f)
+                            errors.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        writer.start();
+        for(Thread t : readers) t.start();
+        Thread.sleep(DURATION);
+        running.set(false);
+        writer.join(10000);
+        for(Thread t : readers) t.join(10000);
+
+        Assertions.assertFalse(writer.isAlive(), "Writer did not stop");
+        for(Thread t : readers) Assertions.assertFalse(t.isAlive(), "Reader did not stop");
+        Assertions.assertTrue(world.snapshot().epoch() > 1, "No snapshots published");
+        Assertions.assertTrue(queries.get() > 0, "No queries made");
+        Assertions.assertEquals(0, errors.get(), () -> errors.get() + " of " + queries.get() + " queries were inconsistent");
+    }
+}
@@ -0,0 +1,200 @@
+package com.github.rccookie.geometry.performance;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the hulls computed by {@link ConvexHull} with exact orientation
+ * tests.
+ */
+class ConvexHullTest {
+
+    /**
+     * Random points in the unit disc (z = 0 for 2D) or ball.
+     */
+    private static float[][] ball(int n, int dim, long seed) {
+        Random random = new Random(seed);
+        float[] x = new float[n], y = new float[n], z = new float[n];
+        for(int i=0; i<n; i++) {
+            do {
+                x[i] = random.nextFloat() * 2 - 1;
+                y[i] = random.nextFloat() * 2 - 1;
+                z[i] = dim == 3 ? random.nextFloat() * 2 - 1 : 0;
+            } while(x[i] * x[i] + y[i] * y[i] + z[i] * z[i] > 1);
+        }
+        return new float[][] { x, y, z };
+    }
+
+    /**
+     * Points on an integer grid, with many collinear and coplanar points on
+     * the boundary.
+     */
+    private static float[][] grid(int size, int dim) {
+        int n = (int) Math.pow(size, dim);
+        float[] x = new float[n], y = new float[n], z = new float[n];
+        for(int i=0; i<n; i++) {
+            x[i] = i % size;
+            y[i] = (i / size) % size;
+            z[i] = dim == 3 ? i / (size * size) : 0;
+        }
+        return new float[][] { x, y, z };
+    }
+
+    /**
+     * Exact 2D orientation. All coordinates are within [-size, size].
+     */
+    private static int orient(float[] x, float[] y, int a, int b, int p, double size) {
+        double det = ((double) x[b] - x[a]) * ((double) y[p] - y[a]) - ((double) y[b] - y[a]) * ((double) x[p] - x[a]);
+        if(Math.abs(det) > 1e-12 * size * size) return (int) Math.signum(det);
+        return diff(x, b, a).multiply(diff(y, p, a)).subtract(diff(y, b, a).multiply(diff(x, p, a))).signum();
+    }
+
+    /**
+     * Exact 3D orientation, which is not representable in double precision.
+     * All coordinates are within [-size, size].
+     */
+    private static int orient(float[] x, float[] y, float[] z, int a, int b, int c, int p, double size) {
+        double bx0 = (double) x[b] - x[a], by0 = (double) y[b] - y[a], bz0 = (double) z[b] - z[a];
+        double cx0 = (double) x[c] - x[a], cy0 = (double) y[c] - y[a], cz0 = (double) z[c] - z[a];
+        double px0 = (double) x[p] - x[a], py0 = (double) y[p] - y[a], pz0 = (double) z[p] - z[a];
+        double det = px0 * (by0 * cz0 - bz0 * cy0) + py0 * (bz0 * cx0 - bx0 * cz0) + pz0 * (bx0 * cy0 - by0 * cx0);
+        // Differences are below 2 * size, so the rounding error is far below this
+        if(Math.abs(det) > 1e-12 * size * size * size) return (int) Math.signum(det);
+
+        BigDecimal bx = diff(x, b, a), by = diff(y, b, a), bz = diff(z, b, a);
+        BigDecimal cx = diff(x, c, a), cy = diff(y, c, a), cz = diff(z, c, a);
+        BigDecimal px = diff(x, p, a), py = diff(y, p, a), pz = diff(z, p, a);
+        return px.multiply(by.multiply(cz).subtract(bz.multiply(cy)))
+                .add(py.multiply(bz.multiply(cx).subtract(bx.multiply(cz))))
+                .add(pz.multiply(bx.multiply(cy).subtract(by.multiply(cx)))).signum();
+    }
+
+    private static BigDecimal diff(float[] v, int i, int j) {
+        return new BigDecimal(v[i]).subtract(new BigDecimal(v[j]));
+    }
+
+    private static void assertHull2(float[] x, float[] y, int[] hull, double size) {
+        Assertions.assertTrue(hull.length >= 3, "Hull has fewer than 3 vertices");
+        for(int p=0; p<x.length; p++)
+            Assertions.assertTrue(x[hull[0]] <= x[p], "Hull does not start with the lowest x coordinate");
+        for(int i=0; i<hull.length; i++) {
+            int a = hull[i], b = hull[(i + 1) % hull.length], c = hull[(i + 2) % hull.length];
+            Assertions.assertTrue(orient(x, y, a, b, c, size) > 0, "Hull is not strictly convex and counter-clockwise");
+            for(int p=0; p<x.length; p++) {
+                int point = p;
+                Assertions.assertTrue(orient(x, y, a, b, p, size) >= 0, () -> "Point " + point + " is outside of the hull");
+            }
+        }
+    }
+
+    private static void assertHull3(float[] x, float[] y, float[] z, int[] faces, double size) {
+        Assertions.assertEquals(0, faces.length % 3);
+        // Every directed edge has to appear exactly once, and its reverse in
+        // the neighboring face
+        Map<Long, Integer> edges = new HashMap<>();
+        for(int f=0; f<faces.length; f+=3) {
+            for(int e=0; e<3; e++) {
+                long edge = ((long) faces[f + e] << 32) | faces[f + (e + 1) % 3];
+                Assertions.assertNull(edges.put(edge, f), "Edge used twice in the same direction");
+            }
+        }
+        for(long edge : edges.keySet())
+            Assertions.assertTrue(edges.containsKey((edge << 32) | (edge >>> 32)), "Hull is not closed");
+        int vertices = (int) Arrays.stream(faces).distinct().count();
+        Assertions.assertEquals(2 * vertices - 4, faces.length / 3, "Euler characteristic");
+
+        for(int f=0; f<faces.length; f+=3) {
+            int a = faces[f], b = faces[f+1], c = faces[f+2];
+            boolean degenerate = true;
+            for(int p=0; p<x.length; p++) {
+                int o = orient(x, y, z, a, b, c, p, size);
+                int point = p;
+                Assertions.assertTrue(o <= 0, () -> "Point " + point + " is outside of the hull");
+                if(o < 0) degenerate = false;
+            }
+            Assertions.assertFalse(degenerate, "Degenerate face");
+        }
+    }
+
+    /**
+     * Returns the coordinates of the given points, sorted, to compare hulls
+     * that may use different indices for duplicate points.
+     */
+    private static String coordinates(float[][] points, int[] indices) {
+        return Arrays.stream(indices).mapToObj(i -> points[0][i] + " " + points[1][i] + " " + points[2][i])
+                .sorted().reduce("", (a, b) -> a + ", " + b);
+    }
+
+    @Test
+    void hull2() {
+        for(int seed=0; seed<5; seed++) {
+            float[][] p = ball(5000, 2, seed);
+            assertHull2(p[0], p[1], ConvexHull.indices(p[0], p[1], 0, p[0].length, false), 1);
+        }
+    }
+
+    @Test
+    void hull2Collinear() {
+        float[][] p = grid(20, 2);
+        int[] hull = ConvexHull.indices(p[0], p[1], 0, p[0].length, false);
+        assertHull2(p[0], p[1], hull, 20);
+        Assertions.assertEquals(4, hull.length, "Collinear boundary points are part of the hull");
+    }
+
+    @Test
+    void hull3() {
+        for(int seed=0; seed<5; seed++) {
+            float[][] p = ball(2000, 3, seed);
+            assertHull3(p[0], p[1], p[2], ConvexHull.faces(p[0], p[1], p[2], 0, p[0].length, false), 1);
+        }
+    }
+
+    @Test
+    void hull3Coplanar() {
+        float[][] p = grid(8, 3);
+        int[] faces = ConvexHull.faces(p[0], p[1], p[2], 0, p[0].length, false);
+        assertHull3(p[0], p[1], p[2], faces, 8);
+        Assertions.assertEquals(8, Arrays.stream(faces).distinct().count(), "Coplanar boundary points are part of the hull");
+    }
+
+    @Test
+    void coplanar3() {
+        float[][] p = grid(10, 2);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ConvexHull.faces(p[0], p[1], p[2], 0, p[0].length, false));
+    }
+
+    @Test
+    void parallel() {
+        float[][] p = ball(300000, 3, 42);
+        int n = p[0].length;
+        int[] sequential = ConvexHull.indices(p[0], p[1], 0, n, false), parallel = ConvexHull.indices(p[0], p[1], 0, n, true);
+        Assertions.assertEquals(coordinates(p, sequential), coordinates(p, parallel), "2D hulls differ");
+        sequential = ConvexHull.faces(p[0], p[1], p[2], 0, n, false);
+        parallel = ConvexHull.faces(p[0], p[1], p[2], 0, n, true);
+        Assertions.assertEquals(coordinates(p, sequential), coordinates(p, parallel), "3D hulls differ");
+    }
+
+    @Test
+    void containsPoints() {
+        float[][] p = ball(100000, 3, 7);
+        float[] x = p[0], y = p[1], z = p[2];
+        int n = x.length;
+        Polygon2 polygon = ConvexHull.polygon(x, y, 0, n, true);
+        ConvexPolyhedron3 polyhedron = ConvexHull.polyhedron(x, y, z, 0, n, true);
+        // Points moved slightly towards the center have to be inside
+        float f = 1 - 1e-5f;
+        for(int i=0; i<n; i++) {
+            int point = i;
+            Assertions.assertTrue(polygon.contains(x[i] * f, y[i] * f), () -> "Point " + point + " outside of " + polygon);
+            Assertions.assertTrue(polyhedron.contains(x[i] * f, y[i] * f, z[i] * f), () -> "Point " + point + " outside of " + polyhedron);
+        }
+        // The projected ball is sparse near the edge of the disc
+        Assertions.assertEquals(Math.PI, polygon.area(), 0.05, "Area of the hull of the disc");
+    }
+}
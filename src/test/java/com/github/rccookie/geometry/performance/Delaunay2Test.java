@@ -0,0 +1,157 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link Delaunay2} and {@link Voronoi2} against their definitions
+ * on random and degenerate inputs.
+ */
+class Delaunay2Test {
+
+    private static final int RUNS = 50;
+
+    /**
+     * Random points, every other run on a small integer grid with many
+     * duplicate, collinear and cocircular points.
+     */
+    private static float[][] points(Random random, int run) {
+        int n = 3 + random.nextInt(500);
+        float[] x = new float[n], y = new float[n];
+        for(int i=0; i<n; i++) {
+            x[i] = run % 2 == 0 ? random.nextFloat() * 8 : random.nextInt(8);
+            y[i] = run % 2 == 0 ? random.nextFloat() * 8 : random.nextInt(8);
+        }
+        return new float[][] { x, y };
+    }
+
+    private static long key(float x, float y) {
+        return (long) Float.floatToIntBits(x) << 32 | Float.floatToIntBits(y) & 0xFFFFFFFFL;
+    }
+
+    private static double sqrDist(float ax, float ay, float bx, float by) {
+        double dx = (double) ax - bx, dy = (double) ay - by;
+        return dx * dx + dy * dy;
+    }
+
+    @Test
+    void triangulation() {
+        Random random = new Random(0);
+        for(int run=0; run<RUNS; run++) {
+            float[][] p = points(random, run);
+            float[] x = p[0], y = p[1];
+            Delaunay2 d = new Delaunay2(x, y);
+
+            // Every distinct point has to be part of the triangulation, only duplicates may be skipped
+            Set<Long> distinct = new HashSet<>(), included = new HashSet<>();
+            for(int i=0; i<x.length; i++) distinct.add(key(x[i], y[i]));
+            for(int i : d.triangles) included.add(key(x[i], y[i]));
+            for(int i : d.hull) included.add(key(x[i], y[i]));
+            Assertions.assertEquals(distinct, included, "Points missing from the triangulation");
+
+            for(int e=0; e<d.halfedges.length; e++) {
+                int o = d.halfedges[e];
+                if(o == -1) continue;
+                Assertions.assertEquals(e, d.halfedges[o], "Half-edges are not symmetric");
+                Assertions.assertEquals(d.triangles[e], d.triangles[o - o % 3 + (o + 1) % 3], "Opposite half-edges do not share their points");
+            }
+
+            for(int t=0; t<d.triangles.length; t+=3) {
+                int a = d.triangles[t], b = d.triangles[t+1], c = d.triangles[t+2];
+                Assertions.assertTrue(Delaunay2.orient(x[a], y[a], x[b], y[b], x[c], y[c]) > 0, "Triangle is not counter-clockwise");
+                for(int i=0; i<x.length; i++) {
+                    int point = i;
+                    Assertions.assertFalse(Delaunay2.inCircle(x[a], y[a], x[b], y[b], x[c], y[c], x[i], y[i]) > 0,
+                            () -> "Point " + point + " in the circumcircle of triangle " + a + ", " + b + ", " + c);
+                }
+            }
+        }
+    }
+
+    @Test
+    void collinear() {
+        float[] x = { 0, 3, 1, 2, 1, 4 }, y = { 0, 6, 2, 4, 2, 8 };
+        Delaunay2 d = new Delaunay2(x, y);
+        Assertions.assertEquals(0, d.triangleCount());
+        Assertions.assertArrayEquals(new int[] { 0, 2, 3, 1, 5 }, d.hull);
+        Assertions.assertEquals(5, d.nearest(10, 10));
+    }
+
+    @Test
+    void find() {
+        Random random = new Random(1);
+        for(int run=0; run<RUNS; run++) {
+            float[][] p = points(random, run);
+            float[] x = p[0], y = p[1];
+            Delaunay2 d = new Delaunay2(x, y);
+            for(int q=0; q<100; q++) {
+                float px = random.nextFloat() * 10 - 1, py = random.nextFloat() * 10 - 1;
+                int t = d.find(px, py);
+                if(t == -1) {
+                    boolean outside = false;
+                    for(int i=0; i<d.hull.length; i++) {
+                        int a = d.hull[i], b = d.hull[(i + 1) % d.hull.length];
+                        outside |= Delaunay2.orient(x[a], y[a], x[b], y[b], px, py) < 0;
+                    }
+                    Assertions.assertTrue(outside, () -> px + ", " + py + " not found inside the hull");
+                }
+                else {
+                    for(int j=0; j<3; j++) {
+                        int a = d.triangles[3 * t + j], b = d.triangles[3 * t + (j + 1) % 3];
+                        Assertions.assertTrue(Delaunay2.orient(x[a], y[a], x[b], y[b], px, py) >= 0, () -> px + ", " + py + " not in the found triangle");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void nearest() {
+        Random random = new Random(2);
+        for(int run=0; run<RUNS; run++) {
+            float[][] p = points(random, run);
+            float[] x = p[0], y = p[1];
+            Delaunay2 d = new Delaunay2(x, y);
+            for(int q=0; q<100; q++) {
+                float px = random.nextFloat() * 10 - 1, py = random.nextFloat() * 10 - 1;
+                int best = 0;
+                for(int i=1; i<x.length; i++)
+                    if(sqrDist(x[i], y[i], px, py) < sqrDist(x[best], y[best], px, py)) best = i;
+                int nearest = d.nearest(px, py);
+                Assertions.assertEquals(sqrDist(x[best], y[best], px, py), sqrDist(x[nearest], y[nearest], px, py),
+                        () -> "Nearest point to " + px + ", " + py);
+            }
+        }
+    }
+
+    @Test
+    void voronoi() {
+        Random random = new Random(3);
+        for(int run=0; run<RUNS; run++) {
+            float[][] p = points(random, run);
+            float[] x = p[0], y = p[1];
+            Voronoi2 voronoi = new Delaunay2(x, y).voronoi(-1, -1, 9, 9);
+            for(int q=0; q<100; q++) {
+                float px = random.nextFloat() * 10 - 1, py = random.nextFloat() * 10 - 1;
+                double first = Double.POSITIVE_INFINITY, second = Double.POSITIVE_INFINITY;
+                for(int i=0; i<x.length; i++) {
+                    double dist = Math.sqrt(sqrDist(x[i], y[i], px, py));
+                    if(dist == first) continue;
+                    if(dist < first) {
+                        second = first;
+                        first = dist;
+                    }
+                    else second = Math.min(second, dist);
+                }
+                // Skip positions right at a cell border to allow for rounding
+                if(second - first < 1e-3) continue;
+                Polygon2 cell = voronoi.cell(voronoi.find(px, py));
+                Assertions.assertTrue(cell != null && cell.contains(px, py), () -> px + ", " + py + " not in the cell of its site");
+            }
+        }
+    }
+}
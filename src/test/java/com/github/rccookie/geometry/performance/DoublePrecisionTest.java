@@ -0,0 +1,136 @@
+package com.github.rccookie.geometry.performance;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the double precision types offer the same API as their
+ * float counterparts, so that changes to one are not forgotten in the
+ * other.
+ */
+class DoublePrecisionTest {
+
+    private static final Class<?>[][] PAIRS = {
+            { Vec.class, DVec.class },
+            { Vec2.class, DVec2.class },
+            { Vec3.class, DVec3.class },
+            { Ray.class, DRay.class },
+            { Ray2.class, DRay2.class },
+            { Line.class, DLine.class },
+            { Line2.class, DLine2.class },
+            { Collider.class, DCollider.class },
+            { Collider2.class, DCollider2.class },
+            { Coll.class, DColl.class },
+            { Coll2.class, DColl2.class },
+            { Circle.class, DCircle.class },
+            { Box.class, DBox.class },
+            { Rect.class, DRect.class },
+            { Raycast.class, DRaycast.class },
+    };
+
+    /**
+     * Members only the float types have, besides the ones taking generic
+     * matrices, which are only defined on float vectors. DVec does not
+     * declare an int conversion, and {@link Line2} has a demo main.
+     */
+    private static final Set<String> FLOAT_ONLY = Set.of(
+            "Vec.toI()", "Line2.static main(String[])"
+    );
+
+    /**
+     * Returns the name of the given type with double precision types
+     * replaced by their float counterparts.
+     */
+    private static String name(Class<?> type) {
+        if(type.isArray()) return name(type.getComponentType()) + "[]";
+        for(Class<?>[] pair : PAIRS)
+            if(type == pair[1]) return pair[0].getSimpleName();
+        if(type == double.class) return "float";
+        if(type == Double.class) return "Float";
+        return type.getSimpleName();
+    }
+
+    private static boolean isConversion(Executable member) {
+        // Members of the double types that convert from or to float precision
+        for(Class<?> param : member.getParameterTypes())
+            for(Class<?>[] pair : PAIRS)
+                if(param == pair[0]) return true;
+        return member.getName().equals("toF");
+    }
+
+    private static String signature(Executable member) {
+        StringBuilder str = new StringBuilder();
+        if(Modifier.isStatic(member.getModifiers())) str.append("static ");
+        str.append(member instanceof Constructor ? "<init>" : member.getName()).append('(');
+        Class<?>[] params = member.getParameterTypes();
+        for(int i=0; i<params.length; i++) {
+            if(i != 0) str.append(", ");
+            str.append(name(params[i]));
+        }
+        str.append(')');
+        if(member instanceof Method) str.append(' ').append(name(((Method) member).getReturnType()));
+        return str.toString();
+    }
+
+    private static Set<String> api(Class<?> type, boolean isDouble) {
+        Set<String> api = new TreeSet<>();
+        Executable[][] members = { type.getDeclaredConstructors(), type.getDeclaredMethods() };
+        for(Executable[] kind : members) {
+            for(Executable member : kind) {
+                if(member.isSynthetic() || Modifier.isPrivate(member.getModifiers())) continue;
+                if(isDouble && isConversion(member)) continue;
+                String signature = signature(member);
+                if(!isDouble && (Arrays.asList(member.getParameterTypes()).contains(Mat.class)
+                        || FLOAT_ONLY.contains(type.getSimpleName() + '.' + signature.substring(0, signature.lastIndexOf(')') + 1))))
+                    continue;
+                api.add(signature);
+            }
+        }
+        for(Field field : type.getDeclaredFields())
+            if(!field.isSynthetic() && !Modifier.isPrivate(field.getModifiers()))
+                api.add(name(field.getType()) + ' ' + field.getName());
+        return api;
+    }
+
+    @Test
+    void sameApi() {
+        for(Class<?>[] pair : PAIRS) {
+            Set<String> floatApi = api(pair[0], false), doubleApi = api(pair[1], true);
+            Set<String> missing = new TreeSet<>(floatApi), extra = new TreeSet<>(doubleApi);
+            missing.removeAll(doubleApi);
+            extra.removeAll(floatApi);
+            Assertions.assertTrue(missing.isEmpty(), () -> pair[1].getSimpleName() + " is missing " + missing);
+            Assertions.assertTrue(extra.isEmpty(), () -> pair[0].getSimpleName() + " is missing " + extra);
+        }
+    }
+
+    @Test
+    void scratch() {
+        try(Scratch s = Scratch.open()) {
+            DVec2 a = new DVec2(3, 4);
+            DVec2 sum = a.added(new DVec2(1, 1), s);
+            Assertions.assertEquals(new DVec2(4, 5), sum);
+            DVec2 norm = a.normed(s);
+            Assertions.assertEquals(0.6, norm.x, 1e-15);
+            Assertions.assertEquals(0.8, norm.y, 1e-15);
+            try(Scratch inner = Scratch.open()) {
+                Assertions.assertEquals(new DVec3(0, 0, 1), DVec3.cross(new DVec3(1, 0, 0), new DVec3(0, 1, 0), inner));
+            }
+            // Still valid after the inner scope was closed
+            Assertions.assertEquals(new DVec2(4, 5), sum);
+        }
+        try(Scratch s = Scratch.open()) {
+            // Reused from the pool, but reset
+            Assertions.assertEquals(new DVec2(), s.dvec2());
+        }
+    }
+}
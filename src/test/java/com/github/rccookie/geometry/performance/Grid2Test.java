@@ -0,0 +1,67 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the outline of {@link Grid2}.
+ */
+class Grid2Test {
+
+    @Test
+    void singleCell() {
+        Grid2 grid = new Grid2(2).setSolid(0, 0, true);
+        Assertions.assertEquals(8, grid.length());
+        Assertions.assertEquals(64, grid.sqrLength());
+        // Left face first, walked downwards
+        Assertions.assertEquals(new Vec2(0, 2), grid.get(0));
+        Assertions.assertEquals(new Vec2(0, 1), grid.get(0.125f));
+        Assertions.assertEquals(new Vec2(-1, 0), grid.getNormal(0));
+        Assertions.assertEquals(new Vec2(0, 1), grid.getNormal(1));
+    }
+
+    @Test
+    void changes() {
+        Grid2 grid = new Grid2().setSolid(0, 0, true);
+        Assertions.assertEquals(4, grid.length());
+        grid.setSolid(1, 0, true);
+        Assertions.assertEquals(6, grid.length());
+        grid.fill(0, 0, 2, 2, true);
+        Assertions.assertEquals(12, grid.length());
+        grid.setSolid(1, 1, false);
+        Assertions.assertEquals(16, grid.length());
+        grid.clear();
+        Assertions.assertEquals(0, grid.length());
+        Assertions.assertThrows(IllegalStateException.class, () -> grid.get(0.5f));
+    }
+
+    @Test
+    void outlineSeparatesSolidAndEmpty() {
+        Random random = new Random(0);
+        Grid2 grid = new Grid2(0.5f);
+        // Across chunk borders and negative coordinates
+        for(int i=0; i<2000; i++)
+            grid.setSolid(random.nextInt(160) - 80, random.nextInt(160) - 80, true);
+
+        int faces = (int) (grid.length() / grid.cellSize);
+        float eps = 0.01f;
+        for(int f=0; f<faces; f++) {
+            float i = (f + 0.5f) / faces;
+            Vec2 p = grid.get(i), n = grid.getNormal(i);
+            Assertions.assertEquals(1, n.abs(), 0);
+            Assertions.assertFalse(grid.contains(new Vec2(p.x + n.x * eps, p.y + n.y * eps)), () -> "Solid outside of " + p);
+            Assertions.assertTrue(grid.contains(new Vec2(p.x - n.x * eps, p.y - n.y * eps)), () -> "Empty inside of " + p);
+            // Counter-clockwise around the solid cells: the outside is on the right
+            Vec2 a = grid.get((f + 0.001f) / faces), b = grid.get((f + 0.999f) / faces);
+            Assertions.assertTrue((b.x - a.x) * n.y - (b.y - a.y) * n.x < 0, () -> "Face at " + p + " walked clockwise");
+
+            // A ray hitting the face reports the same normal
+            Grid2.GridColl2 coll = grid.coll(new Ray2(new Vec2(p.x + n.x * eps, p.y + n.y * eps), new Vec2(-n.x, -n.y)), 1);
+            Assertions.assertNotNull(coll);
+            Assertions.assertEquals(n.x, coll.n.x);
+            Assertions.assertEquals(n.y, coll.n.y);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.rccookie.geometry.performance;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link Line2} and {@link DLine2}, which have to behave the same.
+ */
+class LineTest {
+
+    private static void assertContains(boolean expected, float ax, float ay, float bx, float by, float px, float py) {
+        Line2 line = new Line2(new Vec2(ax, ay), new Vec2(bx, by));
+        DLine2 dLine = new DLine2(new DVec2(ax, ay), new DVec2(bx, by));
+        Assertions.assertEquals(expected, line.contains(new Vec2(px, py)), () -> line + " contains " + px + ", " + py);
+        Assertions.assertEquals(expected, dLine.contains(new DVec2(px, py)), () -> dLine + " contains " + px + ", " + py);
+    }
+
+    @Test
+    void containsVertical() {
+        assertContains(true, 0, 0, 0, 10, 0, 5);
+        assertContains(true, 0, 0, 0, 10, 0, 10);
+        assertContains(false, 0, 0, 0, 10, 5, 5);
+        assertContains(false, 0, 0, 0, 10, 0, 11);
+    }
+
+    @Test
+    void containsHorizontal() {
+        assertContains(true, 0, 0, 10, 0, 5, 0);
+        assertContains(false, 0, 0, 10, 0, 5, 5);
+        assertContains(false, 0, 0, 10, 0, -1, 0);
+    }
+
+    @Test
+    void containsDiagonal() {
+        assertContains(true, 0, 0, 4, 8, 1, 2);
+        assertContains(false, 0, 0, 4, 8, 2, 1);
+        assertContains(false, 0, 0, 4, 8, 5, 10);
+    }
+
+    @Test
+    void containsPoint() {
+        assertContains(true, 3, 3, 3, 3, 3, 3);
+        assertContains(false, 3, 3, 3, 3, 3, 4);
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests sharing a curve between threads, as {@link ColliderWorld2}
+ * snapshots do.
+ */
+class Spline2Test {
+
+    private static final int THREADS = 8;
+
+    private static Bezier2 curve() {
+        return new Bezier2(new Vec2[] { new Vec2(-50, 0), new Vec2(-20, 80), new Vec2(20, -80), new Vec2(50, 0) }, 0.001f, true);
+    }
+
+    /**
+     * Casts a fan of rays at the curve and sums up the ray indices of the
+     * hits, which fails if the cache is incomplete.
+     */
+    private static float cast(Spline2 curve) {
+        float sum = 0;
+        for(int i=0; i<64; i++) {
+            Coll2 coll = curve.coll(new Ray2(new Vec2(0, -100), new Vec2(i - 32, 100)), Float.POSITIVE_INFINITY);
+            if(coll != null) sum += coll.rI;
+        }
+        return sum;
+    }
+
+    @Test
+    void concurrentFirstUse() throws Exception {
+        float expected = cast(curve());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for(int round=0; round<200; round++) {
+                Bezier2 curve = curve();
+                CyclicBarrier start = new CyclicBarrier(THREADS);
+                List<Future<Float>> results = new ArrayList<>();
+                for(int t=0; t<THREADS; t++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return cast(curve);
+                    }));
+                }
+                for(Future<Float> result : results)
+                    Assertions.assertEquals(expected, (float) result.get(10, TimeUnit.SECONDS), 0f);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void updateWhileQuerying() throws Exception {
+        Bezier2 curve = curve();
+        float expected = cast(curve);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for(int t=0; t<THREADS; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for(int i=0; i<200; i++) {
+                        // The control points do not change, so every cache is equal
+                        if(thread == 0) curve.update();
+                        else Assertions.assertEquals(expected, cast(curve), 0f);
+                    }
+                    return null;
+                }));
+            }
+            for(Future<?> result : results) result.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
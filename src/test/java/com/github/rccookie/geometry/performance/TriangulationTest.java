@@ -0,0 +1,134 @@
+package com.github.rccookie.geometry.performance;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link Triangulation} on random polygons with holes.
+ */
+class TriangulationTest {
+
+    /**
+     * Creates a random star shaped polygon around the origin with square
+     * holes of area 0.01, all given counter-clockwise.
+     */
+    private static float[][] starPolygon(Random random, int n, int holes) {
+        float[] x = new float[n + 4 * holes], y = new float[n + 4 * holes];
+        for(int i=0; i<n; i++) {
+            // Jittered angles, so that for at least 8 vertices the holes are inside
+            float angle = (i + random.nextFloat() * 0.9f) * 2 * (float) Math.PI / n;
+            float r = 0.5f + random.nextFloat() * 0.5f;
+            x[i] = r * (float) Math.cos(angle);
+            y[i] = r * (float) Math.sin(angle);
+        }
+        for(int h=0; h<holes; h++) {
+            float cx = -0.3f + 0.15f * h, cy = (h % 2) * 0.15f - 0.05f;
+            x[n+4*h] = cx;         y[n+4*h] = cy;
+            x[n+4*h+1] = cx + 0.1f; y[n+4*h+1] = cy;
+            x[n+4*h+2] = cx + 0.1f; y[n+4*h+2] = cy + 0.1f;
+            x[n+4*h+3] = cx;        y[n+4*h+3] = cy + 0.1f;
+        }
+        return new float[][] { x, y };
+    }
+
+    private static double area(float[] x, float[] y, int[] triangles) {
+        double area = 0;
+        for(int t=0; t<triangles.length; t+=3) {
+            int a = triangles[t], b = triangles[t+1], c = triangles[t+2];
+            area += ((double) x[b] - x[a]) * ((double) y[c] - y[a]) - ((double) y[b] - y[a]) * ((double) x[c] - x[a]);
+        }
+        return area / 2;
+    }
+
+    private static long edge(int a, int b) {
+        return (long) a << 32 | b;
+    }
+
+    /**
+     * Checks that the triangles are counter-clockwise, cover the area of
+     * the polygon and fit together: every edge of a ring is used once and
+     * every other edge twice, in opposite directions.
+     */
+    private static void assertTriangulation(float[] x, float[] y, int[] starts, int[] triangles, double expectedArea) {
+        Assertions.assertEquals(3 * Triangulation.triangleCount(x.length, starts.length), triangles.length, "Number of triangles");
+
+        Map<Long, Integer> edges = new HashMap<>();
+        for(int t=0; t<triangles.length; t+=3) {
+            int a = triangles[t], b = triangles[t+1], c = triangles[t+2];
+            Assertions.assertTrue(Delaunay2.orient(x[a], y[a], x[b], y[b], x[c], y[c]) >= 0, "Triangle is clockwise");
+            for(int e=0; e<3; e++)
+                Assertions.assertNull(edges.put(edge(triangles[t + e], triangles[t + (e + 1) % 3]), t), "Edge used twice in the same direction");
+        }
+        Set<Long> ringEdges = new HashSet<>();
+        for(int r=0; r<=starts.length; r++) {
+            int start = r == 0 ? 0 : starts[r-1], end = r == starts.length ? x.length : starts[r];
+            for(int i=start; i<end; i++) {
+                int j = i + 1 == end ? start : i + 1;
+                ringEdges.add(edge(i, j));
+                ringEdges.add(edge(j, i));
+                Assertions.assertTrue(edges.containsKey(edge(i, j)) != edges.containsKey(edge(j, i)), "Polygon edge not used exactly once");
+            }
+        }
+        for(long e : edges.keySet()) {
+            if(ringEdges.contains(e)) continue;
+            Assertions.assertTrue(edges.containsKey(e << 32 | e >>> 32), "Diagonal used by only one triangle");
+        }
+
+        Assertions.assertEquals(expectedArea, area(x, y, triangles), 1e-4 * expectedArea, "Triangulated area");
+    }
+
+    @Test
+    void polygonsWithHoles() {
+        Random random = new Random(0);
+        for(int run=0; run<200; run++) {
+            int holes = run % 5, n = 8 + random.nextInt(run % 2 == 0 ? 50 : 2000);
+            float[][] polygon = starPolygon(random, n, holes);
+            float[] x = polygon[0], y = polygon[1];
+            int[] starts = new int[holes];
+            for(int h=0; h<holes; h++) starts[h] = n + 4 * h;
+
+            int[] triangles = Triangulation.triangulate(x, y, starts);
+            assertTriangulation(x, y, starts, triangles, Polygon2.signedArea(x, y, 0, n) - holes * 0.01);
+        }
+    }
+
+    @Test
+    void clockwise() {
+        Random random = new Random(1);
+        float[][] polygon = starPolygon(random, 100, 2);
+        float[] x = polygon[0], y = polygon[1];
+        // Reverse the outline and the second hole
+        for(int[] range : new int[][] { { 0, 100 }, { 104, 108 } }) {
+            for(int i=range[0], j=range[1]-1; i<j; i++, j--) {
+                float t = x[i]; x[i] = x[j]; x[j] = t;
+                t = y[i]; y[i] = y[j]; y[j] = t;
+            }
+        }
+        int[] starts = { 100, 104 };
+        assertTriangulation(x, y, starts, Triangulation.triangulate(x, y, starts), -Polygon2.signedArea(x, y, 0, 100) - 0.02);
+    }
+
+    @Test
+    void polygon2() {
+        Polygon2 outline = new Polygon2(new Vec2(0, 0), new Vec2(4, 0), new Vec2(4, 4), new Vec2(0, 4));
+        Polygon2 hole = new Polygon2(new Vec2(1, 1), new Vec2(2, 1), new Vec2(2, 2), new Vec2(1, 2));
+        float[] x = new float[8], y = new float[8];
+        outline.vertices(x, y, 0);
+        hole.vertices(x, y, 4);
+        assertTriangulation(x, y, new int[] { 4 }, Triangulation.triangulate(outline, hole), 15);
+    }
+
+    @Test
+    void invalidInput() {
+        float[] x = { 0, 1, 1, 0 }, y = { 0, 0, 1, 1 };
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Triangulation.triangulate(x, new float[3]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Triangulation.triangulate(x, y, 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Triangulation.triangulate(x, y, new int[0], new int[5], 0));
+    }
+}